@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.rewrite.test.util.MavenReactorGenerator;
+import org.springframework.rewrite.test.util.MavenReactorGenerator.Topology;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base for benchmarks running against a Maven reactor generated by
+ * {@link MavenReactorGenerator}.
+ * <p>
+ * The generated project is configured with the JMH parameters {@code modules},
+ * {@code topology}, {@code classesPerModule} and {@code resourcesPerModule}, e.g.
+ * {@code -p modules=500 -p topology=RANDOM_DAG}.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractRewriteBenchmark {
+
+	@Param("10")
+	public int modules;
+
+	@Param("CHAIN")
+	public Topology topology;
+
+	@Param("20")
+	public int classesPerModule;
+
+	@Param("4")
+	public int resourcesPerModule;
+
+	protected Path baseDir;
+
+	protected ConfigurableApplicationContext context;
+
+	protected void startContextAndGenerateProject() {
+		try {
+			baseDir = Files.createTempDirectory("spring-rewrite-benchmark-");
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		MavenReactorGenerator.createMavenReactor(baseDir)
+			.modules(modules)
+			.topology(topology)
+			.classesPerModule(classesPerModule)
+			.resourcesPerModule(resourcesPerModule)
+			.generate();
+		context = BenchmarkApplication.start();
+	}
+
+	protected void closeContextAndDeleteProject() throws IOException {
+		if (context != null) {
+			context.close();
+		}
+		if (baseDir != null) {
+			FileSystemUtils.deleteRecursively(baseDir);
+		}
+	}
+
+}
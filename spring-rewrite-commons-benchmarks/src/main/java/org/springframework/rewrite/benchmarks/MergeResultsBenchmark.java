@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.marker.SearchResult;
+import org.springframework.rewrite.RewriteProjectParser;
+import org.springframework.rewrite.parser.RewriteProjectParsingResult;
+import org.springframework.rewrite.resource.ProjectResourceSet;
+import org.springframework.rewrite.resource.ProjectResourceSetFactory;
+import org.springframework.rewrite.resource.RewriteMigrationResultMerger;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Benchmarks {@link RewriteMigrationResultMerger#mergeResults(ProjectResourceSet, List)}
+ * with a {@link Result} for every parsed source file.
+ */
+public class MergeResultsBenchmark extends AbstractRewriteBenchmark {
+
+	private RewriteMigrationResultMerger merger;
+
+	private ProjectResourceSet projectResourceSet;
+
+	private List<Result> results;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		startContextAndGenerateProject();
+		merger = context.getBean(RewriteMigrationResultMerger.class);
+		RewriteProjectParsingResult parsingResult = context.getBean(RewriteProjectParser.class).parse(baseDir);
+		projectResourceSet = context.getBean(ProjectResourceSetFactory.class)
+			.create(baseDir, parsingResult.sourceFiles());
+		results = new MarkAllSourceFiles()
+			.run(new InMemoryLargeSourceSet(parsingResult.sourceFiles()), context.getBean(ExecutionContext.class))
+			.getChangeset()
+			.getAllResults();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		closeContextAndDeleteProject();
+	}
+
+	@Benchmark
+	public ProjectResourceSet mergeResults() {
+		merger.mergeResults(projectResourceSet, results);
+		return projectResourceSet;
+	}
+
+	/**
+	 * Adds a {@link SearchResult} marker to every source file so that every source file
+	 * is contained in the results.
+	 */
+	static class MarkAllSourceFiles extends Recipe {
+
+		@Override
+		public String getDisplayName() {
+			return "Mark all source files";
+		}
+
+		@Override
+		public String getDescription() {
+			return getDisplayName() + ".";
+		}
+
+		@Override
+		public TreeVisitor<?, ExecutionContext> getVisitor() {
+			return new TreeVisitor<>() {
+				@Override
+				public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext executionContext) {
+					return tree instanceof SourceFile ? SearchResult.found(tree) : tree;
+				}
+			};
+		}
+
+	}
+
+}
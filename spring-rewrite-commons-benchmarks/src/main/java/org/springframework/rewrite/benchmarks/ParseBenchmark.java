@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.RewriteProjectParser;
+import org.springframework.rewrite.parser.ProjectScanner;
+import org.springframework.rewrite.parser.RewriteProjectParsingResult;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Benchmarks {@link RewriteProjectParser#parse(java.nio.file.Path, List)} with the
+ * resources scanned once before the benchmark.
+ */
+public class ParseBenchmark extends AbstractRewriteBenchmark {
+
+	private RewriteProjectParser parser;
+
+	private List<Resource> resources;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		startContextAndGenerateProject();
+		parser = context.getBean(RewriteProjectParser.class);
+		resources = context.getBean(ProjectScanner.class).scan(baseDir);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		closeContextAndDeleteProject();
+	}
+
+	@Benchmark
+	public RewriteProjectParsingResult parse() {
+		return parser.parse(baseDir, resources);
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.rewrite.RewriteProjectParser;
+import org.springframework.rewrite.parser.RewriteProjectParsingResult;
+import org.springframework.rewrite.resource.ProjectResourceSet;
+import org.springframework.rewrite.resource.ProjectResourceSetFactory;
+import org.springframework.rewrite.resource.ProjectResourceSetSerializer;
+import org.springframework.rewrite.resource.RewriteSourceFileHolder;
+
+import java.io.IOException;
+
+/**
+ * Benchmarks {@link ProjectResourceSetSerializer#writeChanges(ProjectResourceSet)} with
+ * every resource marked as changed.
+ */
+public class WriteChangesBenchmark extends AbstractRewriteBenchmark {
+
+	private ProjectResourceSetSerializer serializer;
+
+	private ProjectResourceSet projectResourceSet;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		startContextAndGenerateProject();
+		serializer = context.getBean(ProjectResourceSetSerializer.class);
+		RewriteProjectParsingResult parsingResult = context.getBean(RewriteProjectParser.class).parse(baseDir);
+		projectResourceSet = context.getBean(ProjectResourceSetFactory.class)
+			.create(baseDir, parsingResult.sourceFiles());
+	}
+
+	@Setup(Level.Invocation)
+	public void markAllResourcesChanged() {
+		projectResourceSet.stream().forEach(RewriteSourceFileHolder::markChanged);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		closeContextAndDeleteProject();
+	}
+
+	@Benchmark
+	public ProjectResourceSet writeChanges() {
+		serializer.writeChanges(projectResourceSet);
+		return projectResourceSet;
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle.model;
+
+import java.util.Locale;
+
+/**
+ * Which dependency configurations get resolved when building {@link GradleProjectData}.
+ * <p>
+ * The mode is passed to the build as Gradle project property {@value #PROPERTY}.
+ *
+ * @see SpringRewriteModelBuilder
+ */
+public enum ConfigurationResolution {
+
+	/**
+	 * Resolve all resolvable configurations of all projects.
+	 */
+	ALL,
+
+	/**
+	 * Only resolve the compile classpath configurations, i.e. {@code compileClasspath}
+	 * and configurations ending with {@code CompileClasspath}. The classpaths of the Java
+	 * and Kotlin source sets are resolved as before. All other configurations only
+	 * provide their requested dependencies and are left unresolved.
+	 */
+	COMPILE_CLASSPATHS;
+
+	public static final String PROPERTY = "springRewriteConfigurationResolution";
+
+	/**
+	 * The {@link ConfigurationResolution} for the given property value, {@link #ALL} if
+	 * the value is missing or unknown.
+	 */
+	public static ConfigurationResolution fromProperty(Object value) {
+		if (value == null) {
+			return ALL;
+		}
+		try {
+			return valueOf(value.toString().trim().toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException e) {
+			return ALL;
+		}
+	}
+
+	/**
+	 * @return whether the configuration with the given name gets resolved
+	 */
+	public boolean resolves(String configurationName) {
+		return switch (this) {
+			case ALL -> true;
+			case COMPILE_CLASSPATHS ->
+				"compileClasspath".equals(configurationName) || configurationName.endsWith("CompileClasspath");
+		};
+	}
+
+	String toArgument() {
+		return "-P%s=%s".formatted(PROPERTY, name());
+	}
+
+}
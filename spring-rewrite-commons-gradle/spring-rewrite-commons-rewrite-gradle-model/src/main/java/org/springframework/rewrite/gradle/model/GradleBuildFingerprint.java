@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * SHA-256 over the files of a Gradle build that determine its tooling model: settings
+ * and build scripts, {@code gradle.properties}, version catalogs, the Gradle wrapper
+ * properties and everything in {@code buildSrc}.
+ * <p>
+ * Directories that never contain build logic, like build output, {@code .gradle} and
+ * {@code .git}, are not visited.
+ */
+final class GradleBuildFingerprint {
+
+	private static final Set<String> SKIPPED_DIRECTORIES = Set.of("build", ".gradle", ".git", ".idea", "node_modules",
+			"out", "target");
+
+	private GradleBuildFingerprint() {
+	}
+
+	/**
+	 * @param projectDir the root directory of the build
+	 * @param discriminators additional values like model type, build file and init
+	 * script that lead to a different model
+	 */
+	static String of(Path projectDir, String... discriminators) {
+		MessageDigest digest = sha256();
+		for (String discriminator : discriminators) {
+			digest.update(String.valueOf(discriminator).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+		}
+		Path root = projectDir.toAbsolutePath().normalize();
+		for (Path file : buildFiles(root)) {
+			try {
+				digest.update(separatorsToUnix(root.relativize(file)).getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+				digest.update(Files.readAllBytes(file));
+				digest.update((byte) 0);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Could not read build file '%s'".formatted(file), e);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static Set<Path> buildFiles(Path root) {
+		Set<Path> buildFiles = new TreeSet<>();
+		try {
+			Files.walkFileTree(root, new SimpleFileVisitor<>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+					if (!dir.equals(root) && SKIPPED_DIRECTORIES.contains(dir.getFileName().toString())) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					if (isBuildFile(root.relativize(file))) {
+						buildFiles.add(file);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not collect build files in '%s'".formatted(root), e);
+		}
+		return buildFiles;
+	}
+
+	private static boolean isBuildFile(Path relativePath) {
+		String fileName = relativePath.getFileName().toString();
+		return fileName.endsWith(".gradle") || fileName.endsWith(".gradle.kts") || fileName.equals("gradle.properties")
+				|| fileName.endsWith(".versions.toml") || fileName.equals("gradle-wrapper.properties")
+				|| relativePath.startsWith("buildSrc");
+	}
+
+	private static String separatorsToUnix(Path path) {
+		return path.toString().replace('\\', '/');
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle.model;
+
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.internal.consumer.DefaultGradleConnector;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Pool of Gradle {@link ProjectConnection}s keyed by project directory and Gradle
+ * distribution.
+ * <p>
+ * Back-to-back model requests and task executions for the same build reuse the
+ * connection and with it the connection to the warm Gradle daemon. Connections not used
+ * for the idle timeout are closed in the background. A {@link ProjectConnection} is
+ * thread-safe, concurrent callers share the pooled connection.
+ * <p>
+ * Builds with a Gradle wrapper use the wrapper's distribution, other builds use Gradle
+ * {@value #DEFAULT_GRADLE_VERSION}. Changing the wrapper's {@code distributionUrl} results
+ * in a new connection.
+ *
+ * @see SpringRewriteModelBuilder
+ */
+public class GradleConnectionPool implements AutoCloseable {
+
+	public static final String DEFAULT_GRADLE_VERSION = "8.4";
+
+	public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+	private static final String WRAPPER_PROPERTIES = "gradle/wrapper/gradle-wrapper.properties";
+
+	private static volatile GradleConnectionPool shared;
+
+	private final Duration idleTimeout;
+
+	private final Map<Key, PooledConnection> connections = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService evictor;
+
+	public GradleConnectionPool(Duration idleTimeout) {
+		this.idleTimeout = idleTimeout;
+		this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "gradle-connection-pool-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long intervalMillis = Math.max(1, idleTimeout.toMillis() / 2);
+		this.evictor.scheduleWithFixedDelay(this::evictIdle, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * The {@link GradleConnectionPool} shared in this JVM, closed on shutdown.
+	 */
+	public static GradleConnectionPool shared() {
+		if (shared == null) {
+			synchronized (GradleConnectionPool.class) {
+				if (shared == null) {
+					GradleConnectionPool pool = new GradleConnectionPool(DEFAULT_IDLE_TIMEOUT);
+					Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "gradle-connection-pool-shutdown"));
+					shared = pool;
+				}
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Apply {@code action} to the pooled connection for the build in {@code projectDir},
+	 * connecting if no connection exists yet. The connection must not be closed by the
+	 * action.
+	 */
+	public <T> T withConnection(File projectDir, Function<ProjectConnection, T> action) {
+		Key key = Key.of(projectDir);
+		PooledConnection pooledConnection = connections.compute(key, (k, pooled) -> {
+			PooledConnection connection = pooled != null ? pooled : PooledConnection.connect(k);
+			connection.leases++;
+			return connection;
+		});
+		try {
+			return action.apply(pooledConnection.connection);
+		}
+		finally {
+			connections.computeIfPresent(key, (k, pooled) -> {
+				pooled.leases--;
+				pooled.lastUsed = System.nanoTime();
+				return pooled;
+			});
+		}
+	}
+
+	/**
+	 * Close connections not in use and not used for the idle timeout.
+	 */
+	public void evictIdle() {
+		long now = System.nanoTime();
+		connections.forEach((key, pooled) -> connections.computeIfPresent(key, (k, p) -> {
+			if (p.leases == 0 && now - p.lastUsed >= idleTimeout.toNanos()) {
+				p.connection.close();
+				return null;
+			}
+			return p;
+		}));
+	}
+
+	/**
+	 * Number of pooled connections.
+	 */
+	public int size() {
+		return connections.size();
+	}
+
+	/**
+	 * Close all pooled connections and stop evicting idle connections.
+	 */
+	@Override
+	public void close() {
+		evictor.shutdownNow();
+		connections.forEach((key, pooled) -> connections.computeIfPresent(key, (k, p) -> {
+			p.connection.close();
+			return null;
+		}));
+	}
+
+	private record Key(Path projectDir, String distribution) {
+
+		static Key of(File projectDir) {
+			Path dir = projectDir.toPath().toAbsolutePath().normalize();
+			Path wrapperProperties = dir.resolve(WRAPPER_PROPERTIES);
+			if (!Files.exists(wrapperProperties)) {
+				return new Key(dir, null);
+			}
+			Properties properties = new Properties();
+			try (InputStream is = Files.newInputStream(wrapperProperties)) {
+				properties.load(is);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return new Key(dir, properties.getProperty("distributionUrl", ""));
+		}
+
+		boolean usesWrapper() {
+			return distribution != null;
+		}
+
+	}
+
+	private static final class PooledConnection {
+
+		private final ProjectConnection connection;
+
+		private int leases;
+
+		private long lastUsed = System.nanoTime();
+
+		private PooledConnection(ProjectConnection connection) {
+			this.connection = connection;
+		}
+
+		static PooledConnection connect(Key key) {
+			var connector = (DefaultGradleConnector) GradleConnector.newConnector();
+			if (key.usesWrapper()) {
+				connector.useBuildDistribution();
+			}
+			else {
+				connector.useGradleVersion(DEFAULT_GRADLE_VERSION);
+			}
+			connector.forProjectDirectory(key.projectDir().toFile());
+			return new PooledConnection(connector.connect());
+		}
+
+	}
+
+}
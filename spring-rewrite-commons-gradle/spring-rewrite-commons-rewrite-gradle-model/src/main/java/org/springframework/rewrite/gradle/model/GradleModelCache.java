@@ -0,0 +1,230 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * File based cache of Gradle tooling models keyed by a fingerprint of the build files.
+ * <p>
+ * A model is reused as long as settings and build scripts, {@code gradle.properties},
+ * version catalogs, the Gradle wrapper properties and {@code buildSrc} are unchanged, so
+ * repeated parses of an unchanged build skip configuring the build and resolving its
+ * configurations. Dynamic or changing dependency versions are not re-resolved while the
+ * build files stay the same.
+ * <p>
+ * Entries that can't be read, e.g. written by an incompatible version, are rebuilt. Only
+ * the types a {@link ModelSnapshot} consists of are deserialized, entries containing
+ * other types are rebuilt too.
+ *
+ * @see SpringRewriteModelBuilder#forProjectDirectory(Class, File, File, GradleModelCache)
+ */
+public class GradleModelCache {
+
+	private static final String INIT_SCRIPT = "/init-spring-rewrite.gradle";
+
+	private final Path cacheDir;
+
+	public GradleModelCache(Path cacheDir) {
+		this.cacheDir = cacheDir;
+	}
+
+	/**
+	 * {@link GradleModelCache} in {@code ~/.rewrite/gradle-model-cache}.
+	 */
+	public static GradleModelCache inUserHome() {
+		return new GradleModelCache(
+				Path.of(System.getProperty("user.home"), ".rewrite", "gradle-model-cache").toAbsolutePath());
+	}
+
+	/**
+	 * Get the cached model of the build in {@code projectDir} or build it with the
+	 * {@code modelSupplier} and cache it.
+	 */
+	public <T> T get(Class<T> type, File projectDir, File buildFile, Supplier<T> modelSupplier) {
+		return get(type, projectDir, buildFile, ConfigurationResolution.ALL, modelSupplier);
+	}
+
+	/**
+	 * Get the cached model of the build in {@code projectDir} built with the given
+	 * {@link ConfigurationResolution} or build it with the {@code modelSupplier} and
+	 * cache it.
+	 */
+	public <T> T get(Class<T> type, File projectDir, File buildFile, ConfigurationResolution configurationResolution,
+			Supplier<T> modelSupplier) {
+		Path cacheFile = cacheDir.resolve(key(type, projectDir, buildFile, configurationResolution) + ".ser");
+		if (Files.isRegularFile(cacheFile)) {
+			T model = read(type, cacheFile);
+			if (model != null) {
+				return model;
+			}
+		}
+		T snapshot = ModelSnapshot.of(type, modelSupplier.get());
+		write(snapshot, cacheFile);
+		return snapshot;
+	}
+
+	/**
+	 * Remove all cached models.
+	 */
+	public void clear() {
+		if (!Files.isDirectory(cacheDir)) {
+			return;
+		}
+		try (var files = Files.list(cacheDir)) {
+			for (Path file : files.toList()) {
+				Files.deleteIfExists(file);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not clear Gradle model cache '%s'".formatted(cacheDir), e);
+		}
+	}
+
+	private static String key(Class<?> type, File projectDir, File buildFile,
+			ConfigurationResolution configurationResolution) {
+		Path root = projectDir.toPath().toAbsolutePath().normalize();
+		String buildFilePath = buildFile == null ? "" : buildFile.toPath().toAbsolutePath().normalize().toString();
+		return GradleBuildFingerprint.of(root, type.getName(), root.toString(), buildFilePath, initScript(),
+				configurationResolution.name());
+	}
+
+	private static String initScript() {
+		try (InputStream is = GradleModelCache.class.getResourceAsStream(INIT_SCRIPT)) {
+			return is == null ? "" : new String(is.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static <T> T read(Class<T> type, Path cacheFile) {
+		try (ObjectInputStream in = new ModelInputStream(Files.newInputStream(cacheFile), type)) {
+			return type.cast(in.readObject());
+		}
+		catch (IOException | ClassNotFoundException | ClassCastException e) {
+			try {
+				Files.deleteIfExists(cacheFile);
+			}
+			catch (IOException ignored) {
+				// rebuilt and overwritten anyway
+			}
+			return null;
+		}
+	}
+
+	private static void write(Object model, Path cacheFile) {
+		try {
+			Files.createDirectories(cacheFile.getParent());
+			Path tmpFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+			try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(tmpFile))) {
+				out.writeObject(model);
+			}
+			Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not cache Gradle model in '%s'".formatted(cacheFile), e);
+		}
+	}
+
+	/**
+	 * Resolves classes and proxy interfaces with the class loader of the model type and
+	 * rejects all classes but the proxies, collections and values of a
+	 * {@link ModelSnapshot} and classes from the package of the model type.
+	 */
+	private static class ModelInputStream extends ObjectInputStream {
+
+		// Object and Map.Entry are the component types of the arrays checked by
+		// ArrayList and HashMap
+		private static final Set<Class<?>> SNAPSHOT_CLASSES = Set.of(Proxy.class, ArrayList.class, HashSet.class,
+				LinkedHashSet.class, HashMap.class, LinkedHashMap.class, Object.class, Map.Entry.class, String.class,
+				Boolean.class, Character.class, Number.class, Enum.class, File.class);
+
+		private final ClassLoader classLoader;
+
+		private final String modelPackage;
+
+		ModelInputStream(InputStream in, Class<?> modelType) throws IOException {
+			super(in);
+			this.classLoader = modelType.getClassLoader();
+			this.modelPackage = modelType.getPackageName();
+			setObjectInputFilter(this::filter);
+		}
+
+		private ObjectInputFilter.Status filter(ObjectInputFilter.FilterInfo filterInfo) {
+			Class<?> serialClass = filterInfo.serialClass();
+			if (serialClass == null) {
+				return ObjectInputFilter.Status.UNDECIDED;
+			}
+			while (serialClass.isArray()) {
+				serialClass = serialClass.getComponentType();
+			}
+			return isSnapshotClass(serialClass) ? ObjectInputFilter.Status.ALLOWED
+					: ObjectInputFilter.Status.REJECTED;
+		}
+
+		private boolean isSnapshotClass(Class<?> clazz) {
+			String packageName = clazz.getPackageName();
+			return clazz.isPrimitive() || clazz.isEnum() || SNAPSHOT_CLASSES.contains(clazz)
+					|| Proxy.isProxyClass(clazz) || clazz.getEnclosingClass() == ModelSnapshot.class
+					|| Number.class.isAssignableFrom(clazz)
+							&& (packageName.equals("java.lang") || packageName.equals("java.math"))
+					|| packageName.equals(modelPackage);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			try {
+				return Class.forName(desc.getName(), false, classLoader);
+			}
+			catch (ClassNotFoundException e) {
+				return super.resolveClass(desc);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("deprecation")
+		protected Class<?> resolveProxyClass(String[] interfaces) throws ClassNotFoundException {
+			Class<?>[] classes = new Class<?>[interfaces.length];
+			for (int i = 0; i < interfaces.length; i++) {
+				classes[i] = Class.forName(interfaces[i], false, classLoader);
+			}
+			return Proxy.getProxyClass(classLoader, classes);
+		}
+
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle.model;
+
+import java.io.File;
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copies a tooling model into serializable proxies.
+ * <p>
+ * Models returned by the Gradle tooling API are views on objects loaded from the Gradle
+ * daemon and can't be deserialized in another JVM. The snapshot records the result of
+ * every getter declared by the model interfaces. Values typed as interface are copied
+ * recursively, shared and cyclic references are preserved. Default methods are invoked
+ * on the snapshot, methods with parameters are not supported.
+ */
+final class ModelSnapshot {
+
+	private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+	private ModelSnapshot() {
+	}
+
+	static <T> T of(Class<T> type, T model) {
+		return type.cast(new ModelSnapshot().copy(model, type));
+	}
+
+	private Object copy(Object value, Type declaredType) {
+		if (value == null || isScalar(value)) {
+			return value;
+		}
+		Object existing = copies.get(value);
+		if (existing != null) {
+			return existing;
+		}
+		Class<?> rawType = rawType(declaredType);
+		if (value instanceof List<?> list) {
+			List<Object> copy = new ArrayList<>(list.size());
+			copies.put(value, copy);
+			list.forEach(element -> copy.add(copy(element, typeArgument(declaredType, 0))));
+			return copy;
+		}
+		if (value instanceof Set<?> set) {
+			Set<Object> copy = new LinkedHashSet<>();
+			copies.put(value, copy);
+			set.forEach(element -> copy.add(copy(element, typeArgument(declaredType, 0))));
+			return copy;
+		}
+		if (value instanceof Collection<?> collection) {
+			List<Object> copy = new ArrayList<>(collection.size());
+			copies.put(value, copy);
+			collection.forEach(element -> copy.add(copy(element, typeArgument(declaredType, 0))));
+			return copy;
+		}
+		if (value instanceof Map<?, ?> map) {
+			Map<Object, Object> copy = new LinkedHashMap<>();
+			copies.put(value, copy);
+			map.forEach((k, v) -> copy.put(copy(k, typeArgument(declaredType, 0)),
+					copy(v, typeArgument(declaredType, 1))));
+			return copy;
+		}
+		if (rawType.isInterface()) {
+			return proxy(value, rawType);
+		}
+		if (value instanceof Serializable) {
+			return value;
+		}
+		throw new IllegalArgumentException(
+				"Can't snapshot value of type %s declared as %s".formatted(value.getClass(), declaredType));
+	}
+
+	private Object proxy(Object model, Class<?> type) {
+		Map<String, Object> values = new HashMap<>();
+		SnapshotInvocationHandler handler = new SnapshotInvocationHandler(type.getName(), values);
+		Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+		copies.put(model, proxy);
+		for (Method method : type.getMethods()) {
+			if (isGetter(method)) {
+				try {
+					values.put(method.getName(), copy(method.invoke(model), method.getGenericReturnType()));
+				}
+				catch (ReflectiveOperationException e) {
+					throw new IllegalStateException(
+							"Could not read %s of %s".formatted(method.getName(), type.getName()), e);
+				}
+			}
+		}
+		return proxy;
+	}
+
+	private static boolean isGetter(Method method) {
+		return method.getParameterCount() == 0 && method.getReturnType() != void.class && !method.isDefault()
+				&& !Modifier.isStatic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+	}
+
+	private static boolean isScalar(Object value) {
+		return value instanceof String || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum<?> || value instanceof File;
+	}
+
+	private static Class<?> rawType(Type type) {
+		if (type instanceof Class<?> clazz) {
+			return clazz;
+		}
+		if (type instanceof ParameterizedType parameterizedType) {
+			return rawType(parameterizedType.getRawType());
+		}
+		if (type instanceof WildcardType wildcardType) {
+			return rawType(wildcardType.getUpperBounds()[0]);
+		}
+		return Object.class;
+	}
+
+	private static Type typeArgument(Type type, int index) {
+		if (type instanceof ParameterizedType parameterizedType
+				&& parameterizedType.getActualTypeArguments().length > index) {
+			return parameterizedType.getActualTypeArguments()[index];
+		}
+		return Object.class;
+	}
+
+	private static final class SnapshotInvocationHandler implements InvocationHandler, Serializable {
+
+		private final String type;
+
+		private final Map<String, Object> values;
+
+		private SnapshotInvocationHandler(String type, Map<String, Object> values) {
+			this.type = type;
+			this.values = values;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (method.getDeclaringClass() == Object.class) {
+				return switch (method.getName()) {
+					case "equals" -> proxy == args[0];
+					case "hashCode" -> System.identityHashCode(proxy);
+					default -> "Snapshot of " + type;
+				};
+			}
+			if (method.isDefault()) {
+				return InvocationHandler.invokeDefault(proxy, method, args);
+			}
+			if (method.getParameterCount() > 0 || !values.containsKey(method.getName())) {
+				throw new UnsupportedOperationException(
+						"%s#%s is not part of the snapshot".formatted(type, method.getName()));
+			}
+			return values.get(method.getName());
+		}
+
+	}
+
+}
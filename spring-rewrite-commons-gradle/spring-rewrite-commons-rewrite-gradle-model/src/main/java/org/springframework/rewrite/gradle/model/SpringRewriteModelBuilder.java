@@ -15,10 +15,7 @@
  */
 package org.springframework.rewrite.gradle.model;
 
-import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ModelBuilder;
-import org.gradle.tooling.ProjectConnection;
-import org.gradle.tooling.internal.consumer.DefaultGradleConnector;
 
 import java.io.File;
 import java.io.IOException;
@@ -33,15 +30,28 @@ import java.util.List;
 public class SpringRewriteModelBuilder {
 
 	public static <T> T forProjectDirectory(Class<T> type, File projectDir, File buildFile) {
-		var connector = (DefaultGradleConnector) GradleConnector.newConnector();
-		if (Files.exists(projectDir.toPath().resolve("gradle/wrapper/gradle-wrapper.properties"))) {
-			connector.useBuildDistribution();
-		}
-		else {
-			connector.useGradleVersion("8.4");
-		}
-		connector.forProjectDirectory(projectDir);
+		return forProjectDirectory(type, projectDir, buildFile, GradleConnectionPool.shared());
+	}
+
+	/**
+	 * Build the model using a connection from the given {@link GradleConnectionPool}.
+	 */
+	public static <T> T forProjectDirectory(Class<T> type, File projectDir, File buildFile,
+			GradleConnectionPool connectionPool) {
+		return forProjectDirectory(type, projectDir, buildFile, connectionPool, ConfigurationResolution.ALL);
+	}
+
+	/**
+	 * Build the model using a connection from the given {@link GradleConnectionPool},
+	 * resolving the dependency configurations selected by the
+	 * {@link ConfigurationResolution}.
+	 */
+	public static <T> T forProjectDirectory(Class<T> type, File projectDir, File buildFile,
+			GradleConnectionPool connectionPool, ConfigurationResolution configurationResolution) {
 		List<String> arguments = new ArrayList<>();
+		if (configurationResolution != ConfigurationResolution.ALL) {
+			arguments.add(configurationResolution.toArgument());
+		}
 		if (buildFile != null && buildFile.exists()) {
 			arguments.add("-b");
 			arguments.add(buildFile.getAbsolutePath());
@@ -49,7 +59,7 @@ public class SpringRewriteModelBuilder {
 		arguments.add("--init-script");
 		Path init = projectDir.toPath().resolve("spring-openrewrite-tooling.gradle").toAbsolutePath();
 		arguments.add(init.toString());
-		try (ProjectConnection connection = connector.connect()) {
+		return connectionPool.withConnection(projectDir, connection -> {
 			ModelBuilder<T> customModelBuilder = connection.model(type);
 			try (var is = SpringRewriteModelBuilder.class.getResourceAsStream("/init-spring-rewrite.gradle")) {
 				if (is == null) {
@@ -71,11 +81,34 @@ public class SpringRewriteModelBuilder {
 					throw new UncheckedIOException(e);
 				}
 			}
-		}
+		});
+	}
+
+	/**
+	 * Get the model from the {@link GradleModelCache} or build it when the build files
+	 * changed since it was cached.
+	 */
+	public static <T> T forProjectDirectory(Class<T> type, File projectDir, File buildFile, GradleModelCache cache) {
+		return forProjectDirectory(type, projectDir, buildFile, ConfigurationResolution.ALL, cache);
+	}
+
+	/**
+	 * Get the model built with the given {@link ConfigurationResolution} from the
+	 * {@link GradleModelCache} or build it when the build files changed since it was
+	 * cached.
+	 */
+	public static <T> T forProjectDirectory(Class<T> type, File projectDir, File buildFile,
+			ConfigurationResolution configurationResolution, GradleModelCache cache) {
+		return cache.get(type, projectDir, buildFile, configurationResolution, () -> forProjectDirectory(type,
+				projectDir, buildFile, GradleConnectionPool.shared(), configurationResolution));
 	}
 
 	public static GradleProjectData forProjectDirectory(File projectDir, File buildFile) {
 		return forProjectDirectory(GradleProjectData.class, projectDir, buildFile);
 	}
 
+	public static GradleProjectData forProjectDirectory(File projectDir, File buildFile, GradleModelCache cache) {
+		return forProjectDirectory(GradleProjectData.class, projectDir, buildFile, cache);
+	}
+
 }
@@ -19,7 +19,16 @@ import org.openrewrite.style.NamedStyles;
 
 import java.util.List;
 
+/**
+ * @param parallelism the number of projects of a multi-project build parsed concurrently,
+ * {@code 1} parses the projects sequentially
+ */
 public record Options(List<String> exclusions, boolean logCompilationWarningsAndErrors, List<String> plainTextMasks,
-		int sizeThresholdMb, List<NamedStyles> styles) {
+		int sizeThresholdMb, List<NamedStyles> styles, int parallelism) {
+
+	public Options(List<String> exclusions, boolean logCompilationWarningsAndErrors, List<String> plainTextMasks,
+			int sizeThresholdMb, List<NamedStyles> styles) {
+		this(exclusions, logCompilationWarningsAndErrors, plainTextMasks, sizeThresholdMb, styles, 1);
+	}
 
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * The files of a Gradle project collected by a single walk of the project directory,
+ * shared by all parsers of the project.
+ * <p>
+ * The walk skips the given directories, e.g. the build directory and the directories of
+ * nested projects, as well as VCS, IDE and Gradle directories. Files in directories not
+ * covered by the walk are looked up on demand.
+ */
+public final class ProjectFiles {
+
+	private static final Set<String> SKIPPED_DIRECTORY_NAMES = Set.of(".git", ".gradle", ".idea", "node_modules");
+
+	private final Path projectDir;
+
+	private final Set<Path> skippedDirs;
+
+	private final Map<Path, Long> fileSizes;
+
+	private final Set<Path> symbolicLinks;
+
+	/**
+	 * The walked files and subdirectories of each walked directory, in walk order.
+	 */
+	private final Map<Path, List<Path>> children;
+
+	private ProjectFiles(Path projectDir, Set<Path> skippedDirs, Map<Path, Long> fileSizes, Set<Path> symbolicLinks,
+			Map<Path, List<Path>> children) {
+		this.projectDir = projectDir;
+		this.skippedDirs = skippedDirs;
+		this.fileSizes = fileSizes;
+		this.symbolicLinks = symbolicLinks;
+		this.children = children;
+	}
+
+	/**
+	 * Walk {@code projectDir}, skipping {@code skippedDirs}.
+	 */
+	public static ProjectFiles walk(Path projectDir, Collection<Path> skippedDirs) {
+		Path root = normalize(projectDir);
+		Set<Path> skipped = new HashSet<>();
+		skippedDirs.stream().map(ProjectFiles::normalize).filter(dir -> !dir.equals(root)).forEach(skipped::add);
+		Map<Path, Long> fileSizes = new LinkedHashMap<>();
+		Set<Path> symbolicLinks = new HashSet<>();
+		Map<Path, List<Path>> children = new HashMap<>();
+		if (Files.exists(root)) {
+			try {
+				Files.walkFileTree(root, new SimpleFileVisitor<>() {
+					@Override
+					public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+						if (!dir.equals(root) && (skipped.contains(dir)
+								|| SKIPPED_DIRECTORY_NAMES.contains(dir.getFileName().toString()))) {
+							return FileVisitResult.SKIP_SUBTREE;
+						}
+						if (!dir.equals(root)) {
+							addChild(dir);
+						}
+						return FileVisitResult.CONTINUE;
+					}
+
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+						if (attrs.isRegularFile()) {
+							fileSizes.put(file, attrs.size());
+							addChild(file);
+						}
+						else if (attrs.isSymbolicLink() && Files.isRegularFile(file)) {
+							fileSizes.put(file, attrs.size());
+							symbolicLinks.add(file);
+							addChild(file);
+						}
+						return FileVisitResult.CONTINUE;
+					}
+
+					private void addChild(Path path) {
+						children.computeIfAbsent(path.getParent(), parent -> new ArrayList<>()).add(path);
+					}
+
+					@Override
+					public FileVisitResult visitFileFailed(Path file, IOException exc) {
+						return FileVisitResult.CONTINUE;
+					}
+				});
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Could not walk project directory '%s'".formatted(root), e);
+			}
+		}
+		return new ProjectFiles(root, skipped, fileSizes, symbolicLinks, children);
+	}
+
+	public Path getProjectDir() {
+		return projectDir;
+	}
+
+	/**
+	 * The files at {@code path}, i.e. the file itself or the files below the directory,
+	 * in walk order.
+	 */
+	public Stream<Path> files(Path path) {
+		Path normalized = normalize(path);
+		if (!isCovered(normalized)) {
+			return walk(normalized, Set.of()).files(normalized);
+		}
+		if (fileSizes.containsKey(normalized)) {
+			return Stream.of(normalized);
+		}
+		List<Path> files = new ArrayList<>();
+		collectFiles(normalized, files);
+		return files.stream();
+	}
+
+	private void collectFiles(Path dir, List<Path> files) {
+		for (Path child : children.getOrDefault(dir, List.of())) {
+			if (fileSizes.containsKey(child)) {
+				files.add(child);
+			}
+			else {
+				collectFiles(child, files);
+			}
+		}
+	}
+
+	/**
+	 * @return whether {@code path} is inside the walked part of the project directory
+	 */
+	public boolean isCovered(Path path) {
+		Path normalized = normalize(path);
+		if (!normalized.startsWith(projectDir)) {
+			return false;
+		}
+		for (Path dir = normalized; !dir.equals(projectDir); dir = dir.getParent()) {
+			if (skippedDirs.contains(dir)) {
+				return false;
+			}
+		}
+		for (Path segment : projectDir.relativize(normalized)) {
+			if (SKIPPED_DIRECTORY_NAMES.contains(segment.toString())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the size of a walked file or {@code -1} if the file wasn't walked
+	 */
+	public long size(Path file) {
+		return fileSizes.getOrDefault(normalize(file), -1L);
+	}
+
+	public boolean isSymbolicLink(Path file) {
+		return symbolicLinks.contains(normalize(file));
+	}
+
+	public int size() {
+		return fileSizes.size();
+	}
+
+	private static Path normalize(Path path) {
+		return path.toAbsolutePath().normalize();
+	}
+
+}
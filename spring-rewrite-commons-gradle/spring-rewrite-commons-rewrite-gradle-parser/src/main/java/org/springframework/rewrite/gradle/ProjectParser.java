@@ -42,14 +42,18 @@ import org.springframework.rewrite.gradle.model.JavaSourceSetData;
 import org.springframework.rewrite.gradle.model.KotlinSourceSetData;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
@@ -67,6 +71,15 @@ public class ProjectParser {
 
 	private static final String GROOVY_PLUGIN = "org.gradle.api.plugins.GroovyPlugin";
 
+	/**
+	 * Directories {@link OmniParser} doesn't look into when collecting resources.
+	 * <p>
+	 * Mirrors the private list of ignored directories of {@link OmniParser} in OpenRewrite
+	 * 8.13.4 and must be kept in sync when upgrading OpenRewrite.
+	 */
+	static final Set<String> IGNORED_RESOURCE_DIRECTORIES = Set.of("build", "target", "out", ".sdkman",
+			".gradle", ".idea", ".metals", "node_modules", ".git");
+
 	private final Options options;
 
 	private final Logger logger;
@@ -159,14 +172,23 @@ public class ProjectParser {
 	}
 
 	public Stream<SourceFile> parse(ExecutionContext ctx) {
-		Stream<SourceFile> builder = Stream.of();
-		Set<Path> alreadyParsed = new HashSet<>();
+		List<GradleProjectData> projects = new ArrayList<>();
 		if (project.isRootProject()) {
-			for (GradleProjectData subProject : project.getSubprojects()) {
+			projects.addAll(project.getSubprojects());
+		}
+		projects.add(project);
+
+		Stream<SourceFile> builder;
+		if (options.parallelism() > 1 && projects.size() > 1) {
+			builder = parseInParallel(projects, ConcurrentHashMap.newKeySet(), ctx);
+		}
+		else {
+			builder = Stream.of();
+			Set<Path> alreadyParsed = new HashSet<>();
+			for (GradleProjectData subProject : projects) {
 				builder = Stream.concat(builder, parse(subProject, alreadyParsed, ctx));
 			}
 		}
-		builder = Stream.concat(builder, parse(project, alreadyParsed, ctx));
 
 		// log parse errors here at the end, so that we don't log parse errors for files
 		// that were excluded
@@ -174,110 +196,195 @@ public class ProjectParser {
 	}
 
 	public Stream<SourceFile> parse(GradleProjectData subproject, Set<Path> alreadyParsed, ExecutionContext ctx) {
-		String cliPort = System.getenv("MODERNE_CLI_PORT");
-		try (ProgressBar progressBar = StringUtils.isBlank(cliPort) ? new NoopProgressBar()
-				: new RemoteProgressBarSender(Integer.parseInt(cliPort))) {
-			SourceFileStream sourceFileStream = SourceFileStream.build(subproject.getPath(),
+		try (ProgressBar progressBar = progressBar()) {
+			SourceFileStream sourceFileStream = sourceFiles(subproject, alreadyParsed, ctx,
 					projectName -> progressBar.intermediateResult(":" + projectName));
+			progressBar.setMax(sourceFileStream.size());
+			return sourceFileStream.peek(it -> progressBar.step());
+		}
+		catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
 
-			Collection<PathMatcher> exclusions = options.exclusions()
-				.stream()
-				.map(pattern -> subproject.getProjectDir().toPath().getFileSystem().getPathMatcher("glob:" + pattern))
-				.collect(toList());
-			if (isExcluded(exclusions, baseDir.relativize(subproject.getProjectDir().toPath()))) {
-				logger.info("Skipping project {} because it is excluded", subproject.getPath());
-				return Stream.empty();
+	/**
+	 * Parse the projects concurrently with up to {@link Options#parallelism()} threads.
+	 * <p>
+	 * The sources of the projects are collected sequentially in project order first, so
+	 * paths shared between projects are claimed in {@code alreadyParsed} by the same
+	 * project as in a sequential parse. The LSTs of the projects are then created
+	 * concurrently and the resulting stream returns them in project order.
+	 */
+	private Stream<SourceFile> parseInParallel(List<GradleProjectData> projects, Set<Path> alreadyParsed,
+			ExecutionContext ctx) {
+		ProgressBar progressBar = progressBar();
+		List<SourceFileStream> projectSourceFiles = projects.stream()
+			.map(subproject -> sourceFiles(subproject, alreadyParsed, ctx,
+					projectName -> progressBar.intermediateResult(":" + projectName)))
+			.toList();
+		progressBar.setMax(projectSourceFiles.stream().mapToInt(SourceFileStream::size).sum());
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(options.parallelism(), projects.size()),
+				runnable -> {
+					Thread thread = new Thread(runnable, "gradle-project-parser-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		List<CompletableFuture<List<SourceFile>>> parsedProjects = projectSourceFiles.stream()
+			.map(sourceFiles -> CompletableFuture.supplyAsync(() -> sourceFiles.peek(it -> {
+				synchronized (progressBar) {
+					progressBar.step();
+				}
+			}).toList(), executor))
+			.toList();
+		CompletableFuture.allOf(parsedProjects.toArray(CompletableFuture[]::new)).whenComplete((result, throwable) -> {
+			executor.shutdown();
+			try {
+				progressBar.close();
+			}
+			catch (Exception e) {
+				logger.debug("Unable to close progress bar", e);
 			}
+		});
+		return parsedProjects.stream().flatMap(parsedProject -> parsedProject.join().stream());
+	}
 
-			logger.info("Scanning sources in project {}", subproject.getPath());
-			List<NamedStyles> styles = options.styles();
-			logger.info("Using active styles {}", styles.stream().map(NamedStyles::getName).collect(toList()));
-			List<JavaSourceSetData> sourceSets = subproject.getJavaSourceSets()
+	private ProgressBar progressBar() {
+		String cliPort = System.getenv("MODERNE_CLI_PORT");
+		return StringUtils.isBlank(cliPort) ? new NoopProgressBar()
+				: new RemoteProgressBarSender(Integer.parseInt(cliPort));
+	}
+
+	private SourceFileStream sourceFiles(GradleProjectData subproject, Set<Path> alreadyParsed, ExecutionContext ctx,
+			Consumer<String> onStart) {
+		SourceFileStream sourceFileStream = SourceFileStream.build(subproject.getPath(), onStart);
+		Collection<PathMatcher> exclusions = options.exclusions()
+			.stream()
+			.map(pattern -> subproject.getProjectDir().toPath().getFileSystem().getPathMatcher("glob:" + pattern))
+			.collect(toList());
+		if (isExcluded(exclusions, baseDir.relativize(subproject.getProjectDir().toPath()))) {
+			logger.info("Skipping project {} because it is excluded", subproject.getPath());
+			return SourceFileStream.build(subproject.getPath(), onStart);
+		}
+
+		logger.info("Scanning sources in project {}", subproject.getPath());
+		List<NamedStyles> styles = options.styles();
+		logger.info("Using active styles {}", styles.stream().map(NamedStyles::getName).collect(toList()));
+		List<JavaSourceSetData> sourceSets = subproject.getJavaSourceSets()
+			.stream()
+			.sorted(Comparator.comparingInt(sourceSet -> {
+				if ("main".equals(sourceSet.getName())) {
+					return 0;
+				}
+				else if ("test".equals(sourceSet.getName())) {
+					return 1;
+				}
+				else {
+					return 2;
+				}
+			}))
+			.toList();
+		List<Marker> projectProvenance;
+		if (sourceSets.isEmpty()) {
+			projectProvenance = sharedProvenance;
+		}
+		else {
+			projectProvenance = new ArrayList<>(sharedProvenance);
+			projectProvenance.add(new JavaProject(randomId(), subproject.getName(), new JavaProject.Publication(
+					subproject.getGroup(), subproject.getName(), subproject.getVersion())));
+		}
+
+		// One walk of the project directory feeds all parsers of the project and all
+		// source sets share a type cache, so test sources reuse the types of main
+		ProjectFiles projectFiles = ProjectFiles.walk(subproject.getProjectDir().toPath(),
+				skippedDirectories(subproject));
+		OmniParser omniParser = omniParser(alreadyParsed);
+		JavaTypeCache javaTypeCache = new JavaTypeCache();
+
+		if (subproject.isMultiPlatformKotlinProject()) {
+			sourceFileStream = sourceFileStream
+				.concat(parseMultiplatformKotlinProject(subproject, exclusions, alreadyParsed, javaTypeCache, ctx));
+		}
+
+		for (JavaSourceSetData sourceSet : sourceSets) {
+			Stream<SourceFile> sourceSetSourceFiles = Stream.of();
+			int sourceSetSize = 0;
+
+			JavaVersion javaVersion = new JavaVersion(randomId(), sourceSet.getJavaVersionData().getCreatedBy(),
+					sourceSet.getJavaVersionData().getVmVendor(),
+					sourceSet.getJavaVersionData().getSourceCompatibility(),
+					sourceSet.getJavaVersionData().getTargetCompatibility());
+
+			List<Path> unparsedSources = sourceSet.getSources()
 				.stream()
-				.sorted(Comparator.comparingInt(sourceSet -> {
-					if ("main".equals(sourceSet.getName())) {
-						return 0;
-					}
-					else if ("test".equals(sourceSet.getName())) {
-						return 1;
-					}
-					else {
-						return 2;
-					}
-				}))
+				.map(File::toPath)
+				.filter(it -> !alreadyParsed.contains(it))
+				.flatMap(projectFiles::files)
+				.distinct()
 				.toList();
-			List<Marker> projectProvenance;
-			if (sourceSets.isEmpty()) {
-				projectProvenance = sharedProvenance;
-			}
-			else {
-				projectProvenance = new ArrayList<>(sharedProvenance);
-				projectProvenance.add(new JavaProject(randomId(), subproject.getName(), new JavaProject.Publication(
-						subproject.getGroup(), subproject.getName(), subproject.getVersion())));
-			}
+			List<Path> javaPaths = unparsedSources.stream()
+				.filter(it -> it.toString().endsWith(".java") && !alreadyParsed.contains(it))
+				.collect(toList());
 
-			if (subproject.isMultiPlatformKotlinProject()) {
-				sourceFileStream = sourceFileStream
-					.concat(parseMultiplatformKotlinProject(subproject, exclusions, alreadyParsed, ctx));
-			}
+			Collection<File> implementationClasspath = sourceSet.getImplementationClasspath();
+			// The implementation configuration doesn't include build/source
+			// directories from project dependencies
+			// So mash it and our rewriteImplementation together to get everything
+			List<Path> dependencyPaths = Stream
+				.concat(implementationClasspath.stream(), sourceSet.getCompileClasspath().stream())
+				.map(File::toPath)
+				.map(Path::toAbsolutePath)
+				.map(Path::normalize)
+				.distinct()
+				.collect(toList());
 
-			Set<String> sourceDirs = new HashSet<>();
-			for (JavaSourceSetData sourceSet : sourceSets) {
-				Stream<SourceFile> sourceSetSourceFiles = Stream.of();
-				int sourceSetSize = 0;
-
-				JavaTypeCache javaTypeCache = new JavaTypeCache();
-				JavaVersion javaVersion = new JavaVersion(randomId(), sourceSet.getJavaVersionData().getCreatedBy(),
-						sourceSet.getJavaVersionData().getVmVendor(),
-						sourceSet.getJavaVersionData().getSourceCompatibility(),
-						sourceSet.getJavaVersionData().getTargetCompatibility());
-
-				List<Path> unparsedSources = sourceSet.getSources()
-					.stream()
-					.filter(it -> it.exists() && !alreadyParsed.contains(it.toPath()))
-					.flatMap(sourceDir -> {
-						try {
-							return Files.walk(sourceDir.toPath());
-						}
-						catch (IOException e) {
-							throw new UncheckedIOException(e);
+			if (!javaPaths.isEmpty()) {
+				alreadyParsed.addAll(javaPaths);
+				Stream<SourceFile> cus = Stream
+					.of((Supplier<JavaParser>) () -> JavaParser.fromJavaVersion()
+						.classpath(dependencyPaths)
+						.styles(options.styles())
+						.typeCache(javaTypeCache)
+						.logCompilationWarningsAndErrors(options.logCompilationWarningsAndErrors())
+						.build())
+					.map(Supplier::get)
+					.flatMap(jp -> jp.parse(javaPaths, baseDir, ctx))
+					.map(cu -> {
+						if (isExcluded(exclusions, cu.getSourcePath()) || cu.getSourcePath()
+							.startsWith(baseDir.relativize(subproject.getBuildDir().toPath()))) {
+							return null;
 						}
+						return cu;
 					})
-					.filter(Files::isRegularFile)
-					.map(Path::toAbsolutePath)
-					.map(Path::normalize)
-					.distinct()
-					.toList();
-				List<Path> javaPaths = unparsedSources.stream()
-					.filter(it -> it.toString().endsWith(".java") && !alreadyParsed.contains(it))
-					.collect(toList());
+					.filter(Objects::nonNull)
+					.map(it -> it.withMarkers(it.getMarkers().add(javaVersion)));
+				sourceSetSourceFiles = Stream.concat(sourceSetSourceFiles, cus);
+				sourceSetSize += javaPaths.size();
+				logger.info("Scanned {} Java sources in {}/{}", javaPaths.size(), subproject.getPath(),
+						sourceSet.getName());
+			}
 
-				Collection<File> implementationClasspath = sourceSet.getImplementationClasspath();
-				// The implementation configuration doesn't include build/source
-				// directories from project dependencies
-				// So mash it and our rewriteImplementation together to get everything
-				List<Path> dependencyPaths = Stream
-					.concat(implementationClasspath.stream(), sourceSet.getCompileClasspath().stream())
-					.map(File::toPath)
-					.map(Path::toAbsolutePath)
-					.map(Path::normalize)
-					.distinct()
+			if (subproject.getPlugins().stream().anyMatch(gpd -> "org.jetbrains.kotlin.jvm".equals(gpd.getId()))) {
+				String excludedProtosPath = subproject.getProjectDir().getPath() + "/protos/build/generated";
+				List<Path> kotlinPaths = unparsedSources.stream()
+					.filter(it -> !it.toString().startsWith(excludedProtosPath))
+					.filter(it -> it.toString().endsWith(".kt"))
 					.collect(toList());
 
-				if (!javaPaths.isEmpty()) {
-					alreadyParsed.addAll(javaPaths);
+				if (!kotlinPaths.isEmpty()) {
+					alreadyParsed.addAll(kotlinPaths);
 					Stream<SourceFile> cus = Stream
-						.of((Supplier<JavaParser>) () -> JavaParser.fromJavaVersion()
+						.of((Supplier<KotlinParser>) () -> KotlinParser.builder()
 							.classpath(dependencyPaths)
 							.styles(options.styles())
 							.typeCache(javaTypeCache)
 							.logCompilationWarningsAndErrors(options.logCompilationWarningsAndErrors())
 							.build())
 						.map(Supplier::get)
-						.flatMap(jp -> jp.parse(javaPaths, baseDir, ctx))
+						.flatMap(kp -> kp.parse(kotlinPaths, baseDir, ctx))
 						.map(cu -> {
-							if (isExcluded(exclusions, cu.getSourcePath()) || cu.getSourcePath()
-								.startsWith(baseDir.relativize(subproject.getBuildDir().toPath()))) {
+							if (isExcluded(exclusions, cu.getSourcePath())) {
 								return null;
 							}
 							return cu;
@@ -285,121 +392,85 @@ public class ProjectParser {
 						.filter(Objects::nonNull)
 						.map(it -> it.withMarkers(it.getMarkers().add(javaVersion)));
 					sourceSetSourceFiles = Stream.concat(sourceSetSourceFiles, cus);
-					sourceSetSize += javaPaths.size();
-					logger.info("Scanned {} Java sources in {}/{}", javaPaths.size(), subproject.getPath(),
+					sourceSetSize += kotlinPaths.size();
+					logger.info("Scanned {} Kotlin sources in {}/{}", kotlinPaths.size(), subproject.getPath(),
 							sourceSet.getName());
 				}
+			}
+			if (subproject.getPlugins()
+				.stream()
+				.anyMatch(gpd -> gpd.getFullyQualifiedClassName().startsWith(GROOVY_PLUGIN))) {
+				List<Path> groovyPaths = unparsedSources.stream()
+					.filter(it -> it.toString().endsWith(".groovy"))
+					.collect(toList());
 
-				if (subproject.getPlugins().stream().anyMatch(gpd -> "org.jetbrains.kotlin.jvm".equals(gpd.getId()))) {
-					String excludedProtosPath = subproject.getProjectDir().getPath() + "/protos/build/generated";
-					List<Path> kotlinPaths = unparsedSources.stream()
-						.filter(it -> !it.toString().startsWith(excludedProtosPath))
-						.filter(it -> it.toString().endsWith(".kt"))
+				if (!groovyPaths.isEmpty()) {
+					// Groovy sources are aware of java types that are intermixed in
+					// the same directory/sourceSet
+					// Include the build directory containing class files so these
+					// definitions are available
+					List<Path> dependenciesWithBuildDirs = Stream
+						.concat(dependencyPaths.stream(), sourceSet.getClassesDirs().stream().map(File::toPath))
 						.collect(toList());
 
-					if (!kotlinPaths.isEmpty()) {
-						alreadyParsed.addAll(kotlinPaths);
-						Stream<SourceFile> cus = Stream
-							.of((Supplier<KotlinParser>) () -> KotlinParser.builder()
-								.classpath(dependencyPaths)
-								.styles(options.styles())
-								.typeCache(javaTypeCache)
-								.logCompilationWarningsAndErrors(options.logCompilationWarningsAndErrors())
-								.build())
-							.map(Supplier::get)
-							.flatMap(kp -> kp.parse(kotlinPaths, baseDir, ctx))
-							.map(cu -> {
-								if (isExcluded(exclusions, cu.getSourcePath())) {
-									return null;
-								}
-								return cu;
-							})
-							.filter(Objects::nonNull)
-							.map(it -> it.withMarkers(it.getMarkers().add(javaVersion)));
-						sourceSetSourceFiles = Stream.concat(sourceSetSourceFiles, cus);
-						sourceSetSize += kotlinPaths.size();
-						logger.info("Scanned {} Kotlin sources in {}/{}", kotlinPaths.size(), subproject.getPath(),
-								sourceSet.getName());
-					}
-				}
-				if (subproject.getPlugins()
-					.stream()
-					.anyMatch(gpd -> gpd.getFullyQualifiedClassName().startsWith(GROOVY_PLUGIN))) {
-					List<Path> groovyPaths = unparsedSources.stream()
-						.filter(it -> it.toString().endsWith(".groovy"))
-						.collect(toList());
+					alreadyParsed.addAll(groovyPaths);
 
-					if (!groovyPaths.isEmpty()) {
-						// Groovy sources are aware of java types that are intermixed in
-						// the same directory/sourceSet
-						// Include the build directory containing class files so these
-						// definitions are available
-						List<Path> dependenciesWithBuildDirs = Stream
-							.concat(dependencyPaths.stream(), sourceSet.getClassesDirs().stream().map(File::toPath))
-							.collect(toList());
-
-						alreadyParsed.addAll(groovyPaths);
-
-						Stream<SourceFile> cus = Stream
-							.of((Supplier<GroovyParser>) () -> GroovyParser.builder()
-								.classpath(dependenciesWithBuildDirs)
-								.styles(options.styles())
-								.typeCache(javaTypeCache)
-								.logCompilationWarningsAndErrors(false)
-								.build())
-							.map(Supplier::get)
-							.flatMap(gp -> gp.parse(groovyPaths, baseDir, ctx))
-							.map(cu -> {
-								if (isExcluded(exclusions, cu.getSourcePath())) {
-									return null;
-								}
-								return cu;
-							})
-							.filter(Objects::nonNull)
-							.map(it -> it.withMarkers(it.getMarkers().add(javaVersion)));
-						sourceSetSourceFiles = Stream.concat(sourceSetSourceFiles, cus);
-						sourceSetSize += groovyPaths.size();
-						logger.info("Scanned {} Groovy sources in {}/{}", groovyPaths.size(), subproject.getPath(),
-								sourceSet.getName());
-					}
+					Stream<SourceFile> cus = Stream
+						.of((Supplier<GroovyParser>) () -> GroovyParser.builder()
+							.classpath(dependenciesWithBuildDirs)
+							.styles(options.styles())
+							.typeCache(javaTypeCache)
+							.logCompilationWarningsAndErrors(false)
+							.build())
+						.map(Supplier::get)
+						.flatMap(gp -> gp.parse(groovyPaths, baseDir, ctx))
+						.map(cu -> {
+							if (isExcluded(exclusions, cu.getSourcePath())) {
+								return null;
+							}
+							return cu;
+						})
+						.filter(Objects::nonNull)
+						.map(it -> it.withMarkers(it.getMarkers().add(javaVersion)));
+					sourceSetSourceFiles = Stream.concat(sourceSetSourceFiles, cus);
+					sourceSetSize += groovyPaths.size();
+					logger.info("Scanned {} Groovy sources in {}/{}", groovyPaths.size(), subproject.getPath(),
+							sourceSet.getName());
 				}
+			}
 
-				for (File resourcesDir : sourceSet.getSourceDirectories()) {
-					if (resourcesDir.exists() && !alreadyParsed.contains(resourcesDir.toPath())) {
-						OmniParser omniParser = omniParser(alreadyParsed);
-						List<Path> accepted = omniParser.acceptedPaths(baseDir, resourcesDir.toPath());
-						sourceSetSourceFiles = Stream.concat(sourceSetSourceFiles,
-								omniParser.parse(accepted, baseDir, new InMemoryExecutionContext()));
-						alreadyParsed.addAll(accepted);
-						sourceSetSize += accepted.size();
-					}
+			for (File resourcesDir : sourceSet.getSourceDirectories()) {
+				if (resourcesDir.exists() && !alreadyParsed.contains(resourcesDir.toPath())) {
+					List<Path> accepted = acceptedPaths(omniParser, projectFiles, resourcesDir.toPath(),
+							alreadyParsed);
+					sourceSetSourceFiles = Stream.concat(sourceSetSourceFiles,
+							omniParser.parse(accepted, baseDir, new InMemoryExecutionContext()));
+					alreadyParsed.addAll(accepted);
+					sourceSetSize += accepted.size();
 				}
+			}
 
-				JavaSourceSet sourceSetProvenance = JavaSourceSet.build(sourceSet.getName(), dependencyPaths,
-						javaTypeCache, false);
-				sourceFileStream = sourceFileStream.concat(sourceSetSourceFiles.map(addProvenance(sourceSetProvenance)),
-						sourceSetSize);
-				// Some source sets get misconfigured to have the same directories as
-				// other source sets
-				// This causes duplicate source files to be parsed, so once a source set
-				// has been parsed exclude it from future parsing
-				for (File file : sourceSet.getSourceDirectories()) {
-					alreadyParsed.add(file.toPath());
-				}
+			JavaSourceSet sourceSetProvenance = JavaSourceSet.build(sourceSet.getName(), dependencyPaths,
+					javaTypeCache, false);
+			sourceFileStream = sourceFileStream.concat(sourceSetSourceFiles.map(addProvenance(sourceSetProvenance)),
+					sourceSetSize);
+			// Some source sets get misconfigured to have the same directories as
+			// other source sets
+			// This causes duplicate source files to be parsed, so once a source set
+			// has been parsed exclude it from future parsing
+			for (File file : sourceSet.getSourceDirectories()) {
+				alreadyParsed.add(file.toPath());
 			}
-			SourceFileStream gradleFiles = parseGradleFiles(exclusions, alreadyParsed, ctx);
-			sourceFileStream = sourceFileStream.concat(gradleFiles, gradleFiles.size());
+		}
+		SourceFileStream gradleFiles = parseGradleFiles(exclusions, alreadyParsed, ctx);
+		sourceFileStream = sourceFileStream.concat(gradleFiles, gradleFiles.size());
 
-			SourceFileStream nonProjectResources = parseNonProjectResources(subproject, alreadyParsed, ctx,
-					projectProvenance, sourceFileStream);
-			sourceFileStream = sourceFileStream.concat(nonProjectResources, nonProjectResources.size());
+		SourceFileStream nonProjectResources = parseNonProjectResources(subproject, projectFiles, alreadyParsed, ctx,
+				projectProvenance, sourceFileStream);
+		sourceFileStream = sourceFileStream.concat(nonProjectResources, nonProjectResources.size());
 
-			progressBar.setMax(sourceFileStream.size());
-			return sourceFileStream.map(addProvenance(projectProvenance)).peek(it -> progressBar.step());
-		}
-		catch (Exception e) {
-			throw new RuntimeException(e);
-		}
+		return SourceFileStream.build("", s -> {
+		}).concat(sourceFileStream.map(addProvenance(projectProvenance)), sourceFileStream.size());
 	}
 
 	private GradleParser gradleParser() {
@@ -492,16 +563,78 @@ public class ProjectParser {
 		}).concat(sourceFiles, gradleFileCount);
 	}
 
-	protected SourceFileStream parseNonProjectResources(GradleProjectData subproject, Set<Path> alreadyParsed,
-			ExecutionContext ctx, List<Marker> projectProvenance, Stream<SourceFile> sourceFiles) {
+	protected SourceFileStream parseNonProjectResources(GradleProjectData subproject, ProjectFiles projectFiles,
+			Set<Path> alreadyParsed, ExecutionContext ctx, List<Marker> projectProvenance,
+			Stream<SourceFile> sourceFiles) {
 		// Collect any additional yaml/properties/xml files that are NOT already in a
 		// source set.
 		OmniParser omniParser = omniParser(alreadyParsed);
-		List<Path> accepted = omniParser.acceptedPaths(baseDir, subproject.getProjectDir().toPath());
+		List<Path> accepted = acceptedPaths(omniParser, projectFiles, subproject.getProjectDir().toPath(),
+				alreadyParsed);
 		return SourceFileStream.build("", s -> {
 		}).concat(omniParser.parse(accepted, baseDir, ctx), accepted.size());
 	}
 
+	/**
+	 * The files below {@code searchDir} the {@link OmniParser} accepts, taken from the
+	 * walked {@link ProjectFiles} instead of walking {@code searchDir} again. Applies the
+	 * same rules as {@link OmniParser#acceptedPaths(Path, Path)} in OpenRewrite 8.13.4:
+	 * exclusions, {@link #IGNORED_RESOURCE_DIRECTORIES}, symbolic links and the size
+	 * threshold, which must be kept in sync when upgrading OpenRewrite.
+	 */
+	private List<Path> acceptedPaths(OmniParser omniParser, ProjectFiles projectFiles, Path searchDir,
+			Set<Path> alreadyParsed) {
+		Collection<PathMatcher> exclusions = pathMatchers(baseDir, mergeExclusions(project, baseDir, options));
+		Path dir = searchDir.toAbsolutePath().normalize();
+		if (alreadyParsed.contains(dir) || isResourceExcluded(exclusions, dir)) {
+			return List.of();
+		}
+		long sizeThreshold = options.sizeThresholdMb() * 1024L * 1024L;
+		return projectFiles.files(dir).filter(file -> {
+			Path path = dir;
+			for (Path segment : dir.relativize(file)) {
+				path = path.resolve(segment);
+				if (alreadyParsed.contains(path) || isResourceExcluded(exclusions, path)) {
+					return false;
+				}
+				if (!path.equals(file) && IGNORED_RESOURCE_DIRECTORIES.contains(segment.toString())) {
+					return false;
+				}
+			}
+			if (projectFiles.isSymbolicLink(file) || sizeThreshold > 0 && projectFiles.size(file) > sizeThreshold) {
+				return false;
+			}
+			return omniParser.accept(file);
+		}).toList();
+	}
+
+	private boolean isResourceExcluded(Collection<PathMatcher> exclusions, Path path) {
+		Path relativePath = baseDir.relativize(path);
+		for (PathMatcher exclusion : exclusions) {
+			if (exclusion.matches(relativePath)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The build directory and the directories of the nested projects of
+	 * {@code subproject}.
+	 */
+	private Collection<Path> skippedDirectories(GradleProjectData subproject) {
+		Path projectDir = subproject.getProjectDir().toPath().toAbsolutePath().normalize();
+		List<Path> skipped = new ArrayList<>();
+		skipped.add(subproject.getBuildDir().toPath());
+		for (GradleProjectData other : project.getSubprojects()) {
+			Path otherDir = other.getProjectDir().toPath().toAbsolutePath().normalize();
+			if (!otherDir.equals(projectDir) && otherDir.startsWith(projectDir)) {
+				skipped.add(otherDir);
+			}
+		}
+		return skipped;
+	}
+
 	private OmniParser omniParser(Set<Path> alreadyParsed) {
 		return OmniParser
 			.builder(OmniParser.defaultResourceParsers(),
@@ -530,7 +663,8 @@ public class ProjectParser {
 	}
 
 	private SourceFileStream parseMultiplatformKotlinProject(GradleProjectData subproject,
-			Collection<PathMatcher> exclusions, Set<Path> alreadyParsed, ExecutionContext ctx) {
+			Collection<PathMatcher> exclusions, Set<Path> alreadyParsed, JavaTypeCache javaTypeCache,
+			ExecutionContext ctx) {
 		SourceFileStream sourceFileStream = SourceFileStream.build(subproject.getPath(), s -> {
 		});
 		for (KotlinSourceSetData sourceSet : project.getKotlinSourceSets()) {
@@ -554,7 +688,6 @@ public class ProjectParser {
 				.collect(toList());
 
 			if (!kotlinPaths.isEmpty()) {
-				JavaTypeCache javaTypeCache = new JavaTypeCache();
 				KotlinParser kp = KotlinParser.builder()
 					.classpath(dependencyPaths)
 					.styles(options.styles())
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectFilesTest {
+
+	@TempDir
+	Path projectDir;
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		write("build.gradle", "plugins { id 'java' }");
+		write("src/main/java/A.java", "class A {}");
+		write("src/main/resources/application.yml", "a: b");
+		write("build/generated/B.java", "class B {}");
+		write(".gradle/state.bin", "");
+		write("nested/build.gradle", "");
+		write("nested/src/main/java/C.java", "class C {}");
+	}
+
+	@Test
+	void walkSkipsBuildAndNestedProjectDirectories() {
+		ProjectFiles projectFiles = ProjectFiles.walk(projectDir,
+				List.of(projectDir.resolve("build"), projectDir.resolve("nested")));
+
+		assertThat(projectFiles.size()).isEqualTo(3);
+		assertThat(projectFiles.files(projectDir)).containsExactlyInAnyOrder(projectDir.resolve("build.gradle"),
+				projectDir.resolve("src/main/java/A.java"), projectDir.resolve("src/main/resources/application.yml"));
+		assertThat(projectFiles.files(projectDir.resolve("src/main/resources")))
+			.containsExactly(projectDir.resolve("src/main/resources/application.yml"));
+		assertThat(projectFiles.files(projectDir.resolve("src/main/java/A.java")))
+			.containsExactly(projectDir.resolve("src/main/java/A.java"));
+		assertThat(projectFiles.size(projectDir.resolve("src/main/java/A.java"))).isEqualTo(10);
+	}
+
+	@Test
+	void filesOutsideWalkedDirectoriesAreLookedUpOnDemand() {
+		ProjectFiles projectFiles = ProjectFiles.walk(projectDir,
+				List.of(projectDir.resolve("build"), projectDir.resolve("nested")));
+
+		assertThat(projectFiles.isCovered(projectDir.resolve("src/main/java"))).isTrue();
+		assertThat(projectFiles.isCovered(projectDir.resolve("build/generated"))).isFalse();
+		assertThat(projectFiles.isCovered(projectDir.resolve(".gradle"))).isFalse();
+		assertThat(projectFiles.files(projectDir.resolve("build/generated/B.java")))
+			.containsExactly(projectDir.resolve("build/generated/B.java"));
+		assertThat(projectFiles.files(projectDir.resolve("nested/src")))
+			.containsExactly(projectDir.resolve("nested/src/main/java/C.java"));
+		assertThat(projectFiles.files(projectDir.resolve("does/not/exist"))).isEmpty();
+	}
+
+	@Test
+	void filesOfDirectoryAreReturnedInWalkOrder() throws Exception {
+		write("src/main/resources/a/b/c.yml", "c: d");
+		write("src/main/resources/a/d.yml", "d: e");
+		write("src/test/java/ATest.java", "class ATest {}");
+		ProjectFiles projectFiles = ProjectFiles.walk(projectDir,
+				List.of(projectDir.resolve("build"), projectDir.resolve("nested")));
+
+		Path src = projectDir.resolve("src");
+		try (Stream<Path> walk = Files.walk(src)) {
+			assertThat(projectFiles.files(src)).containsExactlyElementsOf(walk.filter(Files::isRegularFile).toList());
+		}
+		assertThat(projectFiles.files(projectDir.resolve("src/main/resources/a"))).containsExactlyInAnyOrder(
+				projectDir.resolve("src/main/resources/a/b/c.yml"), projectDir.resolve("src/main/resources/a/d.yml"));
+		assertThat(projectFiles.files(projectDir.resolve("src/main/res"))).isEmpty();
+	}
+
+	private void write(String path, String content) throws Exception {
+		Path file = projectDir.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+
+}
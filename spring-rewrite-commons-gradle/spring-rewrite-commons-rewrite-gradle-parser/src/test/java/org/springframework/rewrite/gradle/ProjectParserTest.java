@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.SourceFile;
+import org.openrewrite.polyglot.OmniParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.rewrite.gradle.model.GradleProjectData;
@@ -146,4 +147,39 @@ public class ProjectParserTest {
 		assertThat(sources.size()).isEqualTo(48);
 	}
 
+	@Test
+	void parseMultiProjectInParallel() {
+		GradleProjectData gp = SpringRewriteModelBuilder.forProjectDirectory(GradleProjectData.class,
+				rewriteGradleModelPath.toFile(), rewriteGradleModelPath.resolve("build.gradle").toFile());
+		Options parallelOptions = new Options(OPTIONS.exclusions(), OPTIONS.logCompilationWarningsAndErrors(),
+				OPTIONS.plainTextMasks(), OPTIONS.sizeThresholdMb(), OPTIONS.styles(), 4);
+
+		List<Path> sequential = new ProjectParser(gp, OPTIONS, log)
+			.parse(new InMemoryExecutionContext(t -> Assertions.fail("Parser Error", t)))
+			.map(SourceFile::getSourcePath)
+			.toList();
+		List<Path> parallel = new ProjectParser(gp, parallelOptions, log)
+			.parse(new InMemoryExecutionContext(t -> Assertions.fail("Parser Error", t)))
+			.map(SourceFile::getSourcePath)
+			.toList();
+
+		assertThat(parallel).hasSize(48).containsExactlyElementsOf(sequential);
+	}
+
+	@Test
+	void ignoredResourceDirectoriesMatchOmniParser(@TempDir Path dir) throws Exception {
+		for (String ignored : ProjectParser.IGNORED_RESOURCE_DIRECTORIES) {
+			Path file = dir.resolve(ignored).resolve("config/application.yml");
+			Files.createDirectories(file.getParent());
+			Files.writeString(file, "a: b");
+		}
+		Path accepted = dir.resolve("config/application.yml");
+		Files.createDirectories(accepted.getParent());
+		Files.writeString(accepted, "a: b");
+
+		OmniParser omniParser = OmniParser.builder(OmniParser.defaultResourceParsers()).build();
+
+		assertThat(omniParser.acceptedPaths(dir, dir)).containsExactly(accepted);
+	}
+
 }
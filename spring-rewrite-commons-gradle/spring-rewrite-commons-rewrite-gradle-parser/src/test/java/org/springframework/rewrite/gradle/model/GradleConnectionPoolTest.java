@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle.model;
+
+import org.gradle.tooling.ProjectConnection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GradleConnectionPoolTest {
+
+	@TempDir
+	Path projectDir;
+
+	@TempDir
+	Path otherProjectDir;
+
+	@Test
+	void connectionIsReusedForSameBuild() {
+		try (GradleConnectionPool pool = new GradleConnectionPool(Duration.ofMinutes(1))) {
+			ProjectConnection first = pool.withConnection(projectDir.toFile(), Function.identity());
+			ProjectConnection second = pool.withConnection(projectDir.resolve(".").toFile(), Function.identity());
+			ProjectConnection other = pool.withConnection(otherProjectDir.toFile(), Function.identity());
+
+			assertThat(second).isSameAs(first);
+			assertThat(other).isNotSameAs(first);
+			assertThat(pool.size()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void changedWrapperDistributionUsesNewConnection() throws Exception {
+		Path wrapperProperties = projectDir.resolve("gradle/wrapper/gradle-wrapper.properties");
+		Files.createDirectories(wrapperProperties.getParent());
+		Files.writeString(wrapperProperties, "distributionUrl=https\\://services.gradle.org/gradle-8.4-bin.zip");
+		try (GradleConnectionPool pool = new GradleConnectionPool(Duration.ofMinutes(1))) {
+			ProjectConnection first = pool.withConnection(projectDir.toFile(), Function.identity());
+			Files.writeString(wrapperProperties, "distributionUrl=https\\://services.gradle.org/gradle-8.5-bin.zip");
+			ProjectConnection second = pool.withConnection(projectDir.toFile(), Function.identity());
+
+			assertThat(second).isNotSameAs(first);
+		}
+	}
+
+	@Test
+	void idleConnectionsAreEvicted() throws Exception {
+		try (GradleConnectionPool pool = new GradleConnectionPool(Duration.ofMillis(50))) {
+			pool.withConnection(projectDir.toFile(), connection -> {
+				sleep(100);
+				pool.evictIdle();
+				assertThat(pool.size()).isEqualTo(1);
+				return connection;
+			});
+			sleep(100);
+			pool.evictIdle();
+			assertThat(pool.size()).isZero();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GradleModelCacheTest {
+
+	@TempDir
+	Path projectDir;
+
+	@TempDir
+	Path cacheDir;
+
+	private final AtomicInteger builtModels = new AtomicInteger();
+
+	private GradleModelCache cache;
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		cache = new GradleModelCache(cacheDir);
+		Files.writeString(projectDir.resolve("settings.gradle"), "rootProject.name = 'sample'");
+		Files.writeString(projectDir.resolve("build.gradle"), "plugins { id 'java' }");
+		Files.createDirectories(projectDir.resolve("src/main/java"));
+		Files.writeString(projectDir.resolve("src/main/java/A.java"), "class A {}");
+	}
+
+	@Test
+	void cachedModelIsReadFromCacheFile() {
+		Node first = getModel();
+		Node second = getModel();
+
+		assertThat(builtModels).hasValue(1);
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getName()).isEqualTo("root");
+		assertThat(second.getDir()).isEqualTo(projectDir.toFile());
+		assertThat(second.describe()).isEqualTo("root with 2 children");
+		Node child = second.getChildren().get(0);
+		assertThat(child.getName()).isEqualTo("child");
+		assertThat(child.getParent()).isSameAs(second);
+		assertThat(second.getChildren().get(1)).isSameAs(child);
+	}
+
+	@Test
+	void changedBuildScriptInvalidatesModel() throws Exception {
+		getModel();
+		Files.writeString(projectDir.resolve("src/main/java/A.java"), "class A { int a; }");
+		getModel();
+		assertThat(builtModels).hasValue(1);
+
+		Files.writeString(projectDir.resolve("build.gradle"), "plugins { id 'java-library' }");
+		getModel();
+		assertThat(builtModels).hasValue(2);
+
+		Files.createDirectories(projectDir.resolve("gradle"));
+		Files.writeString(projectDir.resolve("gradle/libs.versions.toml"), "[versions]");
+		getModel();
+		assertThat(builtModels).hasValue(3);
+	}
+
+	@Test
+	void clearRemovesCachedModels() {
+		getModel();
+		cache.clear();
+		getModel();
+
+		assertThat(builtModels).hasValue(2);
+	}
+
+	@Test
+	void gradleProjectDataIsReadFromCacheFile() throws Exception {
+		copyBuildFile("build.gradle");
+		copyBuildFile("settings.gradle");
+		File buildFile = projectDir.resolve("build.gradle").toFile();
+
+		GradleProjectData built = SpringRewriteModelBuilder.forProjectDirectory(GradleProjectData.class,
+				projectDir.toFile(), buildFile, cache);
+		GradleProjectData cached = SpringRewriteModelBuilder.forProjectDirectory(GradleProjectData.class,
+				projectDir.toFile(), buildFile, cache);
+
+		assertThat(cached).isNotSameAs(built);
+		try (Stream<Path> cacheFiles = Files.list(cacheDir)) {
+			assertThat(cacheFiles).hasSize(1);
+		}
+		assertThat(cached.getName()).isEqualTo("sample");
+		assertThat(cached.getProjectDir()).isEqualTo(built.getProjectDir());
+		assertThat(cached.getProperties()).isNotEmpty().isEqualTo(built.getProperties());
+		assertThat(cached.getGradleSettings().getPluginRepositories()).extracting(repository -> repository.getUri())
+			.isNotEmpty()
+			.isEqualTo(built.getGradleSettings()
+				.getPluginRepositories()
+				.stream()
+				.map(repository -> repository.getUri())
+				.toList());
+		assertThat(cached.getGradleSettings().getPlugins()).hasSameSizeAs(built.getGradleSettings().getPlugins());
+		assertThat(cached.getNameToConfiguration().get("compileClasspath").getResolved()).hasSize(1);
+		assertThat(cached.getJavaSourceSets()).extracting(JavaSourceSetData::getName).contains("main", "test");
+	}
+
+	@Test
+	void cacheFileWithUnexpectedTypeIsRebuilt() {
+		Supplier<Holder> modelSupplier = () -> {
+			builtModels.incrementAndGet();
+			return () -> new Date(0);
+		};
+		File buildFile = projectDir.resolve("build.gradle").toFile();
+
+		Holder first = cache.get(Holder.class, projectDir.toFile(), buildFile, modelSupplier);
+		Holder second = cache.get(Holder.class, projectDir.toFile(), buildFile, modelSupplier);
+
+		assertThat(builtModels).hasValue(2);
+		assertThat(second.getValue()).isEqualTo(first.getValue());
+	}
+
+	private void copyBuildFile(String fileName) throws Exception {
+		try (InputStream is = GradleModelCacheTest.class.getResourceAsStream("/" + fileName)) {
+			Files.write(projectDir.resolve(fileName), Objects.requireNonNull(is).readAllBytes());
+		}
+	}
+
+	private Node getModel() {
+		return cache.get(Node.class, projectDir.toFile(), projectDir.resolve("build.gradle").toFile(), () -> {
+			builtModels.incrementAndGet();
+			NodeImpl root = new NodeImpl("root", null, projectDir.toFile());
+			NodeImpl child = new NodeImpl("child", root, null);
+			root.children.add(child);
+			root.children.add(child);
+			return root;
+		});
+	}
+
+	public interface Holder {
+
+		Object getValue();
+
+	}
+
+	public interface Node {
+
+		String getName();
+
+		List<Node> getChildren();
+
+		Node getParent();
+
+		File getDir();
+
+		default String describe() {
+			return getName() + " with " + getChildren().size() + " children";
+		}
+
+	}
+
+	private static final class NodeImpl implements Node {
+
+		private final String name;
+
+		private final Node parent;
+
+		private final File dir;
+
+		private final List<Node> children = new ArrayList<>();
+
+		private NodeImpl(String name, Node parent, File dir) {
+			this.name = name;
+			this.parent = parent;
+			this.dir = dir;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public List<Node> getChildren() {
+			return children;
+		}
+
+		@Override
+		public Node getParent() {
+			return parent;
+		}
+
+		@Override
+		public File getDir() {
+			return dir;
+		}
+
+	}
+
+}
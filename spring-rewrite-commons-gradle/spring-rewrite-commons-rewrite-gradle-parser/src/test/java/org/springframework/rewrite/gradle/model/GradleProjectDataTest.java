@@ -17,6 +17,7 @@ package org.springframework.rewrite.gradle.model;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.gradle.toolingapi.GradleDependencyConfiguration;
 
 import java.io.InputStream;
 import java.nio.file.Files;
@@ -33,12 +34,7 @@ public class GradleProjectDataTest {
 
 	@Test
 	void serializable(@TempDir Path dir) throws Exception {
-		try (InputStream is = GradleProjectDataTest.class.getResourceAsStream("/build.gradle")) {
-			Files.write(dir.resolve("build.gradle"), Objects.requireNonNull(is).readAllBytes());
-		}
-		try (InputStream is = GradleProjectDataTest.class.getResourceAsStream("/settings.gradle")) {
-			Files.write(dir.resolve("settings.gradle"), Objects.requireNonNull(is).readAllBytes());
-		}
+		copyBuildFiles(dir);
 
 		GradleProjectData gp = SpringRewriteModelBuilder.forProjectDirectory(GradleProjectData.class, dir.toFile(),
 				dir.resolve("build.gradle").toFile());
@@ -50,4 +46,34 @@ public class GradleProjectDataTest {
 		assertThat(gp.getMavenRepositories().get(0).getUri()).isEqualTo("https://repo.maven.apache.org/maven2/");
 	}
 
+	@Test
+	void onlyCompileClasspathsResolved(@TempDir Path dir) throws Exception {
+		copyBuildFiles(dir);
+
+		GradleProjectData gp = SpringRewriteModelBuilder.forProjectDirectory(GradleProjectData.class, dir.toFile(),
+				dir.resolve("build.gradle").toFile(), GradleConnectionPool.shared(),
+				ConfigurationResolution.COMPILE_CLASSPATHS);
+
+		GradleDependencyConfiguration compileClasspath = gp.getNameToConfiguration().get("compileClasspath");
+		assertThat(compileClasspath.getResolved()).hasSize(1);
+		GradleDependencyConfiguration runtimeClasspath = gp.getNameToConfiguration().get("runtimeClasspath");
+		assertThat(runtimeClasspath.getRequested()).hasSize(1);
+		assertThat(runtimeClasspath.getResolved()).isEmpty();
+		JavaSourceSetData main = gp.getJavaSourceSets()
+			.stream()
+			.filter(sourceSet -> sourceSet.getName().equals("main"))
+			.findFirst()
+			.orElseThrow();
+		assertThat(main.getCompileClasspath()).anyMatch(file -> file.getName().equals("commons-lang3-3.4.jar"));
+	}
+
+	private static void copyBuildFiles(Path dir) throws Exception {
+		try (InputStream is = GradleProjectDataTest.class.getResourceAsStream("/build.gradle")) {
+			Files.write(dir.resolve("build.gradle"), Objects.requireNonNull(is).readAllBytes());
+		}
+		try (InputStream is = GradleProjectDataTest.class.getResourceAsStream("/settings.gradle")) {
+			Files.write(dir.resolve("settings.gradle"), Objects.requireNonNull(is).readAllBytes());
+		}
+	}
+
 }
@@ -19,6 +19,7 @@ import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.tooling.provider.model.ToolingModelBuilder;
 import org.gradle.tooling.provider.model.ToolingModelBuilderRegistry;
+import org.springframework.rewrite.gradle.model.ConfigurationResolution;
 import org.springframework.rewrite.gradle.model.GradleProjectData;
 import org.springframework.rewrite.gradle.plugin.model.GradleToolingApiProjectBuilder;
 
@@ -47,7 +48,9 @@ public class SpringRewritePlugin implements Plugin<Project> {
 
 		@Override
 		public Object buildAll(String modelName, Project project) {
-			return GradleToolingApiProjectBuilder.createProjectData(project);
+			ConfigurationResolution configurationResolution = ConfigurationResolution
+				.fromProperty(project.findProperty(ConfigurationResolution.PROPERTY));
+			return GradleToolingApiProjectBuilder.createProjectData(project, configurationResolution);
 		}
 
 	}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle.plugin.model;
+
+import org.gradle.api.artifacts.Configuration;
+import org.openrewrite.gradle.toolingapi.Dependency;
+import org.springframework.rewrite.gradle.plugin.model.GradleToolingApiProjectBuilder.DependencyImpl;
+import org.springframework.rewrite.gradle.plugin.model.GradleToolingApiProjectBuilder.GroupArtifactImpl;
+import org.springframework.rewrite.gradle.plugin.model.GradleToolingApiProjectBuilder.GroupArtifactVersionImpl;
+import org.springframework.rewrite.gradle.plugin.model.GradleToolingApiProjectBuilder.ResolvedGroupArtifactVersionImpl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Deduplicates the dependency coordinates of one model build, so equal coordinates
+ * share one instance in the serialized model.
+ * <p>
+ * A new instance is used for each model build and each cache holds at most
+ * {@link #MAX_ENTRIES} entries, evicting the least recently used. Memory of a long-lived
+ * Gradle daemon therefore doesn't grow with the number of modeled builds.
+ */
+final class DependencyInterner {
+
+	static final int MAX_ENTRIES = 20_000;
+
+	private final Interner<GroupArtifactImpl> groupArtifacts = new Interner<>("groupArtifacts", MAX_ENTRIES);
+
+	private final Interner<GroupArtifactVersionImpl> groupArtifactVersions = new Interner<>("groupArtifactVersions",
+			MAX_ENTRIES);
+
+	private final Interner<ResolvedGroupArtifactVersionImpl> resolvedGroupArtifactVersions = new Interner<>(
+			"resolvedGroupArtifactVersions", MAX_ENTRIES);
+
+	private final InterningCache<GroupArtifactVersionImpl, DependencyImpl> requested = new InterningCache<>(
+			"requested", MAX_ENTRIES);
+
+	GroupArtifactImpl groupArtifact(Dependency dep) {
+		// noinspection ConstantConditions
+		return groupArtifacts.intern(new GroupArtifactImpl(dep.getGav().getGroupId(), dep.getGav().getArtifactId()));
+	}
+
+	GroupArtifactImpl groupArtifact(org.gradle.api.artifacts.ResolvedDependency dep) {
+		return groupArtifacts.intern(new GroupArtifactImpl(dep.getModuleGroup(), dep.getModuleName()));
+	}
+
+	GroupArtifactVersionImpl groupArtifactVersion(org.gradle.api.artifacts.ResolvedDependency dep) {
+		return groupArtifactVersions.intern(new GroupArtifactVersionImpl(dep.getModuleGroup(), dep.getModuleName(),
+				unspecifiedToNull(dep.getModuleVersion())));
+	}
+
+	GroupArtifactVersionImpl groupArtifactVersion(org.gradle.api.artifacts.Dependency dep) {
+		return groupArtifactVersions.intern(
+				new GroupArtifactVersionImpl(dep.getGroup(), dep.getName(), unspecifiedToNull(dep.getVersion())));
+	}
+
+	ResolvedGroupArtifactVersionImpl resolvedGroupArtifactVersion(org.gradle.api.artifacts.ResolvedDependency dep) {
+		return resolvedGroupArtifactVersions.intern(new ResolvedGroupArtifactVersionImpl(dep.getModuleName(),
+				dep.getModuleGroup(), dep.getModuleVersion(), null));
+	}
+
+	DependencyImpl requested(org.gradle.api.artifacts.Dependency dep, Configuration configuration) {
+		return requested(groupArtifactVersion(dep), configuration.getName());
+	}
+
+	/**
+	 * When there is a resolved dependency that cannot be matched up with a requested
+	 * dependency, construct a requested dependency corresponding to the exact version
+	 * which was resolved. This isn't strictly accurate, but there is no obvious way to
+	 * access the resolution of transitive dependencies to figure out what versions are
+	 * requested during the resolution process.
+	 */
+	DependencyImpl requested(org.gradle.api.artifacts.ResolvedDependency dep) {
+		return requested(groupArtifactVersion(dep), dep.getConfiguration());
+	}
+
+	private DependencyImpl requested(GroupArtifactVersionImpl gav, String scope) {
+		return requested.computeIfAbsent(gav,
+				it -> DependencyImpl.builder().gav(gav).type("jar").scope(scope).exclusions(emptyList()).build());
+	}
+
+	/**
+	 * Sizes and hit rates of the caches.
+	 */
+	String statistics() {
+		return String.join(", ", groupArtifacts.toString(), groupArtifactVersions.toString(),
+				resolvedGroupArtifactVersions.toString(), requested.toString());
+	}
+
+	/**
+	 * Some Gradle dependency functions will have the String "unspecified" to indicate a
+	 * missing value. Rewrite's dependency API represents these missing things as "null"
+	 */
+	private static String unspecifiedToNull(String maybeUnspecified) {
+		if ("unspecified".equals(maybeUnspecified)) {
+			return null;
+		}
+		return maybeUnspecified;
+	}
+
+	/**
+	 * Size bounded LRU cache counting hits and misses.
+	 */
+	static class InterningCache<K, V> {
+
+		private final String name;
+
+		private final Map<K, V> entries;
+
+		private long hits;
+
+		private long misses;
+
+		InterningCache(String name, int maxEntries) {
+			this.name = name;
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+					return size() > maxEntries;
+				}
+			};
+		}
+
+		synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+			V value = entries.get(key);
+			if (value != null) {
+				hits++;
+				return value;
+			}
+			misses++;
+			value = mappingFunction.apply(key);
+			entries.put(key, value);
+			return value;
+		}
+
+		synchronized int size() {
+			return entries.size();
+		}
+
+		synchronized boolean contains(K key) {
+			return entries.containsKey(key);
+		}
+
+		synchronized long hits() {
+			return hits;
+		}
+
+		synchronized long misses() {
+			return misses;
+		}
+
+		synchronized double hitRate() {
+			long lookups = hits + misses;
+			return lookups == 0 ? 0 : (double) hits / lookups;
+		}
+
+		@Override
+		public synchronized String toString() {
+			return "%s: %d entries, %d hits, %d misses (%.0f%% hit rate)".formatted(name, entries.size(), hits,
+					misses, hitRate() * 100);
+		}
+
+	}
+
+	/**
+	 * {@link InterningCache} mapping a value to the first equal value.
+	 */
+	static final class Interner<T> extends InterningCache<T, T> {
+
+		Interner(String name, int maxEntries) {
+			super(name, maxEntries);
+		}
+
+		T intern(T value) {
+			return computeIfAbsent(value, Function.identity());
+		}
+
+	}
+
+}
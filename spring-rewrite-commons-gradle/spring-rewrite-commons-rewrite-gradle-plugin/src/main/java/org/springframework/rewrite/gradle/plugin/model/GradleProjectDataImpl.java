@@ -28,6 +28,7 @@ import org.gradle.api.tasks.compile.JavaCompile;
 import org.gradle.invocation.DefaultGradle;
 import org.gradle.util.GradleVersion;
 import org.openrewrite.gradle.toolingapi.*;
+import org.springframework.rewrite.gradle.model.ConfigurationResolution;
 import org.springframework.rewrite.gradle.model.GradleProjectData;
 import org.springframework.rewrite.gradle.model.JavaSourceSetData;
 import org.springframework.rewrite.gradle.model.KotlinSourceSetData;
@@ -123,18 +124,20 @@ final class GradleProjectDataImpl implements GradleProjectData, Serializable {
 		this.settingsClasspath = settingsClasspath;
 	}
 
-	static GradleProjectDataImpl from(Project project) {
-		GradleProject toolingRewriiteGradleProject = GradleToolingApiProjectBuilder.gradleProject(project);
+	static GradleProjectDataImpl from(Project project, ConfigurationResolution configurationResolution,
+			DependencyInterner interner) {
 		return new GradleProjectDataImpl(project.getName(), project.getPath(), project.getGroup().toString(),
 				project.getVersion().toString(),
 				GradleToolingApiProjectBuilder.pluginDescriptors(project.getPluginManager()),
 				GradleToolingApiProjectBuilder.mapRepositories(project.getRepositories()),
 				GradleToolingApiProjectBuilder.pluginMavenRepos(project),
-				GradleToolingApiProjectBuilder.dependencyConfigurations(project.getConfigurations()),
+				GradleToolingApiProjectBuilder.dependencyConfigurations(project.getConfigurations(),
+						configurationResolution, interner),
 				GradleVersion.current().compareTo(GradleVersion.version("4.4")) >= 0 ? GradleToolingApiSettingsBuilder
 					.gradleSettings(((DefaultGradle) project.getGradle()).getSettings()) : null,
 				project.getGradle().getGradleVersion(), project == project.getRootProject(),
-				project.getRootProject().getProjectDir(), subprojects(project.getSubprojects()),
+				project.getRootProject().getProjectDir(),
+				subprojects(project.getSubprojects(), configurationResolution, interner),
 				project.getProjectDir(), project.getBuildDir(), project.getBuildscript().getSourceFile(),
 				properties(project.getProperties()), javaSourceSets(project), isMultiPlatformKotlinProject(project),
 				kotlinSourceSets(project),
@@ -142,10 +145,11 @@ final class GradleProjectDataImpl implements GradleProjectData, Serializable {
 				settingsClasspath(project));
 	}
 
-	private static Collection<GradleProjectData> subprojects(Collection<Project> subprojects) {
+	private static Collection<GradleProjectData> subprojects(Collection<Project> subprojects,
+			ConfigurationResolution configurationResolution, DependencyInterner interner) {
 		List<GradleProjectData> sub = new ArrayList<>(subprojects.size());
 		for (Project s : subprojects) {
-			sub.add(from(s));
+			sub.add(from(s, configurationResolution, interner));
 		}
 		return sub;
 	}
@@ -23,18 +23,20 @@ import org.gradle.api.artifacts.repositories.ArtifactRepository;
 import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
 import org.gradle.api.initialization.Settings;
 import org.gradle.api.internal.plugins.PluginManagerInternal;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.api.plugins.PluginManager;
 import org.gradle.invocation.DefaultGradle;
 import org.gradle.plugin.use.PluginId;
 import org.gradle.util.GradleVersion;
 import org.openrewrite.gradle.toolingapi.*;
+import org.springframework.rewrite.gradle.model.ConfigurationResolution;
 import org.springframework.rewrite.gradle.model.GradleProjectData;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
@@ -42,6 +44,8 @@ import static java.util.stream.Collectors.toList;
 
 public class GradleToolingApiProjectBuilder {
 
+	private static final Logger logger = Logging.getLogger(GradleToolingApiProjectBuilder.class);
+
 	static class MavenRepositoryImpl implements MavenRepository, Serializable {
 
 		String id;
@@ -781,86 +785,50 @@ public class GradleToolingApiProjectBuilder {
 		return null;
 	}
 
-	private static final Map<GroupArtifactImpl, GroupArtifactImpl> groupArtifactCache = new ConcurrentHashMap<>();
-
-	private static GroupArtifactImpl groupArtifact(Dependency dep) {
-		// noinspection ConstantConditions
-		return groupArtifactCache
-			.computeIfAbsent(new GroupArtifactImpl(dep.getGav().getGroupId(), dep.getGav().getArtifactId()), it -> it);
-	}
-
-	private static GroupArtifactImpl groupArtifact(org.gradle.api.artifacts.ResolvedDependency dep) {
-		return groupArtifactCache.computeIfAbsent(new GroupArtifactImpl(dep.getModuleGroup(), dep.getModuleName()),
-				it -> it);
-	}
-
-	private static final Map<GroupArtifactVersionImpl, GroupArtifactVersionImpl> groupArtifactVersionCache = new ConcurrentHashMap<>();
-
-	private static GroupArtifactVersionImpl groupArtifactVersion(org.gradle.api.artifacts.ResolvedDependency dep) {
-		return groupArtifactVersionCache.computeIfAbsent(new GroupArtifactVersionImpl(dep.getModuleGroup(),
-				dep.getModuleName(), unspecifiedToNull(dep.getModuleVersion())), it -> it);
-	}
-
-	private static GroupArtifactVersionImpl groupArtifactVersion(org.gradle.api.artifacts.Dependency dep) {
-		return groupArtifactVersionCache.computeIfAbsent(
-				new GroupArtifactVersionImpl(dep.getGroup(), dep.getName(), unspecifiedToNull(dep.getVersion())),
-				it -> it);
-	}
-
-	private static final Map<ResolvedGroupArtifactVersionImpl, ResolvedGroupArtifactVersionImpl> resolvedGroupArtifactVersionCache = new ConcurrentHashMap<>();
-
-	private static ResolvedGroupArtifactVersionImpl resolvedGroupArtifactVersion(
-			org.gradle.api.artifacts.ResolvedDependency dep) {
-		return resolvedGroupArtifactVersionCache.computeIfAbsent(new ResolvedGroupArtifactVersionImpl(
-				dep.getModuleName(), dep.getModuleGroup(), dep.getModuleVersion(), null), it -> it);
+	static Map<String, GradleDependencyConfiguration> dependencyConfigurations(
+			ConfigurationContainer configurationContainer) {
+		return dependencyConfigurations(configurationContainer, ConfigurationResolution.ALL,
+				new DependencyInterner());
 	}
 
 	/**
-	 * Some Gradle dependency functions will have the String "unspecified" to indicate a
-	 * missing value. Rewrite's dependency API represents these missing things as "null"
+	 * Map the configurations to {@link GradleDependencyConfiguration}s. Only
+	 * configurations selected by the {@link ConfigurationResolution} get resolved, all
+	 * others only provide the requested dependencies.
 	 */
-	private static String unspecifiedToNull(String maybeUnspecified) {
-		if ("unspecified".equals(maybeUnspecified)) {
-			return null;
-		}
-		return maybeUnspecified;
-	}
-
 	static Map<String, GradleDependencyConfiguration> dependencyConfigurations(
-			ConfigurationContainer configurationContainer) {
+			ConfigurationContainer configurationContainer, ConfigurationResolution configurationResolution,
+			DependencyInterner interner) {
 		Map<String, GradleDependencyConfiguration> results = new HashMap<>();
 		List<Configuration> configurations = new ArrayList<>(configurationContainer);
 		for (Configuration conf : configurations) {
 			try {
 				List<Dependency> requested = conf.getAllDependencies()
 					.stream()
-					.map(dep -> dependency(dep, conf))
+					.map(dep -> interner.requested(dep, conf))
 					.collect(Collectors.toList());
 
 				List<ResolvedDependency> resolved;
 				Map<GroupArtifactImpl, Dependency> gaToRequested = requested.stream()
-					.collect(Collectors.toMap(GradleToolingApiProjectBuilder::groupArtifact, dep -> dep, (a, b) -> a));
+					.collect(Collectors.toMap(interner::groupArtifact, dep -> dep, (a, b) -> a));
 				// Archives and default are redundant with other configurations
 				// Newer versions of gradle display warnings with long stack traces when
 				// attempting to resolve them
 				// Some Scala plugin we don't care about creates configurations that, for
 				// some unknown reason, are difficult to resolve
 				if (conf.isCanBeResolved() && !"archives".equals(conf.getName()) && !"default".equals(conf.getName())
-						&& !conf.getName().startsWith("incrementalScalaAnalysis")) {
+						&& !conf.getName().startsWith("incrementalScalaAnalysis")
+						&& configurationResolution.resolves(conf.getName())) {
 					ResolvedConfiguration resolvedConf = conf.getResolvedConfiguration();
 					Map<GroupArtifactImpl, org.gradle.api.artifacts.ResolvedDependency> gaToResolved = resolvedConf
 						.getFirstLevelModuleDependencies()
 						.stream()
-						.collect(Collectors.toMap(dep -> GradleToolingApiProjectBuilder.groupArtifact(dep), dep -> dep,
-								(a, b) -> a));
-					resolved = resolved(gaToRequested, gaToResolved);
+						.collect(Collectors.toMap(dep -> interner.groupArtifact(dep), dep -> dep, (a, b) -> a));
+					resolved = resolved(gaToRequested, gaToResolved, interner);
 				}
 				else {
 					resolved = emptyList();
 				}
-				// TODO: Doesn't look like 'transitive' is needed at all for Gradle
-				// tooling model side
-				List<ResolvedDependency> transitive = resolveTransitiveDependencies(resolved, new LinkedHashSet<>());
 				GradleDependencyConfigurationImpl dc = new GradleDependencyConfigurationImpl(conf.getName(),
 						conf.getDescription(), conf.isTransitive(), conf.isCanBeConsumed(), conf.isCanBeResolved(),
 						emptyList(), requested, resolved);
@@ -891,31 +859,9 @@ public class GradleToolingApiProjectBuilder {
 		return results;
 	}
 
-	static List<ResolvedDependency> resolveTransitiveDependencies(List<ResolvedDependency> resolved,
-			Set<ResolvedDependency> alreadyResolved) {
-		for (ResolvedDependency dependency : resolved) {
-			if (alreadyResolved.add(dependency)) {
-				alreadyResolved.addAll(resolveTransitiveDependencies(dependency.getDependencies(), alreadyResolved));
-			}
-		}
-		return new ArrayList<>(alreadyResolved);
-	}
-
-	private static final Map<GroupArtifactVersionImpl, DependencyImpl> requestedCache = new ConcurrentHashMap<>();
-
-	private static DependencyImpl dependency(org.gradle.api.artifacts.Dependency dep, Configuration configuration) {
-		GroupArtifactVersionImpl gav = groupArtifactVersion(dep);
-		return requestedCache.computeIfAbsent(gav,
-				it -> DependencyImpl.builder()
-					.gav(gav)
-					.type("jar")
-					.scope(configuration.getName())
-					.exclusions(emptyList())
-					.build());
-	}
-
 	private static List<ResolvedDependency> resolved(Map<GroupArtifactImpl, Dependency> gaToRequested,
-			Map<GroupArtifactImpl, org.gradle.api.artifacts.ResolvedDependency> gaToResolved) {
+			Map<GroupArtifactImpl, org.gradle.api.artifacts.ResolvedDependency> gaToResolved,
+			DependencyInterner interner) {
 		Map<ResolvedGroupArtifactVersionImpl, ResolvedDependencyImpl> resolvedCache = new HashMap<>();
 		return gaToResolved.entrySet().stream().map(entry -> {
 			GroupArtifactImpl ga = entry.getKey();
@@ -923,7 +869,7 @@ public class GradleToolingApiProjectBuilder {
 
 			// Gradle knows which repository it got a dependency from, but haven't been
 			// able to find where that info lives
-			ResolvedGroupArtifactVersionImpl resolvedGav = resolvedGroupArtifactVersion(resolved);
+			ResolvedGroupArtifactVersionImpl resolvedGav = interner.resolvedGroupArtifactVersion(resolved);
 			ResolvedDependencyImpl resolvedDependency = resolvedCache.get(resolvedGav);
 			if (resolvedDependency == null) {
 				resolvedDependency = ResolvedDependencyImpl.builder()
@@ -933,10 +879,10 @@ public class GradleToolingApiProjectBuilder {
 					// the DependencyHandler has the substitution mapping buried inside
 					// it, but not exposed publicly
 					// Possible improvement to dig that out and use it
-					.requested((DependencyImpl) gaToRequested.getOrDefault(ga, dependency(resolved)))
+					.requested((DependencyImpl) gaToRequested.getOrDefault(ga, interner.requested(resolved)))
 					.dependencies(resolved.getChildren()
 						.stream()
-						.map(child -> resolved(child, 1, resolvedCache))
+						.map(child -> resolved(child, 1, resolvedCache, interner))
 						.collect(toList()))
 					.depth(0)
 					.build();
@@ -946,27 +892,9 @@ public class GradleToolingApiProjectBuilder {
 		}).collect(Collectors.toList());
 	}
 
-	/**
-	 * When there is a resolved dependency that cannot be matched up with a requested
-	 * dependency, construct a requested dependency corresponding to the exact version
-	 * which was resolved. This isn't strictly accurate, but there is no obvious way to
-	 * access the resolution of transitive dependencies to figure out what versions are
-	 * requested during the resolution process.
-	 */
-	private static DependencyImpl dependency(org.gradle.api.artifacts.ResolvedDependency dep) {
-		GroupArtifactVersionImpl gav = groupArtifactVersion(dep);
-		return requestedCache.computeIfAbsent(gav,
-				it -> DependencyImpl.builder()
-					.gav(gav)
-					.type("jar")
-					.scope(dep.getConfiguration())
-					.exclusions(emptyList())
-					.build());
-	}
-
 	private static ResolvedDependencyImpl resolved(org.gradle.api.artifacts.ResolvedDependency dep, int depth,
-			Map<ResolvedGroupArtifactVersionImpl, ResolvedDependencyImpl> resolvedCache) {
-		ResolvedGroupArtifactVersionImpl resolvedGav = resolvedGroupArtifactVersion(dep);
+			Map<ResolvedGroupArtifactVersionImpl, ResolvedDependencyImpl> resolvedCache, DependencyInterner interner) {
+		ResolvedGroupArtifactVersionImpl resolvedGav = interner.resolvedGroupArtifactVersion(dep);
 		ResolvedDependencyImpl resolvedDependency = resolvedCache.get(resolvedGav);
 		if (resolvedDependency == null) {
 
@@ -974,28 +902,39 @@ public class GradleToolingApiProjectBuilder {
 
 			resolvedDependency = ResolvedDependencyImpl.builder()
 				.gav(resolvedGav)
-				.requested(dependency(dep))
+				.requested(interner.requested(dep))
 				.dependencies(dependencies)
 				.depth(depth)
 				.build();
 			// we add a temporal resolved dependency in the cache to avoid stackoverflow
 			// with dependencies that have cycles
 			resolvedCache.put(resolvedGav, resolvedDependency);
-			dep.getChildren().forEach(child -> dependencies.add(resolved(child, depth + 1, resolvedCache)));
+			dep.getChildren()
+				.forEach(child -> dependencies.add(resolved(child, depth + 1, resolvedCache, interner)));
 		}
 		return resolvedDependency;
 	}
 
+	/**
+	 * Does nothing, dependencies are deduplicated by a {@link DependencyInterner} scoped
+	 * to one model build.
+	 * @deprecated there are no caches outliving a model build any more
+	 */
+	@Deprecated(forRemoval = true)
 	@SuppressWarnings("unused")
 	public static void clearCaches() {
-		requestedCache.clear();
-		groupArtifactCache.clear();
-		groupArtifactVersionCache.clear();
-		resolvedGroupArtifactVersionCache.clear();
 	}
 
 	public static GradleProjectData createProjectData(Project project) {
-		return GradleProjectDataImpl.from(project);
+		return createProjectData(project, ConfigurationResolution.ALL);
+	}
+
+	public static GradleProjectData createProjectData(Project project,
+			ConfigurationResolution configurationResolution) {
+		DependencyInterner interner = new DependencyInterner();
+		GradleProjectData projectData = GradleProjectDataImpl.from(project, configurationResolution, interner);
+		logger.debug("Interned dependencies of {}: {}", project.getPath(), interner.statistics());
+		return projectData;
 	}
 
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.gradle.plugin.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.rewrite.gradle.plugin.model.DependencyInterner.Interner;
+import org.springframework.rewrite.gradle.plugin.model.DependencyInterner.InterningCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DependencyInternerTest {
+
+	@Test
+	void internReturnsFirstEqualInstance() {
+		Interner<String> interner = new Interner<>("test", DependencyInterner.MAX_ENTRIES);
+		String first = new String("org.example:a");
+		String second = new String("org.example:a");
+
+		assertThat(interner.intern(first)).isSameAs(first);
+		assertThat(interner.intern(second)).isSameAs(first);
+		assertThat(interner.intern(new String("org.example:b"))).isNotSameAs(first);
+	}
+
+	@Test
+	void hitsAndMissesAreCounted() {
+		InterningCache<String, Integer> cache = new InterningCache<>("test", DependencyInterner.MAX_ENTRIES);
+
+		cache.computeIfAbsent("a", String::length);
+		cache.computeIfAbsent("a", key -> {
+			throw new AssertionError("cached value expected");
+		});
+		cache.computeIfAbsent("bb", String::length);
+		cache.computeIfAbsent("a", String::length);
+
+		assertThat(cache.hits()).isEqualTo(2);
+		assertThat(cache.misses()).isEqualTo(2);
+		assertThat(cache.hitRate()).isEqualTo(0.5);
+		assertThat(cache).hasToString("test: 2 entries, 2 hits, 2 misses (50% hit rate)");
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvictedPastMaxEntries() {
+		Interner<Integer> interner = new Interner<>("test", DependencyInterner.MAX_ENTRIES);
+		for (int i = 0; i < DependencyInterner.MAX_ENTRIES; i++) {
+			interner.intern(i);
+		}
+		// 0 becomes the most recently used entry, 1 the least recently used
+		interner.intern(0);
+
+		interner.intern(DependencyInterner.MAX_ENTRIES);
+
+		assertThat(interner.size()).isEqualTo(DependencyInterner.MAX_ENTRIES);
+		assertThat(interner.contains(0)).isTrue();
+		assertThat(interner.contains(1)).isFalse();
+		assertThat(interner.contains(2)).isTrue();
+		assertThat(interner.contains(DependencyInterner.MAX_ENTRIES)).isTrue();
+	}
+
+}
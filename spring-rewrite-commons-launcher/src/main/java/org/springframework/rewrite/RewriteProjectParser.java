@@ -18,6 +18,7 @@ package org.springframework.rewrite;
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.marker.Marker;
 import org.openrewrite.style.NamedStyles;
 import org.openrewrite.tree.ParsingEventListener;
@@ -25,6 +26,7 @@ import org.openrewrite.tree.ParsingExecutionContextView;
 import org.openrewrite.xml.tree.Xml;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aop.scope.ScopedObject;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
@@ -32,13 +34,18 @@ import org.springframework.rewrite.parser.*;
 import org.springframework.rewrite.parser.events.StartedParsingProjectEvent;
 import org.springframework.rewrite.parser.events.SuccessfullyParsedProjectEvent;
 import org.springframework.rewrite.parser.maven.MavenBuildFileParser;
+import org.springframework.rewrite.parser.maven.MavenPomCacheWarmer;
 import org.springframework.rewrite.parser.maven.MavenProject;
 import org.springframework.rewrite.parser.maven.MavenProjectAnalyzer;
+import org.springframework.rewrite.parser.maven.ModuleSelection;
 import org.springframework.rewrite.parser.maven.ProvenanceMarkerFactory;
+import org.springframework.rewrite.scopes.ParseSession;
 import org.springframework.rewrite.scopes.ScanScope;
+import org.springframework.rewrite.utils.GitChanges;
 import org.springframework.util.StringUtils;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +68,14 @@ import java.util.Map;
  *  }
  * </pre>
  *
+ * <p>
+ * Parsing starts with destroying the {@code @ScanScope} beans of the previous parse. Use
+ * a {@link ParseSession} to run multiple parses concurrently.
+ *
+ * <p>
+ * When a {@link MavenPomCacheWarmer} is given, parsing build files waits for its running
+ * warm-up for at most {@link SpringRewriteProperties#getPomCacheWarmUpTimeoutMs()}.
+ *
  * @author Fabian Krüger
  * @see RewriteRecipeDiscovery
  * @see <a href=
@@ -94,11 +109,38 @@ public class RewriteProjectParser {
 
 	private final MavenProjectAnalyzer mavenProjectAnalyzer;
 
+	private final ParsingObservations observations;
+
+	@Nullable
+	private final MavenPomCacheWarmer pomCacheWarmer;
+
 	public RewriteProjectParser(ProvenanceMarkerFactory provenanceMarkerFactory, MavenBuildFileParser buildFileParser,
 			SourceFileParser sourceFileParser, StyleDetector styleDetector,
 			SpringRewriteProperties springRewriteProperties, ParsingEventListener parsingEventListener,
 			ApplicationEventPublisher eventPublisher, ScanScope scanScope, ConfigurableListableBeanFactory beanFactory,
 			ProjectScanner scanner, ExecutionContext executionContext, MavenProjectAnalyzer mavenProjectAnalyzer) {
+		this(provenanceMarkerFactory, buildFileParser, sourceFileParser, styleDetector, springRewriteProperties,
+				parsingEventListener, eventPublisher, scanScope, beanFactory, scanner, executionContext,
+				mavenProjectAnalyzer, ParsingObservations.noop());
+	}
+
+	public RewriteProjectParser(ProvenanceMarkerFactory provenanceMarkerFactory, MavenBuildFileParser buildFileParser,
+			SourceFileParser sourceFileParser, StyleDetector styleDetector,
+			SpringRewriteProperties springRewriteProperties, ParsingEventListener parsingEventListener,
+			ApplicationEventPublisher eventPublisher, ScanScope scanScope, ConfigurableListableBeanFactory beanFactory,
+			ProjectScanner scanner, ExecutionContext executionContext, MavenProjectAnalyzer mavenProjectAnalyzer,
+			ParsingObservations observations) {
+		this(provenanceMarkerFactory, buildFileParser, sourceFileParser, styleDetector, springRewriteProperties,
+				parsingEventListener, eventPublisher, scanScope, beanFactory, scanner, executionContext,
+				mavenProjectAnalyzer, observations, null);
+	}
+
+	public RewriteProjectParser(ProvenanceMarkerFactory provenanceMarkerFactory, MavenBuildFileParser buildFileParser,
+			SourceFileParser sourceFileParser, StyleDetector styleDetector,
+			SpringRewriteProperties springRewriteProperties, ParsingEventListener parsingEventListener,
+			ApplicationEventPublisher eventPublisher, ScanScope scanScope, ConfigurableListableBeanFactory beanFactory,
+			ProjectScanner scanner, ExecutionContext executionContext, MavenProjectAnalyzer mavenProjectAnalyzer,
+			ParsingObservations observations, @Nullable MavenPomCacheWarmer pomCacheWarmer) {
 		this.provenanceMarkerFactory = provenanceMarkerFactory;
 		this.buildFileParser = buildFileParser;
 		this.sourceFileParser = sourceFileParser;
@@ -111,13 +153,16 @@ public class RewriteProjectParser {
 		this.scanner = scanner;
 		this.executionContext = executionContext;
 		this.mavenProjectAnalyzer = mavenProjectAnalyzer;
+		this.observations = observations;
+		this.pomCacheWarmer = pomCacheWarmer;
 	}
 
 	/**
 	 * Parse the given {@code baseDir} to OpenRewrite AST.
 	 */
 	public RewriteProjectParsingResult parse(Path baseDir) {
-		List<Resource> resources = scanner.scan(baseDir);
+		List<Resource> resources = observations.observePhase(ParsingObservations.PHASE_SCAN,
+				() -> scanner.scan(baseDir));
 		return this.parse(baseDir, resources);
 	}
 
@@ -125,6 +170,62 @@ public class RewriteProjectParser {
 	 * Parse given {@link Resource}s in {@code baseDir} to OpenRewrite LST.
 	 */
 	public RewriteProjectParsingResult parse(Path givenBaseDir, List<Resource> resources) {
+		return parse(givenBaseDir, resources, ModuleSelection.from(springRewriteProperties));
+	}
+
+	/**
+	 * Parse given {@link Resource}s in {@code baseDir} to OpenRewrite LST but only the
+	 * Maven modules selected by {@code moduleSelection}. Upstream modules of the selected
+	 * modules provide their types from their build output or from parsing their main
+	 * sources, they are not part of the result.
+	 */
+	public RewriteProjectParsingResult parse(Path givenBaseDir, List<Resource> resources,
+			ModuleSelection moduleSelection) {
+		return observations.observeParse(resources.size(), () -> doParse(givenBaseDir, resources, moduleSelection));
+	}
+
+	/**
+	 * Parse {@code baseDir} again after the {@link GitChanges} since the commit of the
+	 * {@code previous} result, reusing the source files of the previous result which are
+	 * not affected by the changes.
+	 * <p>
+	 * Changed build files lead to a full parse.
+	 * @param baseDir the root of the Git repository, checked out at the new commit
+	 * @param previous the result of parsing {@code baseDir} at {@code previousCommit}
+	 * @param previousCommit the full id of the commit {@code previous} was parsed at
+	 * @param changes the changes from {@code previousCommit} to the new commit
+	 * @throws IllegalArgumentException if {@code changes} don't start at
+	 * {@code previousCommit}
+	 * @see IncrementalParseSet
+	 * @see org.springframework.rewrite.utils.GitChangeDetector
+	 */
+	public RewriteProjectParsingResult parseIncrementally(Path baseDir, RewriteProjectParsingResult previous,
+			String previousCommit, GitChanges changes) {
+		if (!previousCommit.equals(changes.fromCommit())) {
+			throw new IllegalArgumentException("The previous result was parsed at %s but the changes start at %s."
+				.formatted(previousCommit, changes.fromCommit()));
+		}
+		if (changes.isEmpty()) {
+			return previous;
+		}
+		Path normalizedBaseDir = normalizePath(baseDir);
+		List<Resource> resources = observations.observePhase(ParsingObservations.PHASE_SCAN,
+				() -> scanner.scan(normalizedBaseDir));
+		IncrementalParseSet parseSet = IncrementalParseSet.of(normalizedBaseDir, resources, changes);
+		if (parseSet.isFullParse()) {
+			LOGGER.info("Build files changed between %s and %s, parsing all %d resources."
+				.formatted(changes.fromCommit(), changes.toCommit(), resources.size()));
+			return parse(normalizedBaseDir, resources);
+		}
+		LOGGER.info("Parsing %d of %d resources changed between %s and %s.".formatted(
+				parseSet.getResources().size(), resources.size(), changes.fromCommit(), changes.toCommit()));
+		RewriteProjectParsingResult parsed = parse(normalizedBaseDir, parseSet.getResources());
+		return new RewriteProjectParsingResult(parseSet.merge(previous.sourceFiles(), parsed.sourceFiles()),
+				parsed.executionContext());
+	}
+
+	private RewriteProjectParsingResult doParse(Path givenBaseDir, List<Resource> resources,
+			ModuleSelection moduleSelection) {
 		scanScope.clear(beanFactory);
 
 		final Path baseDir = normalizePath(givenBaseDir);
@@ -133,44 +234,76 @@ public class RewriteProjectParser {
 
 		ParsingExecutionContextView.view(executionContext).setParsingListener(parsingEventListener);
 
-		// TODO: "runPerSubmodule"
 		// TODO: See ConfigurableRewriteMojo#getPlainTextMasks()
 		// TODO: where to retrieve styles from? --> see
 		// AbstractRewriteMojo#getActiveStyles() & AbstractRewriteMojo#loadStyles()
 		List<NamedStyles> styles = List.of();
 
 		// Get the ordered otherSourceFiles of projects
-		List<MavenProject> sortedProjects = mavenProjectAnalyzer.getBuildProjects(baseDir, resources);
-		ParserContext parserContext = new ParserContext(baseDir, resources, sortedProjects);
+		List<MavenProject> sortedProjects = observations.observePhase(ParsingObservations.PHASE_PROJECT_GRAPH,
+				() -> mavenProjectAnalyzer.getBuildProjects(baseDir, resources));
+		ModuleSelection.Modules modules = moduleSelection.select(baseDir, sortedProjects);
+		if (!moduleSelection.isAll()) {
+			LOGGER.info("Parsing %d of %d modules, %d upstream modules provide types.".formatted(
+					modules.selected().size(), sortedProjects.size(), modules.upstream().size()));
+		}
+		ParserContext parserContext = new ParserContext(baseDir, resources, sortedProjects, modules);
 
 		// generate provenance
-		Map<Path, List<Marker>> provenanceMarkers = provenanceMarkerFactory.generateProvenanceMarkers(baseDir,
-				parserContext);
+		Map<Path, List<Marker>> provenanceMarkers = observations.observePhase(ParsingObservations.PHASE_PROVENANCE,
+				() -> provenanceMarkerFactory.generateProvenanceMarkers(baseDir, parserContext));
+
+		awaitPomCacheWarmUp();
 
 		// 127: parse build files
 		// TODO: 945 this map is only used to lookup module pom by path in
 		// SourceFileParser. If possible provide the build file from ParserContext and
 		// remove this map.
-		List<Xml.Document> parsedBuildFiles = buildFileParser.parseBuildFiles(baseDir,
-				parserContext.getBuildFileResources(), parserContext.getActiveProfiles(), executionContext,
-				springRewriteProperties.isSkipMavenParsing(), provenanceMarkers);
+		List<Xml.Document> parsedBuildFiles = observations.observePhase(ParsingObservations.PHASE_BUILD_FILES,
+				() -> buildFileParser.parseBuildFiles(baseDir, parserContext.getBuildFileResources(),
+						parserContext.getActiveProfiles(), executionContext,
+						springRewriteProperties.isSkipMavenParsing(), provenanceMarkers));
 		parserContext.setParsedBuildFiles(parsedBuildFiles);
 
 		LOGGER.trace("Start to parse %d source files in %d modules"
 			.formatted(resources.size() + parsedBuildFiles.size(), parsedBuildFiles.size()));
-		List<SourceFile> otherSourceFiles = sourceFileParser.parseOtherSourceFiles(baseDir, parserContext, resources,
-				provenanceMarkers, styles, executionContext);
+		List<SourceFile> otherSourceFiles = observations.observePhase(ParsingObservations.PHASE_SOURCE_FILES,
+				() -> sourceFileParser.parseOtherSourceFiles(baseDir, parserContext, resources, provenanceMarkers,
+						styles, executionContext));
 
-		List<Xml.Document> sortedBuildFileDocuments = parserContext.getSortedBuildFileDocuments();
+		List<Xml.Document> sortedBuildFileDocuments = parserContext.getSelectedBuildFileDocuments();
 
 		List<SourceFile> resultingList = new ArrayList<>();
 		resultingList.addAll(sortedBuildFileDocuments);
 		resultingList.addAll(otherSourceFiles);
-		List<SourceFile> sourceFiles = styleDetector.sourcesWithAutoDetectedStyles(resultingList.stream());
+		List<SourceFile> sourceFiles = observations.observePhase(ParsingObservations.PHASE_STYLE_DETECTION,
+				() -> styleDetector.sourcesWithAutoDetectedStyles(resultingList.stream()));
 
 		eventPublisher.publishEvent(new SuccessfullyParsedProjectEvent(sourceFiles));
 
-		return new RewriteProjectParsingResult(sourceFiles, executionContext);
+		return new RewriteProjectParsingResult(sourceFiles, targetExecutionContext());
+	}
+
+	private void awaitPomCacheWarmUp() {
+		if (pomCacheWarmer == null) {
+			return;
+		}
+		Duration timeout = Duration.ofMillis(springRewriteProperties.getPomCacheWarmUpTimeoutMs());
+		if (!pomCacheWarmer.awaitWarmUp(timeout)) {
+			LOGGER.info("Pom cache warm-up did not finish within %d ms, parsing with the poms cached so far."
+				.formatted(timeout.toMillis()));
+		}
+	}
+
+	/**
+	 * The {@link ExecutionContext} of the current {@link ParseSession} instead of the
+	 * scoped proxy, so the result keeps its context after the session ends.
+	 */
+	private ExecutionContext targetExecutionContext() {
+		if (executionContext instanceof ScopedObject scopedObject) {
+			return (ExecutionContext) scopedObject.getTargetObject();
+		}
+		return executionContext;
 	}
 
 	@NotNull
@@ -17,10 +17,18 @@ package org.springframework.rewrite;
 
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.Recipe;
+import org.openrewrite.internal.lang.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.parser.ParsePlan;
+import org.springframework.rewrite.parser.ProjectScanner;
+import org.springframework.rewrite.parser.RecipeParsePlanner;
 import org.springframework.rewrite.parser.RewriteProjectParsingResult;
 import org.springframework.rewrite.resource.ProjectResourceSet;
+import org.springframework.rewrite.resource.RecipeExecutionStats;
+import org.springframework.rewrite.resource.RecipeRunDiffListener;
+import org.springframework.rewrite.resource.RecipeRunReport;
 import org.springframework.rewrite.resource.ProjectResourceSetFactory;
 import org.springframework.rewrite.resource.ProjectResourceSetSerializer;
 import org.springframework.util.StopWatch;
@@ -37,6 +45,8 @@ import java.util.concurrent.TimeUnit;
  */
 public class RewriteRecipeLauncher {
 
+	private static final int NUM_SLOWEST_RECIPES = 5;
+
 	private final RewriteProjectParser parser;
 
 	private final RewriteRecipeDiscovery discovery;
@@ -45,6 +55,10 @@ public class RewriteRecipeLauncher {
 
 	private final ProjectResourceSetSerializer serializer;
 
+	private final ProjectScanner scanner;
+
+	private final RecipeParsePlanner parsePlanner;
+
 	/**
 	 * Listener API for progress events/messages
 	 */
@@ -56,63 +70,122 @@ public class RewriteRecipeLauncher {
 
 	public RewriteRecipeLauncher(RewriteProjectParser parser, RewriteRecipeDiscovery discovery,
 			ProjectResourceSetFactory resourceSetFactory, ProjectResourceSetSerializer serializer) {
+		this(parser, discovery, resourceSetFactory, serializer, null, null);
+	}
+
+	/**
+	 * With a {@link RecipeParsePlanner} only the files the recipe could change are
+	 * parsed.
+	 */
+	public RewriteRecipeLauncher(RewriteProjectParser parser, RewriteRecipeDiscovery discovery,
+			ProjectResourceSetFactory resourceSetFactory, ProjectResourceSetSerializer serializer,
+			@Nullable ProjectScanner scanner, @Nullable RecipeParsePlanner parsePlanner) {
 		this.parser = parser;
 		this.discovery = discovery;
 		this.resourceSetFactory = resourceSetFactory;
 		this.serializer = serializer;
+		this.scanner = scanner;
+		this.parsePlanner = parsePlanner;
 	}
 
 	/**
 	 * Apply the recipe with {@code recipeName} to the project under {@code path}.
+	 * @return the {@link RecipeRunReport} with per-recipe timings
 	 * @throws IllegalStateException when the recipe couldn't be discovered
 	 */
-	public void run(String recipeName, String path) {
-		run(recipeName, path, __ -> {
+	public RecipeRunReport run(String recipeName, String path) {
+		return run(recipeName, path, __ -> {
 		});
 	}
 
 	/**
 	 * Apply the recipe with {@code recipeName} to the project under {@code path}.
+	 * @return the {@link RecipeRunReport} with per-recipe timings
 	 * @throws IllegalStateException when the recipe couldn't be discovered
 	 */
-	public void run(String recipeName, String path, RewriteRecipeRunnerProgressListener listener) {
+	public RecipeRunReport run(String recipeName, String path, RewriteRecipeRunnerProgressListener listener) {
 		Optional<Recipe> recipe = discoverRecipe(recipeName);
 		if (recipe.isEmpty()) {
 			throw new IllegalStateException("Could not find recipe " + recipeName + ".");
 		}
-		run(recipe.get(), path, listener);
+		return run(recipe.get(), path, listener);
 	}
 
 	/**
 	 * Apply the {@link Recipe} to the project under {@code path}.
+	 * @return the {@link RecipeRunReport} with per-recipe timings
 	 */
-	public void run(Recipe recipe, String path) {
-		run(recipe, path, __ -> {
+	public RecipeRunReport run(Recipe recipe, String path) {
+		return run(recipe, path, __ -> {
 		});
 	}
 
 	/**
 	 * Apply the {@link Recipe} to the project under {@code path}.
+	 * @return the {@link RecipeRunReport} with per-recipe timings
+	 */
+	public RecipeRunReport run(Recipe recipe, String path, RewriteRecipeRunnerProgressListener listener) {
+		Path baseDir = getBaseDir(path);
+		RewriteProjectParsingResult parsingResult = parseProject(baseDir, recipe, listener);
+		return applyRecipe(baseDir, parsingResult, recipe, listener);
+	}
+
+	/**
+	 * Run the {@link Recipe} against the project under {@code path} without writing any
+	 * changes and pass the unified diff of every file the recipe would change to the
+	 * {@code diffListener}.
+	 * @return the {@link RecipeRunReport} with per-recipe timings
+	 * @see RecipeRunDiffListener#writingTo(java.io.OutputStream)
+	 */
+	public RecipeRunReport dryRun(Recipe recipe, String path, RecipeRunDiffListener diffListener) {
+		return dryRun(recipe, path, diffListener, __ -> {
+		});
+	}
+
+	/**
+	 * Run the {@link Recipe} against the project under {@code path} without writing any
+	 * changes and pass the unified diff of every file the recipe would change to the
+	 * {@code diffListener}.
+	 * @return the {@link RecipeRunReport} with per-recipe timings
+	 * @see RecipeRunDiffListener#writingTo(java.io.OutputStream)
 	 */
-	public void run(Recipe recipe, String path, RewriteRecipeRunnerProgressListener listener) {
+	public RecipeRunReport dryRun(Recipe recipe, String path, RecipeRunDiffListener diffListener,
+			RewriteRecipeRunnerProgressListener listener) {
 		Path baseDir = getBaseDir(path);
-		RewriteProjectParsingResult parsingResult = parseProject(baseDir, listener);
-		applyRecipe(baseDir, parsingResult, recipe, listener);
+		RewriteProjectParsingResult parsingResult = parseProject(baseDir, recipe, listener);
+		ProjectResourceSet projectResourceSet = resourceSetFactory.create(baseDir, parsingResult.sourceFiles());
+		listener.progress("Computing changes of recipe %s without applying them.".formatted(recipe.getName()));
+		RecipeRunReport report = projectResourceSet.dryRun(diffListener, recipe);
+		listener.progress("Recipe %s would change %d files, computed in %d ms.".formatted(recipe.getName(),
+				report.numberOfResults(), report.duration().toMillis()));
+		return report;
 	}
 
 	@NotNull
-	private RewriteProjectParsingResult parseProject(Path baseDir, RewriteRecipeRunnerProgressListener listener) {
+	private RewriteProjectParsingResult parseProject(Path baseDir, Recipe recipe,
+			RewriteRecipeRunnerProgressListener listener) {
 		listener.progress("Start parsing dir '%s'".formatted(baseDir));
 		StopWatch stopWatch = new StopWatch("parse");
 		stopWatch.start();
-		RewriteProjectParsingResult parsingResult = parser.parse(baseDir);
+		RewriteProjectParsingResult parsingResult;
+		if (scanner != null && parsePlanner != null) {
+			List<Resource> resources = scanner.scan(baseDir);
+			ParsePlan parsePlan = parsePlanner.plan(recipe);
+			List<Resource> resourcesToParse = parsePlan.filter(resources);
+			listener.progress("Parsing %d of %d resources required by %s.".formatted(resourcesToParse.size(),
+					resources.size(), parsePlan));
+			parsingResult = parser.parse(baseDir, resourcesToParse);
+		}
+		else {
+			parsingResult = parser.parse(baseDir);
+		}
 		stopWatch.stop();
 		double parseTime = stopWatch.getTotalTime(TimeUnit.SECONDS);
 		listener.progress("Parsed %d resources in %f sec.".formatted(parsingResult.sourceFiles().size(), parseTime));
 		return parsingResult;
 	}
 
-	private void applyRecipe(Path baseDir, RewriteProjectParsingResult parsingResult, Recipe recipe,
+	private RecipeRunReport applyRecipe(Path baseDir, RewriteProjectParsingResult parsingResult, Recipe recipe,
 			RewriteRecipeRunnerProgressListener listener) {
 		Object recipeName = recipe.getName();
 		StopWatch stopWatch = new StopWatch("parse");
@@ -121,13 +194,19 @@ public class RewriteRecipeLauncher {
 		ProjectResourceSet projectResourceSet = resourceSetFactory.create(baseDir, parsingResult.sourceFiles());
 		// To apply recipes
 		listener.progress("Applying recipe %s, this may take a few minutes.".formatted(recipeName));
-		projectResourceSet.apply(recipe);
+		RecipeRunReport report = projectResourceSet.apply(recipe);
 		stopWatch.stop();
 		double recipeRunTime = stopWatch.getTotalTime(TimeUnit.MINUTES);
 		listener.progress("Applied recipe %s in %f min.".formatted(recipeName, recipeRunTime));
+		for (RecipeExecutionStats stats : report.slowest(NUM_SLOWEST_RECIPES)) {
+			listener.progress("Recipe %s took %d ms (scan %d ms, edit %d ms), visited %d and changed %d files."
+				.formatted(stats.recipe(), stats.totalTime().toMillis(), stats.scanTotalTime().toMillis(),
+						stats.editTotalTime().toMillis(), stats.sourceFiles(), stats.sourceFilesChanged()));
+		}
 		// Synchronize changes with filesystem
 		listener.progress("Write changes from %s.".formatted(recipeName));
 		serializer.writeChanges(projectResourceSet);
+		return report;
 	}
 
 	@NotNull
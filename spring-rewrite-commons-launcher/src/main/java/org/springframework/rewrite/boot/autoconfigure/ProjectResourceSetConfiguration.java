@@ -15,9 +15,16 @@
  */
 package org.springframework.rewrite.boot.autoconfigure;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.openrewrite.ExecutionContext;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.rewrite.parser.maven.MavenBuildFileParser;
+import org.springframework.rewrite.parser.maven.MavenProjectAnalyzer;
 import org.springframework.rewrite.resource.*;
 
 /**
@@ -48,10 +55,36 @@ public class ProjectResourceSetConfiguration {
 		return new ProjectResourceSetSerializer(resourceSerializer);
 	}
 
+	@Bean
+	ProjectResourceSetGitCommitter projectResourceSetGitCommitter() {
+		return new ProjectResourceSetGitCommitter();
+	}
+
 	@Bean
 	ProjectResourceSetFactory projectResourceSetFactory(RewriteMigrationResultMerger rewriteMigrationResultMerger,
-			RewriteSourceFileWrapper sourceFileWrapper, ExecutionContext executionContext) {
-		return new ProjectResourceSetFactory(rewriteMigrationResultMerger, sourceFileWrapper, executionContext);
+			RewriteSourceFileWrapper sourceFileWrapper, ExecutionContext executionContext,
+			ObjectProvider<RecipeRunReportListener> reportListeners,
+			ObjectProvider<MavenProjectAnalyzer> mavenProjectAnalyzer,
+			ObjectProvider<MavenBuildFileParser> buildFileParser) {
+		return new ProjectResourceSetFactory(rewriteMigrationResultMerger, sourceFileWrapper, executionContext,
+				reportListeners.orderedStream().toList(), mavenProjectAnalyzer.getIfAvailable(),
+				buildFileParser.getIfAvailable());
+	}
+
+	/**
+	 * Records the {@link RecipeRunReport} of every recipe run as meters when a
+	 * {@link MeterRegistry} is available.
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	static class RecipeRunMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnBean(MeterRegistry.class)
+		RecipeRunMetrics recipeRunMetrics(MeterRegistry meterRegistry) {
+			return new RecipeRunMetrics(meterRegistry);
+		}
+
 	}
 
 }
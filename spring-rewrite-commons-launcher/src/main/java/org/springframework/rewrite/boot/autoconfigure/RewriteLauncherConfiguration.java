@@ -20,9 +20,16 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.rewrite.RewriteRecipeLauncher;
 import org.springframework.rewrite.RewriteProjectParser;
+import org.springframework.rewrite.job.HeapAdmissionController;
+import org.springframework.rewrite.job.ParseMemoryEstimator;
+import org.springframework.rewrite.job.RewriteJobService;
+import org.springframework.rewrite.parser.ProjectScanner;
+import org.springframework.rewrite.parser.RecipeParsePlanner;
+import org.springframework.rewrite.parser.SpringRewriteProperties;
 import org.springframework.rewrite.resource.ProjectResourceSetFactory;
 import org.springframework.rewrite.resource.ProjectResourceSetSerializer;
 import org.springframework.rewrite.RewriteRecipeDiscovery;
+import org.springframework.rewrite.scopes.ParseSessions;
 
 /**
  * @author Fabian Krüger
@@ -33,8 +40,23 @@ public class RewriteLauncherConfiguration {
 
 	@Bean
 	RewriteRecipeLauncher rewriteRecipeLauncher(RewriteProjectParser parser, RewriteRecipeDiscovery dicovery,
-			ProjectResourceSetFactory resourceSetFactory, ProjectResourceSetSerializer deserializer) {
+			ProjectResourceSetFactory resourceSetFactory, ProjectResourceSetSerializer deserializer,
+			ProjectScanner projectScanner, SpringRewriteProperties springRewriteProperties) {
+		if (springRewriteProperties.isSelectiveParsing()) {
+			return new RewriteRecipeLauncher(parser, dicovery, resourceSetFactory, deserializer, projectScanner,
+					new RecipeParsePlanner());
+		}
 		return new RewriteRecipeLauncher(parser, dicovery, resourceSetFactory, deserializer);
 	}
 
+	@Bean
+	RewriteJobService rewriteJobService(ProjectScanner projectScanner, RewriteProjectParser parser,
+			ProjectResourceSetFactory resourceSetFactory, ProjectResourceSetSerializer serializer,
+			ParseSessions parseSessions, SpringRewriteProperties springRewriteProperties) {
+		return new RewriteJobService(projectScanner, parser, resourceSetFactory, serializer, parseSessions,
+				new ParseMemoryEstimator(),
+				new HeapAdmissionController(springRewriteProperties.getJobHeapBudgetRatio()),
+				springRewriteProperties.getJobCpuThreads(), springRewriteProperties.getJobMaxInFlight());
+	}
+
 }
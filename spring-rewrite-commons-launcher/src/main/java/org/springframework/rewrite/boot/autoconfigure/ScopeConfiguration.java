@@ -17,12 +17,15 @@ package org.springframework.rewrite.boot.autoconfigure;
 
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.maven.MavenExecutionContextView;
 import org.openrewrite.maven.cache.MavenPomCache;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.rewrite.scopes.ExecutionScope;
+import org.springframework.rewrite.scopes.ParseSessions;
 import org.springframework.rewrite.scopes.ProjectMetadata;
 import org.springframework.rewrite.scopes.ScanScope;
 
@@ -56,6 +59,12 @@ public class ScopeConfiguration {
 		};
 	}
 
+	@Bean
+	ParseSessions parseSessions(ScanScope scanScope, ExecutionScope executionScope,
+			ConfigurableListableBeanFactory beanFactory) {
+		return new ParseSessions(scanScope, executionScope, beanFactory);
+	}
+
 	@Bean
 	@org.springframework.rewrite.scopes.annotations.ScanScope
 	ProjectMetadata projectMetadata() {
@@ -75,6 +84,7 @@ public class ScopeConfiguration {
 	ExecutionContext executionContext(ProjectMetadata projectMetadata,
 			Supplier<ExecutionContext> executionContextSupplier, MavenPomCache mavenPomCache) {
 		ExecutionContext executionContext = executionContextSupplier.get();
+		MavenExecutionContextView.view(executionContext).setPomCache(mavenPomCache);
 		return executionContext;
 	}
 
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.job;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits jobs when their estimated heap fits into the heap budget.
+ * <p>
+ * The budget is a fraction of the heap that is not used outside of the reservations, i.e.
+ * the maximum heap minus the heap used after the last garbage collection that is not
+ * reserved by admitted jobs. Admitted jobs reserve their estimate until they
+ * {@link #release(long) release} it. Requests are admitted in order, a
+ * request exceeding the remaining budget delays all later requests. A request larger
+ * than the whole budget is admitted when nothing else is reserved, so it runs alone
+ * instead of never.
+ */
+public class HeapAdmissionController {
+
+	private final LongSupplier maxHeap;
+
+	private final LongSupplier usedHeap;
+
+	private final double heapBudgetRatio;
+
+	private final Queue<Request> waiting = new ArrayDeque<>();
+
+	private long reservedBytes;
+
+	public HeapAdmissionController(double heapBudgetRatio) {
+		this(heapBudgetRatio, Runtime.getRuntime()::maxMemory, HeapUsage::usedAfterLastGc);
+	}
+
+	HeapAdmissionController(double heapBudgetRatio, LongSupplier maxHeap, LongSupplier usedHeap) {
+		if (heapBudgetRatio <= 0 || heapBudgetRatio > 1) {
+			throw new IllegalArgumentException(
+					"heapBudgetRatio must be > 0 and <= 1 but was %s.".formatted(heapBudgetRatio));
+		}
+		this.heapBudgetRatio = heapBudgetRatio;
+		this.maxHeap = maxHeap;
+		this.usedHeap = usedHeap;
+	}
+
+	/**
+	 * Reserve {@code bytes} of the heap budget.
+	 * @return future completing when the reservation was admitted
+	 */
+	public CompletableFuture<Void> admit(long bytes) {
+		Request request = new Request(bytes, new CompletableFuture<>());
+		synchronized (this) {
+			waiting.add(request);
+		}
+		admitWaiting();
+		return request.admitted();
+	}
+
+	/**
+	 * Release {@code bytes} previously admitted.
+	 */
+	public void release(long bytes) {
+		synchronized (this) {
+			reservedBytes = Math.max(0, reservedBytes - bytes);
+		}
+		admitWaiting();
+	}
+
+	public synchronized long getReservedBytes() {
+		return reservedBytes;
+	}
+
+	public synchronized int getWaiting() {
+		return waiting.size();
+	}
+
+	public synchronized long getBudgetBytes() {
+		// admitted jobs have (partly) allocated their reservation already
+		long usedOutsideReservations = Math.max(0, usedHeap.getAsLong() - reservedBytes);
+		return (long) (Math.max(0, maxHeap.getAsLong() - usedOutsideReservations) * heapBudgetRatio);
+	}
+
+	private void admitWaiting() {
+		List<Request> admitted = new ArrayList<>();
+		synchronized (this) {
+			long budget = getBudgetBytes();
+			while (!waiting.isEmpty()) {
+				Request next = waiting.peek();
+				if (reservedBytes > 0 && reservedBytes + next.bytes() > budget) {
+					break;
+				}
+				waiting.poll();
+				reservedBytes += next.bytes();
+				admitted.add(next);
+			}
+		}
+		// complete outside the lock, dependent stages may run in this thread
+		admitted.forEach(request -> request.admitted().complete(null));
+	}
+
+	private record Request(long bytes, CompletableFuture<Void> admitted) {
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.job;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+
+/**
+ * Heap readings that don't swing with the garbage collection timing.
+ * <p>
+ * The used heap reported by {@link Runtime} contains all garbage allocated since the
+ * last collection. The heap pools instead report the heap used right after their last
+ * collection, i.e. the live objects at that point.
+ */
+final class HeapUsage {
+
+	private HeapUsage() {
+	}
+
+	/**
+	 * @return heap used after the last garbage collection, the currently used heap
+	 * before the first collection
+	 */
+	static long usedAfterLastGc() {
+		if (collectionCount() == 0) {
+			Runtime runtime = Runtime.getRuntime();
+			return runtime.totalMemory() - runtime.freeMemory();
+		}
+		long used = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			MemoryUsage collectionUsage = pool.getCollectionUsage();
+			if (pool.getType() == MemoryType.HEAP && collectionUsage != null) {
+				used += collectionUsage.getUsed();
+			}
+		}
+		return used;
+	}
+
+	/**
+	 * @return number of garbage collections since the JVM started
+	 */
+	static long collectionCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, collector.getCollectionCount());
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.job;
+
+import java.util.Map;
+
+/**
+ * Estimated heap required to parse a project.
+ *
+ * @param bytes the estimated peak heap in bytes, including the calibration
+ * @param uncalibratedBytes the estimate before calibration
+ * @param files the number of scanned files
+ * @param modules the number of Maven modules
+ * @param dependencies the number of declared dependencies, used as proxy for the
+ * classpath jars
+ * @param sourceBytesByType the size of the scanned files by file extension
+ */
+public record ParseMemoryEstimate(long bytes, long uncalibratedBytes, int files, int modules, int dependencies,
+		Map<String, Long> sourceBytesByType) {
+
+	public long megabytes() {
+		return bytes / (1024 * 1024);
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Estimates the heap required to parse a project from the resources found by the
+ * {@code ProjectScanner}, before anything gets parsed.
+ * <p>
+ * The estimate adds up the size of the files multiplied with a factor per file type, a
+ * fixed overhead per file, per Maven module and per declared dependency. Resolved
+ * classpath jars are not known before parsing, the declared dependencies are used
+ * instead. The factors are rough, {@link #calibrate(ParseMemoryEstimate, long)} corrects
+ * the estimates with measured results.
+ */
+public class ParseMemoryEstimator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParseMemoryEstimator.class);
+
+	private static final Map<String, Integer> HEAP_BYTES_PER_SOURCE_BYTE = Map.of("java", 40, "xml", 20, "yaml", 15,
+			"yml", 15, "properties", 10, "json", 15);
+
+	private static final int DEFAULT_HEAP_BYTES_PER_SOURCE_BYTE = 4;
+
+	private static final long BYTES_PER_FILE = 16 * 1024;
+
+	private static final long BYTES_PER_MODULE = 8 * 1024 * 1024;
+
+	private static final long BYTES_PER_DEPENDENCY = 1024 * 1024;
+
+	private static final Pattern DEPENDENCY = Pattern.compile("<dependency>");
+
+	private static final double CALIBRATION_WEIGHT = 0.3;
+
+	private static final double MIN_CORRECTION = 0.1;
+
+	private static final double MAX_CORRECTION = 10.0;
+
+	private volatile double correction = 1.0;
+
+	/**
+	 * Estimate the heap required to parse the given resources.
+	 */
+	public ParseMemoryEstimate estimate(List<Resource> resources) {
+		Map<String, Long> sourceBytesByType = new TreeMap<>();
+		long bytes = 0;
+		int modules = 0;
+		int dependencies = 0;
+		for (Resource resource : resources) {
+			String fileName = resource.getFilename() == null ? "" : resource.getFilename();
+			String type = fileType(fileName);
+			long size = contentLength(resource);
+			sourceBytesByType.merge(type, size, Long::sum);
+			bytes += BYTES_PER_FILE
+					+ size * HEAP_BYTES_PER_SOURCE_BYTE.getOrDefault(type, DEFAULT_HEAP_BYTES_PER_SOURCE_BYTE);
+			if ("pom.xml".equals(fileName)) {
+				modules++;
+				dependencies += countDependencies(resource);
+			}
+		}
+		bytes += modules * BYTES_PER_MODULE + dependencies * BYTES_PER_DEPENDENCY;
+		return new ParseMemoryEstimate(Math.round(bytes * correction), bytes, resources.size(), modules, dependencies,
+				sourceBytesByType);
+	}
+
+	/**
+	 * Correct future estimates with the heap {@code measuredBytes} measured for a parse
+	 * estimated with {@code estimate}. The correction is a moving average of the ratio
+	 * between measured and estimated heap.
+	 */
+	public void calibrate(ParseMemoryEstimate estimate, long measuredBytes) {
+		if (estimate.uncalibratedBytes() <= 0 || measuredBytes <= 0) {
+			return;
+		}
+		double ratio = (double) measuredBytes / estimate.uncalibratedBytes();
+		synchronized (this) {
+			double corrected = (1 - CALIBRATION_WEIGHT) * correction + CALIBRATION_WEIGHT * ratio;
+			correction = Math.min(MAX_CORRECTION, Math.max(MIN_CORRECTION, corrected));
+		}
+		LOGGER.debug("Estimated %d MB, measured %d MB, correction is now %.2f.".formatted(estimate.megabytes(),
+				measuredBytes / (1024 * 1024), correction));
+	}
+
+	public double getCorrection() {
+		return correction;
+	}
+
+	private static String fileType(String fileName) {
+		int dot = fileName.lastIndexOf('.');
+		return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase();
+	}
+
+	private static long contentLength(Resource resource) {
+		try {
+			return resource.contentLength();
+		}
+		catch (IOException e) {
+			return 0;
+		}
+	}
+
+	private static int countDependencies(Resource pom) {
+		try (InputStream is = pom.getInputStream()) {
+			Matcher matcher = DEPENDENCY.matcher(new String(is.readAllBytes(), StandardCharsets.UTF_8));
+			int count = 0;
+			while (matcher.find()) {
+				count++;
+			}
+			return count;
+		}
+		catch (IOException e) {
+			return 0;
+		}
+	}
+
+}
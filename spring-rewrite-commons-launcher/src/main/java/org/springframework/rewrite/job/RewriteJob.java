@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.job;
+
+import org.openrewrite.Recipe;
+import org.springframework.rewrite.resource.RecipeRunReport;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A job applying recipes to the project in {@code baseDir}, submitted to the
+ * {@link RewriteJobService}.
+ */
+public class RewriteJob {
+
+	/**
+	 * The states of a job, the stages are passed in order.
+	 */
+	public enum Status {
+
+		QUEUED, SCANNING, WAITING_FOR_HEAP, PARSING, APPLYING, WRITING, SUCCEEDED, FAILED
+
+	}
+
+	private final String id = UUID.randomUUID().toString();
+
+	private final Path baseDir;
+
+	private final List<Recipe> recipes;
+
+	private final Instant submittedAt = Instant.now();
+
+	private final Map<Status, Duration> timings = Collections.synchronizedMap(new EnumMap<>(Status.class));
+
+	private final CompletableFuture<RecipeRunReport> result = new CompletableFuture<>();
+
+	private volatile Status status = Status.QUEUED;
+
+	private volatile Throwable failure;
+
+	private volatile ParseMemoryEstimate memoryEstimate;
+
+	RewriteJob(Path baseDir, List<Recipe> recipes) {
+		this.baseDir = baseDir;
+		this.recipes = List.copyOf(recipes);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public Path getBaseDir() {
+		return baseDir;
+	}
+
+	public List<Recipe> getRecipes() {
+		return recipes;
+	}
+
+	public Instant getSubmittedAt() {
+		return submittedAt;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * The time spent per finished stage, including {@link Status#QUEUED}.
+	 */
+	public Map<Status, Duration> getTimings() {
+		synchronized (timings) {
+			return Map.copyOf(timings);
+		}
+	}
+
+	public Optional<Throwable> getFailure() {
+		return Optional.ofNullable(failure);
+	}
+
+	/**
+	 * Completes with the {@link RecipeRunReport} when the changes were written or
+	 * exceptionally when the job failed.
+	 */
+	public CompletableFuture<RecipeRunReport> getResult() {
+		return result.copy();
+	}
+
+	/**
+	 * The heap estimated for parsing the project, available after scanning.
+	 */
+	public Optional<ParseMemoryEstimate> getMemoryEstimate() {
+		return Optional.ofNullable(memoryEstimate);
+	}
+
+	public boolean isDone() {
+		return result.isDone();
+	}
+
+	void setStatus(Status status) {
+		this.status = status;
+	}
+
+	void setMemoryEstimate(ParseMemoryEstimate memoryEstimate) {
+		this.memoryEstimate = memoryEstimate;
+	}
+
+	void recordTiming(Status stage, Duration duration) {
+		timings.put(stage, duration);
+	}
+
+	void succeeded(RecipeRunReport report) {
+		status = Status.SUCCEEDED;
+		result.complete(report);
+	}
+
+	void failed(Throwable throwable) {
+		failure = throwable;
+		status = Status.FAILED;
+		result.completeExceptionally(throwable);
+	}
+
+	@Override
+	public String toString() {
+		return "RewriteJob[id=%s, baseDir=%s, status=%s]".formatted(id, baseDir, status);
+	}
+
+}
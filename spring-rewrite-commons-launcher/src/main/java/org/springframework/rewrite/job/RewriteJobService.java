@@ -0,0 +1,312 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.job;
+
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.RewriteProjectParser;
+import org.springframework.rewrite.parser.ProjectScanner;
+import org.springframework.rewrite.resource.ProjectResourceSet;
+import org.springframework.rewrite.resource.ProjectResourceSetFactory;
+import org.springframework.rewrite.resource.ProjectResourceSetSerializer;
+import org.springframework.rewrite.resource.RecipeRunReport;
+import org.springframework.rewrite.scopes.ParseSession;
+import org.springframework.rewrite.scopes.ParseSessions;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs scan, parse, apply and write for many projects concurrently.
+ * <p>
+ * Each {@link RewriteJob} runs in its own {@link ParseSession}, so jobs don't share
+ * scoped state like the {@code ExecutionContext}. The I/O-bound stages (scanning the
+ * project and writing the changes) run on virtual threads when the runtime provides
+ * them and on a cached thread pool otherwise. The CPU-bound stages (parsing and applying
+ * recipes) run on a fixed pool of {@code cpuThreads} threads.
+ * <p>
+ * At most {@code maxInFlight} jobs run at the same time, further jobs are queued. A
+ * parsed project can occupy a lot of heap, admitting all jobs at once would keep all
+ * their LSTs in memory at the same time. Additionally, after scanning, the heap needed
+ * to parse the project is estimated by the {@link ParseMemoryEstimator} and parsing is
+ * delayed until the {@link HeapAdmissionController} admits the estimate. Parses running
+ * alone calibrate the estimator with the growth of the heap used after garbage collection.
+ */
+public class RewriteJobService implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RewriteJobService.class);
+
+	private final ProjectScanner projectScanner;
+
+	private final RewriteProjectParser parser;
+
+	private final ProjectResourceSetFactory resourceSetFactory;
+
+	private final ProjectResourceSetSerializer serializer;
+
+	private final ParseSessions parseSessions;
+
+	private final ParseMemoryEstimator memoryEstimator;
+
+	private final HeapAdmissionController heapAdmission;
+
+	private final int maxInFlight;
+
+	private final ExecutorService ioExecutor;
+
+	private final ExecutorService cpuExecutor;
+
+	private final Map<String, RewriteJob> jobs = new ConcurrentHashMap<>();
+
+	private final Queue<RewriteJob> queuedJobs = new ArrayDeque<>();
+
+	private int runningJobs;
+
+	public RewriteJobService(ProjectScanner projectScanner, RewriteProjectParser parser,
+			ProjectResourceSetFactory resourceSetFactory, ProjectResourceSetSerializer serializer,
+			ParseSessions parseSessions, ParseMemoryEstimator memoryEstimator, HeapAdmissionController heapAdmission,
+			int cpuThreads, int maxInFlight) {
+		if (cpuThreads < 1 || maxInFlight < 1) {
+			throw new IllegalArgumentException(
+					"cpuThreads and maxInFlight must be > 0 but were %d and %d.".formatted(cpuThreads, maxInFlight));
+		}
+		this.projectScanner = projectScanner;
+		this.parser = parser;
+		this.resourceSetFactory = resourceSetFactory;
+		this.serializer = serializer;
+		this.parseSessions = parseSessions;
+		this.memoryEstimator = memoryEstimator;
+		this.heapAdmission = heapAdmission;
+		this.maxInFlight = maxInFlight;
+		this.ioExecutor = createIoExecutor();
+		CustomizableThreadFactory cpuThreadFactory = new CustomizableThreadFactory("rewrite-job-cpu-");
+		cpuThreadFactory.setDaemon(true);
+		this.cpuExecutor = Executors.newFixedThreadPool(cpuThreads, cpuThreadFactory);
+	}
+
+	/**
+	 * Submit a job applying {@code recipes} to the project in {@code baseDir}.
+	 */
+	public RewriteJob submit(Path baseDir, List<Recipe> recipes) {
+		RewriteJob job = new RewriteJob(baseDir, recipes);
+		jobs.put(job.getId(), job);
+		synchronized (this) {
+			queuedJobs.add(job);
+		}
+		LOGGER.debug("Submitted %s.".formatted(job));
+		startQueuedJobs();
+		return job;
+	}
+
+	public Optional<RewriteJob> getJob(String id) {
+		return Optional.ofNullable(jobs.get(id));
+	}
+
+	public Collection<RewriteJob> getJobs() {
+		return List.copyOf(jobs.values());
+	}
+
+	/**
+	 * Remove finished jobs.
+	 */
+	public void removeFinishedJobs() {
+		jobs.values().removeIf(RewriteJob::isDone);
+	}
+
+	@Override
+	public void destroy() {
+		ioExecutor.shutdownNow();
+		cpuExecutor.shutdownNow();
+	}
+
+	private void startQueuedJobs() {
+		while (true) {
+			RewriteJob job;
+			synchronized (this) {
+				if (runningJobs >= maxInFlight || queuedJobs.isEmpty()) {
+					return;
+				}
+				job = queuedJobs.poll();
+				runningJobs++;
+			}
+			try {
+				start(job);
+			}
+			catch (RuntimeException e) {
+				// e.g. rejected because the service was destroyed
+				finish(job, null, null, e);
+			}
+		}
+	}
+
+	private void start(RewriteJob job) {
+		job.recordTiming(RewriteJob.Status.QUEUED, Duration.between(job.getSubmittedAt(), Instant.now()));
+		ParseSession session = parseSessions.open();
+		try {
+			stage(job, session, RewriteJob.Status.SCANNING, ioExecutor, () -> scan(job))
+				.thenCompose(resources -> runWithHeapAdmission(job, session, resources))
+				.whenComplete((report, throwable) -> finish(job, session, report, throwable));
+		}
+		catch (RuntimeException e) {
+			// the job never got scheduled, finish() won't be called with this session
+			session.close();
+			throw e;
+		}
+	}
+
+	private List<Resource> scan(RewriteJob job) {
+		List<Resource> resources = projectScanner.scan(job.getBaseDir());
+		job.setMemoryEstimate(memoryEstimator.estimate(resources));
+		return resources;
+	}
+
+	private CompletableFuture<RecipeRunReport> runWithHeapAdmission(RewriteJob job, ParseSession session,
+			List<Resource> resources) {
+		return awaitHeap(job).thenCompose(estimate -> {
+			try {
+				return parseApplyAndWrite(job, session, resources)
+					.whenComplete((report, throwable) -> heapAdmission.release(estimate.bytes()));
+			}
+			catch (RuntimeException e) {
+				// e.g. rejected because the service was destroyed while waiting for heap
+				heapAdmission.release(estimate.bytes());
+				throw e;
+			}
+		});
+	}
+
+	private CompletableFuture<ParseMemoryEstimate> awaitHeap(RewriteJob job) {
+		ParseMemoryEstimate estimate = job.getMemoryEstimate().orElseThrow();
+		job.setStatus(RewriteJob.Status.WAITING_FOR_HEAP);
+		long start = System.nanoTime();
+		LOGGER.debug("%s needs an estimated %d MB heap.".formatted(job, estimate.megabytes()));
+		return heapAdmission.admit(estimate.bytes()).thenApply(admitted -> {
+			job.recordTiming(RewriteJob.Status.WAITING_FOR_HEAP, Duration.ofNanos(System.nanoTime() - start));
+			return estimate;
+		});
+	}
+
+	private CompletableFuture<RecipeRunReport> parseApplyAndWrite(RewriteJob job, ParseSession session,
+			List<Resource> resources) {
+		Path baseDir = job.getBaseDir();
+		return stage(job, session, RewriteJob.Status.PARSING, cpuExecutor, () -> parse(job, resources))
+			.thenCompose(sourceFiles -> stage(job, session, RewriteJob.Status.APPLYING, cpuExecutor,
+					() -> apply(baseDir, sourceFiles, job.getRecipes())))
+			.thenCompose(applied -> stage(job, session, RewriteJob.Status.WRITING, ioExecutor, () -> {
+				serializer.writeChanges(applied.resourceSet());
+				return applied.report();
+			}));
+	}
+
+	private List<SourceFile> parse(RewriteJob job, List<Resource> resources) {
+		ParseMemoryEstimate estimate = job.getMemoryEstimate().orElseThrow();
+		// other parses would distort the measured heap
+		boolean alone = heapAdmission.getReservedBytes() == estimate.bytes();
+		long collectionsBefore = HeapUsage.collectionCount();
+		long usedHeapBefore = HeapUsage.usedAfterLastGc();
+		List<SourceFile> sourceFiles = parser.parse(job.getBaseDir(), resources).sourceFiles();
+		// without a collection during the parse the post-GC reading doesn't contain the LST
+		if (alone && heapAdmission.getReservedBytes() == estimate.bytes()
+				&& HeapUsage.collectionCount() > collectionsBefore) {
+			memoryEstimator.calibrate(estimate, HeapUsage.usedAfterLastGc() - usedHeapBefore);
+		}
+		return sourceFiles;
+	}
+
+	private Applied apply(Path baseDir, List<SourceFile> sourceFiles, List<Recipe> recipes) {
+		ProjectResourceSet resourceSet = resourceSetFactory.create(baseDir, sourceFiles);
+		RecipeRunReport report = resourceSet.apply(recipes.toArray(Recipe[]::new));
+		return new Applied(resourceSet, report);
+	}
+
+	private <T> CompletableFuture<T> stage(RewriteJob job, ParseSession session, RewriteJob.Status stage,
+			Executor executor, Supplier<T> supplier) {
+		return CompletableFuture.supplyAsync(() -> {
+			job.setStatus(stage);
+			long start = System.nanoTime();
+			try {
+				return session.call(supplier);
+			}
+			finally {
+				job.recordTiming(stage, Duration.ofNanos(System.nanoTime() - start));
+			}
+		}, executor);
+	}
+
+	private void finish(RewriteJob job, ParseSession session, RecipeRunReport report, Throwable throwable) {
+		if (session != null) {
+			try {
+				session.close();
+			}
+			catch (RuntimeException e) {
+				LOGGER.warn("Closing parse session of %s failed.".formatted(job), e);
+			}
+		}
+		if (throwable == null) {
+			job.succeeded(report);
+			LOGGER.info("Finished %s in %s.".formatted(job, job.getTimings()));
+		}
+		else {
+			Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+					? throwable.getCause() : throwable;
+			job.failed(cause);
+			LOGGER.warn("%s failed.".formatted(job), cause);
+		}
+		synchronized (this) {
+			runningJobs--;
+		}
+		startQueuedJobs();
+	}
+
+	/**
+	 * Virtual threads are only available when running on Java 21 or later.
+	 */
+	private static ExecutorService createIoExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		}
+		catch (ReflectiveOperationException e) {
+			CustomizableThreadFactory ioThreadFactory = new CustomizableThreadFactory("rewrite-job-io-");
+			ioThreadFactory.setDaemon(true);
+			return Executors.newCachedThreadPool(ioThreadFactory);
+		}
+	}
+
+	private record Applied(ProjectResourceSet resourceSet, RecipeRunReport report) {
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser;
+
+import org.openrewrite.SourceFile;
+import org.openrewrite.marker.GitProvenance;
+import org.openrewrite.marker.Markers;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.utils.GitChanges;
+import org.springframework.rewrite.utils.ResourceUtil;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The resources that must be parsed again after the {@link GitChanges} between the
+ * commit of a previous parse and a new commit, and the merge of the newly parsed source
+ * files into the previous result.
+ * <p>
+ * Changed build files require a full parse. Otherwise the changed resources are parsed
+ * together with all build files. As Java types are attributed from the sources of the
+ * project, any change to a Java file requires parsing all Java files again, while
+ * unchanged non-Java source files are reused from the previous result.
+ *
+ * @see org.springframework.rewrite.RewriteProjectParser#parseIncrementally(Path,
+ * RewriteProjectParsingResult, String, GitChanges)
+ */
+public final class IncrementalParseSet {
+
+	private static final String JAVA_EXTENSION = ".java";
+
+	private final List<Resource> resources;
+
+	private final Set<Path> removedPaths;
+
+	private final boolean fullParse;
+
+	private final boolean javaParsed;
+
+	private IncrementalParseSet(List<Resource> resources, Set<Path> removedPaths, boolean fullParse,
+			boolean javaParsed) {
+		this.resources = resources;
+		this.removedPaths = removedPaths;
+		this.fullParse = fullParse;
+		this.javaParsed = javaParsed;
+	}
+
+	/**
+	 * Calculate the resources to parse again.
+	 * @param baseDir the root of the Git repository
+	 * @param resources all resources of the new commit
+	 * @param changes the changes since the previous parse with paths relative to
+	 * {@code baseDir}
+	 */
+	public static IncrementalParseSet of(Path baseDir, List<Resource> resources, GitChanges changes) {
+		if (changes.buildFilesChanged()) {
+			return new IncrementalParseSet(resources, changes.removedPaths(), true, true);
+		}
+		Set<Path> changedPaths = changes.changedPaths();
+		Set<Path> removedPaths = changes.removedPaths();
+		boolean javaChanged = changedPaths.stream().anyMatch(IncrementalParseSet::isJava)
+				|| removedPaths.stream().anyMatch(IncrementalParseSet::isJava);
+		List<Resource> resourcesToParse = resources.stream().filter(r -> {
+			Path relativePath = relativePath(baseDir, r);
+			return changedPaths.contains(relativePath) || GitChanges.isBuildFile(relativePath)
+					|| (javaChanged && isJava(relativePath));
+		}).toList();
+		return new IncrementalParseSet(resourcesToParse, removedPaths, false, javaChanged);
+	}
+
+	/**
+	 * The resources to parse.
+	 */
+	public List<Resource> getResources() {
+		return resources;
+	}
+
+	/**
+	 * Whether the whole project must be parsed again, the previous result can't be
+	 * reused.
+	 */
+	public boolean isFullParse() {
+		return fullParse;
+	}
+
+	/**
+	 * Merge the newly parsed source files into the source files of the previous parse.
+	 * Source files of removed paths are dropped, parsed source files replace the previous
+	 * source file with the same path or get appended. When Java files were parsed, all
+	 * previous Java source files are replaced.
+	 * <p>
+	 * Reused source files get the {@link GitProvenance} of the parsed source files, so
+	 * all source files report the new commit.
+	 */
+	public List<SourceFile> merge(List<SourceFile> previous, List<SourceFile> parsed) {
+		if (fullParse) {
+			return parsed;
+		}
+		Optional<GitProvenance> gitProvenance = parsed.stream()
+			.map(sourceFile -> sourceFile.getMarkers().findFirst(GitProvenance.class))
+			.flatMap(Optional::stream)
+			.findFirst();
+		Map<Path, SourceFile> merged = new LinkedHashMap<>();
+		for (SourceFile sourceFile : previous) {
+			Path sourcePath = sourceFile.getSourcePath();
+			if (!removedPaths.contains(sourcePath) && !(javaParsed && isJava(sourcePath))) {
+				merged.put(sourcePath, withGitProvenance(sourceFile, gitProvenance));
+			}
+		}
+		parsed.forEach(sourceFile -> merged.put(sourceFile.getSourcePath(), sourceFile));
+		return List.copyOf(merged.values());
+	}
+
+	private static SourceFile withGitProvenance(SourceFile sourceFile, Optional<GitProvenance> gitProvenance) {
+		Markers markers = sourceFile.getMarkers().removeByType(GitProvenance.class);
+		return sourceFile.withMarkers(gitProvenance.map(markers::add).orElse(markers));
+	}
+
+	private static Path relativePath(Path baseDir, Resource resource) {
+		return baseDir.relativize(ResourceUtil.getPath(resource).toAbsolutePath().normalize());
+	}
+
+	private static boolean isJava(Path path) {
+		return path.toString().endsWith(JAVA_EXTENSION);
+	}
+
+}
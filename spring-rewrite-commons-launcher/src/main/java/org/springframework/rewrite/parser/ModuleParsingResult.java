@@ -18,14 +18,24 @@ package org.springframework.rewrite.parser;
 import org.openrewrite.SourceFile;
 import org.springframework.rewrite.parser.maven.MavenProject;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * @param outputClasspath build output of upstream modules (and their upstream modules)
+ * used as classpath instead of parsed sources
  * @author Fabian Krüger
  */
 public record ModuleParsingResult(MavenProject currentProject, SourceSetParsingResult mainSourcesParsingResult,
-		SourceSetParsingResult testSourcesParsingResult, List<SourceFile> resourceFilesList) {
+		SourceSetParsingResult testSourcesParsingResult, List<SourceFile> resourceFilesList,
+		List<Path> outputClasspath) {
+
+	public ModuleParsingResult(MavenProject currentProject, SourceSetParsingResult mainSourcesParsingResult,
+			SourceSetParsingResult testSourcesParsingResult, List<SourceFile> resourceFilesList) {
+		this(currentProject, mainSourcesParsingResult, testSourcesParsingResult, resourceFilesList, List.of());
+	}
+
 	public List<? extends SourceFile> sourceFiles() {
 		List<SourceFile> allSourceFiles = new ArrayList<>();
 		allSourceFiles.addAll(mainSourcesParsingResult.sourceFiles());
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser;
+
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.utils.ResourceUtil;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Describes which resources need to be parsed for a recipe run, created by the
+ * {@link RecipeParsePlanner}.
+ * <p>
+ * Build files ({@code pom.xml}) are always parsed. Other files are parsed when their file
+ * type is required. Java files are needed as a whole to attribute types, they are either
+ * all parsed or, when the recipes only apply to sources using given types or methods and
+ * no Java file contains any of their names, none of them.
+ */
+public final class ParsePlan {
+
+	private static final ParsePlan ALL = new ParsePlan(true, Set.of(), Set.of());
+
+	private static final String JAVA = "java";
+
+	private final boolean parseAll;
+
+	private final Set<String> fileTypes;
+
+	private final Set<String> javaSearchTerms;
+
+	private ParsePlan(boolean parseAll, Set<String> fileTypes, Set<String> javaSearchTerms) {
+		this.parseAll = parseAll;
+		this.fileTypes = Set.copyOf(fileTypes);
+		this.javaSearchTerms = Set.copyOf(javaSearchTerms);
+	}
+
+	/**
+	 * Parse all resources.
+	 */
+	public static ParsePlan all() {
+		return ALL;
+	}
+
+	/**
+	 * Parse only build files and files with the given extensions.
+	 */
+	public static ParsePlan fileTypes(Set<String> fileTypes) {
+		return new ParsePlan(false, fileTypes, Set.of());
+	}
+
+	/**
+	 * Parse Java files only when at least one of them contains any of the
+	 * {@code searchTerms}.
+	 */
+	public static ParsePlan javaContaining(Set<String> searchTerms) {
+		return new ParsePlan(false, Set.of(JAVA), searchTerms);
+	}
+
+	/**
+	 * The plan parsing the resources required by this or the {@code other} plan.
+	 */
+	public ParsePlan or(ParsePlan other) {
+		if (parseAll || other.parseAll) {
+			return ALL;
+		}
+		Set<String> mergedFileTypes = new HashSet<>(fileTypes);
+		mergedFileTypes.addAll(other.fileTypes);
+		Set<String> mergedSearchTerms = new HashSet<>();
+		boolean thisRequiresAllJava = fileTypes.contains(JAVA) && javaSearchTerms.isEmpty();
+		boolean otherRequiresAllJava = other.fileTypes.contains(JAVA) && other.javaSearchTerms.isEmpty();
+		if (!thisRequiresAllJava && !otherRequiresAllJava) {
+			mergedSearchTerms.addAll(javaSearchTerms);
+			mergedSearchTerms.addAll(other.javaSearchTerms);
+		}
+		return new ParsePlan(false, mergedFileTypes, mergedSearchTerms);
+	}
+
+	/**
+	 * The plan parsing only resources required by this and the {@code other} plan. When
+	 * both plans restrict Java files to search terms, Java files are parsed when any of
+	 * the search terms of either plan is found.
+	 */
+	public ParsePlan and(ParsePlan other) {
+		if (parseAll) {
+			return other;
+		}
+		if (other.parseAll) {
+			return this;
+		}
+		Set<String> commonFileTypes = new HashSet<>(fileTypes);
+		commonFileTypes.retainAll(other.fileTypes);
+		// a plan without search terms doesn't restrict the other plan, when both have search
+		// terms finding any of them is a superset of finding one of each plan
+		Set<String> searchTerms = new HashSet<>(javaSearchTerms);
+		searchTerms.addAll(other.javaSearchTerms);
+		return new ParsePlan(false, commonFileTypes, commonFileTypes.contains(JAVA) ? searchTerms : Set.of());
+	}
+
+	public boolean isParseAll() {
+		return parseAll;
+	}
+
+	public Set<String> getFileTypes() {
+		return fileTypes;
+	}
+
+	public Set<String> getJavaSearchTerms() {
+		return javaSearchTerms;
+	}
+
+	/**
+	 * Filter the scanned {@code resources} to the resources that need to be parsed.
+	 */
+	public List<Resource> filter(List<Resource> resources) {
+		if (parseAll) {
+			return resources;
+		}
+		boolean parseJava = fileTypes.contains(JAVA) && (javaSearchTerms.isEmpty() || resources.stream()
+			.filter(r -> JAVA.equals(fileType(r)))
+			.anyMatch(this::containsSearchTerm));
+		return resources.stream().filter(r -> {
+			String fileType = fileType(r);
+			if ("pom.xml".equals(r.getFilename())) {
+				return true;
+			}
+			if (JAVA.equals(fileType)) {
+				return parseJava;
+			}
+			return fileTypes.contains(fileType);
+		}).toList();
+	}
+
+	@Override
+	public String toString() {
+		return parseAll ? "ParsePlan[all]"
+				: "ParsePlan[fileTypes=%s, javaSearchTerms=%s]".formatted(fileTypes, javaSearchTerms);
+	}
+
+	private boolean containsSearchTerm(Resource resource) {
+		String content = ResourceUtil.getContent(resource);
+		return javaSearchTerms.stream().anyMatch(content::contains);
+	}
+
+	private static String fileType(Resource resource) {
+		String fileName = resource.getFilename();
+		int dot = fileName == null ? -1 : fileName.lastIndexOf('.');
+		return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase();
+	}
+
+}
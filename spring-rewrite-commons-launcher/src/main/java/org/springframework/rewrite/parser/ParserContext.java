@@ -18,6 +18,7 @@ package org.springframework.rewrite.parser;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.core.io.Resource;
 import org.springframework.rewrite.parser.maven.MavenProject;
+import org.springframework.rewrite.parser.maven.ModuleSelection;
 import org.springframework.rewrite.utils.ResourceUtil;
 
 import java.nio.file.Path;
@@ -36,10 +37,18 @@ public class ParserContext {
 
 	private final List<MavenProject> sortedProjects;
 
+	private final ModuleSelection.Modules modules;
+
 	public ParserContext(Path baseDir, List<Resource> resources, List<MavenProject> sortedProjects) {
+		this(baseDir, resources, sortedProjects, ModuleSelection.all().select(baseDir, sortedProjects));
+	}
+
+	public ParserContext(Path baseDir, List<Resource> resources, List<MavenProject> sortedProjects,
+			ModuleSelection.Modules modules) {
 		this.baseDir = baseDir;
 		this.resources = resources;
 		this.sortedProjects = sortedProjects;
+		this.modules = modules;
 	}
 
 	private Map<Path, Xml.Document> pathDocumentMap;
@@ -52,6 +61,13 @@ public class ParserContext {
 		return sortedProjects;
 	}
 
+	/**
+	 * The modules to parse and the upstream modules only providing types.
+	 */
+	public ModuleSelection.Modules getModules() {
+		return modules;
+	}
+
 	public List<String> getActiveProfiles() {
 		// FIXME: Add support for Maven profiles
 		return List.of("default");
@@ -84,6 +100,16 @@ public class ParserContext {
 		return getSortedProjects().stream().map(p -> pathDocumentMap.get(p.getFile().toPath())).toList();
 	}
 
+	/**
+	 * The build files of the selected modules in build order.
+	 */
+	public List<Xml.Document> getSelectedBuildFileDocuments() {
+		return getSortedProjects().stream()
+			.filter(modules::isSelected)
+			.map(p -> pathDocumentMap.get(p.getFile().toPath()))
+			.toList();
+	}
+
 	private void addSourceFileToModel(Path baseDir, List<MavenProject> sortedProjectsList, Xml.Document s) {
 		sortedProjectsList.stream()
 			.filter(p -> ResourceUtil.getPath(p.getPomFile())
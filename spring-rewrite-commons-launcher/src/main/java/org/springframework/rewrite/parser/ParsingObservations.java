@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates Micrometer {@link Observation}s for the phases of parsing a project.
+ * <p>
+ * Observations are named:
+ * <ul>
+ * <li>{@value #PARSE} for a complete parse, tagged with the number of resources and
+ * parsed source files.</li>
+ * <li>{@value #PHASE} for each phase of a parse, tagged with the {@code phase} name.</li>
+ * <li>{@value #MODULE} for each parsed module, tagged with the {@code module}.</li>
+ * <li>{@value #SOURCE_SET} for each parsed source set of a module, tagged with
+ * {@code module} and {@code source.set} ({@code main}, {@code test} or
+ * {@code resources}).</li>
+ * </ul>
+ * With a {@code MeterRegistry} each observation results in a timer.
+ */
+public class ParsingObservations {
+
+	public static final String PARSE = "spring.rewrite.parse";
+
+	public static final String PHASE = "spring.rewrite.parse.phase";
+
+	public static final String MODULE = "spring.rewrite.parse.module";
+
+	public static final String SOURCE_SET = "spring.rewrite.parse.source.set";
+
+	public static final String PHASE_SCAN = "scan";
+
+	public static final String PHASE_PROJECT_GRAPH = "project.graph";
+
+	public static final String PHASE_PROVENANCE = "provenance";
+
+	public static final String PHASE_BUILD_FILES = "build.files";
+
+	public static final String PHASE_SOURCE_FILES = "source.files";
+
+	public static final String PHASE_STYLE_DETECTION = "style.detection";
+
+	private static final ParsingObservations NOOP = new ParsingObservations(ObservationRegistry.NOOP);
+
+	private final ObservationRegistry observationRegistry;
+
+	public ParsingObservations(ObservationRegistry observationRegistry) {
+		this.observationRegistry = observationRegistry;
+	}
+
+	/**
+	 * {@link ParsingObservations} not recording anything.
+	 */
+	public static ParsingObservations noop() {
+		return NOOP;
+	}
+
+	public ObservationRegistry getObservationRegistry() {
+		return observationRegistry;
+	}
+
+	/**
+	 * Observe a complete parse of {@code numResources} resources.
+	 */
+	public <T extends RewriteProjectParsingResult> T observeParse(int numResources, Supplier<T> parse) {
+		return observe(PARSE, KeyValues.empty(), KeyValues.of("resources", String.valueOf(numResources)), parse,
+				result -> KeyValues.of("source.files", String.valueOf(result.sourceFiles().size())));
+	}
+
+	/**
+	 * Observe a phase of the parse. When the result of the phase is a
+	 * {@link Collection} its size is added as {@code files} tag.
+	 */
+	public <T> T observePhase(String phase, Supplier<T> supplier) {
+		return observe(PHASE, KeyValues.of("phase", phase), KeyValues.empty(), supplier, ParsingObservations::files);
+	}
+
+	/**
+	 * Observe parsing a module.
+	 */
+	public <T> T observeModule(String module, Supplier<T> supplier) {
+		return observe(MODULE, KeyValues.of("module", module), KeyValues.empty(), supplier,
+				result -> KeyValues.empty());
+	}
+
+	/**
+	 * Observe parsing a source set of a module from {@code numInputs} inputs.
+	 */
+	public <T> T observeSourceSet(String module, String sourceSet, int numInputs, Supplier<T> supplier) {
+		return observe(SOURCE_SET, KeyValues.of("module", module, "source.set", sourceSet),
+				KeyValues.of("inputs", String.valueOf(numInputs)), supplier, ParsingObservations::files);
+	}
+
+	private <T> T observe(String name, KeyValues lowCardinalityKeyValues, KeyValues highCardinalityKeyValues,
+			Supplier<T> supplier, Function<T, KeyValues> resultKeyValues) {
+		Observation observation = Observation.createNotStarted(name, observationRegistry)
+			.lowCardinalityKeyValues(lowCardinalityKeyValues)
+			.highCardinalityKeyValues(highCardinalityKeyValues)
+			.start();
+		try (Observation.Scope scope = observation.openScope()) {
+			T result = supplier.get();
+			observation.highCardinalityKeyValues(resultKeyValues.apply(result));
+			return result;
+		}
+		catch (RuntimeException e) {
+			observation.error(e);
+			throw e;
+		}
+		finally {
+			observation.stop();
+		}
+	}
+
+	private static KeyValues files(Object result) {
+		if (result instanceof Collection<?> collection) {
+			return KeyValues.of("files", String.valueOf(collection.size()));
+		}
+		if (result instanceof SourceSetParsingResult sourceSetParsingResult) {
+			return KeyValues.of("files", String.valueOf(sourceSetParsingResult.sourceFiles().size()));
+		}
+		return KeyValues.empty();
+	}
+
+}
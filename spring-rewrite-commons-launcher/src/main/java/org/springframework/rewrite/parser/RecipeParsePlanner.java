@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser;
+
+import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.json.JsonVisitor;
+import org.openrewrite.maven.MavenVisitor;
+import org.openrewrite.properties.PropertiesVisitor;
+import org.openrewrite.xml.XmlVisitor;
+import org.openrewrite.yaml.YamlVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Derives a {@link ParsePlan} from a recipe tree, so that files a recipe can never change
+ * are not parsed.
+ * <p>
+ * The file types are derived from the visitors of the recipes, e.g. a
+ * {@link YamlVisitor} only visits YAML files. Java visitors guarded by a
+ * {@link UsesType} or {@link UsesMethod} precondition only need Java files when the
+ * name of the type or method appears in the raw text of a Java file. Whenever a recipe
+ * can't be analysed, e.g. a {@link ScanningRecipe} which could generate files or a
+ * visitor of an unknown type, all files are parsed.
+ * <p>
+ * The text search can't find types used without their name, e.g. the {@code Stream}
+ * returned by {@code list.stream()} or a type inferred for {@code var}. A recipe guarded
+ * by {@code UsesType("java.util.stream.Stream")} won't see Java files using
+ * {@code Stream} only like this, when no other Java file names the type.
+ */
+public class RecipeParsePlanner {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RecipeParsePlanner.class);
+
+	private static final String PRECONDITIONS_CHECK = "org.openrewrite.Preconditions$Check";
+
+	private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+
+	/**
+	 * Create the {@link ParsePlan} for {@code recipe} and all recipes in its recipe list.
+	 */
+	public ParsePlan plan(Recipe recipe) {
+		ParsePlan plan = planRecipe(recipe);
+		LOGGER.debug("Parse plan for recipe %s: %s".formatted(recipe.getName(), plan));
+		return plan;
+	}
+
+	private ParsePlan planRecipe(Recipe recipe) {
+		if (recipe instanceof ScanningRecipe<?>) {
+			return ParsePlan.all();
+		}
+		ParsePlan plan = null;
+		if (hasVisitor(recipe)) {
+			plan = planVisitor(recipe.getVisitor());
+		}
+		for (Recipe child : recipe.getRecipeList()) {
+			ParsePlan childPlan = planRecipe(child);
+			plan = plan == null ? childPlan : plan.or(childPlan);
+			if (plan.isParseAll()) {
+				return plan;
+			}
+		}
+		// a recipe without visitor and without recipes changes nothing
+		return plan == null ? ParsePlan.fileTypes(Set.of()) : plan;
+	}
+
+	private ParsePlan planVisitor(TreeVisitor<?, ?> visitor) {
+		if (PRECONDITIONS_CHECK.equals(visitor.getClass().getName())) {
+			TreeVisitor<?, ?> check = fieldValue(visitor, "check", TreeVisitor.class);
+			TreeVisitor<?, ?> guarded = fieldValue(visitor, "v", TreeVisitor.class);
+			if (check == null || guarded == null) {
+				return ParsePlan.all();
+			}
+			return planPrecondition(check).and(planVisitor(guarded));
+		}
+		// MavenVisitor extends XmlVisitor and only visits pom.xml which is always parsed
+		if (visitor instanceof MavenVisitor<?>) {
+			return ParsePlan.fileTypes(Set.of());
+		}
+		if (visitor instanceof JavaVisitor<?>) {
+			return ParsePlan.fileTypes(Set.of("java"));
+		}
+		if (visitor instanceof XmlVisitor<?>) {
+			return ParsePlan.fileTypes(Set.of("xml"));
+		}
+		if (visitor instanceof YamlVisitor<?>) {
+			return ParsePlan.fileTypes(Set.of("yml", "yaml"));
+		}
+		if (visitor instanceof PropertiesVisitor<?>) {
+			return ParsePlan.fileTypes(Set.of("properties"));
+		}
+		if (visitor instanceof JsonVisitor<?>) {
+			return ParsePlan.fileTypes(Set.of("json"));
+		}
+		return ParsePlan.all();
+	}
+
+	private ParsePlan planPrecondition(TreeVisitor<?, ?> check) {
+		if (check instanceof UsesType<?> usesType) {
+			String searchTerm = usesTypeSearchTerm(fieldValue(usesType, "fullyQualifiedType", String.class));
+			return searchTerm == null ? ParsePlan.fileTypes(Set.of("java"))
+					: ParsePlan.javaContaining(Set.of(searchTerm));
+		}
+		if (check instanceof UsesMethod<?> usesMethod) {
+			Object methodMatcher = fieldValue(usesMethod, "methodMatcher", Object.class);
+			Pattern methodNamePattern = methodMatcher == null ? null
+					: fieldValue(methodMatcher, "methodNamePattern", Pattern.class);
+			if (methodNamePattern != null && IDENTIFIER.matcher(methodNamePattern.pattern()).matches()) {
+				return ParsePlan.javaContaining(Set.of(methodNamePattern.pattern()));
+			}
+			return ParsePlan.fileTypes(Set.of("java"));
+		}
+		return planVisitor(check);
+	}
+
+	/**
+	 * The text a Java file must contain to use the type, {@code null} if the type can be
+	 * used without its name appearing in the file.
+	 */
+	private static String usesTypeSearchTerm(String fullyQualifiedType) {
+		if (fullyQualifiedType == null || fullyQualifiedType.startsWith("java.lang.")) {
+			return null;
+		}
+		int wildcard = fullyQualifiedType.indexOf('*');
+		if (wildcard >= 0) {
+			String packagePrefix = fullyQualifiedType.substring(0, wildcard).replaceAll("\\.+$", "");
+			return packagePrefix.isEmpty() ? null : packagePrefix;
+		}
+		String simpleName = fullyQualifiedType.substring(fullyQualifiedType.lastIndexOf('.') + 1);
+		return simpleName.substring(simpleName.lastIndexOf('$') + 1);
+	}
+
+	private static boolean hasVisitor(Recipe recipe) {
+		return ReflectionUtils.findMethod(recipe.getClass(), "getVisitor").getDeclaringClass() != Recipe.class;
+	}
+
+	private static <T> T fieldValue(Object target, String fieldName, Class<T> type) {
+		Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+		if (field == null) {
+			return null;
+		}
+		ReflectionUtils.makeAccessible(field);
+		Object value = ReflectionUtils.getField(field, target);
+		return type.isInstance(value) ? type.cast(value) : null;
+	}
+
+}
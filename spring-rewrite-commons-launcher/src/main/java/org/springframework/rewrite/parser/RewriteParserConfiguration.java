@@ -15,6 +15,9 @@
  */
 package org.springframework.rewrite.parser;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.maven.cache.CompositeMavenPomCache;
 import org.openrewrite.maven.cache.InMemoryMavenPomCache;
@@ -24,24 +27,33 @@ import org.openrewrite.maven.utilities.MavenArtifactDownloader;
 import org.openrewrite.tree.ParsingEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.rewrite.RewriteProjectParser;
 import org.springframework.rewrite.boot.autoconfigure.ProjectResourceSetConfiguration;
 import org.springframework.rewrite.boot.autoconfigure.ScopeConfiguration;
+import org.springframework.rewrite.parser.events.AsyncBatchingParsingEventListener;
 import org.springframework.rewrite.parser.events.RewriteParsingEventListenerAdapter;
 import org.springframework.rewrite.parser.maven.*;
+import org.springframework.rewrite.parser.memory.ParsingResultMemoryAccounting;
+import org.springframework.rewrite.parser.memory.ParsingResultMemoryMetrics;
 import org.springframework.rewrite.scopes.annotations.ScanScope;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.function.Consumer;
 
 /**
@@ -49,7 +61,8 @@ import java.util.function.Consumer;
  *
  * @author Fabian Krüger
  */
-@AutoConfiguration(after = { ScopeConfiguration.class })
+@AutoConfiguration(after = { ScopeConfiguration.class },
+		afterName = "org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration")
 @EnableConfigurationProperties({ SpringRewriteProperties.class })
 @Import({ org.springframework.rewrite.scopes.ScanScope.class, ScopeConfiguration.class,
 		RewriteParserMavenConfiguration.class, ProjectResourceSetConfiguration.class })
@@ -81,13 +94,19 @@ public class RewriteParserConfiguration {
 	}
 
 	@Bean
-	MavenModuleParser mavenModuleParser(SpringRewriteProperties springRewriteProperties) {
-		return new MavenModuleParser(springRewriteProperties);
+	ParsingObservations parsingObservations(ObjectProvider<ObservationRegistry> observationRegistry) {
+		return new ParsingObservations(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP));
 	}
 
 	@Bean
-	SourceFileParser sourceFileParser(MavenModuleParser mavenModuleParser) {
-		return new SourceFileParser(mavenModuleParser);
+	MavenModuleParser mavenModuleParser(SpringRewriteProperties springRewriteProperties,
+			ParsingObservations parsingObservations) {
+		return new MavenModuleParser(springRewriteProperties, parsingObservations);
+	}
+
+	@Bean
+	SourceFileParser sourceFileParser(MavenModuleParser mavenModuleParser, ParsingObservations parsingObservations) {
+		return new SourceFileParser(mavenModuleParser, parsingObservations);
 	}
 
 	@Bean
@@ -97,7 +116,14 @@ public class RewriteParserConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean(ParsingEventListener.class)
-	ParsingEventListener parsingEventListener(ApplicationEventPublisher eventPublisher) {
+	ParsingEventListener parsingEventListener(ApplicationEventPublisher eventPublisher,
+			SpringRewriteProperties springRewriteProperties) {
+		if (springRewriteProperties.isParsingEventsAsync()) {
+			return new AsyncBatchingParsingEventListener(eventPublisher,
+					springRewriteProperties.getParsingEventsQueueCapacity(),
+					Duration.ofMillis(springRewriteProperties.getParsingEventsBatchIntervalMs()),
+					springRewriteProperties.getParsingEventsOverflowPolicy());
+		}
 		return new RewriteParsingEventListenerAdapter(eventPublisher);
 	}
 
@@ -115,10 +141,11 @@ public class RewriteParserConfiguration {
 			SpringRewriteProperties springRewriteProperties, ParsingEventListener parsingEventListener,
 			ApplicationEventPublisher eventPublisher, org.springframework.rewrite.scopes.ScanScope scanScope,
 			ConfigurableListableBeanFactory beanFactory, ProjectScanner projectScanner,
-			ExecutionContext executionContext, MavenProjectAnalyzer mavenProjectAnalyzer) {
+			ExecutionContext executionContext, MavenProjectAnalyzer mavenProjectAnalyzer,
+			ParsingObservations parsingObservations, ObjectProvider<MavenPomCacheWarmer> pomCacheWarmer) {
 		return new RewriteProjectParser(provenanceMarkerFactory, buildFileParser, sourceFileParser, styleDetector,
 				springRewriteProperties, parsingEventListener, eventPublisher, scanScope, beanFactory, projectScanner,
-				executionContext, mavenProjectAnalyzer);
+				executionContext, mavenProjectAnalyzer, parsingObservations, pomCacheWarmer.getIfAvailable());
 	}
 
 	@Bean
@@ -126,7 +153,14 @@ public class RewriteParserConfiguration {
 	MavenPomCache mavenPomCache(SpringRewriteProperties springRewriteProperties) {
 		MavenPomCache mavenPomCache = new InMemoryMavenPomCache();
 		if (springRewriteProperties.isPomCacheEnabled()) {
-			if (!"64".equals(System.getProperty("sun.arch.data.model", "64"))) {
+			if (springRewriteProperties.getPomCacheType() == SpringRewriteProperties.PomCacheType.APPEND_ONLY_LOG) {
+				long maxSizeInBytes = springRewriteProperties.getPomCacheMaxSizeMb() * 1024L * 1024L;
+				// closed with the application context, releasing the cache file
+				mavenPomCache = new CloseableCompositeMavenPomCache(new InMemoryMavenPomCache(),
+						new AppendOnlyMavenPomCache(Path.of(springRewriteProperties.getPomCacheDirectory()),
+								maxSizeInBytes));
+			}
+			else if (!"64".equals(System.getProperty("sun.arch.data.model", "64"))) {
 				LOGGER.warn(
 						"parser.isPomCacheEnabled was set to true but RocksdbMavenPomCache is not supported on 32-bit JVM. falling back to InMemoryMavenPomCache");
 			}
@@ -149,4 +183,48 @@ public class RewriteParserConfiguration {
 		return mavenPomCache;
 	}
 
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.rewrite", name = "pom-cache-warm-up", havingValue = "true")
+	MavenPomCacheWarmer mavenPomCacheWarmer(MavenPomCache mavenPomCache) {
+		return new MavenPomCacheWarmer(mavenPomCache, MavenSettingsInitializer.defaultLocalRepository(),
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.rewrite", name = "memory-accounting-enabled", havingValue = "true")
+	ParsingResultMemoryAccounting parsingResultMemoryAccounting(ApplicationEventPublisher eventPublisher,
+			SpringRewriteProperties springRewriteProperties) {
+		return new ParsingResultMemoryAccounting(eventPublisher,
+				springRewriteProperties.getMemoryAccountingSampleRate());
+	}
+
+	/**
+	 * Record parsing observations as timers when a {@link MeterRegistry} but no
+	 * {@link ObservationRegistry} is available and expose the
+	 * {@link org.springframework.rewrite.parser.memory.ParsingResultMemoryReport} as
+	 * gauges when memory accounting is enabled.
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	static class ParsingMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnBean(MeterRegistry.class)
+		@ConditionalOnMissingBean(ObservationRegistry.class)
+		ObservationRegistry observationRegistry(MeterRegistry meterRegistry) {
+			ObservationRegistry observationRegistry = ObservationRegistry.create();
+			observationRegistry.observationConfig()
+				.observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+			return observationRegistry;
+		}
+
+		@Bean
+		@ConditionalOnBean(MeterRegistry.class)
+		@ConditionalOnProperty(prefix = "spring.rewrite", name = "memory-accounting-enabled", havingValue = "true")
+		ParsingResultMemoryMetrics parsingResultMemoryMetrics(MeterRegistry meterRegistry) {
+			return new ParsingResultMemoryMetrics(meterRegistry);
+		}
+
+	}
+
 }
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.rewrite.parser.maven.MavenModuleParser;
 import org.springframework.rewrite.parser.maven.MavenProject;
+import org.springframework.rewrite.parser.maven.ModuleSelection;
 
 import java.nio.file.Path;
 import java.util.*;
@@ -38,8 +39,15 @@ public class SourceFileParser {
 
 	private final MavenModuleParser moduleParser;
 
+	private final ParsingObservations observations;
+
 	public SourceFileParser(MavenModuleParser moduleParser) {
+		this(moduleParser, ParsingObservations.noop());
+	}
+
+	public SourceFileParser(MavenModuleParser moduleParser, ParsingObservations observations) {
 		this.moduleParser = moduleParser;
+		this.observations = observations;
 	}
 
 	public List<SourceFile> parseOtherSourceFiles(Path baseDir, ParserContext parserContext, List<Resource> resources,
@@ -50,15 +58,28 @@ public class SourceFileParser {
 		// we use the map to look up previous parsing results when building the classpath
 		// of a module
 		Map<MavenProject, ModuleParsingResult> parsingResultsMap = new HashMap<>();
+		ModuleSelection.Modules modules = parserContext.getModules();
 		parserContext.getSortedProjects().forEach(currentMavenProject -> {
+			boolean selected = modules.isSelected(currentMavenProject);
+			if (!selected && !modules.isUpstream(currentMavenProject)) {
+				return;
+			}
 			Xml.Document moduleBuildFile = currentMavenProject.getSourceFile();
 			List<Marker> markers = provenanceMarkers.get(currentMavenProject.getPomFilePath());
 			if (markers == null || markers.isEmpty()) {
 				LOGGER.warn("Could not find provenance markers for resource '%s'"
 					.formatted(parserContext.getMatchingBuildFileResource(currentMavenProject)));
 			}
-			ModuleParsingResult result = moduleParser.parseModule(baseDir, resources, currentMavenProject,
-					moduleBuildFile, markers, styles, executionContext, parsingResultsMap);
+			if (!selected) {
+				// upstream modules only provide their types to the selected modules
+				ModuleParsingResult upstreamResult = moduleParser.parseUpstreamModule(baseDir, resources,
+						currentMavenProject, moduleBuildFile, markers, styles, executionContext, parsingResultsMap);
+				parsingResultsMap.put(currentMavenProject, upstreamResult);
+				return;
+			}
+			ModuleParsingResult result = observations.observeModule(currentMavenProject.getArtifactId(),
+					() -> moduleParser.parseModule(baseDir, resources, currentMavenProject, moduleBuildFile, markers,
+							styles, executionContext, parsingResultsMap));
 
 			parsingResultsMap.put(currentMavenProject, result);
 
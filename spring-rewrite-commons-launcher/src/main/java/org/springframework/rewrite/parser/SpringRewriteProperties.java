@@ -53,6 +53,31 @@ public class SpringRewriteProperties {
 		.normalize()
 		.toString();
 
+	/**
+	 * The persistent MavenPomCache used when {@code parser.pomCacheEnabled} is
+	 * {@code true}. {@code ROCKSDB} requires a 64-bit JVM with support for native
+	 * libraries, {@code APPEND_ONLY_LOG} is implemented in pure Java and works everywhere.
+	 */
+	private PomCacheType pomCacheType = PomCacheType.ROCKSDB;
+
+	/**
+	 * Size of the {@code APPEND_ONLY_LOG} pom cache in MB. Least recently used entries
+	 * get evicted when the cache grows beyond this size.
+	 */
+	private int pomCacheMaxSizeMb = 512;
+
+	/**
+	 * Whether the MavenPomCache should be populated with the poms from the local Maven
+	 * repository in the background during startup.
+	 */
+	private boolean pomCacheWarmUp = false;
+
+	/**
+	 * Max time in milliseconds a parse waits for a running pom cache warm-up before it
+	 * continues with the poms cached so far.
+	 */
+	private long pomCacheWarmUpTimeoutMs = 30_000;
+
 	/**
 	 * Comma-separated list of patterns used to create PathMatcher The pattern should not
 	 * contain a leading 'glob:'
@@ -66,10 +91,21 @@ public class SpringRewriteProperties {
 	private int sizeThresholdMb = 10;
 
 	/**
-	 * Whether only the current Maven module will be parsed
+	 * Whether only the Maven module in {@code submodule} will be parsed
 	 */
 	private boolean runPerSubmodule = false;
 
+	/**
+	 * Path of the Maven module to parse when {@code runPerSubmodule} is {@code true},
+	 * relative to the project base dir.
+	 */
+	private String submodule;
+
+	/**
+	 * Whether the modules depending on {@code submodule} are parsed too.
+	 */
+	private boolean includeDependentModules = false;
+
 	/**
 	 * Comma-separated list of active Maven profiles
 	 */
@@ -98,6 +134,67 @@ public class SpringRewriteProperties {
 	 */
 	private boolean logCompilationWarningsAndErrors = false;
 
+	/**
+	 * Whether per-resource parsing events should be published asynchronously as
+	 * {@code ParsedResourcesBatchEvent}s instead of synchronously as
+	 * {@code StartedParsingResourceEvent} and {@code FinishedParsingResourceEvent}.
+	 */
+	private boolean parsingEventsAsync = false;
+
+	/**
+	 * Number of parsing events that can be queued when {@code parsingEventsAsync} is
+	 * {@code true}.
+	 */
+	private int parsingEventsQueueCapacity = 10_000;
+
+	/**
+	 * Interval in milliseconds between two {@code ParsedResourcesBatchEvent}s.
+	 */
+	private long parsingEventsBatchIntervalMs = 500;
+
+	/**
+	 * What happens to parsing events when the queue is full.
+	 */
+	private ParsingEventsOverflowPolicy parsingEventsOverflowPolicy = ParsingEventsOverflowPolicy.BLOCK;
+
+	/**
+	 * Whether the heap retained by the parsed source files should be estimated after
+	 * every parse and published as {@code ParsingResultMemoryReport}.
+	 */
+	private boolean memoryAccountingEnabled = false;
+
+	/**
+	 * Fraction of source files walked to estimate the retained heap, must be > 0 and <=
+	 * 1.
+	 */
+	private double memoryAccountingSampleRate = 1.0;
+
+	/**
+	 * Whether the {@code RewriteRecipeLauncher} parses only the files the recipe could
+	 * change. Java files are skipped when none contains the simple name of a type
+	 * required by a {@code UsesType} precondition, types only used implicitly, e.g. the
+	 * return type of a method call, are not detected.
+	 */
+	private boolean selectiveParsing = false;
+
+	/**
+	 * Number of threads parsing projects and applying recipes in the
+	 * {@code RewriteJobService}.
+	 */
+	private int jobCpuThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Maximum number of jobs processed concurrently by the {@code RewriteJobService},
+	 * further jobs are queued.
+	 */
+	private int jobMaxInFlight = 2;
+
+	/**
+	 * Fraction of the maximum heap the {@code RewriteJobService} reserves for parsing
+	 * projects, must be > 0 and <= 1.
+	 */
+	private double jobHeapBudgetRatio = 0.75;
+
 	public boolean isSkipMavenParsing() {
 		return skipMavenParsing;
 	}
@@ -122,6 +219,38 @@ public class SpringRewriteProperties {
 		this.pomCacheDirectory = pomCacheDirectory;
 	}
 
+	public PomCacheType getPomCacheType() {
+		return pomCacheType;
+	}
+
+	public void setPomCacheType(PomCacheType pomCacheType) {
+		this.pomCacheType = pomCacheType;
+	}
+
+	public int getPomCacheMaxSizeMb() {
+		return pomCacheMaxSizeMb;
+	}
+
+	public void setPomCacheMaxSizeMb(int pomCacheMaxSizeMb) {
+		this.pomCacheMaxSizeMb = pomCacheMaxSizeMb;
+	}
+
+	public boolean isPomCacheWarmUp() {
+		return pomCacheWarmUp;
+	}
+
+	public void setPomCacheWarmUp(boolean pomCacheWarmUp) {
+		this.pomCacheWarmUp = pomCacheWarmUp;
+	}
+
+	public long getPomCacheWarmUpTimeoutMs() {
+		return pomCacheWarmUpTimeoutMs;
+	}
+
+	public void setPomCacheWarmUpTimeoutMs(long pomCacheWarmUpTimeoutMs) {
+		this.pomCacheWarmUpTimeoutMs = pomCacheWarmUpTimeoutMs;
+	}
+
 	public Set<String> getPlainTextMasks() {
 		return plainTextMasks;
 	}
@@ -146,6 +275,22 @@ public class SpringRewriteProperties {
 		this.runPerSubmodule = runPerSubmodule;
 	}
 
+	public String getSubmodule() {
+		return submodule;
+	}
+
+	public void setSubmodule(String submodule) {
+		this.submodule = submodule;
+	}
+
+	public boolean isIncludeDependentModules() {
+		return includeDependentModules;
+	}
+
+	public void setIncludeDependentModules(boolean includeDependentModules) {
+		this.includeDependentModules = includeDependentModules;
+	}
+
 	public List<String> getActiveProfiles() {
 		return activeProfiles;
 	}
@@ -186,4 +331,118 @@ public class SpringRewriteProperties {
 		this.logCompilationWarningsAndErrors = logCompilationWarningsAndErrors;
 	}
 
+	public boolean isParsingEventsAsync() {
+		return parsingEventsAsync;
+	}
+
+	public void setParsingEventsAsync(boolean parsingEventsAsync) {
+		this.parsingEventsAsync = parsingEventsAsync;
+	}
+
+	public int getParsingEventsQueueCapacity() {
+		return parsingEventsQueueCapacity;
+	}
+
+	public void setParsingEventsQueueCapacity(int parsingEventsQueueCapacity) {
+		this.parsingEventsQueueCapacity = parsingEventsQueueCapacity;
+	}
+
+	public long getParsingEventsBatchIntervalMs() {
+		return parsingEventsBatchIntervalMs;
+	}
+
+	public void setParsingEventsBatchIntervalMs(long parsingEventsBatchIntervalMs) {
+		this.parsingEventsBatchIntervalMs = parsingEventsBatchIntervalMs;
+	}
+
+	public ParsingEventsOverflowPolicy getParsingEventsOverflowPolicy() {
+		return parsingEventsOverflowPolicy;
+	}
+
+	public void setParsingEventsOverflowPolicy(ParsingEventsOverflowPolicy parsingEventsOverflowPolicy) {
+		this.parsingEventsOverflowPolicy = parsingEventsOverflowPolicy;
+	}
+
+	public boolean isMemoryAccountingEnabled() {
+		return memoryAccountingEnabled;
+	}
+
+	public void setMemoryAccountingEnabled(boolean memoryAccountingEnabled) {
+		this.memoryAccountingEnabled = memoryAccountingEnabled;
+	}
+
+	public double getMemoryAccountingSampleRate() {
+		return memoryAccountingSampleRate;
+	}
+
+	public void setMemoryAccountingSampleRate(double memoryAccountingSampleRate) {
+		this.memoryAccountingSampleRate = memoryAccountingSampleRate;
+	}
+
+	public boolean isSelectiveParsing() {
+		return selectiveParsing;
+	}
+
+	public void setSelectiveParsing(boolean selectiveParsing) {
+		this.selectiveParsing = selectiveParsing;
+	}
+
+	public int getJobCpuThreads() {
+		return jobCpuThreads;
+	}
+
+	public void setJobCpuThreads(int jobCpuThreads) {
+		this.jobCpuThreads = jobCpuThreads;
+	}
+
+	public int getJobMaxInFlight() {
+		return jobMaxInFlight;
+	}
+
+	public void setJobMaxInFlight(int jobMaxInFlight) {
+		this.jobMaxInFlight = jobMaxInFlight;
+	}
+
+	public double getJobHeapBudgetRatio() {
+		return jobHeapBudgetRatio;
+	}
+
+	public void setJobHeapBudgetRatio(double jobHeapBudgetRatio) {
+		this.jobHeapBudgetRatio = jobHeapBudgetRatio;
+	}
+
+	/**
+	 * Available implementations of the persistent MavenPomCache.
+	 */
+	public enum PomCacheType {
+
+		/**
+		 * {@link org.openrewrite.maven.cache.RocksdbMavenPomCache}
+		 */
+		ROCKSDB,
+
+		/**
+		 * {@link org.springframework.rewrite.parser.maven.AppendOnlyMavenPomCache}
+		 */
+		APPEND_ONLY_LOG
+
+	}
+
+	/**
+	 * Behaviour when the queue of asynchronously published parsing events is full.
+	 */
+	public enum ParsingEventsOverflowPolicy {
+
+		/**
+		 * Parsing waits until the queue has space again.
+		 */
+		BLOCK,
+
+		/**
+		 * The event gets dropped and counted in the next batch.
+		 */
+		DROP
+
+	}
+
 }
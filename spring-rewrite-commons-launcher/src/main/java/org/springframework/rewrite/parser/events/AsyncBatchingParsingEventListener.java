@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.events;
+
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.tree.ParsingEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.rewrite.parser.SpringRewriteProperties.ParsingEventsOverflowPolicy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Listener for OpenRewrite ParsingEvents decoupling parsing from the Spring application
+ * event listeners.
+ * <p>
+ * Parsing events are put into a bounded queue and published periodically as
+ * {@link ParsedResourcesBatchEvent} from a background thread, so slow listeners don't
+ * slow down parsing. When the queue is full the {@link ParsingEventsOverflowPolicy}
+ * decides whether the parser waits or the event gets dropped.
+ * <p>
+ * Batches are delivered asynchronously and can arrive after
+ * {@link SuccessfullyParsedProjectEvent}. Call {@link #flush()} to publish pending
+ * events immediately.
+ *
+ * @see RewriteParsingEventListenerAdapter
+ */
+public class AsyncBatchingParsingEventListener implements ParsingEventListener, DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AsyncBatchingParsingEventListener.class);
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final BlockingQueue<QueuedEvent> queue;
+
+	private final ParsingEventsOverflowPolicy overflowPolicy;
+
+	private final AtomicLong droppedEvents = new AtomicLong();
+
+	private final ScheduledExecutorService scheduler;
+
+	public AsyncBatchingParsingEventListener(ApplicationEventPublisher eventPublisher, int queueCapacity,
+			Duration batchInterval, ParsingEventsOverflowPolicy overflowPolicy) {
+		this.eventPublisher = eventPublisher;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.overflowPolicy = overflowPolicy;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("parsing-events-");
+		threadFactory.setDaemon(true);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		long intervalMillis = batchInterval.toMillis();
+		this.scheduler.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void intermediateMessage(String stateMessage) {
+		enqueue(new QueuedEvent(EventType.INTERMEDIATE_MESSAGE, null, stateMessage));
+	}
+
+	@Override
+	public void startedParsing(Parser.Input input) {
+		enqueue(new QueuedEvent(EventType.STARTED, input.getPath(), null));
+	}
+
+	@Override
+	public void parsed(Parser.Input input, SourceFile sourceFile) {
+		enqueue(new QueuedEvent(EventType.PARSED, sourceFile.getSourcePath(), null));
+	}
+
+	/**
+	 * Publish all pending events as one {@link ParsedResourcesBatchEvent} in the calling
+	 * thread.
+	 */
+	public synchronized void flush() {
+		List<QueuedEvent> events = new ArrayList<>(queue.size());
+		queue.drainTo(events);
+		long dropped = droppedEvents.getAndSet(0);
+		if (events.isEmpty() && dropped == 0) {
+			return;
+		}
+		List<Path> started = new ArrayList<>();
+		List<Path> parsed = new ArrayList<>();
+		List<String> messages = new ArrayList<>();
+		for (QueuedEvent event : events) {
+			switch (event.type()) {
+				case STARTED -> started.add(event.path());
+				case PARSED -> parsed.add(event.path());
+				case INTERMEDIATE_MESSAGE -> messages.add(event.message());
+			}
+		}
+		eventPublisher.publishEvent(new ParsedResourcesBatchEvent(started, parsed, messages, dropped));
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdown();
+		flushSafely();
+	}
+
+	private void enqueue(QueuedEvent event) {
+		if (overflowPolicy == ParsingEventsOverflowPolicy.BLOCK) {
+			try {
+				queue.put(event);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				droppedEvents.incrementAndGet();
+			}
+		}
+		else if (!queue.offer(event)) {
+			droppedEvents.incrementAndGet();
+		}
+	}
+
+	private void flushSafely() {
+		try {
+			flush();
+		}
+		catch (RuntimeException e) {
+			// keep the scheduled flush alive when a listener fails
+			LOGGER.warn("Publishing parsing events failed.", e);
+		}
+	}
+
+	private enum EventType {
+
+		STARTED, PARSED, INTERMEDIATE_MESSAGE
+
+	}
+
+	private record QueuedEvent(EventType type, Path path, String message) {
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.events;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Event published periodically by {@link AsyncBatchingParsingEventListener} coalescing
+ * the per-resource parsing events received since the previous batch.
+ * <p>
+ * Only paths are kept, so the parsed {@link org.openrewrite.SourceFile}s are not
+ * retained while listeners run.
+ *
+ * @param startedResources paths of the resources that started parsing
+ * @param parsedResources source paths of the resources that finished parsing
+ * @param intermediateMessages intermediate messages from the parsers
+ * @param droppedEvents number of events dropped since the previous batch because the
+ * queue was full
+ */
+public record ParsedResourcesBatchEvent(List<Path> startedResources, List<Path> parsedResources,
+		List<String> intermediateMessages, long droppedEvents) {
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.maven;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.cache.MavenPomCache;
+import org.openrewrite.maven.tree.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persistent {@link MavenPomCache} implemented in pure Java, usable where
+ * {@link org.openrewrite.maven.cache.RocksdbMavenPomCache} is not (32-bit JVMs,
+ * containers without native library support).
+ * <p>
+ * Entries are appended to a single log file. The index of keys to file offsets is kept
+ * in memory and rebuilt from the log when the cache is opened, values are read with
+ * positional reads. When the log grows beyond the configured maximum size the least
+ * recently used entries are evicted and the log is compacted.
+ * <p>
+ * Like the RocksDB cache, only downloaded poms and Maven metadata are persisted.
+ * Resolved poms and normalized repositories depend on the current execution and are
+ * expected to be cached by an {@link org.openrewrite.maven.cache.InMemoryMavenPomCache}
+ * in front of this cache.
+ */
+public class AppendOnlyMavenPomCache implements MavenPomCache, Closeable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AppendOnlyMavenPomCache.class);
+
+	static final String CACHE_FILE_NAME = "maven-pom-cache.log";
+
+	private static final double RETAINED_SIZE_AFTER_EVICTION = 0.75;
+
+	private static final int ABSENT_VALUE = -1;
+
+	private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+	private static final ObjectMapper MAPPER;
+
+	static {
+		SmileFactory smileFactory = new SmileFactory();
+		smileFactory.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+		ObjectMapper mapper = JsonMapper.builder(smileFactory)
+			.constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.build()
+			.registerModule(new ParameterNamesModule())
+			.registerModule(new JavaTimeModule());
+		MAPPER = mapper.setVisibility(mapper.getSerializationConfig()
+			.getDefaultVisibilityChecker()
+			.withCreatorVisibility(JsonAutoDetect.Visibility.PUBLIC_ONLY)
+			.withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+			.withIsGetterVisibility(JsonAutoDetect.Visibility.NONE)
+			.withFieldVisibility(JsonAutoDetect.Visibility.ANY));
+	}
+
+	private final Path cacheFile;
+
+	private final long maxSizeInBytes;
+
+	private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final AtomicLong accessClock = new AtomicLong();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder putCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private final LongAdder readTimeNanos = new LongAdder();
+
+	private FileChannel channel;
+
+	private long size;
+
+	/**
+	 * @param cacheDirectory the directory to store the cache file in, created if it does
+	 * not exist
+	 * @param maxSizeInBytes size of the cache file triggering eviction
+	 */
+	public AppendOnlyMavenPomCache(Path cacheDirectory, long maxSizeInBytes) {
+		if (maxSizeInBytes <= 0) {
+			throw new IllegalArgumentException("maxSizeInBytes must be positive but was " + maxSizeInBytes);
+		}
+		this.maxSizeInBytes = maxSizeInBytes;
+		try {
+			Files.createDirectories(cacheDirectory);
+			this.cacheFile = cacheDirectory.resolve(CACHE_FILE_NAME);
+			openAndLoadIndex();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not open pom cache in '%s'".formatted(cacheDirectory), e);
+		}
+	}
+
+	@Nullable
+	@Override
+	public ResolvedPom getResolvedDependencyPom(ResolvedGroupArtifactVersion dependency) {
+		return null;
+	}
+
+	@Override
+	public void putResolvedDependencyPom(ResolvedGroupArtifactVersion dependency, ResolvedPom resolved) {
+	}
+
+	@Nullable
+	@Override
+	public Optional<MavenMetadata> getMavenMetadata(URI repo, GroupArtifactVersion gav) {
+		return read(metadataKey(repo, gav), MavenMetadata.class);
+	}
+
+	@Override
+	public void putMavenMetadata(URI repo, GroupArtifactVersion gav, @Nullable MavenMetadata metadata) {
+		write(metadataKey(repo, gav), metadata);
+	}
+
+	@Nullable
+	@Override
+	public Optional<Pom> getPom(ResolvedGroupArtifactVersion gav) {
+		return read(pomKey(gav), Pom.class);
+	}
+
+	@Override
+	public void putPom(ResolvedGroupArtifactVersion gav, @Nullable Pom pom) {
+		write(pomKey(gav), pom);
+	}
+
+	@Nullable
+	@Override
+	public Optional<MavenRepository> getNormalizedRepository(MavenRepository repository) {
+		return null;
+	}
+
+	@Override
+	public void putNormalizedRepository(MavenRepository repository, MavenRepository normalized) {
+	}
+
+	public MavenPomCacheStatistics getStatistics() {
+		lock.readLock().lock();
+		try {
+			return new MavenPomCacheStatistics(hitCount.sum(), missCount.sum(), putCount.sum(), evictionCount.sum(),
+					Duration.ofNanos(readTimeNanos.sum()), index.size(), size);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		lock.writeLock().lock();
+		try {
+			channel.close();
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static String pomKey(ResolvedGroupArtifactVersion gav) {
+		return "pom:%s:%s:%s:%s:%s".formatted(gav.getRepository(), gav.getGroupId(), gav.getArtifactId(),
+				gav.getVersion(), gav.getDatedSnapshotVersion());
+	}
+
+	private static String metadataKey(URI repo, GroupArtifactVersion gav) {
+		return "metadata:%s:%s:%s:%s".formatted(repo, gav.getGroupId(), gav.getArtifactId(), gav.getVersion());
+	}
+
+	@Nullable
+	private <T> Optional<T> read(String key, Class<T> type) {
+		long start = System.nanoTime();
+		try {
+			Optional<byte[]> value = readValue(key);
+			if (value == null) {
+				missCount.increment();
+				return null;
+			}
+			if (value.isEmpty()) {
+				hitCount.increment();
+				return Optional.empty();
+			}
+			T deserialized = MAPPER.readValue(value.get(), type);
+			hitCount.increment();
+			return Optional.of(deserialized);
+		}
+		catch (IOException e) {
+			LOGGER.debug("Could not read cache entry '%s', treating it as a cache miss.".formatted(key), e);
+			missCount.increment();
+			return null;
+		}
+		finally {
+			readTimeNanos.add(System.nanoTime() - start);
+		}
+	}
+
+	private void write(String key, @Nullable Object value) {
+		try {
+			byte[] serialized = value == null ? null : MAPPER.writeValueAsBytes(value);
+			appendRecord(key, serialized);
+		}
+		catch (IOException e) {
+			LOGGER.debug("Could not write cache entry '%s'.".formatted(key), e);
+		}
+	}
+
+	/**
+	 * @return {@code null} if no entry exists for the key, an empty {@link Optional} if
+	 * the entry records that the value does not exist.
+	 */
+	@Nullable
+	private Optional<byte[]> readValue(String key) throws IOException {
+		lock.readLock().lock();
+		try {
+			IndexEntry entry = index.get(key);
+			if (entry == null) {
+				return null;
+			}
+			entry.lastAccess = accessClock.incrementAndGet();
+			if (entry.valueLength == ABSENT_VALUE) {
+				return Optional.empty();
+			}
+			ByteBuffer buffer = ByteBuffer.allocate(entry.valueLength);
+			readFully(channel, buffer, entry.valueOffset());
+			return Optional.of(buffer.array());
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void appendRecord(String key, @Nullable byte[] value) throws IOException {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		int valueLength = value == null ? ABSENT_VALUE : value.length;
+		int recordLength = RECORD_HEADER_BYTES + keyBytes.length + Math.max(valueLength, 0);
+		ByteBuffer buffer = ByteBuffer.allocate(recordLength);
+		buffer.putInt(keyBytes.length).put(keyBytes).putInt(valueLength);
+		if (value != null) {
+			buffer.put(value);
+		}
+		buffer.flip();
+
+		lock.writeLock().lock();
+		try {
+			long recordOffset = size;
+			while (buffer.hasRemaining()) {
+				channel.write(buffer, recordOffset + buffer.position());
+			}
+			size += recordLength;
+			IndexEntry entry = new IndexEntry(recordOffset, recordLength, keyBytes.length, valueLength);
+			entry.lastAccess = accessClock.incrementAndGet();
+			index.put(key, entry);
+			putCount.increment();
+			if (size > maxSizeInBytes) {
+				evictLeastRecentlyUsed();
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Rewrites the log keeping only the most recently used entries that fit into
+	 * {@link #RETAINED_SIZE_AFTER_EVICTION} of the maximum size. Must be called while
+	 * holding the write lock.
+	 */
+	private void evictLeastRecentlyUsed() throws IOException {
+		long retainedSizeLimit = (long) (maxSizeInBytes * RETAINED_SIZE_AFTER_EVICTION);
+		List<Map.Entry<String, IndexEntry>> entries = new ArrayList<>(index.entrySet());
+		entries.sort(Comparator.comparingLong((Map.Entry<String, IndexEntry> e) -> e.getValue().lastAccess).reversed());
+
+		Path compactedFile = cacheFile.resolveSibling(CACHE_FILE_NAME + ".compact");
+		Map<String, IndexEntry> compactedIndex = new ConcurrentHashMap<>();
+		long compactedSize = 0;
+		try (FileChannel target = FileChannel.open(compactedFile, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			for (Map.Entry<String, IndexEntry> e : entries) {
+				IndexEntry entry = e.getValue();
+				if (compactedSize + entry.recordLength > retainedSizeLimit) {
+					break;
+				}
+				long transferred = 0;
+				while (transferred < entry.recordLength) {
+					transferred += channel.transferTo(entry.recordOffset + transferred,
+							entry.recordLength - transferred, target);
+				}
+				IndexEntry moved = new IndexEntry(compactedSize, entry.recordLength, entry.keyLength,
+						entry.valueLength);
+				moved.lastAccess = entry.lastAccess;
+				compactedIndex.put(e.getKey(), moved);
+				compactedSize += entry.recordLength;
+			}
+		}
+
+		channel.close();
+		Files.move(compactedFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		channel = FileChannel.open(cacheFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		int evicted = index.size() - compactedIndex.size();
+		evictionCount.add(evicted);
+		index.clear();
+		index.putAll(compactedIndex);
+		size = compactedSize;
+		LOGGER.debug("Evicted %d entries from pom cache '%s', %d entries remaining.".formatted(evicted, cacheFile,
+				compactedIndex.size()));
+	}
+
+	private void openAndLoadIndex() throws IOException {
+		channel = FileChannel.open(cacheFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		long fileSize = channel.size();
+		long position = 0;
+		ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+		while (position + RECORD_HEADER_BYTES <= fileSize) {
+			int keyLength = readInt(header, position);
+			if (keyLength <= 0 || position + RECORD_HEADER_BYTES + keyLength > fileSize) {
+				break;
+			}
+			ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+			readFully(channel, keyBuffer, position + Integer.BYTES);
+			int valueLength = readInt(header, position + Integer.BYTES + keyLength);
+			int recordLength = RECORD_HEADER_BYTES + keyLength + Math.max(valueLength, 0);
+			if (valueLength < ABSENT_VALUE || position + recordLength > fileSize) {
+				break;
+			}
+			String key = new String(keyBuffer.array(), StandardCharsets.UTF_8);
+			index.put(key, new IndexEntry(position, recordLength, keyLength, valueLength));
+			position += recordLength;
+		}
+		if (position < fileSize) {
+			LOGGER.warn("Pom cache '%s' has an incomplete trailing record, truncating it from %d to %d bytes."
+				.formatted(cacheFile, fileSize, position));
+			channel.truncate(position);
+		}
+		size = position;
+		LOGGER.debug("Opened pom cache '%s' with %d entries.".formatted(cacheFile, index.size()));
+	}
+
+	private int readInt(ByteBuffer buffer, long position) throws IOException {
+		buffer.clear();
+		readFully(channel, buffer, position);
+		return buffer.getInt(0);
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position + buffer.position());
+			if (read < 0) {
+				throw new IOException("Unexpected end of pom cache file at position " + position);
+			}
+		}
+	}
+
+	private static final class IndexEntry {
+
+		private final long recordOffset;
+
+		private final int recordLength;
+
+		private final int keyLength;
+
+		private final int valueLength;
+
+		private volatile long lastAccess;
+
+		private IndexEntry(long recordOffset, int recordLength, int keyLength, int valueLength) {
+			this.recordOffset = recordOffset;
+			this.recordLength = recordLength;
+			this.keyLength = keyLength;
+			this.valueLength = valueLength;
+		}
+
+		private long valueOffset() {
+			return recordOffset + RECORD_HEADER_BYTES + keyLength;
+		}
+
+	}
+
+}
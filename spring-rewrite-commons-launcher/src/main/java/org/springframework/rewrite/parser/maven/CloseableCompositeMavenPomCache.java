@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.maven;
+
+import org.openrewrite.maven.cache.CompositeMavenPomCache;
+import org.openrewrite.maven.cache.MavenPomCache;
+
+/**
+ * {@link CompositeMavenPomCache} closing its layers when it gets closed, so persistent
+ * layers like the {@link AppendOnlyMavenPomCache} release their files when the
+ * application context shuts down.
+ */
+public class CloseableCompositeMavenPomCache extends CompositeMavenPomCache implements AutoCloseable {
+
+	private final MavenPomCache l1;
+
+	private final MavenPomCache l2;
+
+	public CloseableCompositeMavenPomCache(MavenPomCache l1, MavenPomCache l2) {
+		super(l1, l2);
+		this.l1 = l1;
+		this.l2 = l2;
+	}
+
+	@Override
+	public void close() throws Exception {
+		try {
+			closeIfCloseable(l1);
+		}
+		finally {
+			closeIfCloseable(l2);
+		}
+	}
+
+	private static void closeIfCloseable(MavenPomCache cache) throws Exception {
+		if (cache instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.maven;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.tree.GroupArtifactVersion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Index of the artifacts in a local Maven repository, mapping groupId, artifactId and
+ * version to the pom file and, if present, the jar file.
+ * <p>
+ * Only files following the repository layout
+ * {@code groupId/artifactId/version/artifactId-version.pom} are indexed.
+ */
+public class LocalMavenRepositoryIndex {
+
+	private final Path localRepository;
+
+	private final Map<GroupArtifactVersion, Entry> entries;
+
+	private LocalMavenRepositoryIndex(Path localRepository, Map<GroupArtifactVersion, Entry> entries) {
+		this.localRepository = localRepository;
+		this.entries = Collections.unmodifiableMap(entries);
+	}
+
+	/**
+	 * Create the index by walking the given local Maven repository. An empty index is
+	 * returned if the directory does not exist.
+	 */
+	public static LocalMavenRepositoryIndex create(Path localRepository) {
+		Path repository = localRepository.toAbsolutePath().normalize();
+		if (!Files.isDirectory(repository)) {
+			return new LocalMavenRepositoryIndex(repository, Map.of());
+		}
+		try (Stream<Path> files = Files.walk(repository)) {
+			Map<GroupArtifactVersion, Entry> entries = files.filter(p -> p.getFileName().toString().endsWith(".pom"))
+				.map(pom -> toEntry(repository, pom))
+				.flatMap(Optional::stream)
+				.collect(Collectors.toMap(Entry::gav, e -> e, (e1, e2) -> e1, HashMap::new));
+			return new LocalMavenRepositoryIndex(repository, entries);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not index local Maven repository '%s'".formatted(repository), e);
+		}
+	}
+
+	public Path getLocalRepository() {
+		return localRepository;
+	}
+
+	public Optional<Entry> find(String groupId, String artifactId, String version) {
+		return Optional.ofNullable(entries.get(new GroupArtifactVersion(groupId, artifactId, version)));
+	}
+
+	public Collection<Entry> getEntries() {
+		return entries.values();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private static Optional<Entry> toEntry(Path repository, Path pom) {
+		Path relativePath = repository.relativize(pom);
+		// groupId (at least one segment), artifactId, version, file name
+		if (relativePath.getNameCount() < 4) {
+			return Optional.empty();
+		}
+		Path versionDir = pom.getParent();
+		Path artifactDir = versionDir.getParent();
+		String version = versionDir.getFileName().toString();
+		String artifactId = artifactDir.getFileName().toString();
+		if (!pom.getFileName().toString().equals(artifactId + "-" + version + ".pom")) {
+			return Optional.empty();
+		}
+		Path groupPath = relativePath.subpath(0, relativePath.getNameCount() - 3);
+		String groupId = StreamSupport.stream(groupPath.spliterator(), false)
+			.map(Path::toString)
+			.collect(Collectors.joining("."));
+		Path jar = versionDir.resolve(artifactId + "-" + version + ".jar");
+		return Optional.of(new Entry(new GroupArtifactVersion(groupId, artifactId, version), pom,
+				Files.isRegularFile(jar) ? jar : null));
+	}
+
+	/**
+	 * @param gav the coordinates of the artifact
+	 * @param pom the pom file
+	 * @param jar the jar file or {@code null} if no jar exists in the local repository
+	 */
+	public record Entry(GroupArtifactVersion gav, Path pom, @Nullable Path jar) {
+	}
+
+}
@@ -62,13 +62,53 @@ public class MavenModuleParser {
 
 	private final SpringRewriteProperties springRewriteProperties;
 
+	private final ParsingObservations observations;
+
 	public MavenModuleParser(SpringRewriteProperties springRewriteProperties) {
+		this(springRewriteProperties, ParsingObservations.noop());
+	}
+
+	public MavenModuleParser(SpringRewriteProperties springRewriteProperties, ParsingObservations observations) {
 		this.springRewriteProperties = springRewriteProperties;
+		this.observations = observations;
 	}
 
 	public ModuleParsingResult parseModule(Path baseDir, List<Resource> resources, MavenProject currentProject,
 			Xml.Document moduleBuildFile, List<Marker> provenanceMarkers, List<NamedStyles> styles,
 			ExecutionContext executionContext, Map<MavenProject, ModuleParsingResult> parsingResultsMap) {
+		return parseModule(baseDir, resources, currentProject, moduleBuildFile, provenanceMarkers, styles,
+				executionContext, parsingResultsMap, false);
+	}
+
+	/**
+	 * Provide the types of an upstream module which is not part of the parsing result
+	 * when parsing only selected modules. The build output ({@code target/classes} or the
+	 * module jar) is used when it exists, otherwise only the main source set gets parsed.
+	 * @see ModuleSelection
+	 */
+	public ModuleParsingResult parseUpstreamModule(Path baseDir, List<Resource> resources,
+			MavenProject currentProject, Xml.Document moduleBuildFile, List<Marker> provenanceMarkers,
+			List<NamedStyles> styles, ExecutionContext executionContext,
+			Map<MavenProject, ModuleParsingResult> parsingResultsMap) {
+		Optional<Path> buildOutput = buildOutput(currentProject);
+		if (buildOutput.isEmpty()) {
+			LOGGER.info("No build output found for upstream module %s, parsing its main sources for types."
+				.formatted(currentProject));
+			return parseModule(baseDir, resources, currentProject, moduleBuildFile, provenanceMarkers, styles,
+					executionContext, parsingResultsMap, true);
+		}
+		LOGGER.info("Using build output '%s' of upstream module %s.".formatted(buildOutput.get(), currentProject));
+		List<Path> outputClasspath = new ArrayList<>();
+		outputClasspath.add(buildOutput.get());
+		outputClasspath.addAll(reactorOutputClasspath(currentProject, parsingResultsMap));
+		SourceSetParsingResult noSources = new SourceSetParsingResult(List.of(), List.of(), new JavaTypeCache());
+		return new ModuleParsingResult(currentProject, noSources, noSources, List.of(), outputClasspath);
+	}
+
+	private ModuleParsingResult parseModule(Path baseDir, List<Resource> resources, MavenProject currentProject,
+			Xml.Document moduleBuildFile, List<Marker> provenanceMarkers, List<NamedStyles> styles,
+			ExecutionContext executionContext, Map<MavenProject, ModuleParsingResult> parsingResultsMap,
+			boolean typesOnly) {
 
 		List<SourceFile> sourceFiles = new ArrayList<>();
 		// 146:149: get source encoding from maven
@@ -105,25 +145,35 @@ public class MavenModuleParser {
 		SourceSetParsingResult mainSourcesParsingResult = parseMainSourceSet(baseDir, currentProject, javaParserBuilder,
 				parsingResultsMap, executionContext, alreadyParsed, provenanceMarkers, resources, rp);
 
+		if (typesOnly) {
+			SourceSetParsingResult noSources = new SourceSetParsingResult(List.of(), List.of(),
+					mainSourcesParsingResult.typeCache());
+			return new ModuleParsingResult(currentProject, mainSourcesParsingResult, noSources, List.of(),
+					reactorOutputClasspath(currentProject, parsingResultsMap));
+		}
+
 		SourceSetParsingResult testSourcesParsingResult = parseTestSourceSet(baseDir, currentProject, javaParserBuilder,
 				parsingResultsMap, executionContext, alreadyParsed, provenanceMarkers, resources, rp,
 				mainSourcesParsingResult);
 		// Collect the dirs of modules parsed in previous steps
 
 		// parse other project resources
-		Stream<SourceFile> parsedResourceFiles = rp.parse(moduleBuildFilePath.getParent(), resources, alreadyParsed)
-			// FIXME: handle generated sources
-			.map(addProvenance(baseDir, provenanceMarkers, null));
+		List<SourceFile> resourceFilesList = observations.observeSourceSet(currentProject.getArtifactId(),
+				"resources", resources.size(),
+				() -> rp.parse(moduleBuildFilePath.getParent(), resources, alreadyParsed)
+					// FIXME: handle generated sources
+					.map(addProvenance(baseDir, provenanceMarkers, null))
+					.toList());
 
 		List<SourceFile> mainAndTestSources = mergeAndFilterExcluded(baseDir,
 				springRewriteProperties.getIgnoredPathPatterns(), mainSourcesParsingResult.sourceFiles(),
 				testSourcesParsingResult.sourceFiles());
-		List<SourceFile> resourceFilesList = parsedResourceFiles.toList();
 		sourceFiles.addAll(mainAndTestSources);
 		sourceFiles.addAll(resourceFilesList);
 
 		ModuleParsingResult moduleParsingResult = new ModuleParsingResult(currentProject, mainSourcesParsingResult,
-				testSourcesParsingResult, resourceFilesList);
+				testSourcesParsingResult, resourceFilesList,
+				reactorOutputClasspath(currentProject, parsingResultsMap));
 		return moduleParsingResult;
 	}
 
@@ -141,8 +191,9 @@ public class MavenModuleParser {
 		// collect and prepare all types for classpath and TypeCache
 		// java sources in current source set
 		List<Resource> javaSourcesInSrc = currentProject.getMainJavaSources();
-		// jars from dependencies
-		List<Path> classpathJars = currentProject.getCompileClasspathElements();
+		// jars from dependencies and build output of upstream modules not parsed
+		List<Path> classpathJars = withReactorOutputClasspath(currentProject.getCompileClasspathElements(),
+				currentProject, parsingResultsMap);
 
 		LOGGER.debug("Dependencies on main classpath: %s".formatted(classpathJars));
 		javaParserBuilder.classpath(classpathJars);
@@ -173,9 +224,10 @@ public class MavenModuleParser {
 			.map(J.ClassDeclaration::getType)
 			.forEach(sourceSetClassesCp::add);
 
-		return parseSourceSet(baseDir, currentProject, javaSourcesInSrc, javaParserBuilder, sourceSetClassesCp,
-				executionContext, alreadyParsed, classpathJars, typeCache, provenanceMarkers, "main", resources, rp,
-				"src/main");
+		return observations.observeSourceSet(currentProject.getArtifactId(), "main", javaSourcesInSrc.size(),
+				() -> parseSourceSet(baseDir, currentProject, javaSourcesInSrc, javaParserBuilder, sourceSetClassesCp,
+						executionContext, alreadyParsed, classpathJars, typeCache, provenanceMarkers, "main",
+						resources, rp, "src/main"));
 	}
 
 	/**
@@ -192,8 +244,9 @@ public class MavenModuleParser {
 		// collect and prepare all types for classpath and TypeCache
 		// java sources in current source set
 		List<Resource> javaSourcesInSrc = currentProject.getTestJavaSources();
-		// jars from dependencies
-		List<Path> classpathJars = currentProject.getTestClasspathElements();
+		// jars from dependencies and build output of upstream modules not parsed
+		List<Path> classpathJars = withReactorOutputClasspath(currentProject.getTestClasspathElements(),
+				currentProject, parsingResultsMap);
 
 		LOGGER.debug("Dependencies on main classpath: %s".formatted(classpathJars));
 		javaParserBuilder.classpath(classpathJars);
@@ -228,9 +281,10 @@ public class MavenModuleParser {
 			.map(J.ClassDeclaration::getType)
 			.forEach(sourceSetClassesCp::add);
 
-		return parseSourceSet(baseDir, currentProject, javaSourcesInSrc, javaParserBuilder, sourceSetClassesCp,
-				executionContext, alreadyParsed, classpathJars, typeCache, provenanceMarkers, "test", resources, rp,
-				"src/test");
+		return observations.observeSourceSet(currentProject.getArtifactId(), "test", javaSourcesInSrc.size(),
+				() -> parseSourceSet(baseDir, currentProject, javaSourcesInSrc, javaParserBuilder, sourceSetClassesCp,
+						executionContext, alreadyParsed, classpathJars, typeCache, provenanceMarkers, "test",
+						resources, rp, "src/test"));
 	}
 
 	SourceSetParsingResult parseSourceSet(@Nullable Path baseDir, MavenProject currentProject,
@@ -400,6 +454,41 @@ public class MavenModuleParser {
 		return javaSourceSet;
 	}
 
+	/**
+	 * The build output of upstream modules used instead of their parsed sources.
+	 */
+	private static List<Path> reactorOutputClasspath(MavenProject currentProject,
+			Map<MavenProject, ModuleParsingResult> parsingResultsMap) {
+		return currentProject.getDependencyProjects()
+			.stream()
+			.map(parsingResultsMap::get)
+			.filter(Objects::nonNull)
+			.flatMap(result -> result.outputClasspath().stream())
+			.distinct()
+			.toList();
+	}
+
+	private static List<Path> withReactorOutputClasspath(List<Path> classpathJars, MavenProject currentProject,
+			Map<MavenProject, ModuleParsingResult> parsingResultsMap) {
+		List<Path> reactorOutputClasspath = reactorOutputClasspath(currentProject, parsingResultsMap);
+		if (reactorOutputClasspath.isEmpty()) {
+			return classpathJars;
+		}
+		List<Path> classpath = new ArrayList<>(classpathJars);
+		reactorOutputClasspath.stream().filter(p -> !classpath.contains(p)).forEach(classpath::add);
+		return classpath;
+	}
+
+	private static Optional<Path> buildOutput(MavenProject project) {
+		Path buildDirectory = Paths.get(project.getBuildDirectory());
+		Path classes = buildDirectory.resolve("classes");
+		if (Files.isDirectory(classes)) {
+			return Optional.of(classes);
+		}
+		Path jar = buildDirectory.resolve(project.getArtifactId() + "-" + project.getVersion() + ".jar");
+		return Files.isRegularFile(jar) ? Optional.of(jar) : Optional.empty();
+	}
+
 	@NotNull
 	private static JavaSourceSet sourceSet(String name, List<Path> dependencies, JavaTypeCache typeCache) {
 		return JavaSourceSet.build(name, dependencies, typeCache, false);
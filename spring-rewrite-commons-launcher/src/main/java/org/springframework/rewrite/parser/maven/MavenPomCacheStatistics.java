@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.maven;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the counters collected by {@link AppendOnlyMavenPomCache}.
+ *
+ * @param hitCount number of lookups answered from the cache
+ * @param missCount number of lookups not found in the cache
+ * @param putCount number of entries written to the cache
+ * @param evictionCount number of entries dropped by size-based eviction
+ * @param totalReadTime accumulated time spent in cache lookups
+ * @param entryCount number of entries currently in the cache
+ * @param sizeInBytes current size of the cache file
+ */
+public record MavenPomCacheStatistics(long hitCount, long missCount, long putCount, long evictionCount,
+		Duration totalReadTime, long entryCount, long sizeInBytes) {
+
+	public long requestCount() {
+		return hitCount + missCount;
+	}
+
+	public double hitRate() {
+		long requestCount = requestCount();
+		return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+	}
+
+	public Duration averageReadTime() {
+		long requestCount = requestCount();
+		return requestCount == 0 ? Duration.ZERO : totalReadTime.dividedBy(requestCount);
+	}
+
+}
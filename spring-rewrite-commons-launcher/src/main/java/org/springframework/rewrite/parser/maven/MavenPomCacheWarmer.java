@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.maven;
+
+import org.openrewrite.maven.cache.MavenPomCache;
+import org.openrewrite.maven.internal.RawPom;
+import org.openrewrite.maven.tree.GroupArtifactVersion;
+import org.openrewrite.maven.tree.MavenRepository;
+import org.openrewrite.maven.tree.Pom;
+import org.openrewrite.maven.tree.ResolvedGroupArtifactVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pre-populates the {@link MavenPomCache} with the poms found in the local Maven
+ * repository so the first parse in a fresh JVM does not read every pom through the
+ * cache-miss path.
+ * <p>
+ * The warm-up runs in the background when the bean gets initialized, poms are read in
+ * parallel. Poms already in the cache are not read again. Like OpenRewrite's
+ * {@code MavenPomDownloader}, poms with {@code jar} packaging are only cached when the
+ * jar exists in the local repository. Parses {@link #awaitWarmUp(Duration) wait} for a
+ * running warm-up, bounded by a timeout.
+ */
+public class MavenPomCacheWarmer implements InitializingBean, DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MavenPomCacheWarmer.class);
+
+	private final MavenPomCache mavenPomCache;
+
+	private final Path localRepository;
+
+	private final int parallelism;
+
+	private ExecutorService executorService;
+
+	private CompletableFuture<Integer> warmUp = CompletableFuture.completedFuture(0);
+
+	public MavenPomCacheWarmer(MavenPomCache mavenPomCache, Path localRepository, int parallelism) {
+		this.mavenPomCache = mavenPomCache;
+		this.localRepository = localRepository;
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		warmUpInBackground();
+	}
+
+	/**
+	 * Start indexing the local Maven repository and populating the pom cache in the
+	 * background.
+	 * @return future completing with the number of poms added to the cache
+	 */
+	public synchronized CompletableFuture<Integer> warmUpInBackground() {
+		if (!warmUp.isDone()) {
+			return warmUp;
+		}
+		if (executorService == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("pom-cache-warm-up-");
+			threadFactory.setDaemon(true);
+			executorService = Executors.newFixedThreadPool(parallelism, threadFactory);
+		}
+		long start = System.nanoTime();
+		warmUp = CompletableFuture.supplyAsync(() -> LocalMavenRepositoryIndex.create(localRepository), executorService)
+			.thenCompose(this::populateCache)
+			.whenComplete((numAdded, throwable) -> {
+				if (throwable != null) {
+					LOGGER.warn("Warming up the pom cache from '%s' failed.".formatted(localRepository), throwable);
+				}
+				else {
+					LOGGER.info("Added %d poms from '%s' to pom cache in %d ms.".formatted(numAdded, localRepository,
+							TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+				}
+			});
+		return warmUp;
+	}
+
+	/**
+	 * Wait for a running warm-up to finish. A failed warm-up was logged already.
+	 * @return {@code true} if the warm-up finished successfully in time
+	 */
+	public boolean awaitWarmUp(Duration timeout) {
+		try {
+			warmUp.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+			return true;
+		}
+		catch (TimeoutException e) {
+			return false;
+		}
+		catch (ExecutionException | CancellationException e) {
+			return false;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	@Override
+	public synchronized void destroy() {
+		warmUp.cancel(true);
+		if (executorService != null) {
+			executorService.shutdownNow();
+		}
+	}
+
+	private CompletableFuture<Integer> populateCache(LocalMavenRepositoryIndex index) {
+		LOGGER.debug("Indexed %d poms in local Maven repository '%s'.".formatted(index.size(), localRepository));
+		MavenRepository repository = localMavenRepository(index.getLocalRepository());
+		AtomicInteger numAdded = new AtomicInteger();
+		List<CompletableFuture<Void>> futures = index.getEntries()
+			.stream()
+			.map(entry -> CompletableFuture.runAsync(() -> {
+				if (addToCache(repository, entry)) {
+					numAdded.incrementAndGet();
+				}
+			}, executorService))
+			.toList();
+		return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(v -> numAdded.get());
+	}
+
+	private boolean addToCache(MavenRepository repository, LocalMavenRepositoryIndex.Entry entry) {
+		GroupArtifactVersion gav = entry.gav();
+		ResolvedGroupArtifactVersion resolvedGav = new ResolvedGroupArtifactVersion(repository.getUri(),
+				gav.getGroupId(), gav.getArtifactId(), gav.getVersion(), null);
+		try {
+			if (mavenPomCache.getPom(resolvedGav) != null) {
+				return false;
+			}
+			Pom pom;
+			try (InputStream is = Files.newInputStream(entry.pom())) {
+				Path inputPath = Paths.get(gav.getGroupId(), gav.getArtifactId(), gav.getVersion());
+				pom = RawPom.parse(is, null).toPom(inputPath, repository).withGav(resolvedGav);
+			}
+			boolean requiresJar = pom.getPackaging() == null || "jar".equals(pom.getPackaging());
+			if (requiresJar && entry.jar() == null) {
+				return false;
+			}
+			mavenPomCache.putPom(resolvedGav, pom);
+			return true;
+		}
+		catch (Exception e) {
+			LOGGER.debug("Could not add pom '%s' to pom cache.".formatted(entry.pom()), e);
+			return false;
+		}
+	}
+
+	private static MavenRepository localMavenRepository(Path localRepository) {
+		String uri = MavenSettingsInitializer.localRepositoryUri(localRepository);
+		return new MavenRepository("local", uri, null, null, true, null, null, null);
+	}
+
+}
@@ -24,6 +24,8 @@ import java.util.stream.Collectors;
 
 /**
  * Create directed acyclic graph from MavenProjects.
+ * <p>
+ * Stateless, a single instance is shared by concurrent parses.
  *
  * @author Fabian Krüger
  */
@@ -31,8 +33,6 @@ public class MavenProjectGraph {
 
 	private static final String POM_XML = "pom.xml";
 
-	private Map<ProjectId, MavenProject> gaToMavenProjectMap = new HashMap<>();
-
 	/**
 	 * Create a Maven module dependency graph starting from pom.xml in {@code baseDir}.
 	 * The dependency and dependants for all {@link MavenProject}s are added when they are
@@ -41,16 +41,17 @@ public class MavenProjectGraph {
 	public Map<MavenProject, Set<MavenProject>> from(Path baseDir, List<MavenProject> allMavenProjects) {
 		// build map of projectId -> MavenProject
 		// this is used to decide if dependencies come from the project
-		initGaToMavenProjectMap(allMavenProjects);
+		Map<ProjectId, MavenProject> gaToMavenProjectMap = gaToMavenProjectMap(allMavenProjects);
 		MavenProject rootProject = findRootProject(baseDir, allMavenProjects);
 		// the dag with child/parent dependencies
 		Map<MavenProject, Set<MavenProject>> dag = new HashMap<>();
 		buildDependencyGraph(rootProject, allMavenProjects, dag);
-		enrichGraphWithDependencies(dag);
+		enrichGraphWithDependencies(dag, gaToMavenProjectMap);
 		return dag;
 	}
 
-	private void enrichGraphWithDependencies(Map<MavenProject, Set<MavenProject>> dag) {
+	private void enrichGraphWithDependencies(Map<MavenProject, Set<MavenProject>> dag,
+			Map<ProjectId, MavenProject> gaToMavenProjectMap) {
 		dag.keySet().stream().forEach(curProject -> {
 			List<MavenProject> dependencyProjects = new ArrayList<>();
 			curProject.getBuildFile().getDependencies().forEach(d -> {
@@ -77,11 +78,12 @@ public class MavenProjectGraph {
 		});
 	}
 
-	private void initGaToMavenProjectMap(List<MavenProject> allPomFiles) {
-		gaToMavenProjectMap = new HashMap<>();
+	private static Map<ProjectId, MavenProject> gaToMavenProjectMap(List<MavenProject> allPomFiles) {
+		Map<ProjectId, MavenProject> gaToMavenProjectMap = new HashMap<>();
 		allPomFiles.stream().forEach(mp -> {
 			gaToMavenProjectMap.putIfAbsent(new ProjectId(mp.getGroupId(), mp.getArtifactId()), mp);
 		});
+		return gaToMavenProjectMap;
 	}
 
 	private void buildDependencyGraph(MavenProject currentProject, List<MavenProject> reactorProjects,
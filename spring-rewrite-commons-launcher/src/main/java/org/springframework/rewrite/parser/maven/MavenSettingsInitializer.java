@@ -52,9 +52,7 @@ public class MavenSettingsInitializer {
 
 	public void initializeMavenSettings() {
 		Path userHome = Path.of(System.getProperty("user.home")).toAbsolutePath().normalize();
-		String m2RepoPath = userHome.resolve(".m2/repository").toAbsolutePath().normalize() + "/";
-		String unifiedM2RepoPath = LinuxWindowsPathUnifier.unifiedPathString(m2RepoPath);
-		String repo = "file://" + unifiedM2RepoPath;
+		String repo = localRepositoryUri(defaultLocalRepository());
 		Path mavenSettingsFile = userHome.resolve(".m2/settings.xml");
 		Path mavenSecuritySettingsFile = userHome.resolve(".m2/settings-security.xml");
 
@@ -89,4 +87,20 @@ public class MavenSettingsInitializer {
 		projectMetadata.setMavenSettings(mavenSettings);
 	}
 
+	/**
+	 * The local Maven repository, {@code ~/.m2/repository}.
+	 */
+	public static Path defaultLocalRepository() {
+		return Path.of(System.getProperty("user.home")).resolve(".m2/repository").toAbsolutePath().normalize();
+	}
+
+	/**
+	 * The URI used for the local Maven repository in {@link MavenSettings}.
+	 */
+	public static String localRepositoryUri(Path localRepository) {
+		String m2RepoPath = localRepository.toAbsolutePath().normalize() + "/";
+		String unifiedM2RepoPath = LinuxWindowsPathUnifier.unifiedPathString(m2RepoPath);
+		return "file://" + unifiedM2RepoPath;
+	}
+
 }
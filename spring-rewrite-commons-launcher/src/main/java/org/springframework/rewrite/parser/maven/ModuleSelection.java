@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.maven;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.springframework.rewrite.parser.SpringRewriteProperties;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the Maven modules of a reactor build that get parsed.
+ * <p>
+ * Either all modules are parsed or only the module in {@code modulePath} and,
+ * optionally, the modules depending on it. Reactor modules the selected modules depend
+ * on are upstream modules, they only contribute their types to the classpath and are not
+ * part of the parsing result.
+ *
+ * @param modulePath path of the selected module relative to {@code baseDir} or
+ * {@code null} to select all modules
+ * @param includeDependents whether modules depending on the selected module are parsed
+ * too
+ */
+public record ModuleSelection(@Nullable Path modulePath, boolean includeDependents) {
+
+	private static final ModuleSelection ALL = new ModuleSelection(null, false);
+
+	/**
+	 * Select all modules.
+	 */
+	public static ModuleSelection all() {
+		return ALL;
+	}
+
+	/**
+	 * Select the module in {@code modulePath}, relative to {@code baseDir}.
+	 */
+	public static ModuleSelection module(Path modulePath, boolean includeDependents) {
+		return new ModuleSelection(modulePath, includeDependents);
+	}
+
+	/**
+	 * The module selected with {@code runPerSubmodule} and {@code submodule}, all modules
+	 * if no submodule is configured.
+	 */
+	public static ModuleSelection from(SpringRewriteProperties springRewriteProperties) {
+		String submodule = springRewriteProperties.getSubmodule();
+		if (springRewriteProperties.isRunPerSubmodule() && StringUtils.hasText(submodule)) {
+			return module(Path.of(submodule), springRewriteProperties.isIncludeDependentModules());
+		}
+		return all();
+	}
+
+	public boolean isAll() {
+		return modulePath == null;
+	}
+
+	/**
+	 * Split the {@code sortedProjects} into selected and upstream modules.
+	 * @throws IllegalArgumentException if no module exists in {@code modulePath}
+	 */
+	public Modules select(Path baseDir, List<MavenProject> sortedProjects) {
+		if (isAll()) {
+			return new Modules(new LinkedHashSet<>(sortedProjects), Set.of());
+		}
+		Path selectedModulePath = baseDir.resolve(modulePath).toAbsolutePath().normalize();
+		MavenProject selectedModule = sortedProjects.stream()
+			.filter(p -> p.getModulePath().toAbsolutePath().normalize().equals(selectedModulePath))
+			.findFirst()
+			.orElseThrow(() -> new IllegalArgumentException("No Maven module found in '%s', modules are %s."
+				.formatted(modulePath, sortedProjects.stream().map(MavenProject::getModuleDir).toList())));
+
+		// sorted projects come after the projects they depend on
+		Set<MavenProject> selected = new LinkedHashSet<>();
+		for (MavenProject project : sortedProjects) {
+			if (project.equals(selectedModule)
+					|| includeDependents && project.getDependencyProjects().stream().anyMatch(selected::contains)) {
+				selected.add(project);
+			}
+		}
+
+		Set<MavenProject> upstream = new LinkedHashSet<>();
+		Deque<MavenProject> toVisit = new ArrayDeque<>(selected);
+		while (!toVisit.isEmpty()) {
+			for (MavenProject dependency : toVisit.pop().getDependencyProjects()) {
+				if (!selected.contains(dependency) && upstream.add(dependency)) {
+					toVisit.push(dependency);
+				}
+			}
+		}
+		// keep the build order
+		Set<MavenProject> sortedUpstream = sortedProjects.stream()
+			.filter(upstream::contains)
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+		return new Modules(selected, sortedUpstream);
+	}
+
+	/**
+	 * @param selected the modules to parse, in build order
+	 * @param upstream the reactor modules the selected modules depend on, in build order
+	 */
+	public record Modules(Set<MavenProject> selected, Set<MavenProject> upstream) {
+
+		public boolean isSelected(MavenProject project) {
+			return selected.contains(project);
+		}
+
+		public boolean isUpstream(MavenProject project) {
+			return upstream.contains(project);
+		}
+
+	}
+
+}
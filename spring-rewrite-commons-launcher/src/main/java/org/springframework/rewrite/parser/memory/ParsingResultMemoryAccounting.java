@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.memory;
+
+import org.openrewrite.SourceFile;
+import org.openrewrite.marker.JavaProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.rewrite.parser.RewriteProjectParsingResult;
+import org.springframework.rewrite.parser.events.SuccessfullyParsedProjectEvent;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estimates the heap retained by parsed {@link SourceFile}s.
+ * <p>
+ * After every successful parse a {@link ParsingResultMemoryReport} is created and
+ * published as application event. The source files are walked reflectively, which costs
+ * time and memory proportional to the number of objects reachable from the walked source
+ * files. To reduce the overhead in production only a deterministic sample of the source
+ * files can be walked by setting a {@code sampleRate} below {@code 1.0}, the bytes by
+ * source file type and module are then extrapolated.
+ */
+public class ParsingResultMemoryAccounting {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParsingResultMemoryAccounting.class);
+
+	static final String UNKNOWN_MODULE = "unknown";
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final double sampleRate;
+
+	public ParsingResultMemoryAccounting(ApplicationEventPublisher eventPublisher, double sampleRate) {
+		if (sampleRate <= 0 || sampleRate > 1) {
+			throw new IllegalArgumentException("sampleRate must be > 0 and <= 1 but was %s".formatted(sampleRate));
+		}
+		this.eventPublisher = eventPublisher;
+		this.sampleRate = sampleRate;
+	}
+
+	@EventListener
+	public void onSuccessfullyParsedProject(SuccessfullyParsedProjectEvent event) {
+		ParsingResultMemoryReport report = account(event.sourceFiles());
+		LOGGER.debug("Parsed %d source files retain approx. %d MB (tree: %d MB, markers: %d MB, %d types: %d MB)."
+			.formatted(report.sourceFiles(), toMb(report.totalBytes()), toMb(report.treeBytes()),
+					toMb(report.markerBytes()), report.types(), toMb(report.typeBytes())));
+		eventPublisher.publishEvent(report);
+	}
+
+	public ParsingResultMemoryReport account(RewriteProjectParsingResult parsingResult) {
+		return account(parsingResult.sourceFiles());
+	}
+
+	public ParsingResultMemoryReport account(List<SourceFile> sourceFiles) {
+		long start = System.nanoTime();
+		RetainedSizeEstimator estimator = new RetainedSizeEstimator();
+		long treeBytes = 0;
+		long markerBytes = 0;
+		long typeBytes = 0;
+		int sampled = 0;
+		Map<String, Bucket> bySourceFileType = new HashMap<>();
+		Map<String, Bucket> byModule = new HashMap<>();
+		for (SourceFile sourceFile : sourceFiles) {
+			Bucket typeBucket = bySourceFileType.computeIfAbsent(sourceFileType(sourceFile), k -> new Bucket());
+			Bucket moduleBucket = byModule.computeIfAbsent(module(sourceFile), k -> new Bucket());
+			typeBucket.sourceFiles++;
+			moduleBucket.sourceFiles++;
+			if (!isSampled(sourceFile)) {
+				continue;
+			}
+			long[] bytes = estimator.estimate(sourceFile);
+			long fileBytes = bytes[RetainedSizeEstimator.Category.TREE.ordinal()]
+					+ bytes[RetainedSizeEstimator.Category.MARKERS.ordinal()];
+			treeBytes += bytes[RetainedSizeEstimator.Category.TREE.ordinal()];
+			markerBytes += bytes[RetainedSizeEstimator.Category.MARKERS.ordinal()];
+			typeBytes += bytes[RetainedSizeEstimator.Category.TYPES.ordinal()];
+			typeBucket.add(fileBytes);
+			moduleBucket.add(fileBytes);
+			sampled++;
+		}
+		double factor = sampled == 0 ? 0 : (double) sourceFiles.size() / sampled;
+		return new ParsingResultMemoryReport(sourceFiles.size(), sampled, Math.round(treeBytes * factor),
+				Math.round(markerBytes * factor), typeBytes, estimator.countTypes(),
+				extrapolate(bySourceFileType), extrapolate(byModule), Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	private boolean isSampled(SourceFile sourceFile) {
+		if (sampleRate >= 1) {
+			return true;
+		}
+		// deterministic, so the same files are sampled for every parse
+		int hash = sourceFile.getSourcePath().toString().hashCode() & 0xFFFF;
+		return hash < sampleRate * 0x10000;
+	}
+
+	private static Map<String, Long> extrapolate(Map<String, Bucket> buckets) {
+		Map<String, Long> bytes = new TreeMap<>();
+		buckets.forEach((name, bucket) -> bytes.put(name, bucket.extrapolatedBytes()));
+		return bytes;
+	}
+
+	private static String sourceFileType(SourceFile sourceFile) {
+		return ClassUtils.getShortName(sourceFile.getClass());
+	}
+
+	private static String module(SourceFile sourceFile) {
+		return sourceFile.getMarkers()
+			.findFirst(JavaProject.class)
+			.map(JavaProject::getProjectName)
+			.orElse(UNKNOWN_MODULE);
+	}
+
+	private static long toMb(long bytes) {
+		return bytes / (1024 * 1024);
+	}
+
+	private static class Bucket {
+
+		private int sourceFiles;
+
+		private int sampledSourceFiles;
+
+		private long sampledBytes;
+
+		void add(long bytes) {
+			sampledSourceFiles++;
+			sampledBytes += bytes;
+		}
+
+		long extrapolatedBytes() {
+			if (sampledSourceFiles == 0) {
+				return 0;
+			}
+			return Math.round((double) sampledBytes * sourceFiles / sampledSourceFiles);
+		}
+
+	}
+
+}
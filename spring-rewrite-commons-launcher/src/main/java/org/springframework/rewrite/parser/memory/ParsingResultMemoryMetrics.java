@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.memory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Exposes the last {@link ParsingResultMemoryReport} as Micrometer gauges.
+ * <ul>
+ * <li>{@value #RETAINED} tagged with {@code part} ({@code tree}, {@code markers} or
+ * {@code types}).</li>
+ * <li>{@value #RETAINED_BY_SOURCE_FILE_TYPE} tagged with {@code type}.</li>
+ * <li>{@value #RETAINED_BY_MODULE} tagged with {@code module}.</li>
+ * <li>{@value #TYPES} the number of distinct types.</li>
+ * </ul>
+ */
+public class ParsingResultMemoryMetrics {
+
+	public static final String RETAINED = "spring.rewrite.parse.retained";
+
+	public static final String RETAINED_BY_SOURCE_FILE_TYPE = "spring.rewrite.parse.retained.source.file.type";
+
+	public static final String RETAINED_BY_MODULE = "spring.rewrite.parse.retained.module";
+
+	public static final String TYPES = "spring.rewrite.parse.types";
+
+	private final AtomicReference<ParsingResultMemoryReport> lastReport = new AtomicReference<>();
+
+	private final MultiGauge retained;
+
+	private final MultiGauge retainedBySourceFileType;
+
+	private final MultiGauge retainedByModule;
+
+	public ParsingResultMemoryMetrics(MeterRegistry meterRegistry) {
+		retained = MultiGauge.builder(RETAINED).baseUnit("bytes").register(meterRegistry);
+		retainedBySourceFileType = MultiGauge.builder(RETAINED_BY_SOURCE_FILE_TYPE)
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		retainedByModule = MultiGauge.builder(RETAINED_BY_MODULE).baseUnit("bytes").register(meterRegistry);
+		Gauge.builder(TYPES, lastReport, r -> r.get() == null ? 0 : r.get().types()).register(meterRegistry);
+	}
+
+	@EventListener
+	public void onReport(ParsingResultMemoryReport report) {
+		lastReport.set(report);
+		retained.register(List.<MultiGauge.Row<?>>of(MultiGauge.Row.of(Tags.of("part", "tree"), report.treeBytes()),
+				MultiGauge.Row.of(Tags.of("part", "markers"), report.markerBytes()),
+				MultiGauge.Row.of(Tags.of("part", "types"), report.typeBytes())), true);
+		retainedBySourceFileType.register(rows("type", report.bytesBySourceFileType()), true);
+		retainedByModule.register(rows("module", report.bytesByModule()), true);
+	}
+
+	private static List<MultiGauge.Row<?>> rows(String tag, Map<String, Long> bytes) {
+		return bytes.entrySet()
+			.stream()
+			.<MultiGauge.Row<?>>map(e -> MultiGauge.Row.of(Tags.of(tag, e.getKey()), e.getValue()))
+			.toList();
+	}
+
+}
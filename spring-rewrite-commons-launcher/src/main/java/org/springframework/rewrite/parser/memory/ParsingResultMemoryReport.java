@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.memory;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Approximate heap retained by the {@code SourceFile}s of a parsing result.
+ * <p>
+ * {@code JavaType}s are shared between source files and reported separately as
+ * {@code typeBytes}. The bytes by source file type and by module contain the tree and
+ * marker bytes of the source files, extrapolated from the sampled source files.
+ *
+ * @param sourceFiles the number of source files
+ * @param sampledSourceFiles the number of source files that were walked
+ * @param treeBytes the estimated bytes of the trees without markers and types
+ * @param markerBytes the estimated bytes of markers
+ * @param typeBytes the estimated bytes of the distinct types reachable from the sampled
+ * source files
+ * @param types the number of distinct types reachable from the sampled source files
+ * @param bytesBySourceFileType tree and marker bytes by type of source file, e.g.
+ * {@code J.CompilationUnit}
+ * @param bytesByModule tree and marker bytes by module name taken from the
+ * {@code JavaProject} marker
+ * @param accountingTime the time it took to create the report
+ * @see org.openrewrite.java.tree.JavaType
+ */
+public record ParsingResultMemoryReport(int sourceFiles, int sampledSourceFiles, long treeBytes, long markerBytes,
+		long typeBytes, long types, Map<String, Long> bytesBySourceFileType, Map<String, Long> bytesByModule,
+		Duration accountingTime) {
+
+	public long totalBytes() {
+		return treeBytes + markerBytes + typeBytes;
+	}
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.memory;
+
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.marker.Markers;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the retained size of object graphs by walking them reflectively.
+ * <p>
+ * Sizes are approximated assuming a 64-bit JVM with compressed oops. Objects reachable
+ * from multiple roots are only counted for the first root. Reachable {@link JavaType}s
+ * are counted as {@link Category#TYPES}, {@link Markers} and {@link Marker}s as
+ * {@link Category#MARKERS} and everything else as {@link Category#TREE}.
+ * <p>
+ * JDK classes are not introspected. Strings, boxed primitives, arrays, collections and
+ * maps are estimated and their elements are walked, other JDK objects are counted with
+ * a fixed size.
+ */
+class RetainedSizeEstimator {
+
+	enum Category {
+
+		TREE, MARKERS, TYPES
+
+	}
+
+	private static final int OBJECT_HEADER = 12;
+
+	private static final int ARRAY_HEADER = 16;
+
+	private static final int REFERENCE = 4;
+
+	private static final int JDK_OBJECT = 16;
+
+	private static final Map<Class<?>, ClassLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+	private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private final Deque<Entry> stack = new ArrayDeque<>();
+
+	private long types;
+
+	/**
+	 * Walk the object graph reachable from {@code root} and return the estimated bytes
+	 * per {@link Category} not counted for a previous root.
+	 */
+	long[] estimate(Object root) {
+		long[] bytes = new long[Category.values().length];
+		push(root, Category.TREE);
+		while (!stack.isEmpty()) {
+			Entry entry = stack.pop();
+			bytes[entry.category().ordinal()] += visit(entry.object(), entry.category());
+		}
+		return bytes;
+	}
+
+	/**
+	 * The number of distinct {@link JavaType}s seen so far.
+	 */
+	long countTypes() {
+		return types;
+	}
+
+	private void push(Object object, Category parentCategory) {
+		if (object == null || object instanceof Class<?> || object instanceof Enum<?> || !visited.add(object)) {
+			return;
+		}
+		Category category = parentCategory;
+		if (object instanceof JavaType) {
+			category = Category.TYPES;
+			types++;
+		}
+		else if (category == Category.TREE && (object instanceof Markers || object instanceof Marker)) {
+			category = Category.MARKERS;
+		}
+		stack.push(new Entry(object, category));
+	}
+
+	private long visit(Object object, Category category) {
+		Class<?> type = object.getClass();
+		if (type.isArray()) {
+			return visitArray(object, type.getComponentType(), category);
+		}
+		if (object instanceof String string) {
+			return align(OBJECT_HEADER + 12) + align(ARRAY_HEADER + string.length());
+		}
+		if (object instanceof Number || object instanceof Boolean || object instanceof Character) {
+			return JDK_OBJECT;
+		}
+		if (object instanceof Path path) {
+			return JDK_OBJECT * 2 + align(ARRAY_HEADER + path.toString().length());
+		}
+		if (isJdkClass(type)) {
+			if (object instanceof Collection<?> collection) {
+				collection.forEach(element -> push(element, category));
+				return align(ARRAY_HEADER + (long) REFERENCE * collection.size()) + JDK_OBJECT * 2;
+			}
+			if (object instanceof Map<?, ?> map) {
+				map.forEach((key, value) -> {
+					push(key, category);
+					push(value, category);
+				});
+				return align(ARRAY_HEADER + (long) REFERENCE * map.size()) + 32L * map.size() + JDK_OBJECT * 3;
+			}
+			return JDK_OBJECT;
+		}
+		ClassLayout layout = LAYOUTS.computeIfAbsent(type, ClassLayout::of);
+		for (Field field : layout.referenceFields()) {
+			try {
+				push(field.get(object), category);
+			}
+			catch (IllegalAccessException e) {
+				// not accessible, only the shallow size is counted
+			}
+		}
+		return layout.shallowSize();
+	}
+
+	private long visitArray(Object array, Class<?> componentType, Category category) {
+		int length = Array.getLength(array);
+		if (componentType.isPrimitive()) {
+			return align(ARRAY_HEADER + (long) primitiveSize(componentType) * length);
+		}
+		for (Object element : (Object[]) array) {
+			push(element, category);
+		}
+		return align(ARRAY_HEADER + (long) REFERENCE * length);
+	}
+
+	private static boolean isJdkClass(Class<?> type) {
+		String name = type.getName();
+		return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.")
+				|| name.startsWith("sun.") || name.startsWith("com.sun.");
+	}
+
+	private static int primitiveSize(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		}
+		if (type == int.class || type == float.class) {
+			return 4;
+		}
+		if (type == short.class || type == char.class) {
+			return 2;
+		}
+		return 1;
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+
+	private record Entry(Object object, Category category) {
+	}
+
+	private record ClassLayout(long shallowSize, List<Field> referenceFields) {
+
+		static ClassLayout of(Class<?> type) {
+			long size = OBJECT_HEADER;
+			List<Field> referenceFields = new ArrayList<>();
+			for (Class<?> current = type; current != null && current != Object.class; current = current
+				.getSuperclass()) {
+				for (Field field : current.getDeclaredFields()) {
+					if (Modifier.isStatic(field.getModifiers())) {
+						continue;
+					}
+					if (field.getType().isPrimitive()) {
+						size += primitiveSize(field.getType());
+					}
+					else {
+						size += REFERENCE;
+						if (!isJdkClass(current) && field.trySetAccessible()) {
+							referenceFields.add(field);
+						}
+					}
+				}
+			}
+			return new ClassLayout(align(size), List.copyOf(referenceFields));
+		}
+
+	}
+
+}
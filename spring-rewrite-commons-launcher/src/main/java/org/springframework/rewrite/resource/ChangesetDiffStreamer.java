@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import org.openrewrite.Changeset;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Streams the unified diffs of a {@link Changeset} to a {@link RecipeRunDiffListener}.
+ * <p>
+ * The changeset is read page by page. The diffs of a page are computed in parallel and
+ * handed to the listener in changeset order before the next page gets read, so only the
+ * diffs of one page are held in memory.
+ */
+class ChangesetDiffStreamer {
+
+	static final int PAGE_SIZE = 64;
+
+	private final RecipeRunDiffListener diffListener;
+
+	ChangesetDiffStreamer(RecipeRunDiffListener diffListener) {
+		this.diffListener = diffListener;
+	}
+
+	/**
+	 * @return the number of diffs handed to the listener
+	 */
+	int stream(Changeset changeset) {
+		int numDiffs = 0;
+		int size = changeset.size();
+		for (int start = 0; start < size; start += PAGE_SIZE) {
+			List<SourceFileDiff> diffs = changeset.getPage(start, PAGE_SIZE)
+				.parallelStream()
+				.map(ChangesetDiffStreamer::diff)
+				.filter(diff -> !diff.unifiedDiff().isEmpty())
+				.toList();
+			for (SourceFileDiff diff : diffs) {
+				diffListener.diff(diff.sourcePath(), diff.unifiedDiff());
+			}
+			numDiffs += diffs.size();
+		}
+		return numDiffs;
+	}
+
+	private static SourceFileDiff diff(Result result) {
+		SourceFile sourceFile = result.getAfter() != null ? result.getAfter() : result.getBefore();
+		return new SourceFileDiff(sourceFile.getSourcePath(), result.diff());
+	}
+
+	private record SourceFileDiff(Path sourcePath, String unifiedDiff) {
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * {@link RewriteSourceFileHolder} parsing its resource on first access to the
+ * {@link SourceFile}, e.g. through {@link #getSourceFile()} or {@link #print()}.
+ * <p>
+ * The path and type of the resource are known without parsing, so finding resources by
+ * path or type, e.g. with {@code PathPatternMatchingProjectResourceFinder}, does not
+ * parse them. Resources which can only be parsed together, e.g. the Java sources of a
+ * module, share {@link LazySourceFiles} and get parsed on first access to one of them.
+ *
+ * @see ProjectResourceSetFactory#createLazily(Path, List)
+ */
+public class LazyRewriteSourceFileHolder<T extends SourceFile> extends RewriteSourceFileHolder<T> {
+
+	private final Path sourcePath;
+
+	private final Class<? extends SourceFile> type;
+
+	private final LazySourceFiles sourceFiles;
+
+	private boolean parsed;
+
+	/**
+	 * @param absoluteProjectDir the absolute path to project root
+	 * @param input the input to parse
+	 * @param parserBuilder builder for the parser accepting the input
+	 * @param executionContext the context used for parsing
+	 */
+	public LazyRewriteSourceFileHolder(Path absoluteProjectDir, Parser.Input input, Parser.Builder parserBuilder,
+			ExecutionContext executionContext) {
+		this(absoluteProjectDir, input.getRelativePath(absoluteProjectDir), parserBuilder.getSourceFileType(),
+				new LazySourceFiles(() -> parserBuilder.build()
+					.parseInputs(List.of(input), absoluteProjectDir, executionContext)
+					.toList()));
+	}
+
+	/**
+	 * @param absoluteProjectDir the absolute path to project root
+	 * @param sourcePath the path of the resource relative to {@code absoluteProjectDir}
+	 * @param type the type of the parsed resource
+	 * @param sourceFiles the group of source files the resource gets parsed with
+	 */
+	public LazyRewriteSourceFileHolder(Path absoluteProjectDir, Path sourcePath, Class<? extends SourceFile> type,
+			LazySourceFiles sourceFiles) {
+		super(absoluteProjectDir, null);
+		this.sourcePath = sourcePath;
+		this.type = type;
+		this.sourceFiles = sourceFiles;
+	}
+
+	/**
+	 * Whether the resource was parsed.
+	 */
+	public synchronized boolean isParsed() {
+		return parsed;
+	}
+
+	@Override
+	public T getSourceFile() {
+		parseIfRequired();
+		return super.getSourceFile();
+	}
+
+	@Override
+	public Path getSourcePath() {
+		return isParsed() ? super.getSourcePath() : sourcePath;
+	}
+
+	@Override
+	public Class<? extends SourceFile> getType() {
+		return isParsed() ? super.getType() : type;
+	}
+
+	@Override
+	public void replaceWith(@Nullable SourceFile fixedSourceFile) {
+		parseIfRequired();
+		super.replaceWith(fixedSourceFile);
+	}
+
+	private synchronized void parseIfRequired() {
+		if (parsed) {
+			return;
+		}
+		SourceFile sourceFile = sourceFiles.take(sourcePath);
+		parsed = true;
+		// the current source file is null, so the resource is not marked as changed
+		super.replaceWith(sourceFile);
+	}
+
+}
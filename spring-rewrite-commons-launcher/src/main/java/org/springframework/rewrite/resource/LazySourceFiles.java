@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Source files parsed together on the first access to one of them, e.g. all build files
+ * of a reactor or the Java sources of a module's source set, which need each other to be
+ * resolved and type attributed.
+ * <p>
+ * Every parsed source file is handed out once, to its {@link LazyRewriteSourceFileHolder}.
+ *
+ * @see ProjectResourceSetFactory#createLazily(Path, List)
+ */
+public class LazySourceFiles {
+
+	@Nullable
+	private Supplier<List<? extends SourceFile>> parser;
+
+	private final Map<Path, SourceFile> parsed = new HashMap<>();
+
+	/**
+	 * @param parser parses all source files of this group
+	 */
+	public LazySourceFiles(Supplier<List<? extends SourceFile>> parser) {
+		this.parser = parser;
+	}
+
+	/**
+	 * Whether the source files were parsed.
+	 */
+	public synchronized boolean isParsed() {
+		return parser == null;
+	}
+
+	/**
+	 * Parse all source files of this group if this didn't happen yet.
+	 */
+	public synchronized void parseIfRequired() {
+		if (parser == null) {
+			return;
+		}
+		parser.get().forEach(sourceFile -> parsed.putIfAbsent(sourceFile.getSourcePath(), sourceFile));
+		parser = null;
+	}
+
+	/**
+	 * Take the source file with {@code sourcePath} relative to the project root, parsing
+	 * the group if required.
+	 */
+	public synchronized SourceFile take(Path sourcePath) {
+		parseIfRequired();
+		SourceFile sourceFile = parsed.remove(sourcePath);
+		if (sourceFile == null) {
+			throw new IllegalStateException("Parsing '%s' returned no source file.".formatted(sourcePath));
+		}
+		return sourceFile;
+	}
+
+}
@@ -17,11 +17,13 @@ package org.springframework.rewrite.resource;
 
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
 import org.openrewrite.Result;
 import org.openrewrite.SourceFile;
 import org.openrewrite.internal.InMemoryLargeSourceSet;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,10 +37,19 @@ public class ProjectResourceSet {
 
 	private final RewriteMigrationResultMerger migrationResultMerger;
 
+	private final List<RecipeRunReportListener> reportListeners;
+
 	public ProjectResourceSet(List<RewriteSourceFileHolder<? extends SourceFile>> projectResources,
 			ExecutionContext executionContext, RewriteMigrationResultMerger migrationResultMerger) {
+		this(projectResources, executionContext, migrationResultMerger, List.of());
+	}
+
+	public ProjectResourceSet(List<RewriteSourceFileHolder<? extends SourceFile>> projectResources,
+			ExecutionContext executionContext, RewriteMigrationResultMerger migrationResultMerger,
+			List<RecipeRunReportListener> reportListeners) {
 		this.executionContext = executionContext;
 		this.migrationResultMerger = migrationResultMerger;
+		this.reportListeners = reportListeners;
 		this.projectResources.addAll(projectResources);
 	}
 
@@ -78,13 +89,58 @@ public class ProjectResourceSet {
 			.indexOf(absolutePath);
 	}
 
-	public void apply(Recipe... recipes) {
+	/**
+	 * Apply the recipes and merge the results into this {@link ProjectResourceSet}.
+	 * @return the {@link RecipeRunReport} with per-recipe timings, visited and changed
+	 * files
+	 */
+	public RecipeRunReport apply(Recipe... recipes) {
+		long start = System.nanoTime();
+		Recipe recipe = composite(recipes);
+		RecipeRun recipeRun = run(recipe);
+		List<Result> results = recipeRun.getChangeset().getAllResults();
+
+		migrationResultMerger.mergeResults(this, results);
+
+		return report(recipeRun, recipe, start);
+	}
+
+	/**
+	 * Run the recipes without changing this {@link ProjectResourceSet} and pass the
+	 * unified diff of every changed, added or deleted source file to the
+	 * {@code diffListener}.
+	 * <p>
+	 * The diffs are computed in parallel while the changeset is read and are not
+	 * retained, the results are not merged.
+	 * @return the {@link RecipeRunReport} with per-recipe timings, visited and changed
+	 * files
+	 */
+	public RecipeRunReport dryRun(RecipeRunDiffListener diffListener, Recipe... recipes) {
+		long start = System.nanoTime();
+		Recipe recipe = composite(recipes);
+		RecipeRun recipeRun = run(recipe);
+		new ChangesetDiffStreamer(diffListener).stream(recipeRun.getChangeset());
+		return report(recipeRun, recipe, start);
+	}
+
+	private RecipeRun run(Recipe recipe) {
 		InMemoryLargeSourceSet largeSourceSet = new InMemoryLargeSourceSet(projectResources.stream()
 			.map(RewriteSourceFileHolder::getSourceFile)
 			.filter(SourceFile.class::isInstance)
 			.map(SourceFile.class::cast)
 			.toList());
-		List<Result> results = new Recipe() {
+		return recipe.run(largeSourceSet, executionContext);
+	}
+
+	private RecipeRunReport report(RecipeRun recipeRun, Recipe recipe, long start) {
+		RecipeRunReport report = RecipeRunReport.from(recipeRun, recipe.getName(),
+				Duration.ofNanos(System.nanoTime() - start));
+		reportListeners.forEach(listener -> listener.recipeRunFinished(report));
+		return report;
+	}
+
+	private static Recipe composite(Recipe... recipes) {
+		return new Recipe() {
 			@Override
 			public String getDisplayName() {
 				return "Run a list of recipes";
@@ -99,9 +155,7 @@ public class ProjectResourceSet {
 			public List<Recipe> getRecipeList() {
 				return Arrays.asList(recipes);
 			}
-		}.run(largeSourceSet, executionContext).getChangeset().getAllResults();
-
-		migrationResultMerger.mergeResults(this, results);
+		};
 	}
 
 	void clearDeletedResources() {
@@ -16,10 +16,34 @@
 package org.springframework.rewrite.resource;
 
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
 import org.openrewrite.SourceFile;
+import org.openrewrite.hcl.HclParser;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.json.JsonParser;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.protobuf.ProtoParser;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.xml.tree.Xml;
+import org.openrewrite.yaml.YamlParser;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.parser.maven.MavenBuildFileParser;
+import org.springframework.rewrite.parser.maven.MavenProject;
+import org.springframework.rewrite.parser.maven.MavenProjectAnalyzer;
+import org.springframework.rewrite.utils.LinuxWindowsPathUnifier;
+import org.springframework.rewrite.utils.ResourceUtil;
 
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * @author Fabian Krüger
@@ -32,11 +56,39 @@ public class ProjectResourceSetFactory {
 
 	private final ExecutionContext executionContext;
 
+	private final List<RecipeRunReportListener> reportListeners;
+
+	@Nullable
+	private final MavenProjectAnalyzer mavenProjectAnalyzer;
+
+	@Nullable
+	private final MavenBuildFileParser buildFileParser;
+
 	public ProjectResourceSetFactory(RewriteMigrationResultMerger rewriteMigrationResultMerger,
 			RewriteSourceFileWrapper sourceFileWrapper, ExecutionContext executionContext) {
+		this(rewriteMigrationResultMerger, sourceFileWrapper, executionContext, List.of());
+	}
+
+	public ProjectResourceSetFactory(RewriteMigrationResultMerger rewriteMigrationResultMerger,
+			RewriteSourceFileWrapper sourceFileWrapper, ExecutionContext executionContext,
+			List<RecipeRunReportListener> reportListeners) {
+		this(rewriteMigrationResultMerger, sourceFileWrapper, executionContext, reportListeners, null, null);
+	}
+
+	/**
+	 * @param mavenProjectAnalyzer finds the Maven modules of resources created lazily
+	 * @param buildFileParser parses the build files of resources created lazily
+	 */
+	public ProjectResourceSetFactory(RewriteMigrationResultMerger rewriteMigrationResultMerger,
+			RewriteSourceFileWrapper sourceFileWrapper, ExecutionContext executionContext,
+			List<RecipeRunReportListener> reportListeners, @Nullable MavenProjectAnalyzer mavenProjectAnalyzer,
+			@Nullable MavenBuildFileParser buildFileParser) {
 		this.rewriteMigrationResultMerger = rewriteMigrationResultMerger;
 		this.sourceFileWrapper = sourceFileWrapper;
 		this.executionContext = executionContext;
+		this.reportListeners = reportListeners;
+		this.mavenProjectAnalyzer = mavenProjectAnalyzer;
+		this.buildFileParser = buildFileParser;
 	}
 
 	public ProjectResourceSet create(Path baseDir, List<SourceFile> sourceFiles) {
@@ -46,9 +98,152 @@ public class ProjectResourceSetFactory {
 		return createFromSourceFileHolders(rewriteSourceFileHolders);
 	}
 
+	/**
+	 * Create a {@link ProjectResourceSet} from scanned {@code resources} without parsing
+	 * them. Resources get parsed when their {@link SourceFile} is accessed the first
+	 * time.
+	 * <p>
+	 * The build files of a Maven reactor are parsed together with the {@code MavenParser}
+	 * on first access to one of them or to a Java source. The Java sources of a source set
+	 * of a module are parsed together with the classpath of the module, the main sources
+	 * of the upstream modules and one {@link JavaTypeCache} per module. Other resources
+	 * are parsed one by one.
+	 * @see LazyRewriteSourceFileHolder
+	 * @see LazySourceFiles
+	 */
+	public ProjectResourceSet createLazily(Path baseDir, List<Resource> resources) {
+		Path absoluteBaseDir = baseDir.toAbsolutePath().normalize();
+		Map<Path, RewriteSourceFileHolder<? extends SourceFile>> holders = new HashMap<>();
+		List<MavenProject> mavenProjects = mavenProjects(absoluteBaseDir, resources);
+		if (mavenProjects.isEmpty()) {
+			List<Resource> javaSources = resources.stream().filter(ProjectResourceSetFactory::isJava).toList();
+			addJavaHolders(absoluteBaseDir, javaSources, List.of(), List::of, new JavaTypeCache(), holders);
+		}
+		else {
+			addMavenProjectHolders(absoluteBaseDir, mavenProjects, holders);
+		}
+		List<Parser.Builder> parserBuilders = List.of(JavaParser.fromJavaVersion(), JsonParser.builder(),
+				XmlParser.builder(), YamlParser.builder(), PropertiesParser.builder(), ProtoParser.builder(),
+				HclParser.builder());
+		// used to decide which parser accepts a path
+		List<Parser> parsers = parserBuilders.stream().map(Parser.Builder::build).toList();
+		List<RewriteSourceFileHolder<? extends SourceFile>> orderedHolders = resources.stream()
+			.<RewriteSourceFileHolder<? extends SourceFile>>map(resource -> {
+				Path path = ResourceUtil.getPath(resource);
+				RewriteSourceFileHolder<? extends SourceFile> holder = holders.get(path);
+				if (holder != null) {
+					return holder;
+				}
+				Parser.Builder parserBuilder = PlainTextParser.builder();
+				for (int i = 0; i < parsers.size(); i++) {
+					if (parsers.get(i).accept(path)) {
+						parserBuilder = parserBuilders.get(i);
+						break;
+					}
+				}
+				Parser.Input input = new Parser.Input(path, () -> ResourceUtil.getInputStream(resource));
+				return new LazyRewriteSourceFileHolder<>(absoluteBaseDir, input, parserBuilder, executionContext);
+			})
+			.toList();
+		return createFromSourceFileHolders(orderedHolders);
+	}
+
+	private List<MavenProject> mavenProjects(Path baseDir, List<Resource> resources) {
+		if (resources.stream().noneMatch(ProjectResourceSetFactory::isPom)) {
+			return List.of();
+		}
+		if (mavenProjectAnalyzer == null || buildFileParser == null) {
+			throw new IllegalStateException(
+					"Creating Maven projects lazily requires a MavenProjectAnalyzer and a MavenBuildFileParser.");
+		}
+		if (buildFileParser.filterAndSortBuildFiles(resources).isEmpty()) {
+			return List.of();
+		}
+		return mavenProjectAnalyzer.getBuildProjects(baseDir, resources);
+	}
+
+	private void addMavenProjectHolders(Path baseDir, List<MavenProject> mavenProjects,
+			Map<Path, RewriteSourceFileHolder<? extends SourceFile>> holders) {
+		List<Resource> buildFiles = mavenProjects.stream().map(MavenProject::getPomFile).toList();
+		LazySourceFiles parsedBuildFiles = new LazySourceFiles(
+				() -> parseBuildFiles(baseDir, buildFiles, mavenProjects));
+		buildFiles.forEach(buildFile -> holders.put(ResourceUtil.getPath(buildFile),
+				holder(baseDir, ResourceUtil.getPath(buildFile), Xml.Document.class, parsedBuildFiles)));
+		for (MavenProject mavenProject : mavenProjects) {
+			JavaTypeCache typeCache = new JavaTypeCache();
+			List<Resource> upstreamMainSources = mavenProject.getDependencyProjects()
+				.stream()
+				.flatMap(project -> project.getMainJavaSources().stream())
+				.toList();
+			addJavaHolders(baseDir, mavenProject.getMainJavaSources(), upstreamMainSources, () -> {
+				parsedBuildFiles.parseIfRequired();
+				return mavenProject.getCompileClasspathElements();
+			}, typeCache, holders);
+			List<Resource> testDependencies = Stream
+				.concat(mavenProject.getMainJavaSources().stream(), upstreamMainSources.stream())
+				.toList();
+			addJavaHolders(baseDir, mavenProject.getTestJavaSources(), testDependencies, () -> {
+				parsedBuildFiles.parseIfRequired();
+				return mavenProject.getTestClasspathElements();
+			}, typeCache, holders);
+		}
+	}
+
+	private List<Xml.Document> parseBuildFiles(Path baseDir, List<Resource> buildFiles,
+			List<MavenProject> mavenProjects) {
+		// provenance markers are not added to lazily parsed resources
+		Map<Path, List<Marker>> provenanceMarkers = new HashMap<>();
+		buildFiles.forEach(buildFile -> provenanceMarkers.put(ResourceUtil.getPath(buildFile), List.of()));
+		List<Xml.Document> documents = buildFileParser.parseBuildFiles(baseDir, buildFiles, List.of("default"),
+				executionContext, false, provenanceMarkers);
+		// the module classpath is resolved from the parsed build file
+		documents.forEach(document -> mavenProjects.stream()
+			.filter(project -> LinuxWindowsPathUnifier.pathEquals(project.getPomFilePath(),
+					baseDir.resolve(document.getSourcePath())))
+			.forEach(project -> project.setSourceFile(document)));
+		return documents;
+	}
+
+	private void addJavaHolders(Path baseDir, List<Resource> javaSources, List<Resource> dependsOn,
+			Supplier<List<Path>> classpath, JavaTypeCache typeCache,
+			Map<Path, RewriteSourceFileHolder<? extends SourceFile>> holders) {
+		if (javaSources.isEmpty()) {
+			return;
+		}
+		LazySourceFiles parsedJavaSources = new LazySourceFiles(() -> {
+			List<Parser.Input> inputs = javaSources.stream()
+				.map(resource -> new Parser.Input(ResourceUtil.getPath(resource),
+						() -> ResourceUtil.getInputStream(resource)))
+				.toList();
+			return JavaParser.fromJavaVersion()
+				.classpath(classpath.get())
+				.dependsOn(dependsOn.stream().map(ResourceUtil::getContent).toArray(String[]::new))
+				.typeCache(typeCache)
+				.build()
+				.parseInputs(inputs, baseDir, executionContext)
+				.toList();
+		});
+		javaSources.forEach(javaSource -> holders.put(ResourceUtil.getPath(javaSource),
+				holder(baseDir, ResourceUtil.getPath(javaSource), J.CompilationUnit.class, parsedJavaSources)));
+	}
+
+	private static LazyRewriteSourceFileHolder<SourceFile> holder(Path baseDir, Path path,
+			Class<? extends SourceFile> type, LazySourceFiles sourceFiles) {
+		return new LazyRewriteSourceFileHolder<>(baseDir, baseDir.relativize(path), type, sourceFiles);
+	}
+
+	private static boolean isPom(Resource resource) {
+		return "pom.xml".equals(ResourceUtil.getPath(resource).getFileName().toString());
+	}
+
+	private static boolean isJava(Resource resource) {
+		return ResourceUtil.getPath(resource).getFileName().toString().endsWith(".java");
+	}
+
 	public ProjectResourceSet createFromSourceFileHolders(
 			List<RewriteSourceFileHolder<? extends SourceFile>> rewriteSourceFileHolders) {
-		return new ProjectResourceSet(rewriteSourceFileHolders, executionContext, rewriteMigrationResultMerger);
+		return new ProjectResourceSet(rewriteSourceFileHolders, executionContext, rewriteMigrationResultMerger,
+				reportListeners);
 	}
 
 }
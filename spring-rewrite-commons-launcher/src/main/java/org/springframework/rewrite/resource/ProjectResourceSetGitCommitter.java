@@ -0,0 +1,250 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEditor;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Writes the changes of a {@link ProjectResourceSet} directly into a Git commit.
+ * <p>
+ * Blobs are created from the printed source files and the tree of the new commit is
+ * built in memory from the tree of the parent commit, so unchanged files are neither
+ * read nor hashed. The branch is created or fast-forwarded to the new commit.
+ * <p>
+ * The working tree and the index are updated too when committing to the checked out
+ * branch, otherwise they would no longer match {@code HEAD}. Committing to another branch
+ * leaves them untouched, e.g. to create a branch for a pull request while the default
+ * branch stays checked out.
+ * <p>
+ * Like {@link ProjectResourceSetSerializer} moved resources are written to their new
+ * path, the file at the old path is not removed.
+ */
+public class ProjectResourceSetGitCommitter {
+
+	/**
+	 * Commit the changes to {@code branchName} with the author configured for the
+	 * repository. Working tree and index are updated if {@code branchName} is checked out.
+	 * @see #commitChanges(ProjectResourceSet, Git, String, String, PersonIdent, boolean)
+	 */
+	public Optional<ObjectId> commitChanges(ProjectResourceSet projectResourceSet, Git git, String branchName,
+			String message) {
+		Repository repository = git.getRepository();
+		boolean checkedOut;
+		try {
+			checkedOut = (Constants.R_HEADS + branchName).equals(repository.getFullBranch());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not resolve the checked out branch", e);
+		}
+		return commitChanges(projectResourceSet, git, branchName, message, new PersonIdent(repository), checkedOut);
+	}
+
+	/**
+	 * Commit the changes of the {@link ProjectResourceSet} to {@code branchName}. A
+	 * branch that does not exist yet gets created from {@code HEAD}.
+	 * @param updateWorkingTree whether changed files should also be written to the
+	 * working tree and the index, must be {@code true} if and only if {@code branchName}
+	 * is checked out
+	 * @return the id of the new commit or empty if nothing changed
+	 * @throws IllegalArgumentException if {@code branchName} is checked out but the
+	 * working tree should not be updated
+	 * @throws IllegalStateException if the working tree should be updated but the
+	 * branch is not checked out or the branch was concurrently updated
+	 */
+	public Optional<ObjectId> commitChanges(ProjectResourceSet projectResourceSet, Git git, String branchName,
+			String message, PersonIdent author, boolean updateWorkingTree) {
+		Repository repository = git.getRepository();
+		String refName = Constants.R_HEADS + branchName;
+		try {
+			boolean checkedOut = refName.equals(repository.getFullBranch());
+			if (updateWorkingTree && !checkedOut) {
+				throw new IllegalStateException("Can't update the working tree, branch '%s' is not checked out."
+					.formatted(branchName));
+			}
+			if (!updateWorkingTree && checkedOut) {
+				// HEAD would move while working tree and index stay at the previous commit
+				throw new IllegalArgumentException(
+						"Branch '%s' is checked out, its working tree and index must be updated."
+							.formatted(branchName));
+			}
+			List<RewriteSourceFileHolder<? extends SourceFile>> changedResources = projectResourceSet
+				.streamIncludingDeleted()
+				.filter(r -> r != null && r.hasChanges())
+				.toList();
+			if (changedResources.isEmpty()) {
+				return Optional.empty();
+			}
+			ObjectId branchHead = repository.resolve(refName);
+			ObjectId parentId = branchHead != null ? branchHead : repository.resolve(Constants.HEAD);
+			Path workTree = repository.getWorkTree().toPath().toAbsolutePath().normalize();
+			ObjectId commitId;
+			List<Change> changes = new ArrayList<>();
+			try (ObjectInserter inserter = repository.newObjectInserter()) {
+				for (RewriteSourceFileHolder<? extends SourceFile> resource : changedResources) {
+					changes.add(toChange(workTree, resource, inserter));
+				}
+				DirCache tree = DirCache.newInCore();
+				if (parentId != null) {
+					addParentTree(repository, parentId, tree);
+				}
+				applyChanges(tree, changes, Map.of());
+				CommitBuilder commit = new CommitBuilder();
+				commit.setTreeId(tree.writeTree(inserter));
+				if (parentId != null) {
+					commit.setParentId(parentId);
+				}
+				commit.setAuthor(author);
+				commit.setCommitter(author);
+				commit.setMessage(message);
+				commitId = inserter.insert(commit);
+				inserter.flush();
+			}
+			updateRef(repository, refName, branchHead, commitId, message);
+			if (updateWorkingTree) {
+				updateWorkingTreeAndIndex(repository, workTree, changes);
+			}
+			changedResources.forEach(RewriteSourceFileHolder::resetHasChanges);
+			projectResourceSet.clearDeletedResources();
+			return Optional.of(commitId);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not commit changes to branch '%s'".formatted(branchName), e);
+		}
+	}
+
+	private static Change toChange(Path workTree, RewriteSourceFileHolder<? extends SourceFile> resource,
+			ObjectInserter inserter) throws IOException {
+		String path = workTree.relativize(resource.getAbsolutePath()).toString().replace('\\', '/');
+		if (resource.isDeleted()) {
+			return new Change(path, null, null);
+		}
+		Charset charset = resource.getSourceFile().getCharset();
+		byte[] content = resource.print().getBytes(charset != null ? charset : StandardCharsets.UTF_8);
+		return new Change(path, inserter.insert(Constants.OBJ_BLOB, content), content);
+	}
+
+	private static void addParentTree(Repository repository, ObjectId parentId, DirCache tree) throws IOException {
+		try (RevWalk revWalk = new RevWalk(repository); ObjectReader reader = repository.newObjectReader()) {
+			RevCommit parent = revWalk.parseCommit(parentId);
+			DirCacheBuilder builder = tree.builder();
+			builder.addTree(new byte[0], DirCacheEntry.STAGE_0, reader, parent.getTree());
+			builder.finish();
+		}
+	}
+
+	private static void applyChanges(DirCache dirCache, List<Change> changes, Map<String, Instant> lastModified) {
+		DirCacheEditor editor = dirCache.editor();
+		for (Change change : changes) {
+			if (change.blobId() == null) {
+				editor.add(new DirCacheEditor.DeletePath(change.path()));
+			}
+			else {
+				editor.add(new DirCacheEditor.PathEdit(change.path()) {
+					@Override
+					public void apply(DirCacheEntry entry) {
+						if (entry.getFileMode() != FileMode.EXECUTABLE_FILE) {
+							entry.setFileMode(FileMode.REGULAR_FILE);
+						}
+						entry.setObjectId(change.blobId());
+						entry.setLength(change.content().length);
+						Instant modified = lastModified.get(change.path());
+						if (modified != null) {
+							entry.setLastModified(modified);
+						}
+					}
+				});
+			}
+		}
+		editor.finish();
+	}
+
+	private static void updateRef(Repository repository, String refName, @Nullable ObjectId expectedOldId,
+			ObjectId commitId, String message) throws IOException {
+		RefUpdate refUpdate = repository.updateRef(refName);
+		refUpdate.setNewObjectId(commitId);
+		refUpdate.setExpectedOldObjectId(expectedOldId != null ? expectedOldId : ObjectId.zeroId());
+		refUpdate.setRefLogMessage("commit: " + message, false);
+		RefUpdate.Result result = refUpdate.update();
+		if (result != RefUpdate.Result.NEW && result != RefUpdate.Result.FAST_FORWARD) {
+			throw new IllegalStateException("Could not update '%s' to %s: %s".formatted(refName, commitId.getName(),
+					result));
+		}
+	}
+
+	private static void updateWorkingTreeAndIndex(Repository repository, Path workTree, List<Change> changes)
+			throws IOException {
+		Map<String, Instant> lastModified = new HashMap<>();
+		for (Change change : changes) {
+			Path file = workTree.resolve(change.path());
+			if (change.content() == null) {
+				Files.deleteIfExists(file);
+			}
+			else {
+				Files.createDirectories(file.getParent());
+				Files.write(file, change.content());
+				lastModified.put(change.path(), Files.getLastModifiedTime(file).toInstant());
+			}
+		}
+		DirCache index = repository.lockDirCache();
+		try {
+			applyChanges(index, changes, lastModified);
+			index.write();
+			index.commit();
+		}
+		finally {
+			index.unlock();
+		}
+	}
+
+	/**
+	 * @param path the path relative to the work tree with {@code /} as separator
+	 * @param blobId the id of the new blob or {@code null} if the file was deleted
+	 * @param content the new content or {@code null} if the file was deleted
+	 */
+	private record Change(String path, @Nullable ObjectId blobId, @Nullable byte[] content) {
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import org.openrewrite.table.RecipeRunStats;
+
+import java.time.Duration;
+
+/**
+ * Execution statistics of a single recipe taken from OpenRewrite's
+ * {@link RecipeRunStats} data table.
+ *
+ * @param recipe the name of the recipe
+ * @param sourceFiles the number of source files the recipe visited
+ * @param sourceFilesChanged the number of source files created, deleted or edited
+ * @param scanTotalTime the cumulative time spent in the scanning phase
+ * @param scanP99Time the 99th percentile of scanning a single source file
+ * @param scanMaxTime the max time scanning a single source file
+ * @param editTotalTime the cumulative time spent in the editing phase
+ * @param editP99Time the 99th percentile of editing a single source file
+ * @param editMaxTime the max time editing a single source file
+ */
+public record RecipeExecutionStats(String recipe, int sourceFiles, int sourceFilesChanged, Duration scanTotalTime,
+		Duration scanP99Time, Duration scanMaxTime, Duration editTotalTime, Duration editP99Time,
+		Duration editMaxTime) {
+
+	static RecipeExecutionStats from(RecipeRunStats.Row row) {
+		return new RecipeExecutionStats(row.getRecipe(), intValue(row.getSourceFiles()),
+				intValue(row.getSourceFilesChanged()), nanos(row.getScanTotalTime()), nanos(row.getScanP99()),
+				nanos(row.getScanMax()), nanos(row.getEditTotalTime()), nanos(row.getEditP99()),
+				nanos(row.getEditMax()));
+	}
+
+	/**
+	 * The cumulative time spent scanning and editing.
+	 */
+	public Duration totalTime() {
+		return scanTotalTime.plus(editTotalTime);
+	}
+
+	private static int intValue(Integer value) {
+		return value == null ? 0 : value;
+	}
+
+	private static Duration nanos(Long value) {
+		return value == null ? Duration.ZERO : Duration.ofNanos(value);
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Receives the unified diff of every source file a dry-run of recipes would change.
+ * <p>
+ * Diffs are delivered in the order of the changeset from the thread running the
+ * recipes, one call per changed, added or deleted source file.
+ *
+ * @see ProjectResourceSet#dryRun(RecipeRunDiffListener, org.openrewrite.Recipe...)
+ */
+@FunctionalInterface
+public interface RecipeRunDiffListener {
+
+	/**
+	 * @param sourcePath the path of the source file relative to the project root, the
+	 * path before the change for deleted files
+	 * @param unifiedDiff the unified diff in git format
+	 */
+	void diff(Path sourcePath, String unifiedDiff);
+
+	/**
+	 * {@link RecipeRunDiffListener} writing the diffs as one patch in UTF-8 to the given
+	 * {@link OutputStream}. The stream is flushed after each diff but not closed.
+	 */
+	static RecipeRunDiffListener writingTo(OutputStream outputStream) {
+		return (sourcePath, unifiedDiff) -> {
+			try {
+				outputStream.write(unifiedDiff.getBytes(StandardCharsets.UTF_8));
+				if (!unifiedDiff.endsWith("\n")) {
+					outputStream.write('\n');
+				}
+				outputStream.flush();
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Could not write diff of '%s'".formatted(sourcePath), e);
+			}
+		};
+	}
+
+}
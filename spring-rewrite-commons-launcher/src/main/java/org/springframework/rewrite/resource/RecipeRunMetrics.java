@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the {@link RecipeRunReport} as Micrometer meters.
+ * <p>
+ * Per recipe the timers {@value #SCAN} and {@value #EDIT} and the counters
+ * {@value #SOURCE_FILES} and {@value #SOURCE_FILES_CHANGED} are recorded, tagged with
+ * {@code recipe}. The wall-clock time of the run is recorded as {@value #RUN}.
+ */
+public class RecipeRunMetrics implements RecipeRunReportListener {
+
+	public static final String RUN = "spring.rewrite.recipe.run";
+
+	public static final String SCAN = "spring.rewrite.recipe.scan";
+
+	public static final String EDIT = "spring.rewrite.recipe.edit";
+
+	public static final String SOURCE_FILES = "spring.rewrite.recipe.source.files";
+
+	public static final String SOURCE_FILES_CHANGED = "spring.rewrite.recipe.source.files.changed";
+
+	private final MeterRegistry meterRegistry;
+
+	public RecipeRunMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void recipeRunFinished(RecipeRunReport report) {
+		Timer.builder(RUN).register(meterRegistry).record(report.duration());
+		for (RecipeExecutionStats stats : report.recipeStats()) {
+			String recipe = stats.recipe();
+			Timer.builder(SCAN).tag("recipe", recipe).register(meterRegistry).record(stats.scanTotalTime());
+			Timer.builder(EDIT).tag("recipe", recipe).register(meterRegistry).record(stats.editTotalTime());
+			meterRegistry.counter(SOURCE_FILES, "recipe", recipe).increment(stats.sourceFiles());
+			meterRegistry.counter(SOURCE_FILES_CHANGED, "recipe", recipe).increment(stats.sourceFilesChanged());
+		}
+	}
+
+}
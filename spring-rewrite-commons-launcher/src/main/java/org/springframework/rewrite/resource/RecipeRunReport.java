@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import org.openrewrite.DataTable;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.table.RecipeRunStats;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Report of applying recipes to a {@link ProjectResourceSet} with per-recipe timings,
+ * visited and changed files.
+ * <p>
+ * Timings of composite recipes include the timings of their sub-recipes.
+ *
+ * @param recipeStats the statistics per recipe in the order reported by OpenRewrite
+ * @param duration the wall-clock time of the recipe run
+ * @param numberOfResults the number of changed, added or deleted source files
+ */
+public record RecipeRunReport(List<RecipeExecutionStats> recipeStats, Duration duration, int numberOfResults) {
+
+	static RecipeRunReport from(RecipeRun recipeRun, String wrappingRecipeName, Duration duration) {
+		List<RecipeExecutionStats> recipeStats = new ArrayList<>();
+		for (Map.Entry<DataTable<?>, List<?>> dataTable : recipeRun.getDataTables().entrySet()) {
+			if (dataTable.getKey() instanceof RecipeRunStats) {
+				dataTable.getValue()
+					.stream()
+					.map(RecipeRunStats.Row.class::cast)
+					.filter(row -> !wrappingRecipeName.equals(row.getRecipe()))
+					.map(RecipeExecutionStats::from)
+					.forEach(recipeStats::add);
+			}
+		}
+		return new RecipeRunReport(List.copyOf(recipeStats), duration,
+				recipeRun.getChangeset().getAllResults().size());
+	}
+
+	/**
+	 * Find the statistics of the recipe with the given name.
+	 */
+	public Optional<RecipeExecutionStats> find(String recipeName) {
+		return recipeStats.stream().filter(s -> recipeName.equals(s.recipe())).findFirst();
+	}
+
+	/**
+	 * The {@code limit} recipes with the highest {@link RecipeExecutionStats#totalTime()}.
+	 */
+	public List<RecipeExecutionStats> slowest(int limit) {
+		return recipeStats.stream()
+			.sorted(Comparator.comparing(RecipeExecutionStats::totalTime).reversed())
+			.limit(limit)
+			.toList();
+	}
+
+}
@@ -45,17 +45,19 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
 	}
 
 	public String print() {
+		T currentSourceFile = getSourceFile();
 		try {
-			return sourceFile.printAll();
+			return currentSourceFile.printAll();
 		}
 		catch (Exception e) {
-			throw new RuntimeException("Exception while printing '%s'".formatted(sourceFile.getSourcePath()), e);
+			throw new RuntimeException("Exception while printing '%s'".formatted(currentSourceFile.getSourcePath()),
+					e);
 		}
 	}
 
 	@Override
 	public Path getSourcePath() {
-		return sourceFile.getSourcePath();
+		return getSourceFile().getSourcePath();
 	}
 
 	@Override
@@ -78,7 +80,7 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
 		if (absoluteProjectDir.resolve(newPath).toFile().isDirectory()) {
 			newPath = newPath.resolve(this.getAbsolutePath().getFileName());
 		}
-		sourceFile = sourceFile.withSourcePath(newPath);
+		sourceFile = getSourceFile().withSourcePath(newPath);
 		this.markChanged();
 	}
 
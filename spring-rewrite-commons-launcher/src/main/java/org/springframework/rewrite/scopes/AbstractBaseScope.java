@@ -23,40 +23,59 @@ import org.springframework.beans.factory.config.Scope;
 import org.springframework.lang.Nullable;
 import org.springframework.rewrite.parser.RewriteExecutionContextErrorHandler;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Base for scopes keeping their beans per {@link ParseSession}.
+ * <p>
+ * Beans are looked up in the session bound to the current thread or in a default
+ * session when no session is bound.
+ *
  * @author Fabian Krüger
  */
 public class AbstractBaseScope implements Scope {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(RewriteExecutionContextErrorHandler.class);
 
-	private final Map<String, Object> scopedBeans = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, Object>> scopedBeansBySession = new ConcurrentHashMap<>();
 
+	/**
+	 * Destroy the beans of the session bound to the current thread.
+	 */
 	public void clear(ConfigurableListableBeanFactory beanFactory) {
-		LOGGER.trace(
-				"Clearing %d beans from scope %s.".formatted(scopedBeans.keySet().size(), this.getClass().getName()));
-		scopedBeans.keySet().stream().forEach(beanName -> {
+		Map<String, Object> scopedBeans = scopedBeans();
+		LOGGER.trace("Clearing %d beans from scope %s in session %s.".formatted(scopedBeans.keySet().size(),
+				this.getClass().getName(), ParseSession.currentSessionId()));
+		List.copyOf(scopedBeans.keySet()).forEach(beanName -> {
 			beanFactory.destroyScopedBean(beanName);
 			LOGGER.trace("Removed bean '%s' from scan scope.".formatted(beanName));
 		});
 	}
 
+	/**
+	 * Destroy the beans of the session bound to the current thread and forget the
+	 * session.
+	 */
+	void clearSession(ConfigurableListableBeanFactory beanFactory) {
+		clear(beanFactory);
+		scopedBeansBySession.remove(ParseSession.currentSessionId());
+	}
+
 	public Object get(String name, ObjectFactory<?> objectFactory) {
-		Object scopedObject = this.scopedBeans.get(name);
+		Map<String, Object> scopedBeans = scopedBeans();
+		Object scopedObject = scopedBeans.get(name);
 		if (scopedObject == null) {
 			scopedObject = objectFactory.getObject();
-			this.scopedBeans.put(name, scopedObject);
+			scopedBeans.put(name, scopedObject);
 		}
 		return scopedObject;
 	}
 
 	@Nullable
 	public Object remove(String name) {
-		Map<String, Object> scope = this.scopedBeans;
-		return scope.remove(name);
+		return scopedBeans().remove(name);
 	}
 
 	public void registerDestructionCallback(String name, Runnable callback) {
@@ -69,7 +88,12 @@ public class AbstractBaseScope implements Scope {
 	}
 
 	public String getConversationId() {
-		return null;
+		return ParseSession.currentSessionId();
+	}
+
+	private Map<String, Object> scopedBeans() {
+		return scopedBeansBySession.computeIfAbsent(ParseSession.currentSessionId(),
+				id -> new ConcurrentHashMap<>());
 	}
 
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.scopes;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Session with its own instances of the beans in {@link ScanScope} and
+ * {@link ExecutionScope}, e.g. the {@code ExecutionContext}, {@code ProjectMetadata}
+ * and Maven settings.
+ * <p>
+ * Parses running in different sessions don't share scoped state, so multiple projects
+ * can be parsed concurrently in the same application context. Scoped beans are resolved
+ * in the session bound to the current thread, code accessing scoped beans must therefore
+ * run inside {@link #call(Supplier)} or {@link #run(Runnable)}.
+ *
+ * <pre>
+ * try (ParseSession session = parseSessions.open()) {
+ * 	RewriteProjectParsingResult result = session.call(() -&gt; parser.parse(baseDir));
+ * 	session.run(() -&gt; projectResourceSetFactory.create(baseDir, result.sourceFiles()).apply(recipe));
+ * }
+ * </pre>
+ *
+ * @see ParseSessions
+ */
+public class ParseSession implements AutoCloseable {
+
+	static final String DEFAULT_SESSION_ID = "default";
+
+	private static final ThreadLocal<String> CURRENT_SESSION_ID = new ThreadLocal<>();
+
+	private final String id = UUID.randomUUID().toString();
+
+	private final ScanScope scanScope;
+
+	private final ExecutionScope executionScope;
+
+	private final ConfigurableListableBeanFactory beanFactory;
+
+	ParseSession(ScanScope scanScope, ExecutionScope executionScope, ConfigurableListableBeanFactory beanFactory) {
+		this.scanScope = scanScope;
+		this.executionScope = executionScope;
+		this.beanFactory = beanFactory;
+	}
+
+	/**
+	 * The id of the session bound to the current thread or the id of the default
+	 * session.
+	 */
+	public static String currentSessionId() {
+		String sessionId = CURRENT_SESSION_ID.get();
+		return sessionId == null ? DEFAULT_SESSION_ID : sessionId;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Run {@code action} in the current thread with this session bound.
+	 */
+	public <T> T call(Supplier<T> action) {
+		String previousSessionId = CURRENT_SESSION_ID.get();
+		CURRENT_SESSION_ID.set(id);
+		try {
+			return action.get();
+		}
+		finally {
+			if (previousSessionId == null) {
+				CURRENT_SESSION_ID.remove();
+			}
+			else {
+				CURRENT_SESSION_ID.set(previousSessionId);
+			}
+		}
+	}
+
+	/**
+	 * Run {@code action} in the current thread with this session bound.
+	 */
+	public void run(Runnable action) {
+		call(() -> {
+			action.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Destroy the scoped beans of this session.
+	 */
+	@Override
+	public void close() {
+		run(() -> {
+			scanScope.clearSession(beanFactory);
+			executionScope.clearSession(beanFactory);
+		});
+	}
+
+}
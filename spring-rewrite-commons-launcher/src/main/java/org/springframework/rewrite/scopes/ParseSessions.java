@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.scopes;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Opens {@link ParseSession}s.
+ */
+public class ParseSessions {
+
+	private final ScanScope scanScope;
+
+	private final ExecutionScope executionScope;
+
+	private final ConfigurableListableBeanFactory beanFactory;
+
+	public ParseSessions(ScanScope scanScope, ExecutionScope executionScope,
+			ConfigurableListableBeanFactory beanFactory) {
+		this.scanScope = scanScope;
+		this.executionScope = executionScope;
+		this.beanFactory = beanFactory;
+	}
+
+	/**
+	 * Open a new session, the session must be closed to release its scoped beans.
+	 */
+	public ParseSession open() {
+		return new ParseSession(scanScope, executionScope, beanFactory);
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.job;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class HeapAdmissionControllerTest {
+
+	private final AtomicLong usedHeap = new AtomicLong();
+
+	private final HeapAdmissionController sut = new HeapAdmissionController(0.5, () -> 200, usedHeap::get);
+
+	@Test
+	@DisplayName("Requests are delayed until they fit into the budget")
+	void requestsShouldWaitForBudget() {
+		CompletableFuture<Void> first = sut.admit(60);
+		CompletableFuture<Void> second = sut.admit(60);
+		CompletableFuture<Void> third = sut.admit(10);
+
+		assertThat(sut.getBudgetBytes()).isEqualTo(100);
+		assertThat(first).isCompleted();
+		assertThat(second).isNotCompleted();
+		// admitted in order
+		assertThat(third).isNotCompleted();
+		assertThat(sut.getWaiting()).isEqualTo(2);
+
+		sut.release(60);
+
+		assertThat(second).isCompleted();
+		assertThat(third).isCompleted();
+		assertThat(sut.getReservedBytes()).isEqualTo(70);
+	}
+
+	@Test
+	@DisplayName("A request exceeding the budget is admitted when nothing else is reserved")
+	void oversizedRequestShouldRunAlone() {
+		CompletableFuture<Void> small = sut.admit(10);
+		CompletableFuture<Void> oversized = sut.admit(500);
+
+		assertThat(small).isCompleted();
+		assertThat(oversized).isNotCompleted();
+
+		sut.release(10);
+
+		assertThat(oversized).isCompleted();
+	}
+
+	@Test
+	@DisplayName("Heap used outside of the reservations reduces the budget")
+	void usedHeapShouldReduceBudget() {
+		usedHeap.set(80);
+
+		assertThat(sut.getBudgetBytes()).isEqualTo(60);
+
+		CompletableFuture<Void> first = sut.admit(40);
+		// the admitted job allocated its reservation
+		usedHeap.set(120);
+		CompletableFuture<Void> second = sut.admit(30);
+
+		assertThat(first).isCompleted();
+		assertThat(second).isNotCompleted();
+
+		sut.release(40);
+
+		assertThat(second).isCompleted();
+	}
+
+	@Test
+	@DisplayName("The budget ratio must be > 0 and <= 1")
+	void invalidRatioShouldBeRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new HeapAdmissionController(1.5));
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.job;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParseMemoryEstimatorTest {
+
+	private final ParseMemoryEstimator sut = new ParseMemoryEstimator();
+
+	@TempDir
+	Path baseDir;
+
+	private List<Resource> resources;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		resources = List.of(write("pom.xml", """
+				<project>
+				    <dependencies>
+				        <dependency><artifactId>a</artifactId></dependency>
+				        <dependency><artifactId>b</artifactId></dependency>
+				    </dependencies>
+				</project>
+				"""), write("src/main/java/A.java", "class A {}"), write("src/main/java/B.java", "class B {}"));
+	}
+
+	@Test
+	@DisplayName("Files, modules and declared dependencies are counted")
+	void estimateShouldCountScannedResources() {
+		ParseMemoryEstimate estimate = sut.estimate(resources);
+
+		assertThat(estimate.files()).isEqualTo(3);
+		assertThat(estimate.modules()).isOne();
+		assertThat(estimate.dependencies()).isEqualTo(2);
+		assertThat(estimate.sourceBytesByType()).containsEntry("java", 20L).containsKey("xml");
+		assertThat(estimate.bytes()).isEqualTo(estimate.uncalibratedBytes()).isGreaterThan(10L * 1024 * 1024);
+	}
+
+	@Test
+	@DisplayName("Calibration moves estimates towards measured heap")
+	void calibrationShouldCorrectEstimates() {
+		ParseMemoryEstimate estimate = sut.estimate(resources);
+
+		sut.calibrate(estimate, estimate.uncalibratedBytes() * 3);
+
+		assertThat(sut.getCorrection()).isBetween(1.5, 1.7);
+		assertThat(sut.estimate(resources).bytes()).isGreaterThan(estimate.bytes());
+	}
+
+	private Resource write(String path, String content) throws IOException {
+		Path file = baseDir.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+		return new FileSystemResource(file);
+	}
+
+}
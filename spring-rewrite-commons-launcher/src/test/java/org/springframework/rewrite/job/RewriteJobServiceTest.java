@@ -0,0 +1,206 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.RewriteProjectParser;
+import org.springframework.rewrite.parser.ProjectScanner;
+import org.springframework.rewrite.parser.RewriteProjectParsingResult;
+import org.springframework.rewrite.resource.ProjectResourceSet;
+import org.springframework.rewrite.resource.ProjectResourceSetFactory;
+import org.springframework.rewrite.resource.ProjectResourceSetSerializer;
+import org.springframework.rewrite.resource.RecipeRunReport;
+import org.springframework.rewrite.scopes.ParseSession;
+import org.springframework.rewrite.scopes.ParseSessions;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RewriteJobServiceTest {
+
+	private final Path baseDir = Path.of("project").toAbsolutePath();
+
+	private final Recipe recipe = mock(Recipe.class);
+
+	private final ProjectScanner projectScanner = mock(ProjectScanner.class);
+
+	private final RewriteProjectParser parser = mock(RewriteProjectParser.class);
+
+	private final ProjectResourceSetFactory resourceSetFactory = mock(ProjectResourceSetFactory.class);
+
+	private final ProjectResourceSetSerializer serializer = mock(ProjectResourceSetSerializer.class);
+
+	private final ProjectResourceSet resourceSet = mock(ProjectResourceSet.class);
+
+	private final ParseSessions parseSessions = mock(ParseSessions.class);
+
+	private final ParseSession parseSession = mock(ParseSession.class);
+
+	private final RecipeRunReport report = new RecipeRunReport(List.of(), Duration.ofMillis(1), 0);
+
+	private final ParseMemoryEstimator estimator = new ParseMemoryEstimator();
+
+	private final HeapAdmissionController heapAdmission = new HeapAdmissionController(1.0, () -> Long.MAX_VALUE,
+			() -> 0);
+
+	private RewriteJobService sut;
+
+	@BeforeEach
+	void beforeEach() {
+		List<Resource> resources = List.of(mock(Resource.class));
+		List<SourceFile> sourceFiles = List.of(mock(SourceFile.class));
+		when(parseSessions.open()).thenReturn(parseSession);
+		when(parseSession.call(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+		when(projectScanner.scan(baseDir)).thenReturn(resources);
+		when(parser.parse(baseDir, resources))
+			.thenReturn(new RewriteProjectParsingResult(sourceFiles, new InMemoryExecutionContext()));
+		when(resourceSetFactory.create(baseDir, sourceFiles)).thenReturn(resourceSet);
+		when(resourceSet.apply(recipe)).thenReturn(report);
+	}
+
+	@AfterEach
+	void afterEach() {
+		sut.destroy();
+	}
+
+	@Test
+	@DisplayName("A job scans, parses, applies and writes in its own parse session")
+	void jobShouldRunAllStages() {
+		sut = new RewriteJobService(projectScanner, parser, resourceSetFactory, serializer, parseSessions, estimator,
+				heapAdmission, 2, 2);
+
+		RewriteJob job = sut.submit(baseDir, List.of(recipe));
+
+		assertThat(job.getResult().join()).isSameAs(report);
+		assertThat(job.getStatus()).isEqualTo(RewriteJob.Status.SUCCEEDED);
+		assertThat(job.getTimings()).containsOnlyKeys(RewriteJob.Status.QUEUED, RewriteJob.Status.SCANNING,
+				RewriteJob.Status.WAITING_FOR_HEAP, RewriteJob.Status.PARSING, RewriteJob.Status.APPLYING,
+				RewriteJob.Status.WRITING);
+		assertThat(sut.getJob(job.getId())).contains(job);
+		assertThat(job.getMemoryEstimate()).hasValueSatisfying(estimate -> assertThat(estimate.files()).isOne());
+		assertThat(heapAdmission.getReservedBytes()).isZero();
+		verify(serializer).writeChanges(resourceSet);
+		verify(parseSession, timeout(1000)).close();
+	}
+
+	@Test
+	@DisplayName("A failing stage fails the job and closes the parse session")
+	void failingStageShouldFailJob() {
+		IllegalStateException exception = new IllegalStateException("parsing failed");
+		when(parser.parse(any(), any())).thenThrow(exception);
+		sut = new RewriteJobService(projectScanner, parser, resourceSetFactory, serializer, parseSessions, estimator,
+				heapAdmission, 2, 2);
+
+		RewriteJob job = sut.submit(baseDir, List.of(recipe));
+
+		assertThat(job.getResult()).failsWithin(Duration.ofSeconds(5));
+		assertThat(job.getStatus()).isEqualTo(RewriteJob.Status.FAILED);
+		assertThat(job.getFailure()).contains(exception);
+		assertThat(heapAdmission.getReservedBytes()).isZero();
+		verify(parseSession, timeout(1000)).close();
+	}
+
+	@Test
+	@DisplayName("A job that can't be scheduled fails and closes the parse session")
+	void rejectedJobShouldCloseSession() {
+		sut = new RewriteJobService(projectScanner, parser, resourceSetFactory, serializer, parseSessions, estimator,
+				heapAdmission, 2, 2);
+		sut.destroy();
+
+		RewriteJob job = sut.submit(baseDir, List.of(recipe));
+
+		assertThat(job.getResult()).failsWithin(Duration.ofSeconds(5));
+		assertThat(job.getStatus()).isEqualTo(RewriteJob.Status.FAILED);
+		assertThat(job.getFailure()).hasValueSatisfying(
+				failure -> assertThat(failure).isInstanceOf(RejectedExecutionException.class));
+		verify(parseSession).close();
+	}
+
+	@Test
+	@DisplayName("A job rejected after being admitted releases its heap reservation")
+	void rejectedJobShouldReleaseHeap() throws Exception {
+		HeapAdmissionController heapAdmission = new HeapAdmissionController(1.0, () -> 100, () -> 0);
+		heapAdmission.admit(100);
+		sut = new RewriteJobService(projectScanner, parser, resourceSetFactory, serializer, parseSessions, estimator,
+				heapAdmission, 2, 2);
+		RewriteJob job = sut.submit(baseDir, List.of(recipe));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (heapAdmission.getWaiting() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		sut.destroy();
+
+		// admits the job, scheduling the parse is rejected
+		heapAdmission.release(100);
+
+		assertThat(job.getResult()).failsWithin(Duration.ofSeconds(5));
+		assertThat(job.getFailure()).hasValueSatisfying(
+				failure -> assertThat(failure).isInstanceOf(RejectedExecutionException.class));
+		assertThat(heapAdmission.getReservedBytes()).isZero();
+	}
+
+	@Test
+	@DisplayName("No more than maxInFlight jobs run concurrently")
+	void jobsShouldBeQueuedBeyondMaxInFlight() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		when(projectScanner.scan(baseDir)).thenAnswer(invocation -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			release.await(5, TimeUnit.SECONDS);
+			running.decrementAndGet();
+			return List.of();
+		});
+		when(parser.parse(baseDir, List.of()))
+			.thenReturn(new RewriteProjectParsingResult(List.of(), new InMemoryExecutionContext()));
+		when(resourceSetFactory.create(baseDir, List.of())).thenReturn(resourceSet);
+		sut = new RewriteJobService(projectScanner, parser, resourceSetFactory, serializer, parseSessions, estimator,
+				heapAdmission, 2, 1);
+
+		List<RewriteJob> jobs = List.of(sut.submit(baseDir, List.of(recipe)), sut.submit(baseDir, List.of(recipe)),
+				sut.submit(baseDir, List.of(recipe)));
+		Thread.sleep(100);
+		assertThat(jobs.get(1).getStatus()).isEqualTo(RewriteJob.Status.QUEUED);
+		release.countDown();
+
+		jobs.forEach(job -> assertThat(job.getResult().join()).isSameAs(report));
+		assertThat(maxRunning.get()).isEqualTo(1);
+		assertThat(sut.getJobs()).hasSize(3);
+		sut.removeFinishedJobs();
+		assertThat(sut.getJobs()).isEmpty();
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser;
+
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.marker.GitProvenance;
+import org.openrewrite.text.PlainTextParser;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.utils.GitChangeDetector;
+import org.springframework.rewrite.utils.GitChanges;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalParseSetTest {
+
+	@TempDir
+	Path baseDir;
+
+	private String previousCommit;
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		Git.init().setDirectory(baseDir.toFile()).call().close();
+		write("pom.xml", "<project/>");
+		write("src/main/java/A.java", "class A {}");
+		write("src/main/java/B.java", "class B {}");
+		write("src/main/resources/application.properties", "a=b");
+		write("src/main/resources/banner.txt", "banner");
+		previousCommit = commit("initial");
+	}
+
+	@Test
+	@DisplayName("Changed non-Java files are parsed again together with the build files")
+	void changedResourcesShouldBeParsed() throws Exception {
+		write("src/main/resources/application.properties", "a=c");
+		commit("change");
+
+		IncrementalParseSet parseSet = IncrementalParseSet.of(baseDir, resources(), changes());
+
+		assertThat(parseSet.isFullParse()).isFalse();
+		assertThat(parseSet.getResources()).extracting(Resource::getFilename)
+			.containsExactlyInAnyOrder("pom.xml", "application.properties");
+	}
+
+	@Test
+	@DisplayName("A changed Java file requires parsing all Java files")
+	void changedJavaShouldParseAllJava() throws Exception {
+		write("src/main/java/A.java", "class A { int a; }");
+		commit("change");
+
+		IncrementalParseSet parseSet = IncrementalParseSet.of(baseDir, resources(), changes());
+
+		assertThat(parseSet.getResources()).extracting(Resource::getFilename)
+			.containsExactlyInAnyOrder("pom.xml", "A.java", "B.java");
+	}
+
+	@Test
+	@DisplayName("A changed build file requires a full parse")
+	void changedBuildFileShouldParseAll() throws Exception {
+		write("pom.xml", "<project><modelVersion>4.0.0</modelVersion></project>");
+		commit("change");
+
+		IncrementalParseSet parseSet = IncrementalParseSet.of(baseDir, resources(), changes());
+
+		assertThat(parseSet.isFullParse()).isTrue();
+		assertThat(parseSet.getResources()).hasSize(5);
+	}
+
+	@Test
+	@DisplayName("Parsed source files replace previous ones, removed paths are dropped")
+	void mergeShouldReplaceAndDrop() throws Exception {
+		Files.delete(baseDir.resolve("src/main/resources/banner.txt"));
+		write("src/main/resources/application.properties", "a=c");
+		commit("change");
+		IncrementalParseSet parseSet = IncrementalParseSet.of(baseDir, resources(), changes());
+		List<SourceFile> previous = List.of(text("pom.xml", "old"), text("src/main/java/A.java", "old"),
+				text("src/main/resources/application.properties", "old"),
+				text("src/main/resources/banner.txt", "old"));
+		List<SourceFile> parsed = List.of(text("pom.xml", "new"),
+				text("src/main/resources/application.properties", "new"));
+
+		List<SourceFile> merged = parseSet.merge(previous, parsed);
+
+		assertThat(merged).extracting(SourceFile::getSourcePath)
+			.containsExactly(Path.of("pom.xml"), Path.of("src/main/java/A.java"),
+					Path.of("src/main/resources/application.properties"));
+		assertThat(merged).extracting(SourceFile::printAll).containsExactly("new", "old", "new");
+	}
+
+	@Test
+	@DisplayName("Reused source files get the Git provenance of the new commit")
+	void mergeShouldReplaceGitProvenance() throws Exception {
+		GitProvenance previousProvenance = GitProvenance.fromProjectDirectory(baseDir, null);
+		write("src/main/resources/application.properties", "a=c");
+		String newCommit = commit("change");
+		GitProvenance newProvenance = GitProvenance.fromProjectDirectory(baseDir, null);
+		IncrementalParseSet parseSet = IncrementalParseSet.of(baseDir, resources(), changes());
+		List<SourceFile> previous = Stream
+			.of(text("pom.xml", "old"), text("src/main/resources/application.properties", "old"),
+					text("src/main/resources/banner.txt", "old"))
+			.map(sourceFile -> sourceFile.withMarkers(sourceFile.getMarkers().add(previousProvenance)))
+			.toList();
+		List<SourceFile> parsed = Stream
+			.of(text("pom.xml", "new"), text("src/main/resources/application.properties", "new"))
+			.map(sourceFile -> sourceFile.withMarkers(sourceFile.getMarkers().add(newProvenance)))
+			.toList();
+
+		List<SourceFile> merged = parseSet.merge(previous, parsed);
+
+		assertThat(previousProvenance.getChange()).isEqualTo(previousCommit);
+		assertThat(merged).hasSize(3)
+			.allSatisfy(sourceFile -> assertThat(sourceFile.getMarkers().findAll(GitProvenance.class))
+				.extracting(GitProvenance::getChange)
+				.containsExactly(newCommit));
+	}
+
+	private GitChanges changes() throws Exception {
+		try (Git git = Git.open(baseDir.toFile())) {
+			return GitChangeDetector.detectChanges(git, previousCommit);
+		}
+	}
+
+	private List<Resource> resources() throws Exception {
+		try (Stream<Path> files = Files.walk(baseDir)) {
+			return files.filter(Files::isRegularFile)
+				.filter(p -> !baseDir.relativize(p).startsWith(".git"))
+				.map(p -> (Resource) new FileSystemResource(p))
+				.toList();
+		}
+	}
+
+	private String commit(String message) throws Exception {
+		try (Git git = Git.open(baseDir.toFile())) {
+			git.add().addFilepattern(".").call();
+			git.add().addFilepattern(".").setUpdate(true).call();
+			return git.commit().setMessage(message).setSign(false).call().getName();
+		}
+	}
+
+	private void write(String path, String content) throws Exception {
+		Path file = baseDir.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+
+	private static SourceFile text(String path, String text) {
+		return new PlainTextParser().parse(text).findFirst().orElseThrow().withSourcePath(Path.of(path));
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.text.PlainTextVisitor;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.test.util.DummyResource;
+import org.springframework.rewrite.utils.LinuxWindowsPathUnifier;
+import org.springframework.rewrite.utils.ResourceUtil;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeParsePlannerTest {
+
+	private final RecipeParsePlanner sut = new RecipeParsePlanner();
+
+	private final List<Resource> resources = List.of(new DummyResource(Path.of("pom.xml"), "<project/>"),
+			new DummyResource(Path.of("src/main/resources/application.yml"), "a: b"),
+			new DummyResource(Path.of("src/main/resources/application.properties"), "a=b"),
+			new DummyResource(Path.of("src/main/java/A.java"), "import com.acme.Foo; class A {}"),
+			new DummyResource(Path.of("src/main/java/B.java"), "class B {}"));
+
+	@Test
+	@DisplayName("A YAML recipe parses build files and YAML files")
+	void yamlRecipeShouldParseYaml() {
+		ParsePlan plan = sut.plan(recipe(new YamlIsoVisitor<>()));
+
+		assertThat(paths(plan.filter(resources))).containsExactly("pom.xml", "src/main/resources/application.yml");
+	}
+
+	@Test
+	@DisplayName("Java files are parsed when one of them uses the type of the precondition")
+	void usesTypePreconditionShouldParseJavaWhenTypeIsUsed() {
+		ParsePlan used = sut.plan(recipe(Preconditions.check(new UsesType<>("com.acme.Foo", false),
+				new JavaIsoVisitor<ExecutionContext>())));
+		ParsePlan unused = sut.plan(recipe(Preconditions.check(new UsesType<>("com.acme.Bar", false),
+				new JavaIsoVisitor<ExecutionContext>())));
+
+		assertThat(used.getJavaSearchTerms()).containsExactly("Foo");
+		assertThat(paths(used.filter(resources))).containsExactly("pom.xml", "src/main/java/A.java",
+				"src/main/java/B.java");
+		assertThat(paths(unused.filter(resources))).containsExactly("pom.xml");
+	}
+
+	@Test
+	@DisplayName("Nested preconditions keep the search terms of all preconditions")
+	void nestedPreconditionsShouldMergeSearchTerms() {
+		ParsePlan plan = sut.plan(recipe(Preconditions.check(new UsesType<>("com.acme.Foo", false),
+				Preconditions.check(new UsesType<>("com.acme.Bar", false), new JavaIsoVisitor<ExecutionContext>()))));
+
+		assertThat(plan.getJavaSearchTerms()).containsExactlyInAnyOrder("Foo", "Bar");
+		assertThat(paths(plan.filter(resources))).containsExactly("pom.xml", "src/main/java/A.java",
+				"src/main/java/B.java");
+	}
+
+	@Test
+	@DisplayName("The plan of a composite recipe combines the plans of its recipes")
+	void compositeRecipeShouldCombinePlans() {
+		Recipe composite = composite(recipe(new YamlIsoVisitor<>()), recipe(new JavaIsoVisitor<>()));
+
+		ParsePlan plan = sut.plan(composite);
+
+		assertThat(plan.getFileTypes()).containsExactlyInAnyOrder("yml", "yaml", "java");
+		assertThat(plan.filter(resources)).hasSize(4);
+	}
+
+	@Test
+	@DisplayName("All files are parsed when a visitor can't be analysed")
+	void unknownVisitorShouldParseAll() {
+		Recipe composite = composite(recipe(new YamlIsoVisitor<>()), recipe(new PlainTextVisitor<>()));
+
+		ParsePlan plan = sut.plan(composite);
+
+		assertThat(plan.isParseAll()).isTrue();
+		assertThat(plan.filter(resources)).isSameAs(resources);
+	}
+
+	private static List<String> paths(List<Resource> resources) {
+		Path baseDir = Path.of("").toAbsolutePath();
+		return resources.stream()
+			.map(r -> LinuxWindowsPathUnifier.unifiedPathString(baseDir.relativize(ResourceUtil.getPath(r))))
+			.toList();
+	}
+
+	private static Recipe recipe(TreeVisitor<?, ExecutionContext> visitor) {
+		return new Recipe() {
+			@Override
+			public String getDisplayName() {
+				return "Test recipe";
+			}
+
+			@Override
+			public String getDescription() {
+				return "Test recipe.";
+			}
+
+			@Override
+			public TreeVisitor<?, ExecutionContext> getVisitor() {
+				return visitor;
+			}
+		};
+	}
+
+	private static Recipe composite(Recipe... recipes) {
+		return new Recipe() {
+			@Override
+			public String getDisplayName() {
+				return "Composite recipe";
+			}
+
+			@Override
+			public String getDescription() {
+				return "Composite recipe.";
+			}
+
+			@Override
+			public List<Recipe> getRecipeList() {
+				return List.of(recipes);
+			}
+		};
+	}
+
+}
@@ -15,6 +15,10 @@
  */
 package org.springframework.rewrite.parser;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.eclipse.jgit.api.Git;
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,6 +27,9 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Parser;
 import org.openrewrite.SourceFile;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.marker.GitProvenance;
 import org.openrewrite.tree.ParsingEventListener;
 import org.openrewrite.tree.ParsingExecutionContextView;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
@@ -34,14 +41,26 @@ import org.springframework.rewrite.parser.maven.*;
 import org.springframework.rewrite.scopes.ProjectMetadata;
 import org.springframework.rewrite.scopes.ScanScope;
 import org.springframework.rewrite.test.util.DummyResource;
+import org.springframework.rewrite.utils.GitChangeDetector;
+import org.springframework.rewrite.utils.GitChanges;
 import org.springframework.rewrite.utils.ResourceUtil;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.ToolProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Fabian Krüger
@@ -86,6 +105,66 @@ class RewriteProjectParserTest {
 			}
 			""";
 
+	@Language("xml")
+	String parentPomXml = """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<project xmlns="http://maven.apache.org/POM/4.0.0"
+			         xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+			         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+			    <modelVersion>4.0.0</modelVersion>
+			    <groupId>org.example</groupId>
+			    <artifactId>parent</artifactId>
+			    <version>1.0.0</version>
+			    <packaging>pom</packaging>
+			    <properties>
+			        <maven.compiler.target>17</maven.compiler.target>
+			        <maven.compiler.source>17</maven.compiler.source>
+			    </properties>
+			    <modules>
+			        <module>api</module>
+			        <module>app</module>
+			    </modules>
+			</project>
+			""";
+
+	@Language("xml")
+	String modulePomXml = """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<project xmlns="http://maven.apache.org/POM/4.0.0"
+			         xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+			         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+			    <modelVersion>4.0.0</modelVersion>
+			    <parent>
+			        <groupId>org.example</groupId>
+			        <artifactId>parent</artifactId>
+			        <version>1.0.0</version>
+			    </parent>
+			    <artifactId>%s</artifactId>
+			%s</project>
+			""";
+
+	@Language("java")
+	String greeterClass = """
+			package com.example.api;
+
+			public class Greeter {
+			    public String greet() {
+			        return "Hello";
+			    }
+			}
+			""";
+
+	@Language("java")
+	String appClass = """
+			package com.example.app;
+
+			import com.example.api.Greeter;
+
+			public class App {
+			    private final Greeter greeter = new Greeter();
+			}
+			""";
+
 	@Test
 	@DisplayName("Parse simple Maven project")
 	void parseSimpleMavenProject(@TempDir Path tempDir) {
@@ -128,4 +207,256 @@ class RewriteProjectParserTest {
 		assertThat(parsingResult.sourceFiles()).hasSize(2);
 	}
 
-}
\ No newline at end of file
+	@Test
+	@DisplayName("Parsing records observations for phases, modules and source sets")
+	void parsingRecordsObservations(@TempDir Path tempDir) {
+		List<String> observations = new ArrayList<>();
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+			@Override
+			public void onStop(Observation.Context context) {
+				String tags = context.getLowCardinalityKeyValues()
+					.stream()
+					.map(kv -> kv.getKey() + "=" + kv.getValue())
+					.collect(Collectors.joining(","));
+				observations.add(context.getName() + "[" + tags + "]");
+			}
+
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return true;
+			}
+		});
+		ParsingObservations parsingObservations = new ParsingObservations(observationRegistry);
+
+		SpringRewriteProperties springRewriteProperties = new SpringRewriteProperties();
+		ExecutionContext executionContext = new InMemoryExecutionContext(t -> {
+			throw new RuntimeException(t);
+		});
+		MavenModuleParser mavenModuleParser = new MavenModuleParser(springRewriteProperties, parsingObservations);
+		MavenSettingsInitializer mavenSettingsInitializer = new MavenSettingsInitializer(executionContext,
+				new ProjectMetadata());
+		MavenProjectFactory mavenProjectFactory = new MavenProjectFactory(
+				mock(RewriteMavenArtifactDownloader.class));
+		RewriteProjectParser projectParser = new RewriteProjectParser(
+				new ProvenanceMarkerFactory(new MavenProvenanceMarkerFactory()),
+				new MavenBuildFileParser(mavenSettingsInitializer),
+				new SourceFileParser(mavenModuleParser, parsingObservations), new StyleDetector(),
+				springRewriteProperties, mock(ParsingEventListener.class), mock(ApplicationEventPublisher.class),
+				new ScanScope(), mock(ConfigurableListableBeanFactory.class),
+				new ProjectScanner(new DefaultResourceLoader(), springRewriteProperties), executionContext,
+				new MavenProjectAnalyzer(new MavenProjectSorter(new MavenProjectGraph()), mavenProjectFactory),
+				parsingObservations);
+
+		List<Resource> resources = List.of(new DummyResource(tempDir.resolve("pom.xml"), pomXml),
+				new DummyResource(tempDir.resolve("src/main/java/com/example/MyMain.java"), javaClass));
+		ResourceUtil.write(tempDir, resources);
+
+		projectParser.parse(tempDir, resources);
+
+		assertThat(observations).containsExactly("spring.rewrite.parse.phase[phase=project.graph]",
+				"spring.rewrite.parse.phase[phase=provenance]", "spring.rewrite.parse.phase[phase=build.files]",
+				"spring.rewrite.parse.source.set[module=root-project,source.set=main]",
+				"spring.rewrite.parse.source.set[module=root-project,source.set=test]",
+				"spring.rewrite.parse.source.set[module=root-project,source.set=resources]",
+				"spring.rewrite.parse.module[module=root-project]", "spring.rewrite.parse.phase[phase=source.files]",
+				"spring.rewrite.parse.phase[phase=style.detection]", "spring.rewrite.parse[]");
+	}
+
+	@Test
+	@DisplayName("Parsing waits for a running pom cache warm-up")
+	void parsingAwaitsPomCacheWarmUp(@TempDir Path tempDir) {
+		SpringRewriteProperties springRewriteProperties = new SpringRewriteProperties();
+		springRewriteProperties.setPomCacheWarmUpTimeoutMs(1_000);
+		ExecutionContext executionContext = new InMemoryExecutionContext(t -> {
+			throw new RuntimeException(t);
+		});
+		MavenSettingsInitializer mavenSettingsInitializer = new MavenSettingsInitializer(executionContext,
+				new ProjectMetadata());
+		MavenProjectFactory mavenProjectFactory = new MavenProjectFactory(
+				mock(RewriteMavenArtifactDownloader.class));
+		MavenPomCacheWarmer pomCacheWarmer = mock(MavenPomCacheWarmer.class);
+		RewriteProjectParser projectParser = new RewriteProjectParser(
+				new ProvenanceMarkerFactory(new MavenProvenanceMarkerFactory()),
+				new MavenBuildFileParser(mavenSettingsInitializer),
+				new SourceFileParser(new MavenModuleParser(springRewriteProperties)), new StyleDetector(),
+				springRewriteProperties, mock(ParsingEventListener.class), mock(ApplicationEventPublisher.class),
+				new ScanScope(), mock(ConfigurableListableBeanFactory.class),
+				new ProjectScanner(new DefaultResourceLoader(), springRewriteProperties), executionContext,
+				new MavenProjectAnalyzer(new MavenProjectSorter(new MavenProjectGraph()), mavenProjectFactory),
+				ParsingObservations.noop(), pomCacheWarmer);
+		List<Resource> resources = List.of(new DummyResource(tempDir.resolve("pom.xml"), pomXml));
+		ResourceUtil.write(tempDir, resources);
+
+		projectParser.parse(tempDir, resources);
+
+		verify(pomCacheWarmer).awaitWarmUp(Duration.ofSeconds(1));
+	}
+
+	@Test
+	@DisplayName("Upstream modules of a selected module provide their types from target/classes")
+	void upstreamModuleTypesFromBuildOutput(@TempDir Path tempDir) throws IOException {
+		// only the compiled upstream class exists, its source can't be the origin of the type
+		List<Resource> resources = multiModuleResources(tempDir).stream()
+			.filter(r -> !ResourceUtil.getPath(r).endsWith("Greeter.java"))
+			.toList();
+		ResourceUtil.write(tempDir, resources);
+		Path greeterSource = Files.createDirectories(tempDir.resolve("greeter-src")).resolve("Greeter.java");
+		Files.writeString(greeterSource, greeterClass);
+		Path classes = Files.createDirectories(tempDir.resolve("api/target/classes"));
+		int exitCode = ToolProvider.getSystemJavaCompiler()
+			.run(null, null, null, "-d", classes.toString(), greeterSource.toString());
+		assertThat(exitCode).isZero();
+		Files.delete(greeterSource);
+
+		RewriteProjectParsingResult parsingResult = projectParser().parse(tempDir, resources,
+				ModuleSelection.module(Path.of("app"), false));
+
+		assertSelectedModuleOnly(parsingResult);
+	}
+
+	@Test
+	@DisplayName("Upstream modules of a selected module provide their types from their sources without target/classes")
+	void upstreamModuleTypesFromSources(@TempDir Path tempDir) {
+		List<Resource> resources = multiModuleResources(tempDir);
+		ResourceUtil.write(tempDir, resources);
+		assertThat(tempDir.resolve("api/target/classes")).doesNotExist();
+
+		RewriteProjectParsingResult parsingResult = projectParser().parse(tempDir, resources,
+				ModuleSelection.module(Path.of("app"), false));
+
+		assertSelectedModuleOnly(parsingResult);
+	}
+
+	@Test
+	@DisplayName("Parsing incrementally parses the changed files and reuses the others")
+	void parseIncrementally(@TempDir Path tempDir) throws Exception {
+		@Language("xml")
+		String simplePomXml = """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+				    <modelVersion>4.0.0</modelVersion>
+				    <groupId>org.example</groupId>
+				    <artifactId>incremental</artifactId>
+				    <version>1.0.0</version>
+				</project>
+				""";
+		ResourceUtil.write(tempDir,
+				List.of(new DummyResource(tempDir.resolve("pom.xml"), simplePomXml),
+						new DummyResource(tempDir.resolve("src/main/java/com/example/api/Greeter.java"), greeterClass),
+						new DummyResource(tempDir.resolve("src/main/resources/application.properties"), "a=b")));
+		RewriteProjectParser projectParser = projectParser();
+
+		try (Git git = Git.init().setDirectory(tempDir.toFile()).call()) {
+			String previousCommit = commit(git, "initial");
+			RewriteProjectParsingResult previous = projectParser.parse(tempDir);
+			Files.writeString(tempDir.resolve("src/main/resources/application.properties"), "a=c");
+			commit(git, "change");
+			GitChanges changes = GitChangeDetector.detectChanges(git, previousCommit);
+
+			RewriteProjectParsingResult parsingResult = projectParser.parseIncrementally(tempDir, previous,
+					previousCommit, changes);
+
+			assertThat(parsingResult.sourceFiles()).extracting(SourceFile::getSourcePath)
+				.containsExactlyInAnyOrderElementsOf(
+						previous.sourceFiles().stream().map(SourceFile::getSourcePath).toList());
+			assertThat(sourceFile(parsingResult, "application.properties").printAll()).isEqualTo("a=c");
+			// reused with the provenance of the new commit
+			assertThat(sourceFile(parsingResult, "Greeter.java").getId())
+				.isEqualTo(sourceFile(previous, "Greeter.java").getId());
+			assertThat(Stream.of("Greeter.java", "application.properties")
+				.map(fileName -> sourceFile(parsingResult, fileName).getMarkers().findFirst(GitProvenance.class))
+				.map(gitProvenance -> gitProvenance.map(GitProvenance::getChange)))
+				.containsOnly(Optional.of(changes.toCommit()));
+		}
+	}
+
+	@Test
+	@DisplayName("Parsing incrementally rejects changes not starting at the commit of the previous result")
+	void parseIncrementallyRejectsOtherCommit(@TempDir Path tempDir) throws Exception {
+		Path properties = tempDir.resolve("application.properties");
+		RewriteProjectParsingResult previous = new RewriteProjectParsingResult(List.of(),
+				new InMemoryExecutionContext());
+
+		try (Git git = Git.init().setDirectory(tempDir.toFile()).call()) {
+			Files.writeString(properties, "a=b");
+			String firstCommit = commit(git, "initial");
+			Files.writeString(properties, "a=c");
+			String secondCommit = commit(git, "change");
+			Files.writeString(properties, "a=d");
+			commit(git, "another change");
+			GitChanges changes = GitChangeDetector.detectChanges(git, secondCommit);
+			RewriteProjectParser projectParser = projectParser();
+
+			assertThatIllegalArgumentException()
+				.isThrownBy(() -> projectParser.parseIncrementally(tempDir, previous, firstCommit, changes))
+				.withMessageContaining(firstCommit);
+		}
+	}
+
+	private static SourceFile sourceFile(RewriteProjectParsingResult parsingResult, String fileName) {
+		return parsingResult.sourceFiles()
+			.stream()
+			.filter(sourceFile -> sourceFile.getSourcePath().endsWith(fileName))
+			.findFirst()
+			.orElseThrow();
+	}
+
+	private static String commit(Git git, String message) throws Exception {
+		git.add().addFilepattern(".").call();
+		git.add().addFilepattern(".").setUpdate(true).call();
+		return git.commit().setMessage(message).setSign(false).call().getName();
+	}
+
+	private void assertSelectedModuleOnly(RewriteProjectParsingResult parsingResult) {
+		List<SourceFile> sourceFiles = parsingResult.sourceFiles();
+		assertThat(sourceFiles).extracting(sourceFile -> sourceFile.getSourcePath().toString())
+			.contains("app/pom.xml", "app/src/main/java/com/example/app/App.java")
+			.noneMatch(sourcePath -> sourcePath.startsWith("api/"));
+		J.CompilationUnit app = sourceFiles.stream()
+			.filter(J.CompilationUnit.class::isInstance)
+			.map(J.CompilationUnit.class::cast)
+			.filter(cu -> cu.getSourcePath().endsWith("App.java"))
+			.findFirst()
+			.orElseThrow();
+		assertThat(app.getTypesInUse().getTypesInUse()).filteredOn(JavaType.FullyQualified.class::isInstance)
+			.extracting(type -> ((JavaType.FullyQualified) type).getFullyQualifiedName())
+			.contains("com.example.api.Greeter");
+	}
+
+	private RewriteProjectParser projectParser() {
+		SpringRewriteProperties springRewriteProperties = new SpringRewriteProperties();
+		ExecutionContext executionContext = new InMemoryExecutionContext(t -> {
+			throw new RuntimeException(t);
+		});
+		MavenSettingsInitializer mavenSettingsInitializer = new MavenSettingsInitializer(executionContext,
+				new ProjectMetadata());
+		MavenProjectFactory mavenProjectFactory = new MavenProjectFactory(
+				mock(RewriteMavenArtifactDownloader.class));
+		return new RewriteProjectParser(new ProvenanceMarkerFactory(new MavenProvenanceMarkerFactory()),
+				new MavenBuildFileParser(mavenSettingsInitializer),
+				new SourceFileParser(new MavenModuleParser(springRewriteProperties)), new StyleDetector(),
+				springRewriteProperties, mock(ParsingEventListener.class), mock(ApplicationEventPublisher.class),
+				new ScanScope(), mock(ConfigurableListableBeanFactory.class),
+				new ProjectScanner(new DefaultResourceLoader(), springRewriteProperties), executionContext,
+				new MavenProjectAnalyzer(new MavenProjectSorter(new MavenProjectGraph()), mavenProjectFactory));
+	}
+
+	private List<Resource> multiModuleResources(Path baseDir) {
+		String apiDependency = """
+				    <dependencies>
+				        <dependency>
+				            <groupId>org.example</groupId>
+				            <artifactId>api</artifactId>
+				            <version>1.0.0</version>
+				        </dependency>
+				    </dependencies>
+				""";
+		return List.of(new DummyResource(baseDir.resolve("pom.xml"), parentPomXml),
+				new DummyResource(baseDir.resolve("api/pom.xml"), modulePomXml.formatted("api", "")),
+				new DummyResource(baseDir.resolve("api/src/main/java/com/example/api/Greeter.java"), greeterClass),
+				new DummyResource(baseDir.resolve("app/pom.xml"), modulePomXml.formatted("app", apiDependency)),
+				new DummyResource(baseDir.resolve("app/src/main/java/com/example/app/App.java"), appClass));
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.springframework.rewrite.parser.SpringRewriteProperties.ParsingEventsOverflowPolicy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncBatchingParsingEventListenerTest {
+
+	private final List<Object> publishedEvents = new CopyOnWriteArrayList<>();
+
+	@Test
+	@DisplayName("Parsing events are coalesced into one batch")
+	void eventsAreCoalesced() {
+		AsyncBatchingParsingEventListener sut = new AsyncBatchingParsingEventListener(publishedEvents::add, 10,
+				Duration.ofHours(1), ParsingEventsOverflowPolicy.BLOCK);
+
+		sut.startedParsing(input("pom.xml"));
+		sut.parsed(input("pom.xml"), sourceFile("pom.xml"));
+		sut.intermediateMessage("message");
+		sut.startedParsing(input("src/main/java/A.java"));
+		sut.parsed(input("src/main/java/A.java"), sourceFile("src/main/java/A.java"));
+
+		assertThat(publishedEvents).isEmpty();
+		sut.flush();
+
+		assertThat(publishedEvents).containsExactly(new ParsedResourcesBatchEvent(
+				List.of(Path.of("pom.xml"), Path.of("src/main/java/A.java")),
+				List.of(Path.of("pom.xml"), Path.of("src/main/java/A.java")), List.of("message"), 0));
+		sut.destroy();
+	}
+
+	@Test
+	@DisplayName("Events are dropped and counted when the queue is full and DROP is used")
+	void eventsAreDroppedWhenQueueIsFull() {
+		AsyncBatchingParsingEventListener sut = new AsyncBatchingParsingEventListener(publishedEvents::add, 1,
+				Duration.ofHours(1), ParsingEventsOverflowPolicy.DROP);
+
+		sut.startedParsing(input("a"));
+		sut.startedParsing(input("b"));
+		sut.startedParsing(input("c"));
+		sut.flush();
+
+		assertThat(publishedEvents).containsExactly(
+				new ParsedResourcesBatchEvent(List.of(Path.of("a")), List.of(), List.of(), 2));
+		sut.destroy();
+	}
+
+	@Test
+	@DisplayName("Pending events are published periodically")
+	void eventsArePublishedPeriodically() throws InterruptedException {
+		AsyncBatchingParsingEventListener sut = new AsyncBatchingParsingEventListener(publishedEvents::add, 10,
+				Duration.ofMillis(10), ParsingEventsOverflowPolicy.BLOCK);
+
+		sut.startedParsing(input("a"));
+		for (int i = 0; i < 500 && publishedEvents.isEmpty(); i++) {
+			Thread.sleep(10);
+		}
+
+		assertThat(publishedEvents).hasSize(1);
+		sut.destroy();
+	}
+
+	private static Parser.Input input(String path) {
+		return new Parser.Input(Path.of(path), () -> new ByteArrayInputStream(new byte[0]));
+	}
+
+	private static SourceFile sourceFile(String path) {
+		SourceFile sourceFile = mock(SourceFile.class);
+		when(sourceFile.getSourcePath()).thenReturn(Path.of(path));
+		return sourceFile;
+	}
+
+}
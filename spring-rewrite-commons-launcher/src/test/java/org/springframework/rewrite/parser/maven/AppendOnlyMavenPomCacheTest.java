@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.maven;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.maven.tree.ResolvedGroupArtifactVersion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppendOnlyMavenPomCacheTest {
+
+	@TempDir
+	Path cacheDir;
+
+	@Test
+	@DisplayName("Lookups of unknown entries are counted as misses")
+	void unknownEntryIsMiss() throws IOException {
+		try (AppendOnlyMavenPomCache cache = new AppendOnlyMavenPomCache(cacheDir, 1024 * 1024)) {
+			assertThat(cache.getPom(gav("1.0.0"))).isNull();
+			MavenPomCacheStatistics statistics = cache.getStatistics();
+			assertThat(statistics.missCount()).isEqualTo(1);
+			assertThat(statistics.hitCount()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	@DisplayName("Entries survive reopening the cache")
+	void entriesArePersisted() throws IOException {
+		try (AppendOnlyMavenPomCache cache = new AppendOnlyMavenPomCache(cacheDir, 1024 * 1024)) {
+			cache.putPom(gav("1.0.0"), null);
+		}
+		try (AppendOnlyMavenPomCache cache = new AppendOnlyMavenPomCache(cacheDir, 1024 * 1024)) {
+			assertThat(cache.getPom(gav("1.0.0"))).isEmpty();
+			assertThat(cache.getPom(gav("2.0.0"))).isNull();
+			MavenPomCacheStatistics statistics = cache.getStatistics();
+			assertThat(statistics.entryCount()).isEqualTo(1);
+			assertThat(statistics.hitCount()).isEqualTo(1);
+			assertThat(statistics.missCount()).isEqualTo(1);
+			assertThat(statistics.hitRate()).isEqualTo(0.5);
+		}
+	}
+
+	@Test
+	@DisplayName("An incomplete trailing record is dropped when opening the cache")
+	void incompleteRecordIsTruncated() throws IOException {
+		try (AppendOnlyMavenPomCache cache = new AppendOnlyMavenPomCache(cacheDir, 1024 * 1024)) {
+			cache.putPom(gav("1.0.0"), null);
+		}
+		Path cacheFile = cacheDir.resolve(AppendOnlyMavenPomCache.CACHE_FILE_NAME);
+		long validSize = Files.size(cacheFile);
+		Files.write(cacheFile, new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+
+		try (AppendOnlyMavenPomCache cache = new AppendOnlyMavenPomCache(cacheDir, 1024 * 1024)) {
+			assertThat(cache.getPom(gav("1.0.0"))).isEmpty();
+			assertThat(cache.getStatistics().sizeInBytes()).isEqualTo(validSize);
+		}
+		assertThat(Files.size(cacheFile)).isEqualTo(validSize);
+	}
+
+	@Test
+	@DisplayName("Least recently used entries are evicted when the max size is exceeded")
+	void leastRecentlyUsedEntriesAreEvicted() throws IOException {
+		try (AppendOnlyMavenPomCache cache = new AppendOnlyMavenPomCache(cacheDir, 1000)) {
+			cache.putPom(gav("0"), null);
+			for (int i = 1; i < 100; i++) {
+				// keep the first entry hot
+				cache.getPom(gav("0"));
+				cache.putPom(gav(String.valueOf(i)), null);
+			}
+			MavenPomCacheStatistics statistics = cache.getStatistics();
+			assertThat(statistics.sizeInBytes()).isLessThanOrEqualTo(1000);
+			assertThat(statistics.evictionCount()).isPositive();
+			assertThat(statistics.entryCount() + statistics.evictionCount()).isEqualTo(100);
+			assertThat(cache.getPom(gav("0"))).isEmpty();
+			assertThat(cache.getPom(gav("1"))).isNull();
+			assertThat(cache.getPom(gav("99"))).isEmpty();
+		}
+	}
+
+	private static ResolvedGroupArtifactVersion gav(String version) {
+		return new ResolvedGroupArtifactVersion("https://repo.maven.apache.org/maven2", "com.acme", "example", version,
+				null);
+	}
+
+}
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
 import org.junitpioneer.jupiter.SetSystemProperty;
 import org.openrewrite.maven.cache.CompositeMavenPomCache;
 import org.openrewrite.maven.cache.InMemoryMavenPomCache;
@@ -28,13 +29,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.rewrite.parser.RewriteParserConfiguration;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -44,6 +49,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class MavenPomCacheTest {
 
+	@Test
+	@DisplayName("The append-only pom cache is closed with the application context")
+	void appendOnlyPomCacheShouldBeClosedWithContext(@TempDir Path cacheDirectory) {
+		AtomicReference<Object> appendOnlyCache = new AtomicReference<>();
+		new ApplicationContextRunner().withUserConfiguration(RewriteParserConfiguration.class)
+			.withPropertyValues("spring.rewrite.pomCacheEnabled=true", "spring.rewrite.pomCacheType=APPEND_ONLY_LOG",
+					"spring.rewrite.pomCacheDirectory=" + cacheDirectory)
+			.run(appCtx -> appendOnlyCache
+				.set(ReflectionTestUtils.getField(appCtx.getBean(MavenPomCache.class), "l2")));
+
+		FileChannel channel = (FileChannel) ReflectionTestUtils.getField(appendOnlyCache.get(), "channel");
+		assertThat(channel.isOpen()).isFalse();
+	}
+
 	@Nested
 	@SetSystemProperty(key = "sun.arch.data.model", value = "64")
 	class GivenA64BitSystem {
@@ -74,6 +93,27 @@ public class MavenPomCacheTest {
 
 		}
 
+		@Nested
+		@SpringBootTest(classes = { RewriteParserConfiguration.class },
+				properties = { "spring.rewrite.pomCacheEnabled=true", "spring.rewrite.pomCacheType=APPEND_ONLY_LOG",
+						"spring.rewrite.pomCacheDirectory=target/append-only-pom-cache" })
+		@DirtiesContext
+		class WhenPomCacheTypeIsAppendOnlyLog {
+
+			@Autowired
+			private MavenPomCache mavenPomCache;
+
+			@Test
+			@DisplayName("The used CompositeMavenPomCache should be AppendOnly and InMemory cache")
+			void compositePomCacheShouldBeUsed() {
+				assertThat(mavenPomCache).isInstanceOf(CompositeMavenPomCache.class);
+				assertThat(List.of(ReflectionTestUtils.getField(mavenPomCache, "l1").getClass(),
+						ReflectionTestUtils.getField(mavenPomCache, "l2").getClass()))
+					.containsExactly(InMemoryMavenPomCache.class, AppendOnlyMavenPomCache.class);
+			}
+
+		}
+
 		@Nested
 		@SpringBootTest(classes = RewriteParserConfiguration.class, properties = { "parser.pomCacheEnabled=false" })
 		@DirtiesContext
@@ -109,6 +149,25 @@ public class MavenPomCacheTest {
 
 	}
 
+	@Nested
+	@DirtiesContext
+	@SpringBootTest(classes = RewriteParserConfiguration.class,
+			properties = { "spring.rewrite.pomCacheEnabled=true", "spring.rewrite.pomCacheType=APPEND_ONLY_LOG",
+					"spring.rewrite.pomCacheDirectory=target/append-only-pom-cache" })
+	@SetSystemProperty(key = "sun.arch.data.model", value = "32")
+	class GivenA32BitSystemAndAppendOnlyLogPomCache {
+
+		@Autowired
+		private MavenPomCache mavenPomCache;
+
+		@Test
+		@DisplayName("With 32Bit the pure Java pom cache can be used")
+		void shouldUseAppendOnlyMavenPomCache() {
+			assertThat(ReflectionTestUtils.getField(mavenPomCache, "l2")).isInstanceOf(AppendOnlyMavenPomCache.class);
+		}
+
+	}
+
 	@Nested
 	@DirtiesContext
 	@Import(GivenCustomCacheProvided.CustomCacheConfig.class)
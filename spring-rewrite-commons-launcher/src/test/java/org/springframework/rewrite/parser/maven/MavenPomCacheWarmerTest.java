@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.maven;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.tree.Pom;
+import org.openrewrite.maven.tree.ResolvedGroupArtifactVersion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MavenPomCacheWarmerTest {
+
+	@TempDir
+	Path localRepository;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		writePom("com/acme", "lib", "1.0", "jar", true);
+		writePom("com/acme", "parent", "1.0", "pom", false);
+		writePom("com/acme", "no-jar", "1.0", "jar", false);
+		Files.writeString(localRepository.resolve("com/acme/lib/maven-metadata-local.xml"), "<metadata/>");
+	}
+
+	@Test
+	@DisplayName("The index maps coordinates to pom and jar")
+	void indexShouldContainPomAndJar() {
+		LocalMavenRepositoryIndex index = LocalMavenRepositoryIndex.create(localRepository);
+
+		assertThat(index.size()).isEqualTo(3);
+		LocalMavenRepositoryIndex.Entry lib = index.find("com.acme", "lib", "1.0").orElseThrow();
+		assertThat(lib.pom()).isEqualTo(localRepository.resolve("com/acme/lib/1.0/lib-1.0.pom"));
+		assertThat(lib.jar()).isEqualTo(localRepository.resolve("com/acme/lib/1.0/lib-1.0.jar"));
+		assertThat(index.find("com.acme", "parent", "1.0").orElseThrow().jar()).isNull();
+	}
+
+	@Test
+	@DisplayName("The index of a non existing repository is empty")
+	void indexOfNonExistingRepositoryShouldBeEmpty() {
+		assertThat(LocalMavenRepositoryIndex.create(localRepository.resolve("does-not-exist")).size()).isZero();
+	}
+
+	@Test
+	@DisplayName("Warm-up adds poms usable by the MavenPomDownloader to the cache")
+	void warmUpShouldPopulateCache() throws Exception {
+		InMemoryMavenPomCache pomCache = new InMemoryMavenPomCache();
+		MavenPomCacheWarmer warmer = new MavenPomCacheWarmer(pomCache, localRepository, 2);
+		try {
+			assertThat(warmer.warmUpInBackground().join()).isEqualTo(2);
+
+			Optional<Pom> lib = pomCache.getPom(gav("lib"));
+			assertThat(lib).isNotNull();
+			assertThat(lib).hasValueSatisfying(pom -> assertThat(pom.getArtifactId()).isEqualTo("lib"));
+			assertThat(pomCache.getPom(gav("parent"))).isNotNull();
+			assertThat(pomCache.getPom(gav("no-jar"))).isNull();
+		}
+		finally {
+			warmer.destroy();
+		}
+	}
+
+	@Test
+	@DisplayName("A corrupt pom is skipped and doesn't fail the warm-up")
+	void corruptPomShouldBeSkipped() throws IOException {
+		Path corruptPom = Files.createDirectories(localRepository.resolve("com/acme/corrupt/1.0"))
+			.resolve("corrupt-1.0.pom");
+		Files.writeString(corruptPom, "<project><artifactId>corrupt");
+		Files.write(localRepository.resolve("com/acme/corrupt/1.0/corrupt-1.0.jar"), new byte[] { 1 });
+		InMemoryMavenPomCache pomCache = new InMemoryMavenPomCache();
+		MavenPomCacheWarmer warmer = new MavenPomCacheWarmer(pomCache, localRepository, 2);
+		try {
+			CompletableFuture<Integer> warmUp = warmer.warmUpInBackground();
+
+			assertThat(warmer.awaitWarmUp(Duration.ofSeconds(10))).isTrue();
+			assertThat(warmUp.join()).isEqualTo(2);
+			assertThat(pomCache.getPom(gav("corrupt"))).isNull();
+			assertThat(pomCache.getPom(gav("lib"))).isNotNull();
+		}
+		finally {
+			warmer.destroy();
+		}
+	}
+
+	private ResolvedGroupArtifactVersion gav(String artifactId) {
+		return new ResolvedGroupArtifactVersion(MavenSettingsInitializer.localRepositoryUri(localRepository),
+				"com.acme", artifactId, "1.0", null);
+	}
+
+	private void writePom(String groupPath, String artifactId, String version, String packaging, boolean withJar)
+			throws IOException {
+		Path versionDir = localRepository.resolve(groupPath).resolve(artifactId).resolve(version);
+		Files.createDirectories(versionDir);
+		Files.writeString(versionDir.resolve(artifactId + "-" + version + ".pom"), """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+				    <modelVersion>4.0.0</modelVersion>
+				    <groupId>com.acme</groupId>
+				    <artifactId>%s</artifactId>
+				    <version>%s</version>
+				    <packaging>%s</packaging>
+				</project>
+				""".formatted(artifactId, version, packaging));
+		if (withJar) {
+			Files.write(versionDir.resolve(artifactId + "-" + version + ".jar"), new byte[] { 1 });
+		}
+	}
+
+}
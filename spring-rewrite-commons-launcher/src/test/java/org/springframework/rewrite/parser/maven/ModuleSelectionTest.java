@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.maven;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.test.util.DummyResource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ModuleSelectionTest {
+
+	private final Path baseDir = Path.of("./target/module-selection").toAbsolutePath().normalize();
+
+	private List<MavenProject> sortedProjects;
+
+	@BeforeEach
+	void beforeEach() {
+		List<Resource> resources = List.of(new DummyResource(baseDir.resolve("pom.xml"), """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+				    <modelVersion>4.0.0</modelVersion>
+				    <groupId>com.acme</groupId>
+				    <artifactId>parent</artifactId>
+				    <version>0.1.0-SNAPSHOT</version>
+				    <packaging>pom</packaging>
+				    <modules>
+				        <module>a</module>
+				        <module>b</module>
+				        <module>c</module>
+				        <module>d</module>
+				    </modules>
+				</project>
+				"""), modulePom("a", null), modulePom("b", "a"), modulePom("c", "b"), modulePom("d", null));
+		MavenProjectFactory mavenProjectFactory = new MavenProjectFactory(
+				Mockito.mock(RewriteMavenArtifactDownloader.class));
+		MavenProjectSorter sorter = new MavenProjectSorter(new MavenProjectGraph());
+		sortedProjects = sorter.sort(baseDir, mavenProjectFactory.create(baseDir, resources));
+	}
+
+	@Test
+	@DisplayName("All modules are selected by default")
+	void allModulesShouldBeSelected() {
+		ModuleSelection.Modules modules = ModuleSelection.all().select(baseDir, sortedProjects);
+
+		assertThat(modules.selected()).containsExactlyElementsOf(sortedProjects);
+		assertThat(modules.upstream()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("The selected module is parsed, the modules it depends on are upstream")
+	void selectedModuleShouldBeParsed() {
+		ModuleSelection.Modules modules = ModuleSelection.module(Path.of("c"), false).select(baseDir, sortedProjects);
+
+		assertThat(modules.selected()).extracting(MavenProject::getArtifactId).containsExactly("c");
+		assertThat(modules.upstream()).extracting(MavenProject::getArtifactId).containsExactly("a", "b");
+	}
+
+	@Test
+	@DisplayName("Dependent modules are selected with includeDependents")
+	void dependentModulesShouldBeSelected() {
+		ModuleSelection.Modules modules = ModuleSelection.module(Path.of("b"), true).select(baseDir, sortedProjects);
+
+		assertThat(modules.selected()).extracting(MavenProject::getArtifactId).containsExactly("b", "c");
+		assertThat(modules.upstream()).extracting(MavenProject::getArtifactId).containsExactly("a");
+	}
+
+	@Test
+	@DisplayName("Selecting a non existing module fails")
+	void unknownModuleShouldFail() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> ModuleSelection.module(Path.of("x"), false).select(baseDir, sortedProjects))
+			.withMessageContaining("No Maven module found in 'x'");
+	}
+
+	private Resource modulePom(String artifactId, String dependency) {
+		String dependencies = dependency == null ? "" : """
+				    <dependencies>
+				        <dependency>
+				            <groupId>com.acme</groupId>
+				            <artifactId>%s</artifactId>
+				            <version>0.1.0-SNAPSHOT</version>
+				        </dependency>
+				    </dependencies>
+				""".formatted(dependency);
+		return new DummyResource(baseDir.resolve(artifactId).resolve("pom.xml"), """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+				    <modelVersion>4.0.0</modelVersion>
+				    <parent>
+				        <groupId>com.acme</groupId>
+				        <artifactId>parent</artifactId>
+				        <version>0.1.0-SNAPSHOT</version>
+				    </parent>
+				    <artifactId>%s</artifactId>
+				%s</project>
+				""".formatted(artifactId, dependencies));
+	}
+
+}
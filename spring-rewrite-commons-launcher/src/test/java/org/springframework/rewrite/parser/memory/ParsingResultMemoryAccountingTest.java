@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.parser.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.marker.JavaProject;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ParsingResultMemoryAccountingTest {
+
+	private final List<Object> publishedEvents = new ArrayList<>();
+
+	private final ParsingResultMemoryAccounting sut = new ParsingResultMemoryAccounting(publishedEvents::add, 1.0);
+
+	@Test
+	@DisplayName("Retained bytes are reported by source file type, module, markers and types")
+	void accountSourceFiles() {
+		SourceFile javaSource = withJavaProject(JavaParser.fromJavaVersion()
+			.build()
+			.parse(new InMemoryExecutionContext(), """
+					package com.example;
+					import java.util.List;
+					public class A {
+					    List<String> names() {
+					        return List.of("a", "b");
+					    }
+					}
+					""")
+			.findFirst()
+			.orElseThrow(), "module-a");
+		SourceFile plainText = withJavaProject(PlainText.builder().sourcePath(Path.of("some.txt")).text("text").build(),
+				"module-b");
+
+		ParsingResultMemoryReport report = sut.account(List.of(javaSource, plainText));
+
+		assertThat(report.sourceFiles()).isEqualTo(2);
+		assertThat(report.sampledSourceFiles()).isEqualTo(2);
+		assertThat(report.treeBytes()).isPositive();
+		assertThat(report.markerBytes()).isPositive();
+		assertThat(report.typeBytes()).isPositive();
+		assertThat(report.types()).isPositive();
+		assertThat(report.totalBytes())
+			.isEqualTo(report.treeBytes() + report.markerBytes() + report.typeBytes());
+		assertThat(report.bytesBySourceFileType()).containsOnlyKeys("J.CompilationUnit", "PlainText");
+		assertThat(report.bytesByModule()).containsOnlyKeys("module-a", "module-b");
+		assertThat(report.bytesByModule().get("module-a")).isGreaterThan(report.bytesByModule().get("module-b"));
+		assertThat(report.bytesByModule().values().stream().mapToLong(Long::longValue).sum())
+			.isEqualTo(report.treeBytes() + report.markerBytes());
+	}
+
+	@Test
+	@DisplayName("Source files without JavaProject marker are reported as unknown module")
+	void unknownModule() {
+		SourceFile plainText = PlainText.builder().sourcePath(Path.of("some.txt")).text("text").build();
+
+		ParsingResultMemoryReport report = sut.account(List.of(plainText));
+
+		assertThat(report.bytesByModule()).containsOnlyKeys(ParsingResultMemoryAccounting.UNKNOWN_MODULE);
+	}
+
+	@Test
+	@DisplayName("The sample rate must be in (0, 1]")
+	void invalidSampleRate() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new ParsingResultMemoryAccounting(e -> {
+		}, 0));
+		assertThatIllegalArgumentException().isThrownBy(() -> new ParsingResultMemoryAccounting(e -> {
+		}, 1.5));
+	}
+
+	private static SourceFile withJavaProject(SourceFile sourceFile, String projectName) {
+		return sourceFile.withMarkers(sourceFile.getMarkers().add(new JavaProject(Tree.randomId(), projectName, null)));
+	}
+
+}
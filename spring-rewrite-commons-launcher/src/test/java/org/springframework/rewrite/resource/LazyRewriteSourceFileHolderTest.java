@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.xml.tree.Xml;
+import org.openrewrite.yaml.tree.Yaml;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.rewrite.parser.maven.MavenBuildFileParser;
+import org.springframework.rewrite.parser.maven.MavenProjectAnalyzer;
+import org.springframework.rewrite.parser.maven.MavenProjectFactory;
+import org.springframework.rewrite.parser.maven.MavenProjectGraph;
+import org.springframework.rewrite.parser.maven.MavenProjectSorter;
+import org.springframework.rewrite.parser.maven.MavenSettingsInitializer;
+import org.springframework.rewrite.parser.maven.RewriteMavenArtifactDownloader;
+import org.springframework.rewrite.resource.finder.PathPatternMatchingProjectResourceFinder;
+import org.springframework.rewrite.scopes.ProjectMetadata;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LazyRewriteSourceFileHolderTest {
+
+	@TempDir
+	Path baseDir;
+
+	private ProjectResourceSet projectResourceSet;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		ProjectResourceSetFactory factory = new ProjectResourceSetFactory(mock(RewriteMigrationResultMerger.class),
+				new RewriteSourceFileWrapper(), new InMemoryExecutionContext());
+		List<Resource> resources = List.of(write("src/main/resources/application.yml", "spring:\n  foo: bar\n"),
+				write("src/main/resources/application.properties", "foo=bar\n"),
+				write("src/main/java/A.java", "class A {}\n"));
+		projectResourceSet = factory.createLazily(baseDir, resources);
+	}
+
+	@Test
+	@DisplayName("Finding resources by path does not parse them")
+	void findingByPathShouldNotParse() {
+		List<ProjectResource> found = new PathPatternMatchingProjectResourceFinder("/**/application.yml")
+			.apply(projectResourceSet);
+
+		assertThat(found).hasSize(1);
+		assertThat(found.get(0).getSourcePath()).isEqualTo(Path.of("src/main/resources/application.yml"));
+		assertThat(projectResourceSet.stream().map(LazyRewriteSourceFileHolder.class::cast))
+			.noneMatch(LazyRewriteSourceFileHolder::isParsed);
+	}
+
+	@Test
+	@DisplayName("Only the accessed resource gets parsed")
+	void accessShouldParseOnlyThisResource() {
+		LazyRewriteSourceFileHolder<?> yaml = holder("application.yml");
+
+		assertThat(yaml.print()).isEqualTo("spring:\n  foo: bar\n");
+		assertThat(yaml.getSourceFile()).isInstanceOf(Yaml.Documents.class);
+		assertThat(yaml.hasChanges()).isFalse();
+		assertThat(yaml.isParsed()).isTrue();
+		assertThat(holder("application.properties").isParsed()).isFalse();
+		assertThat(holder("application.properties").getSourceFile()).isInstanceOf(Properties.File.class);
+	}
+
+	@Test
+	@DisplayName("Moving a lazy resource parses it and marks it as changed")
+	void moveShouldParse() {
+		LazyRewriteSourceFileHolder<?> properties = holder("application.properties");
+
+		properties.moveTo(Path.of("config/application.properties"));
+
+		assertThat(properties.isParsed()).isTrue();
+		assertThat(properties.hasChanges()).isTrue();
+		assertThat(properties.getSourceFile().getSourcePath()).isEqualTo(Path.of("config/application.properties"));
+	}
+
+	@Test
+	@DisplayName("Java sources of a module are parsed with their sibling sources, upstream sources and build file")
+	void javaSourcesShouldBeParsedWithModuleContext() throws IOException {
+		String modulePomXml = """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+				    <modelVersion>4.0.0</modelVersion>
+				    <parent>
+				        <groupId>org.example</groupId>
+				        <artifactId>parent</artifactId>
+				        <version>1.0.0</version>
+				    </parent>
+				    <artifactId>%s</artifactId>
+				%s</project>
+				""";
+		String apiDependency = """
+				    <dependencies>
+				        <dependency>
+				            <groupId>org.example</groupId>
+				            <artifactId>api</artifactId>
+				            <version>1.0.0</version>
+				        </dependency>
+				    </dependencies>
+				""";
+		List<Resource> resources = List.of(write("reactor/pom.xml", """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+				    <modelVersion>4.0.0</modelVersion>
+				    <groupId>org.example</groupId>
+				    <artifactId>parent</artifactId>
+				    <version>1.0.0</version>
+				    <packaging>pom</packaging>
+				    <modules>
+				        <module>api</module>
+				        <module>app</module>
+				    </modules>
+				</project>
+				"""), write("reactor/api/pom.xml", modulePomXml.formatted("api", "")),
+				write("reactor/api/src/main/java/com/example/api/Greeter.java", """
+						package com.example.api;
+						public class Greeter {}
+						"""), write("reactor/app/pom.xml", modulePomXml.formatted("app", apiDependency)),
+				write("reactor/app/src/main/java/com/example/app/Helper.java", """
+						package com.example.app;
+						public class Helper {}
+						"""), write("reactor/app/src/main/java/com/example/app/App.java", """
+						package com.example.app;
+						import com.example.api.Greeter;
+						public class App {
+						    Greeter greeter = new Greeter();
+						    Helper helper = new Helper();
+						}
+						"""), write("reactor/app/src/main/resources/application.yml", "spring:\n  foo: bar\n"));
+		ProjectResourceSet resourceSet = mavenAwareFactory().createLazily(baseDir.resolve("reactor"), resources);
+
+		assertThat(holder(resourceSet, "App.java").getType()).isEqualTo(J.CompilationUnit.class);
+		assertThat(holder(resourceSet, "pom.xml").getType()).isEqualTo(Xml.Document.class);
+		assertThat(resourceSet.stream().map(LazyRewriteSourceFileHolder.class::cast))
+			.noneMatch(LazyRewriteSourceFileHolder::isParsed);
+
+		J.CompilationUnit app = (J.CompilationUnit) holder(resourceSet, "App.java").getSourceFile();
+
+		assertThat(app.getTypesInUse().getTypesInUse()).filteredOn(JavaType.FullyQualified.class::isInstance)
+			.extracting(type -> ((JavaType.FullyQualified) type).getFullyQualifiedName())
+			.contains("com.example.api.Greeter", "com.example.app.Helper");
+		assertThat(holder(resourceSet, "Helper.java").isParsed()).isFalse();
+		assertThat(holder(resourceSet, "Helper.java").getSourceFile()).isInstanceOf(J.CompilationUnit.class);
+		assertThat(holder(resourceSet, "Greeter.java").isParsed()).isFalse();
+		assertThat(holder(resourceSet, "application.yml").isParsed()).isFalse();
+		assertThat(holder(resourceSet, "pom.xml").getSourceFile().getMarkers().findFirst(MavenResolutionResult.class))
+			.isPresent();
+	}
+
+	private LazyRewriteSourceFileHolder<?> holder(String fileName) {
+		return holder(projectResourceSet, fileName);
+	}
+
+	private static LazyRewriteSourceFileHolder<?> holder(ProjectResourceSet projectResourceSet, String fileName) {
+		return projectResourceSet.stream()
+			.filter(r -> r.getSourcePath().getFileName().toString().equals(fileName))
+			.map(LazyRewriteSourceFileHolder.class::cast)
+			.findFirst()
+			.orElseThrow();
+	}
+
+	private static ProjectResourceSetFactory mavenAwareFactory() {
+		ExecutionContext executionContext = new InMemoryExecutionContext(t -> {
+			throw new RuntimeException(t);
+		});
+		MavenProjectAnalyzer mavenProjectAnalyzer = new MavenProjectAnalyzer(
+				new MavenProjectSorter(new MavenProjectGraph()),
+				new MavenProjectFactory(mock(RewriteMavenArtifactDownloader.class)));
+		MavenBuildFileParser buildFileParser = new MavenBuildFileParser(
+				new MavenSettingsInitializer(executionContext, new ProjectMetadata()));
+		return new ProjectResourceSetFactory(mock(RewriteMigrationResultMerger.class), new RewriteSourceFileWrapper(),
+				executionContext, List.of(), mavenProjectAnalyzer, buildFileParser);
+	}
+
+	private Resource write(String path, String content) throws IOException {
+		Path file = baseDir.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+		return new FileSystemResource(file);
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.text.PlainTextVisitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ProjectResourceSetDryRunTest {
+
+	@TempDir
+	Path baseDir;
+
+	private final ExecutionContext executionContext = new InMemoryExecutionContext();
+
+	private final RewriteMigrationResultMerger merger = mock(RewriteMigrationResultMerger.class);
+
+	@Test
+	@DisplayName("A dry-run streams the diffs of changed files without merging the results")
+	void dryRunShouldStreamDiffs() {
+		ProjectResourceSet projectResourceSet = projectResourceSet("a.txt", "b.txt", "c.md");
+		ByteArrayOutputStream patch = new ByteArrayOutputStream();
+
+		RecipeRunReport report = projectResourceSet.dryRun(RecipeRunDiffListener.writingTo(patch), new UpperCaseTxt());
+
+		assertThat(report.numberOfResults()).isEqualTo(2);
+		assertThat(patch.toString(StandardCharsets.UTF_8)).contains("a/a.txt", "-content of a.txt", "+CONTENT OF A.TXT")
+			.contains("a/b.txt")
+			.doesNotContain("c.md");
+		assertThat(projectResourceSet.stream()).noneMatch(RewriteSourceFileHolder::hasChanges);
+		verifyNoInteractions(merger);
+	}
+
+	@Test
+	@DisplayName("Diffs of large changesets are delivered in changeset order")
+	void diffsShouldBeDeliveredInOrder() {
+		String[] fileNames = IntStream.range(0, ChangesetDiffStreamer.PAGE_SIZE * 2 + 3)
+			.mapToObj("file-%03d.txt"::formatted)
+			.toArray(String[]::new);
+		ProjectResourceSet projectResourceSet = projectResourceSet(fileNames);
+		List<Path> diffedPaths = new ArrayList<>();
+
+		projectResourceSet.dryRun((sourcePath, unifiedDiff) -> diffedPaths.add(sourcePath), new UpperCaseTxt());
+
+		assertThat(diffedPaths).extracting(Path::toString).containsExactly(fileNames);
+	}
+
+	private ProjectResourceSet projectResourceSet(String... fileNames) {
+		List<Parser.Input> inputs = new ArrayList<>();
+		for (String fileName : fileNames) {
+			byte[] content = ("content of " + fileName + "\n").getBytes(StandardCharsets.UTF_8);
+			inputs.add(new Parser.Input(baseDir.resolve(fileName), () -> new ByteArrayInputStream(content)));
+		}
+		List<SourceFile> sourceFiles = new PlainTextParser().parseInputs(inputs, baseDir, executionContext).toList();
+		return new ProjectResourceSetFactory(merger, new RewriteSourceFileWrapper(), executionContext)
+			.create(baseDir, sourceFiles);
+	}
+
+	private static class UpperCaseTxt extends Recipe {
+
+		@Override
+		public String getDisplayName() {
+			return "Upper case txt files";
+		}
+
+		@Override
+		public String getDescription() {
+			return getDisplayName() + ".";
+		}
+
+		@Override
+		public TreeVisitor<?, ExecutionContext> getVisitor() {
+			return new PlainTextVisitor<>() {
+				@Override
+				public PlainText visitText(PlainText text, ExecutionContext ctx) {
+					if (!text.getSourcePath().toString().endsWith(".txt")) {
+						return text;
+					}
+					return text.withText(text.getText().toUpperCase());
+				}
+			};
+		}
+
+	}
+
+}
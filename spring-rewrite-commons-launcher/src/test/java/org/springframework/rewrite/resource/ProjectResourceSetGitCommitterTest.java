@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainTextParser;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+
+class ProjectResourceSetGitCommitterTest {
+
+	@TempDir
+	Path baseDir;
+
+	private final PersonIdent author = new PersonIdent("Jane Doe", "jane@example.com");
+
+	private final ProjectResourceSetGitCommitter committer = new ProjectResourceSetGitCommitter();
+
+	private Git git;
+
+	private ProjectResourceSet projectResourceSet;
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		git = Git.init().setDirectory(baseDir.toFile()).setInitialBranch("main").call();
+		Files.writeString(baseDir.resolve("a.txt"), "a");
+		Files.writeString(baseDir.resolve("b.txt"), "b");
+		Files.createDirectories(baseDir.resolve("docs"));
+		Files.writeString(baseDir.resolve("docs/c.txt"), "c");
+		git.add().addFilepattern(".").call();
+		git.commit().setMessage("initial").setAuthor(author).setCommitter(author).setSign(false).call();
+		List<SourceFile> sourceFiles = new PlainTextParser()
+			.parse(new InMemoryExecutionContext(), Files.readString(baseDir.resolve("a.txt")),
+					Files.readString(baseDir.resolve("b.txt")), Files.readString(baseDir.resolve("docs/c.txt")))
+			.toList();
+		sourceFiles = List.of(sourceFiles.get(0).withSourcePath(Path.of("a.txt")),
+				sourceFiles.get(1).withSourcePath(Path.of("b.txt")),
+				sourceFiles.get(2).withSourcePath(Path.of("docs/c.txt")));
+		projectResourceSet = new ProjectResourceSetFactory(mock(RewriteMigrationResultMerger.class),
+				new RewriteSourceFileWrapper(), new InMemoryExecutionContext())
+			.create(baseDir, sourceFiles);
+	}
+
+	@Test
+	@DisplayName("Changes are committed to a new branch without touching the working tree")
+	void commitToNewBranch() throws Exception {
+		changeContent("a.txt", "A");
+		resource("b.txt").delete();
+		resource("docs/c.txt").moveTo(Path.of("docs/d.txt"));
+
+		ObjectId commitId = committer
+			.commitChanges(projectResourceSet, git, "upgrade", "Upgrade", author, false)
+			.orElseThrow();
+
+		assertThat(git.getRepository().resolve("refs/heads/upgrade")).isEqualTo(commitId);
+		assertThat(content(commitId, "a.txt")).isEqualTo("A");
+		assertThat(content(commitId, "b.txt")).isNull();
+		assertThat(content(commitId, "docs/c.txt")).isEqualTo("c");
+		assertThat(content(commitId, "docs/d.txt")).isEqualTo("c");
+		assertThat(Files.readString(baseDir.resolve("a.txt"))).isEqualTo("a");
+		assertThat(git.status().call().isClean()).isTrue();
+		assertThat(projectResourceSet.stream()).noneMatch(RewriteSourceFileHolder::hasChanges);
+		assertThat(projectResourceSet.size()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Changes committed to the checked out branch can update working tree and index")
+	void commitToCheckedOutBranch() throws Exception {
+		changeContent("a.txt", "A");
+		resource("b.txt").delete();
+
+		ObjectId commitId = committer.commitChanges(projectResourceSet, git, "main", "Upgrade", author, true)
+			.orElseThrow();
+
+		assertThat(git.getRepository().resolve("HEAD")).isEqualTo(commitId);
+		assertThat(Files.readString(baseDir.resolve("a.txt"))).isEqualTo("A");
+		assertThat(baseDir.resolve("b.txt")).doesNotExist();
+		Status status = git.status().call();
+		assertThat(status.isClean()).as(status.getUncommittedChanges().toString()).isTrue();
+	}
+
+	@Test
+	@DisplayName("Changes committed to the checked out branch with the default author update working tree and index")
+	void commitToCheckedOutBranchWithDefaults() throws Exception {
+		changeContent("a.txt", "A");
+
+		ObjectId commitId = committer.commitChanges(projectResourceSet, git, "main", "Upgrade").orElseThrow();
+
+		assertThat(git.getRepository().resolve("HEAD")).isEqualTo(commitId);
+		assertThat(Files.readString(baseDir.resolve("a.txt"))).isEqualTo("A");
+		Status status = git.status().call();
+		assertThat(status.isClean()).as(status.getUncommittedChanges().toString()).isTrue();
+	}
+
+	@Test
+	@DisplayName("Changes can't be committed to the checked out branch without updating the working tree")
+	void checkedOutBranchRequiresUpdatingWorkingTree() throws Exception {
+		changeContent("a.txt", "A");
+		ObjectId head = git.getRepository().resolve("HEAD");
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> committer.commitChanges(projectResourceSet, git, "main", "Upgrade", author, false));
+		assertThat(git.getRepository().resolve("HEAD")).isEqualTo(head);
+	}
+
+	@Test
+	@DisplayName("Without changes no commit is created")
+	void noChangesNoCommit() throws Exception {
+		assertThat(committer.commitChanges(projectResourceSet, git, "upgrade", "Upgrade")).isEmpty();
+		assertThat(git.getRepository().resolve("refs/heads/upgrade")).isNull();
+	}
+
+	@Test
+	@DisplayName("The working tree can only be updated for the checked out branch")
+	void updatingWorkingTreeRequiresCheckedOutBranch() {
+		changeContent("a.txt", "A");
+
+		assertThatIllegalStateException()
+			.isThrownBy(() -> committer.commitChanges(projectResourceSet, git, "upgrade", "Upgrade", author, true));
+	}
+
+	private void changeContent(String path, String content) {
+		RewriteSourceFileHolder<? extends SourceFile> resource = resource(path);
+		resource.replaceWith(new PlainTextParser().parse(content)
+			.findFirst()
+			.orElseThrow()
+			.withSourcePath(resource.getSourcePath()));
+	}
+
+	private RewriteSourceFileHolder<? extends SourceFile> resource(String path) {
+		return projectResourceSet.stream()
+			.filter(r -> r.getSourcePath().equals(Path.of(path)))
+			.findFirst()
+			.orElseThrow();
+	}
+
+	private String content(ObjectId commitId, String path) throws Exception {
+		try (RevWalk revWalk = new RevWalk(git.getRepository())) {
+			RevCommit commit = revWalk.parseCommit(commitId);
+			try (TreeWalk treeWalk = TreeWalk.forPath(git.getRepository(), path, commit.getTree())) {
+				if (treeWalk == null) {
+					return null;
+				}
+				byte[] content = git.getRepository().open(treeWalk.getObjectId(0)).getBytes();
+				return new String(content, StandardCharsets.UTF_8);
+			}
+		}
+	}
+
+}
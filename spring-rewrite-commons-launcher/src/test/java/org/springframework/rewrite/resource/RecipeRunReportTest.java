@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.resource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.ChangeText;
+import org.openrewrite.text.PlainTextParser;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RecipeRunReportTest {
+
+	private final RecipeRunReport report = new RecipeRunReport(
+			List.of(stats("composite", 10, 2, 300, 700), stats("fast", 10, 0, 10, 0), stats("slow", 10, 2, 200, 600)),
+			Duration.ofSeconds(2), 2);
+
+	@Test
+	@DisplayName("The slowest recipes are sorted by scan and edit time")
+	void slowestRecipes() {
+		assertThat(report.slowest(2)).extracting(RecipeExecutionStats::recipe).containsExactly("composite", "slow");
+	}
+
+	@Test
+	@DisplayName("Stats can be found by recipe name")
+	void findByRecipeName() {
+		assertThat(report.find("slow")).hasValueSatisfying(s -> {
+			assertThat(s.totalTime()).isEqualTo(Duration.ofMillis(800));
+			assertThat(s.sourceFilesChanged()).isEqualTo(2);
+		});
+		assertThat(report.find("unknown")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("The report of a recipe run lists the applied recipes without the wrapping recipe")
+	void reportFromRecipeRun(@TempDir Path baseDir) {
+		ExecutionContext executionContext = new InMemoryExecutionContext();
+		List<Parser.Input> inputs = List.of(input(baseDir, "a.txt"), input(baseDir, "b.txt"));
+		List<SourceFile> sourceFiles = new PlainTextParser().parseInputs(inputs, baseDir, executionContext).toList();
+		ProjectResourceSet projectResourceSet = new ProjectResourceSetFactory(mock(RewriteMigrationResultMerger.class),
+				new RewriteSourceFileWrapper(), executionContext)
+			.create(baseDir, sourceFiles);
+
+		RecipeRunReport runReport = projectResourceSet.apply(new ChangeText("changed"));
+
+		assertThat(runReport.numberOfResults()).isEqualTo(2);
+		assertThat(runReport.recipeStats()).extracting(RecipeExecutionStats::recipe)
+			.containsExactly("org.openrewrite.text.ChangeText");
+		assertThat(runReport.find("org.openrewrite.text.ChangeText")).hasValueSatisfying(s -> {
+			assertThat(s.sourceFiles()).isEqualTo(2);
+			assertThat(s.sourceFilesChanged()).isEqualTo(2);
+		});
+	}
+
+	@Test
+	@DisplayName("Recipe stats are recorded as meters")
+	void recordMetrics() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+		new RecipeRunMetrics(meterRegistry).recipeRunFinished(report);
+
+		assertThat(meterRegistry.get(RecipeRunMetrics.RUN).timer().totalTime(TimeUnit.SECONDS)).isEqualTo(2);
+		Timer editTimer = meterRegistry.get(RecipeRunMetrics.EDIT).tag("recipe", "slow").timer();
+		assertThat(editTimer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(600);
+		assertThat(meterRegistry.get(RecipeRunMetrics.SOURCE_FILES_CHANGED).tag("recipe", "composite").counter())
+			.extracting(Counter::count)
+			.isEqualTo(2.0);
+	}
+
+	private static Parser.Input input(Path baseDir, String fileName) {
+		byte[] content = ("content of " + fileName).getBytes(StandardCharsets.UTF_8);
+		return new Parser.Input(baseDir.resolve(fileName), () -> new ByteArrayInputStream(content));
+	}
+
+	private static RecipeExecutionStats stats(String recipe, int sourceFiles, int sourceFilesChanged, long scanMillis,
+			long editMillis) {
+		return new RecipeExecutionStats(recipe, sourceFiles, sourceFilesChanged, Duration.ofMillis(scanMillis),
+				Duration.ZERO, Duration.ZERO, Duration.ofMillis(editMillis), Duration.ZERO, Duration.ZERO);
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.scopes;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.rewrite.RewriteProjectParser;
+import org.springframework.rewrite.parser.RewriteParserConfiguration;
+import org.springframework.rewrite.parser.RewriteProjectParsingResult;
+import org.springframework.rewrite.test.util.DummyResource;
+import org.springframework.rewrite.utils.ResourceUtil;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = RewriteParserConfiguration.class)
+class ParseSessionIntegrationTest {
+
+	private static final int ROUNDS = 5;
+
+	@Language("xml")
+	private static final String PARENT_POM_XML = """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<project xmlns="http://maven.apache.org/POM/4.0.0">
+			    <modelVersion>4.0.0</modelVersion>
+			    <groupId>org.example</groupId>
+			    <artifactId>parent</artifactId>
+			    <version>1.0.0</version>
+			    <packaging>pom</packaging>
+			    <properties>
+			        <maven.compiler.target>17</maven.compiler.target>
+			        <maven.compiler.source>17</maven.compiler.source>
+			    </properties>
+			    <modules>
+			        <module>api</module>
+			        <module>app</module>
+			    </modules>
+			</project>
+			""";
+
+	@Language("xml")
+	private static final String MODULE_POM_XML = """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<project xmlns="http://maven.apache.org/POM/4.0.0">
+			    <modelVersion>4.0.0</modelVersion>
+			    <parent>
+			        <groupId>org.example</groupId>
+			        <artifactId>parent</artifactId>
+			        <version>1.0.0</version>
+			    </parent>
+			    <artifactId>%s</artifactId>
+			%s</project>
+			""";
+
+	private static final String API_DEPENDENCY = """
+			    <dependencies>
+			        <dependency>
+			            <groupId>org.example</groupId>
+			            <artifactId>api</artifactId>
+			            <version>1.0.0</version>
+			        </dependency>
+			    </dependencies>
+			""";
+
+	@Autowired
+	private RewriteProjectParser parser;
+
+	@Autowired
+	private ParseSessions parseSessions;
+
+	@Test
+	@DisplayName("Concurrent parses of projects with the same modules keep their own module graph")
+	void concurrentParsesOfDifferentProjects(@TempDir Path tempDir) {
+		// both projects have the same module coordinates, mixing up their module graphs
+		// resolves the upstream types of the app module from the other project
+		Path greeterProject = project(tempDir.resolve("greeter"), "Greeter");
+		Path welcomerProject = project(tempDir.resolve("welcomer"), "Welcomer");
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			for (int round = 0; round < ROUNDS; round++) {
+				CompletableFuture<RewriteProjectParsingResult> greeter = parseAsync(greeterProject, barrier,
+						executorService);
+				CompletableFuture<RewriteProjectParsingResult> welcomer = parseAsync(welcomerProject, barrier,
+						executorService);
+
+				assertThat(appTypesInUse(greeter.join())).contains("com.example.api.Greeter")
+					.doesNotContain("com.example.api.Welcomer");
+				assertThat(appTypesInUse(welcomer.join())).contains("com.example.api.Welcomer")
+					.doesNotContain("com.example.api.Greeter");
+			}
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private CompletableFuture<RewriteProjectParsingResult> parseAsync(Path baseDir, CyclicBarrier barrier,
+			ExecutorService executorService) {
+		return CompletableFuture.supplyAsync(() -> {
+			try (ParseSession session = parseSessions.open()) {
+				return session.call(() -> {
+					await(barrier);
+					return parser.parse(baseDir);
+				});
+			}
+		}, executorService);
+	}
+
+	private static Path project(Path baseDir, String apiClassName) {
+		@Language("java")
+		String apiClass = """
+				package com.example.api;
+
+				public class %s {
+				}
+				""".formatted(apiClassName);
+		@Language("java")
+		String appClass = """
+				package com.example.app;
+
+				import com.example.api.%1$s;
+
+				public class App {
+				    private final %1$s api = new %1$s();
+				}
+				""".formatted(apiClassName);
+		ResourceUtil.write(baseDir, List.of(new DummyResource(baseDir.resolve("pom.xml"), PARENT_POM_XML),
+				new DummyResource(baseDir.resolve("api/pom.xml"), MODULE_POM_XML.formatted("api", "")),
+				new DummyResource(baseDir.resolve("api/src/main/java/com/example/api/%s.java".formatted(apiClassName)),
+						apiClass),
+				new DummyResource(baseDir.resolve("app/pom.xml"), MODULE_POM_XML.formatted("app", API_DEPENDENCY)),
+				new DummyResource(baseDir.resolve("app/src/main/java/com/example/app/App.java"), appClass)));
+		return baseDir;
+	}
+
+	private static List<String> appTypesInUse(RewriteProjectParsingResult parsingResult) {
+		J.CompilationUnit app = parsingResult.sourceFiles()
+			.stream()
+			.filter(J.CompilationUnit.class::isInstance)
+			.map(J.CompilationUnit.class::cast)
+			.filter(cu -> cu.getSourcePath().endsWith("App.java"))
+			.findFirst()
+			.orElseThrow();
+		return app.getTypesInUse()
+			.getTypesInUse()
+			.stream()
+			.filter(JavaType.FullyQualified.class::isInstance)
+			.map(type -> ((JavaType.FullyQualified) type).getFullyQualifiedName())
+			.toList();
+	}
+
+	private static void await(CyclicBarrier barrier) {
+		try {
+			barrier.await();
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
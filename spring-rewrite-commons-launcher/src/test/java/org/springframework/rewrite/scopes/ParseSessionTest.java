@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.scopes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.cache.MavenPomCache;
+import org.springframework.aop.scope.ScopedObject;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.rewrite.boot.autoconfigure.ScopeConfiguration;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParseSessionTest {
+
+	private AnnotationConfigApplicationContext applicationContext;
+
+	private ParseSessions parseSessions;
+
+	private ProjectMetadata projectMetadata;
+
+	private ExecutionContext executionContext;
+
+	@BeforeEach
+	void beforeEach() {
+		applicationContext = new AnnotationConfigApplicationContext(ScopeConfiguration.class, TestConfig.class);
+		parseSessions = applicationContext.getBean(ParseSessions.class);
+		projectMetadata = applicationContext.getBean(ProjectMetadata.class);
+		executionContext = applicationContext.getBean(ExecutionContext.class);
+	}
+
+	@AfterEach
+	void afterEach() {
+		applicationContext.close();
+	}
+
+	@Test
+	@DisplayName("Every session has its own scoped beans")
+	void sessionsHaveOwnScopedBeans() {
+		try (ParseSession session1 = parseSessions.open(); ParseSession session2 = parseSessions.open()) {
+			session1.run(() -> projectMetadata.setMetadata("one"));
+			session2.run(() -> projectMetadata.setMetadata("two"));
+
+			assertThat(session1.call(projectMetadata::getMetadata)).isEqualTo("one");
+			assertThat(session2.call(projectMetadata::getMetadata)).isEqualTo("two");
+			assertThat(projectMetadata.getMetadata()).isNull();
+			assertThat(session1.call(this::targetExecutionContext))
+				.isNotSameAs(session2.call(this::targetExecutionContext))
+				.isNotSameAs(targetExecutionContext());
+		}
+	}
+
+	@Test
+	@DisplayName("Closing a session destroys its scoped beans")
+	void closeDestroysScopedBeans() {
+		ParseSession session = parseSessions.open();
+		session.run(() -> projectMetadata.setMetadata("one"));
+		ExecutionContext executionContextOfSession = session.call(this::targetExecutionContext);
+
+		session.close();
+
+		assertThat(session.call(projectMetadata::getMetadata)).isNull();
+		assertThat(session.call(this::targetExecutionContext)).isNotSameAs(executionContextOfSession);
+		session.close();
+	}
+
+	@Test
+	@DisplayName("Sessions can be used concurrently")
+	void concurrentSessions() {
+		int numSessions = 8;
+		CyclicBarrier barrier = new CyclicBarrier(numSessions);
+		ExecutorService executorService = Executors.newFixedThreadPool(numSessions);
+		List<CompletableFuture<String>> futures = IntStream.range(0, numSessions)
+			.mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+				try (ParseSession session = parseSessions.open()) {
+					return session.call(() -> {
+						projectMetadata.setMetadata("session-" + i);
+						await(barrier);
+						return projectMetadata.getMetadata();
+					});
+				}
+			}, executorService))
+			.toList();
+
+		try {
+			assertThat(futures.stream().map(CompletableFuture::join))
+				.containsExactlyElementsOf(IntStream.range(0, numSessions).mapToObj(i -> "session-" + i).toList());
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private ExecutionContext targetExecutionContext() {
+		return (ExecutionContext) ((ScopedObject) executionContext).getTargetObject();
+	}
+
+	private static void await(CyclicBarrier barrier) {
+		try {
+			barrier.await();
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Configuration
+	static class TestConfig {
+
+		@Bean
+		MavenPomCache mavenPomCache() {
+			return new InMemoryMavenPomCache();
+		}
+
+	}
+
+}
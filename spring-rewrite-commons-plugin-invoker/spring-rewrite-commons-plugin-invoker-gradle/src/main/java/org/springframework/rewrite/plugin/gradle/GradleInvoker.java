@@ -16,13 +16,12 @@
 package org.springframework.rewrite.plugin.gradle;
 
 import org.gradle.tooling.BuildLauncher;
-import org.gradle.tooling.GradleConnector;
-import org.gradle.tooling.ProjectConnection;
-import org.gradle.tooling.internal.consumer.DefaultGradleConnector;
+import org.springframework.rewrite.gradle.model.GradleConnectionPool;
+import org.springframework.rewrite.plugin.shared.OutputCapture;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 
 /**
@@ -31,23 +30,38 @@ import java.nio.file.Path;
 public class GradleInvoker {
 
 	public static GradleInvocationResult runTasks(Path baseDir, String[] args, String... tasks) {
-		ByteArrayOutputStream os = new ByteArrayOutputStream();
-		ByteArrayOutputStream es = new ByteArrayOutputStream();
-		DefaultGradleConnector connector = (DefaultGradleConnector) GradleConnector.newConnector();
-		if (Files.exists(baseDir.resolve("gradle/wrapper/gradle-wrapper.properties"))) {
-			connector.useBuildDistribution();
-		}
-		else {
-			connector.useGradleVersion("8.4");
-		}
-		try (ProjectConnection connection = connector.forProjectDirectory(baseDir.toFile()).connect()) {
-			BuildLauncher buildLauncher = connection.newBuild().setStandardOutput(os).forTasks(tasks);
-			buildLauncher.addArguments(args);
-			buildLauncher.setStandardError(es);
-			buildLauncher.run();
-			connection.close();
-			return new GradleInvocationResult(new String(os.toByteArray()), new String(es.toByteArray()));
-		}
+		return runTasks(GradleConnectionPool.shared(), baseDir, args, tasks);
+	}
+
+	/**
+	 * Run the tasks using a connection from the given {@link GradleConnectionPool}, so
+	 * subsequent invocations on the same build reuse the connection to the Gradle daemon.
+	 */
+	public static GradleInvocationResult runTasks(GradleConnectionPool connectionPool, Path baseDir, String[] args,
+			String... tasks) {
+		return runTasks(connectionPool, baseDir, OutputCapture.withDefaults(), OutputCapture.withDefaults(), args,
+				tasks);
+	}
+
+	/**
+	 * Run the tasks, passing every line of standard output and standard error to
+	 * {@code output} and {@code error} while Gradle runs. The result contains the output
+	 * retained by them.
+	 */
+	public static GradleInvocationResult runTasks(GradleConnectionPool connectionPool, Path baseDir,
+			OutputCapture output, OutputCapture error, String[] args, String... tasks) {
+		return connectionPool.withConnection(baseDir.toFile(), connection -> {
+			try (OutputStream os = output.asOutputStream(); OutputStream es = error.asOutputStream()) {
+				BuildLauncher buildLauncher = connection.newBuild().setStandardOutput(os).forTasks(tasks);
+				buildLauncher.addArguments(args);
+				buildLauncher.setStandardError(es);
+				buildLauncher.run();
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return new GradleInvocationResult(output.getRetainedOutput(), error.getRetainedOutput());
+		});
 	}
 
 }
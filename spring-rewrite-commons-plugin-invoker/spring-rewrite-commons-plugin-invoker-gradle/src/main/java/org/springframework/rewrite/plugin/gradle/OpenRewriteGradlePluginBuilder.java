@@ -15,10 +15,14 @@
  */
 package org.springframework.rewrite.plugin.gradle;
 
+import org.springframework.rewrite.gradle.model.GradleConnectionPool;
 import org.springframework.rewrite.plugin.shared.DebugConfig;
+import org.springframework.rewrite.plugin.shared.OutputCapture;
 import org.springframework.rewrite.plugin.shared.PluginInvocationResult;
+import org.springframework.rewrite.plugin.shared.RewritePluginProgress;
 
 import java.nio.file.Path;
+import java.util.function.Consumer;
 
 /**
  * @author Fabian Krüger
@@ -43,6 +47,33 @@ public interface OpenRewriteGradlePluginBuilder {
 
 		FinalizingBuilder withDebugConfig(DebugConfig debugConfig);
 
+		/**
+		 * Use the given {@link GradleConnectionPool} instead of the shared pool.
+		 */
+		FinalizingBuilder withConnectionPool(GradleConnectionPool connectionPool);
+
+		/**
+		 * Pass every line of the Gradle output, standard output and standard error, to the
+		 * listener while Gradle runs.
+		 * <p>
+		 * Gradle writes both streams from different threads, calls to the listener are
+		 * serialized so it doesn't need to be thread-safe.
+		 */
+		FinalizingBuilder withOutputListener(Consumer<String> outputListener);
+
+		/**
+		 * Notify the listener whenever the progress parsed from the output changes.
+		 */
+		FinalizingBuilder withProgressListener(Consumer<RewritePluginProgress> progressListener);
+
+		/**
+		 * Retain the first {@code headLines} and last {@code tailLines} lines of the output
+		 * in the {@link PluginInvocationResult}, defaults to
+		 * {@value OutputCapture#DEFAULT_HEAD_LINES} and
+		 * {@value OutputCapture#DEFAULT_TAIL_LINES}.
+		 */
+		FinalizingBuilder withRetainedOutput(int headLines, int tailLines);
+
 		PluginInvocationResult onDir(Path baseDir);
 
 	}
@@ -17,14 +17,19 @@ package org.springframework.rewrite.plugin.gradle;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.rewrite.gradle.model.GradleConnectionPool;
 import org.springframework.rewrite.plugin.shared.BuildConfig;
 import org.springframework.rewrite.plugin.shared.DebugConfig;
+import org.springframework.rewrite.plugin.shared.OutputCapture;
 import org.springframework.rewrite.plugin.shared.PluginInvocationResult;
+import org.springframework.rewrite.plugin.shared.RewritePluginOutputParser;
+import org.springframework.rewrite.plugin.shared.RewritePluginProgress;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,6 +59,18 @@ public class RewriteGradlePlugin implements OpenRewriteGradlePluginBuilder.Recip
 
 	private boolean debug = false;
 
+	private GradleConnectionPool connectionPool;
+
+	private Consumer<String> outputListener = line -> {
+	};
+
+	private Consumer<RewritePluginProgress> progressListener = progress -> {
+	};
+
+	private int retainedHeadLines = OutputCapture.DEFAULT_HEAD_LINES;
+
+	private int retainedTailLines = OutputCapture.DEFAULT_TAIL_LINES;
+
 	public static OpenRewriteGradlePluginBuilder.Recipes run() {
 		return executeGradleRewritePlugin(RUN);
 	}
@@ -103,6 +120,32 @@ public class RewriteGradlePlugin implements OpenRewriteGradlePluginBuilder.Recip
 		return this;
 	}
 
+	@Override
+	public OpenRewriteGradlePluginBuilder.FinalizingBuilder withConnectionPool(GradleConnectionPool connectionPool) {
+		this.connectionPool = connectionPool;
+		return this;
+	}
+
+	@Override
+	public OpenRewriteGradlePluginBuilder.FinalizingBuilder withOutputListener(Consumer<String> outputListener) {
+		this.outputListener = outputListener;
+		return this;
+	}
+
+	@Override
+	public OpenRewriteGradlePluginBuilder.FinalizingBuilder withProgressListener(
+			Consumer<RewritePluginProgress> progressListener) {
+		this.progressListener = progressListener;
+		return this;
+	}
+
+	@Override
+	public OpenRewriteGradlePluginBuilder.FinalizingBuilder withRetainedOutput(int headLines, int tailLines) {
+		this.retainedHeadLines = headLines;
+		this.retainedTailLines = tailLines;
+		return this;
+	}
+
 	@Override
 	public PluginInvocationResult onDir(Path baseDir) {
 		baseDir = baseDir.toAbsolutePath().normalize();
@@ -110,10 +153,28 @@ public class RewriteGradlePlugin implements OpenRewriteGradlePluginBuilder.Recip
 		if (minMemory != null && !minMemory.isBlank()) {
 			buildConfig = BuildConfig.builder().withMemory(minMemory, maxMemory).build();
 		}
-		GradleInvocationResult result = execute(baseDir, debug, debugConfig, buildConfig, task, dependencies,
-				pluginVersion, recipes.toArray(String[]::new));
+		GradleConnectionPool pool = connectionPool != null ? connectionPool : GradleConnectionPool.shared();
+		RewritePluginOutputParser outputParser = new RewritePluginOutputParser(progressListener);
+		Consumer<String> listener = serialized(outputListener);
+		OutputCapture output = new OutputCapture(retainedHeadLines, retainedTailLines, listener.andThen(outputParser));
+		OutputCapture error = new OutputCapture(retainedHeadLines, retainedTailLines, listener);
+		GradleInvocationResult result = execute(pool, baseDir, output, error, debug, debugConfig, buildConfig, task,
+				dependencies, pluginVersion, recipes.toArray(String[]::new));
 		boolean success = result.getError() == null || result.getError().isEmpty();
-		return new PluginInvocationResult(success, result.getOutput());
+		return new PluginInvocationResult(success, result.getOutput(), outputParser.getProgress());
+	}
+
+	/**
+	 * Gradle writes standard output and standard error from different threads, the
+	 * listener shared by both must not be called concurrently.
+	 */
+	static Consumer<String> serialized(Consumer<String> listener) {
+		Object lock = new Object();
+		return line -> {
+			synchronized (lock) {
+				listener.accept(line);
+			}
+		};
 	}
 
 	@Override
@@ -124,12 +185,16 @@ public class RewriteGradlePlugin implements OpenRewriteGradlePluginBuilder.Recip
 
 	/**
 	 * Executes given OpenRewrite recipes using Gradle Tooling API.
+	 * @param connectionPool the pool providing the connection to the Gradle build
 	 * @param baseDir the dir getting parsed
+	 * @param output captures standard output of the build
+	 * @param error captures standard error of the build
 	 * @param debug print debug output
 	 * @param debugConfig set remote debug config to debug the recipe execution
 	 */
-	static GradleInvocationResult execute(Path baseDir, boolean debug, DebugConfig debugConfig, BuildConfig buildConfig,
-			Task goal, List<String> dependencies, String pluginVersion, String... recipes) {
+	static GradleInvocationResult execute(GradleConnectionPool connectionPool, Path baseDir, OutputCapture output,
+			OutputCapture error, boolean debug, DebugConfig debugConfig, BuildConfig buildConfig, Task goal,
+			List<String> dependencies, String pluginVersion, String... recipes) {
 
 		try (TempGradleInitFile initFile = new TempGradleInitFile(baseDir, dependencies, pluginVersion)) {
 			String initFileLocation = initFile.getPath().toString();
@@ -167,7 +232,8 @@ public class RewriteGradlePlugin implements OpenRewriteGradlePluginBuilder.Recip
 				log.debug(initFileLocation + " \n" + initFile.getContent());
 			}
 
-			return GradleInvoker.runTasks(baseDir, args.toArray(String[]::new), goal.getTask());
+			return GradleInvoker.runTasks(connectionPool, baseDir, output, error, args.toArray(String[]::new),
+					goal.getTask());
 		}
 		finally {
 			TempGradleInitFile.clear(baseDir);
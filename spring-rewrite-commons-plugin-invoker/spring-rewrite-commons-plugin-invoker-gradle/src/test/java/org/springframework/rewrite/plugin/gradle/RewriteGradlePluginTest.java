@@ -24,7 +24,10 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -103,6 +106,29 @@ public class RewriteGradlePluginTest {
 		assertTasksExecuted(out, DEFAULT_TASKS, "rewriteRun");
 	}
 
+	@Test
+	@DisplayName("output listener is not called concurrently")
+	void outputListenerIsNotCalledConcurrently() throws Exception {
+		List<String> lines = new ArrayList<>();
+		AtomicInteger calls = new AtomicInteger();
+		AtomicInteger maxConcurrentCalls = new AtomicInteger();
+		Consumer<String> listener = RewriteGradlePlugin.serialized(line -> {
+			maxConcurrentCalls.accumulateAndGet(calls.incrementAndGet(), Math::max);
+			lines.add(line);
+			calls.decrementAndGet();
+		});
+
+		Thread output = new Thread(() -> IntStream.range(0, 10_000).forEach(i -> listener.accept("out " + i)));
+		Thread error = new Thread(() -> IntStream.range(0, 10_000).forEach(i -> listener.accept("err " + i)));
+		output.start();
+		error.start();
+		output.join();
+		error.join();
+
+		assertThat(lines).hasSize(20_000);
+		assertThat(maxConcurrentCalls).hasValue(1);
+	}
+
 	private void assertDebugConfig(String out, int port, boolean suspend) {
 		assertThat(out).contains("-agentlib:jdwp=transport=dt_socket,server=y,suspend=%s,address=%s"
 			.formatted(suspend ? "y" : "n", port));
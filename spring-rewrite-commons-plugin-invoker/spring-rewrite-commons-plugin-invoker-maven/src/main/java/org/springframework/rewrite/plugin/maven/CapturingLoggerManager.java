@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.plugin.maven;
+
+import org.codehaus.plexus.logging.AbstractLogger;
+import org.codehaus.plexus.logging.BaseLoggerManager;
+import org.codehaus.plexus.logging.Logger;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.function.Consumer;
+
+/**
+ * Plexus {@link org.codehaus.plexus.logging.LoggerManager} writing the output of Maven
+ * and the executed Mojos to the line consumer of the current run, using the same
+ * {@code [LEVEL] message} format as the Maven command line.
+ *
+ * @see EmbeddedMavenExecutor
+ */
+class CapturingLoggerManager extends BaseLoggerManager {
+
+	private volatile Consumer<String> lineConsumer = line -> {
+	};
+
+	CapturingLoggerManager() {
+		setThreshold(Logger.LEVEL_INFO);
+	}
+
+	void capture(Consumer<String> lineConsumer, int threshold) {
+		this.lineConsumer = lineConsumer;
+		setThresholds(threshold);
+	}
+
+	void release() {
+		this.lineConsumer = line -> {
+		};
+	}
+
+	void log(String level, String message, Throwable throwable) {
+		Consumer<String> consumer = lineConsumer;
+		consumer.accept("[%s] %s".formatted(level, message));
+		if (throwable != null) {
+			StringWriter stackTrace = new StringWriter();
+			throwable.printStackTrace(new PrintWriter(stackTrace));
+			stackTrace.toString().lines().forEach(consumer);
+		}
+	}
+
+	@Override
+	protected Logger createLogger(String name) {
+		return new CapturingLogger(getThreshold(), name);
+	}
+
+	private class CapturingLogger extends AbstractLogger {
+
+		CapturingLogger(int threshold, String name) {
+			super(threshold, name);
+		}
+
+		@Override
+		public void debug(String message, Throwable throwable) {
+			if (isDebugEnabled()) {
+				log("DEBUG", message, throwable);
+			}
+		}
+
+		@Override
+		public void info(String message, Throwable throwable) {
+			if (isInfoEnabled()) {
+				log("INFO", message, throwable);
+			}
+		}
+
+		@Override
+		public void warn(String message, Throwable throwable) {
+			if (isWarnEnabled()) {
+				log("WARNING", message, throwable);
+			}
+		}
+
+		@Override
+		public void error(String message, Throwable throwable) {
+			if (isErrorEnabled()) {
+				log("ERROR", message, throwable);
+			}
+		}
+
+		@Override
+		public void fatalError(String message, Throwable throwable) {
+			if (isFatalErrorEnabled()) {
+				log("ERROR", message, throwable);
+			}
+		}
+
+		@Override
+		public Logger getChildLogger(String name) {
+			return new CapturingLogger(getThreshold(), getName() + "." + name);
+		}
+
+	}
+
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.plugin.maven;
+
+import org.apache.maven.Maven;
+import org.apache.maven.artifact.InvalidRepositoryException;
+import org.apache.maven.bridge.MavenRepositorySystem;
+import org.apache.maven.execution.AbstractExecutionListener;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionRequestPopulator;
+import org.apache.maven.execution.MavenExecutionResult;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.settings.Proxy;
+import org.apache.maven.settings.Repository;
+import org.apache.maven.settings.Settings;
+import org.apache.maven.settings.SettingsUtils;
+import org.apache.maven.settings.building.DefaultSettingsBuildingRequest;
+import org.apache.maven.settings.building.SettingsBuilder;
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusConstants;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.logging.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.rewrite.plugin.shared.BuildConfig;
+import org.springframework.rewrite.plugin.shared.OutputCapture;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Runs Maven goals inside the current JVM, keeping the Plexus container between
+ * invocations.
+ * <p>
+ * Forking Maven for every run pays for JVM startup, container boot and class loading of
+ * Maven and the invoked plugins. The embedded executor boots the container once, on the
+ * first run, and Maven keeps the plugin realms and plugin descriptors cached in the
+ * container, so subsequent runs of the same plugin skip resolution and class loading.
+ * <p>
+ * Runs are isolated from each other: every run gets its own execution request and session,
+ * system properties and the context class loader are restored after the run, and runs are
+ * executed one at a time. The output of Maven and the Mojos is captured per run in the
+ * format of the Maven command line.
+ * <p>
+ * Options that configure the forked JVM, like memory settings or a remote debugger, do
+ * not apply to the embedded executor.
+ *
+ * @see RewriteMavenPluginBuilder.FinalizingBuilder#inProcess()
+ */
+public class EmbeddedMavenExecutor implements AutoCloseable {
+
+	private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(EmbeddedMavenExecutor.class);
+
+	private static final String SKIP_TESTS = "-DskipTests";
+
+	private static volatile EmbeddedMavenExecutor shared;
+
+	private final CapturingLoggerManager loggerManager = new CapturingLoggerManager();
+
+	private DefaultPlexusContainer container;
+
+	/**
+	 * The {@link EmbeddedMavenExecutor} shared in this JVM, closed on shutdown.
+	 */
+	public static EmbeddedMavenExecutor shared() {
+		if (shared == null) {
+			synchronized (EmbeddedMavenExecutor.class) {
+				if (shared == null) {
+					EmbeddedMavenExecutor executor = new EmbeddedMavenExecutor();
+					Runtime.getRuntime()
+						.addShutdownHook(new Thread(executor::close, "embedded-maven-executor-shutdown"));
+					shared = executor;
+				}
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Run the given {@code args} on the project in {@code baseDir}.
+	 * <p>
+	 * {@code args} are given like on the command line, every entry can contain multiple
+	 * whitespace separated goals and options. Supported options are {@code -Dkey=value},
+	 * {@code --fail-at-end} and {@code -X}.
+	 */
+	public MavenInvocationResult runGoals(Path baseDir, boolean debug, BuildConfig buildConfig, List<String> args) {
+		return runGoals(baseDir, debug, buildConfig, args, OutputCapture.withDefaults());
+	}
+
+	/**
+	 * Run the given {@code args}, passing every line of the output to {@code output} while
+	 * Maven runs. The result contains the output retained by {@code output}.
+	 */
+	public synchronized MavenInvocationResult runGoals(Path baseDir, boolean debug, BuildConfig buildConfig,
+			List<String> args, OutputCapture output) {
+		MavenExecutionRequest request = createRequest(baseDir, debug, buildConfig, args);
+		Properties systemProperties = (Properties) System.getProperties().clone();
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		int threshold = request.getLoggingLevel() == MavenExecutionRequest.LOGGING_LEVEL_DEBUG ? Logger.LEVEL_DEBUG
+				: Logger.LEVEL_INFO;
+		loggerManager.capture(output, threshold);
+		try {
+			DefaultPlexusContainer plexusContainer = container();
+			Thread.currentThread().setContextClassLoader(plexusContainer.getContainerRealm());
+			populate(plexusContainer, request);
+			long start = System.currentTimeMillis();
+			MavenExecutionResult result = plexusContainer.lookup(Maven.class).execute(request);
+			boolean success = !result.hasExceptions();
+			result.getExceptions().forEach(e -> loggerManager.log("ERROR", e.getMessage(), debug ? e : null));
+			loggerManager.log("INFO", success ? "BUILD SUCCESS" : "BUILD FAILURE", null);
+			LOGGER.debug("Ran %s in-process on '%s' in %d ms.".formatted(request.getGoals(), baseDir,
+					System.currentTimeMillis() - start));
+			return new MavenInvocationResult(success ? 0 : 1, output.getRetainedOutput());
+		}
+		catch (Exception e) {
+			throw new IllegalStateException("Could not run %s in-process on '%s'".formatted(args, baseDir), e);
+		}
+		finally {
+			loggerManager.release();
+			System.setProperties(systemProperties);
+			Thread.currentThread().setContextClassLoader(contextClassLoader);
+		}
+	}
+
+	/**
+	 * Dispose the Plexus container and with it the cached plugin realms. The next run
+	 * boots a new container.
+	 */
+	@Override
+	public synchronized void close() {
+		if (container != null) {
+			container.dispose();
+			container = null;
+		}
+	}
+
+	private MavenExecutionRequest createRequest(Path baseDir, boolean debug, BuildConfig buildConfig,
+			List<String> args) {
+		File projectDir = baseDir.toAbsolutePath().normalize().toFile();
+		MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+		Properties userProperties = new Properties();
+		List<String> goals = new ArrayList<>();
+		List<String> tokens = new ArrayList<>();
+		args.forEach(arg -> tokens.addAll(List.of(arg.trim().split("\\s+"))));
+		if (buildConfig.isSkipTests()) {
+			tokens.add(SKIP_TESTS);
+		}
+		for (String token : tokens) {
+			if (token.isEmpty()) {
+				continue;
+			}
+			if (token.startsWith("-D")) {
+				String property = token.substring(2);
+				int separator = property.indexOf('=');
+				if (separator == -1) {
+					userProperties.setProperty(property, "true");
+				}
+				else {
+					userProperties.setProperty(property.substring(0, separator), property.substring(separator + 1));
+				}
+			}
+			else if (token.equals("--fail-at-end") || token.equals("-fae")) {
+				request.setReactorFailureBehavior(MavenExecutionRequest.REACTOR_FAIL_AT_END);
+			}
+			else if (token.equals("-X") || token.equals("--debug")) {
+				debug = true;
+			}
+			else if (token.startsWith("-")) {
+				throw new IllegalArgumentException(
+						"Option '%s' is not supported by the embedded Maven executor.".formatted(token));
+			}
+			else {
+				goals.add(token);
+			}
+		}
+
+		Properties systemProperties = new Properties();
+		System.getenv().forEach((name, value) -> systemProperties.setProperty("env." + name, value));
+		systemProperties.putAll(System.getProperties());
+
+		request.setGoals(goals);
+		request.setUserProperties(userProperties);
+		request.setSystemProperties(systemProperties);
+		request.setBaseDirectory(projectDir);
+		request.setMultiModuleProjectDirectory(projectDir);
+		request.setPom(new File(projectDir, "pom.xml"));
+		request.setInteractiveMode(false);
+		request.setShowErrors(true);
+		request.setDegreeOfConcurrency(1);
+		request.setLoggingLevel(
+				debug ? MavenExecutionRequest.LOGGING_LEVEL_DEBUG : MavenExecutionRequest.LOGGING_LEVEL_INFO);
+		request.setExecutionListener(new MojoExecutionLogger());
+		return request;
+	}
+
+	private void populate(DefaultPlexusContainer plexusContainer, MavenExecutionRequest request) throws Exception {
+		DefaultSettingsBuildingRequest settingsRequest = new DefaultSettingsBuildingRequest();
+		settingsRequest.setSystemProperties(request.getSystemProperties());
+		settingsRequest.setUserProperties(request.getUserProperties());
+		File userSettings = Path.of(System.getProperty("user.home"), ".m2", "settings.xml").toFile();
+		if (userSettings.exists()) {
+			settingsRequest.setUserSettingsFile(userSettings);
+		}
+		String mavenHome = System.getenv("MAVEN_HOME") != null ? System.getenv("MAVEN_HOME")
+				: System.getenv("M2_HOME");
+		if (mavenHome != null) {
+			File globalSettings = Path.of(mavenHome, "conf", "settings.xml").toFile();
+			if (globalSettings.exists()) {
+				settingsRequest.setGlobalSettingsFile(globalSettings);
+			}
+		}
+		Settings settings = plexusContainer.lookup(SettingsBuilder.class)
+			.build(settingsRequest)
+			.getEffectiveSettings();
+		populateFromSettings(request, settings);
+		plexusContainer.lookup(MavenExecutionRequestPopulator.class).populateDefaults(request);
+	}
+
+	/**
+	 * Copy the settings into the request like Maven's
+	 * {@code SettingsXmlConfigurationProcessor} does, the populator's
+	 * {@code populateFromSettings} is deprecated.
+	 */
+	private static void populateFromSettings(MavenExecutionRequest request, Settings settings)
+			throws InvalidRepositoryException {
+		request.setOffline(settings.isOffline());
+		request.setPluginGroups(settings.getPluginGroups());
+		request.setLocalRepositoryPath(settings.getLocalRepository());
+		settings.getServers().forEach(server -> request.addServer(server.clone()));
+		for (Proxy proxy : settings.getProxies()) {
+			if (proxy.isActive()) {
+				request.addProxy(proxy.clone());
+			}
+		}
+		settings.getMirrors().forEach(mirror -> request.addMirror(mirror.clone()));
+		request.setActiveProfiles(settings.getActiveProfiles());
+		for (org.apache.maven.settings.Profile profile : settings.getProfiles()) {
+			request.addProfile(SettingsUtils.convertFromSettingsProfile(profile));
+			if (settings.getActiveProfiles().contains(profile.getId())) {
+				for (Repository repository : profile.getRepositories()) {
+					request.addRemoteRepository(MavenRepositorySystem.buildArtifactRepository(repository));
+				}
+				for (Repository repository : profile.getPluginRepositories()) {
+					request.addPluginArtifactRepository(MavenRepositorySystem.buildArtifactRepository(repository));
+				}
+			}
+		}
+	}
+
+	private DefaultPlexusContainer container() throws Exception {
+		if (container == null) {
+			long start = System.currentTimeMillis();
+			ClassWorld classWorld = new ClassWorld();
+			ClassRealm containerRealm = new ClassRealm(classWorld, "maven", Maven.class.getClassLoader());
+			ContainerConfiguration configuration = new DefaultContainerConfiguration().setClassWorld(classWorld)
+				.setRealm(containerRealm)
+				.setClassPathScanning(PlexusConstants.SCANNING_INDEX)
+				.setAutoWiring(true)
+				.setJSR250Lifecycle(true)
+				.setName("maven");
+			DefaultPlexusContainer plexusContainer = new DefaultPlexusContainer(configuration);
+			plexusContainer.setLookupRealm(null);
+			plexusContainer.setLoggerManager(loggerManager);
+			container = plexusContainer;
+			LOGGER.debug("Started Plexus container in %d ms.".formatted(System.currentTimeMillis() - start));
+		}
+		return container;
+	}
+
+	/**
+	 * Log the executed Mojos like the Maven command line does.
+	 */
+	private class MojoExecutionLogger extends AbstractExecutionListener {
+
+		@Override
+		public void projectStarted(ExecutionEvent event) {
+			loggerManager.log("INFO", "Building %s %s".formatted(event.getProject().getName(),
+					event.getProject().getVersion()), null);
+		}
+
+		@Override
+		public void mojoStarted(ExecutionEvent event) {
+			MojoExecution mojoExecution = event.getMojoExecution();
+			loggerManager.log("INFO",
+					"--- %s:%s:%s:%s (%s) @ %s ---".formatted(mojoExecution.getGroupId(),
+							mojoExecution.getArtifactId(), mojoExecution.getVersion(), mojoExecution.getGoal(),
+							mojoExecution.getExecutionId(), event.getProject().getArtifactId()),
+					null);
+		}
+
+	}
+
+}
@@ -20,6 +20,7 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.rewrite.plugin.shared.BuildConfig;
 import org.springframework.rewrite.plugin.shared.DebugConfig;
 import org.springframework.rewrite.plugin.shared.MemorySettings;
+import org.springframework.rewrite.plugin.shared.OutputCapture;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -34,11 +35,20 @@ public class MavenInvoker {
 
 	public static MavenInvocationResult runGoals(Path baseDir, DebugConfig debugConfig, boolean debug,
 			BuildConfig buildConfig, List<String> goals) {
+		return runGoals(baseDir, debugConfig, debug, buildConfig, goals, OutputCapture.withDefaults());
+	}
+
+	/**
+	 * Run the goals, passing every line of the Maven output to {@code output} while Maven
+	 * runs. The result contains the output retained by {@code output}.
+	 */
+	public static MavenInvocationResult runGoals(Path baseDir, DebugConfig debugConfig, boolean debug,
+			BuildConfig buildConfig, List<String> goals, OutputCapture output) {
 		try {
-			StringBuilder sb = new StringBuilder();
-			InvocationRequest request = createInvocationRequest(baseDir, debugConfig, debug, buildConfig, goals, sb);
+			InvocationRequest request = createInvocationRequest(baseDir, debugConfig, debug, buildConfig, goals,
+					output);
 			InvocationResult result = invoker.execute(request);
-			return new MavenInvocationResult(result.getExitCode(), sb.toString());
+			return new MavenInvocationResult(result.getExitCode(), output.getRetainedOutput());
 		}
 		catch (MavenInvocationException e) {
 			throw new RuntimeException(e);
@@ -47,11 +57,9 @@ public class MavenInvoker {
 
 	@NotNull
 	private static InvocationRequest createInvocationRequest(Path baseDir, DebugConfig debugConfig, boolean debug,
-			BuildConfig buildConfig, List<String> goals, StringBuilder sb) {
+			BuildConfig buildConfig, List<String> goals, OutputCapture output) {
 		return new MavenInvocationRequestFactory().createMavenInvocationRequest(baseDir, debugConfig, debug,
-				buildConfig, goals, line -> {
-					sb.append(line).append("\n");
-				});
+				buildConfig, goals, output);
 	}
 
 }
@@ -15,14 +15,20 @@
  */
 package org.springframework.rewrite.plugin.maven;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.rewrite.plugin.shared.BuildConfig;
 import org.springframework.rewrite.plugin.shared.DebugConfig;
+import org.springframework.rewrite.plugin.shared.OutputCapture;
 import org.springframework.rewrite.plugin.shared.PluginInvocationResult;
+import org.springframework.rewrite.plugin.shared.RewritePluginOutputParser;
+import org.springframework.rewrite.plugin.shared.RewritePluginProgress;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.springframework.rewrite.plugin.maven.RewriteMavenPlugin.Goal.*;
@@ -30,6 +36,8 @@ import static org.springframework.rewrite.plugin.maven.RewriteMavenPlugin.Goal.*
 public class RewriteMavenPlugin
 		implements RewriteMavenPluginBuilder.FinalizingBuilder, RewriteMavenPluginBuilder.Recipes {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(RewriteMavenPlugin.class);
+
 	private Goal goal;
 
 	private DebugConfig debugConfig;
@@ -48,6 +56,18 @@ public class RewriteMavenPlugin
 
 	private String rewriteMavenPluginVersion;
 
+	private EmbeddedMavenExecutor embeddedMavenExecutor;
+
+	private Consumer<String> outputListener = line -> {
+	};
+
+	private Consumer<RewritePluginProgress> progressListener = progress -> {
+	};
+
+	private int retainedHeadLines = OutputCapture.DEFAULT_HEAD_LINES;
+
+	private int retainedTailLines = OutputCapture.DEFAULT_TAIL_LINES;
+
 	@Override
 	public RewriteMavenPluginBuilder.FinalizingBuilder withDependencies(String... dependencies) {
 		this.dependencies = Arrays.asList(dependencies);
@@ -108,24 +128,81 @@ public class RewriteMavenPlugin
 		return this;
 	}
 
+	@Override
+	public RewriteMavenPluginBuilder.FinalizingBuilder inProcess() {
+		return inProcess(EmbeddedMavenExecutor.shared());
+	}
+
+	@Override
+	public RewriteMavenPluginBuilder.FinalizingBuilder inProcess(EmbeddedMavenExecutor embeddedMavenExecutor) {
+		this.embeddedMavenExecutor = embeddedMavenExecutor;
+		return this;
+	}
+
+	@Override
+	public RewriteMavenPluginBuilder.FinalizingBuilder withOutputListener(Consumer<String> outputListener) {
+		this.outputListener = outputListener;
+		return this;
+	}
+
+	@Override
+	public RewriteMavenPluginBuilder.FinalizingBuilder withProgressListener(
+			Consumer<RewritePluginProgress> progressListener) {
+		this.progressListener = progressListener;
+		return this;
+	}
+
+	@Override
+	public RewriteMavenPluginBuilder.FinalizingBuilder withRetainedOutput(int headLines, int tailLines) {
+		this.retainedHeadLines = headLines;
+		this.retainedTailLines = tailLines;
+		return this;
+	}
+
 	@Override
 	public PluginInvocationResult onDir(Path baseDir) {
 		BuildConfig.Builder builder = BuildConfig.builder();
 		if (minMemory != null) {
 			builder.withMemory(minMemory, maxMemory);
 		}
-		MavenInvocationResult result = execute(baseDir, debug, debugConfig, builder.build(), goal, recipes,
-				dependencies, rewriteMavenPluginVersion);
+		RewritePluginOutputParser outputParser = new RewritePluginOutputParser(progressListener);
+		OutputCapture output = new OutputCapture(retainedHeadLines, retainedTailLines,
+				outputListener.andThen(outputParser));
+		MavenInvocationResult result;
+		if (embeddedMavenExecutor != null) {
+			if (minMemory != null || (debugConfig != null && debugConfig.isDebugEnabled())) {
+				LOGGER.warn("Memory settings and debugger are ignored when running Maven in-process.");
+			}
+			result = embeddedMavenExecutor.runGoals(baseDir, debug, builder.build(),
+					goals(goal, recipes, dependencies, rewriteMavenPluginVersion), output);
+		}
+		else {
+			result = execute(baseDir, debug, debugConfig, builder.build(), goal, recipes, dependencies,
+					rewriteMavenPluginVersion, output);
+		}
 
-		return new PluginInvocationResult(result.getExitCode() != 0 ? false : true, result.getCapturedLines());
+		return new PluginInvocationResult(result.getExitCode() != 0 ? false : true, result.getCapturedLines(),
+				outputParser.getProgress());
 	}
 
 	static MavenInvocationResult execute(Path baseDir, boolean debug, DebugConfig debugConfig, BuildConfig buildConfig,
 			Goal openRewriteGoal, List<String> recipes1, List<String> dependencies1, String rewriteMavenPluginVersion) {
-		String openRewriteCommand = renderOpenRewriteCommand(recipes1, dependencies1, openRewriteGoal,
+		return execute(baseDir, debug, debugConfig, buildConfig, openRewriteGoal, recipes1, dependencies1,
+				rewriteMavenPluginVersion, OutputCapture.withDefaults());
+	}
+
+	static MavenInvocationResult execute(Path baseDir, boolean debug, DebugConfig debugConfig, BuildConfig buildConfig,
+			Goal openRewriteGoal, List<String> recipes, List<String> dependencies, String rewriteMavenPluginVersion,
+			OutputCapture output) {
+		List<String> goals = goals(openRewriteGoal, recipes, dependencies, rewriteMavenPluginVersion);
+		return MavenInvoker.runGoals(baseDir, debugConfig, debug, buildConfig, goals, output);
+	}
+
+	private static List<String> goals(Goal openRewriteGoal, List<String> recipes, List<String> dependencies,
+			String rewriteMavenPluginVersion) {
+		String openRewriteCommand = renderOpenRewriteCommand(recipes, dependencies, openRewriteGoal,
 				rewriteMavenPluginVersion);
-		List<String> goals = List.of("--fail-at-end", openRewriteCommand);
-		return MavenInvoker.runGoals(baseDir, debugConfig, debug, buildConfig, goals);
+		return List.of("--fail-at-end", openRewriteCommand);
 	}
 
 	private static String renderOpenRewriteCommand(List<String> recipeNames, List<String> dependencies,
@@ -15,9 +15,12 @@
  */
 package org.springframework.rewrite.plugin.maven;
 
+import org.springframework.rewrite.plugin.shared.OutputCapture;
 import org.springframework.rewrite.plugin.shared.PluginInvocationResult;
+import org.springframework.rewrite.plugin.shared.RewritePluginProgress;
 
 import java.nio.file.Path;
+import java.util.function.Consumer;
 
 /**
  * @author Fabian Krüger
@@ -46,6 +49,36 @@ public interface RewriteMavenPluginBuilder {
 
 		FinalizingBuilder withMemory(String s, String s1);
 
+		/**
+		 * Run Maven inside this JVM using the shared {@link EmbeddedMavenExecutor}
+		 * instead of forking a Maven process. The shared executor runs invocations one at
+		 * a time across the whole JVM, concurrent invocations wait for each other.
+		 */
+		FinalizingBuilder inProcess();
+
+		/**
+		 * Run Maven inside this JVM using the given {@link EmbeddedMavenExecutor}.
+		 */
+		FinalizingBuilder inProcess(EmbeddedMavenExecutor embeddedMavenExecutor);
+
+		/**
+		 * Pass every line of the Maven output to the listener while Maven runs.
+		 */
+		FinalizingBuilder withOutputListener(Consumer<String> outputListener);
+
+		/**
+		 * Notify the listener whenever the progress parsed from the output changes.
+		 */
+		FinalizingBuilder withProgressListener(Consumer<RewritePluginProgress> progressListener);
+
+		/**
+		 * Retain the first {@code headLines} and last {@code tailLines} lines of the output
+		 * in the {@link PluginInvocationResult}, defaults to
+		 * {@value OutputCapture#DEFAULT_HEAD_LINES} and
+		 * {@value OutputCapture#DEFAULT_TAIL_LINES}.
+		 */
+		FinalizingBuilder withRetainedOutput(int headLines, int tailLines);
+
 		PluginInvocationResult onDir(Path baseDir);
 
 	}
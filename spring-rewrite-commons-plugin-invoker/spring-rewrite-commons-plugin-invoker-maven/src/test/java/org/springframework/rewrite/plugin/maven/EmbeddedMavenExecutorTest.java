@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.plugin.maven;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.rewrite.plugin.shared.BuildConfig;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class EmbeddedMavenExecutorTest {
+
+	private final Path baseDir = Path.of("./testcode/maven-projects/simple").toAbsolutePath().normalize();
+
+	private final EmbeddedMavenExecutor sut = new EmbeddedMavenExecutor();
+
+	@AfterEach
+	void afterEach() {
+		sut.close();
+	}
+
+	@Test
+	@DisplayName("Subsequent runs reuse the container and are isolated")
+	void subsequentRunsShouldBeIsolated() {
+		MavenInvocationResult first = sut.runGoals(baseDir, false, BuildConfig.fromDefault(),
+				List.of("--fail-at-end", "validate -Dembedded.test=first"));
+		MavenInvocationResult second = sut.runGoals(baseDir, false, BuildConfig.fromDefault(), List.of("validate"));
+
+		assertThat(first.getExitCode()).isZero();
+		assertThat(first.getCapturedLines()).contains("[INFO] Building simple 0.1.0-SNAPSHOT", "BUILD SUCCESS");
+		assertThat(second.getExitCode()).isZero();
+		assertThat(second.getCapturedLines()).isEqualTo(first.getCapturedLines());
+		assertThat(System.getProperty("embedded.test")).isNull();
+	}
+
+	@Test
+	@DisplayName("A failing run reports a non-zero exit code")
+	void failingRunShouldReportExitCode() {
+		MavenInvocationResult result = sut.runGoals(baseDir, false, BuildConfig.fromDefault(),
+				List.of("unknown-phase"));
+
+		assertThat(result.getExitCode()).isEqualTo(1);
+		assertThat(result.getCapturedLines()).contains("[ERROR] Unknown lifecycle phase \"unknown-phase\"",
+				"BUILD FAILURE");
+	}
+
+	@Test
+	@DisplayName("Options of the forked Maven are rejected")
+	void unsupportedOptionShouldBeRejected() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> sut.runGoals(baseDir, false, BuildConfig.fromDefault(), List.of("-T 4 validate")))
+			.withMessageContaining("'-T'");
+	}
+
+}
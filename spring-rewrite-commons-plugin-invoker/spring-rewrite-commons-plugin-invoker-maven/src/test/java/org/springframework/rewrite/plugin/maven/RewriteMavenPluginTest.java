@@ -65,6 +65,24 @@ class RewriteMavenPluginTest {
 		assertRecipesExecuted(out, RECIPES);
 	}
 
+	@Test
+	@DisplayName("builder run in-process")
+	void simpleProjectSimpleConfigInProcess() {
+		Path baseDir = Path.of("./testcode/maven-projects/simple").toAbsolutePath().normalize();
+		try (EmbeddedMavenExecutor executor = new EmbeddedMavenExecutor()) {
+			PluginInvocationResult result = RewriteMavenPlugin.run()
+				.recipes(RECIPES)
+				.withMavenPluginVersion("5.32.1")
+				.inProcess(executor)
+				.onDir(baseDir);
+
+			String out = result.capturedOutput();
+			assertThat(result.success()).isTrue();
+			assertTasksExecuted(out, tasksOf(DEFAULT_GOALS, "run"));
+			assertRecipesExecuted(out, RECIPES);
+		}
+	}
+
 	@Test
 	@DisplayName("builder runNoFork")
 	void simpleProjectSimpleConfigRunNoFork() {
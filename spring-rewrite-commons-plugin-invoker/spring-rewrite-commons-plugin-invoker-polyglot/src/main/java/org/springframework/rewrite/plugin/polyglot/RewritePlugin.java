@@ -22,13 +22,16 @@ import org.springframework.rewrite.plugin.gradle.OpenRewriteGradlePluginBuilder;
 import org.springframework.rewrite.plugin.maven.RewriteMavenPlugin;
 import org.springframework.rewrite.plugin.maven.RewriteMavenPluginBuilder;
 import org.springframework.rewrite.plugin.shared.DebugConfig;
+import org.springframework.rewrite.plugin.shared.OutputCapture;
 import org.springframework.rewrite.plugin.shared.PluginInvocationResult;
+import org.springframework.rewrite.plugin.shared.RewritePluginProgress;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Fabian Krüger
@@ -58,6 +61,16 @@ public class RewritePlugin implements OpenRewritePluginBuilder.GradlePluginVersi
 
 	private String maxMemory;
 
+	private Consumer<String> outputListener = line -> {
+	};
+
+	private Consumer<RewritePluginProgress> progressListener = progress -> {
+	};
+
+	private int retainedHeadLines = OutputCapture.DEFAULT_HEAD_LINES;
+
+	private int retainedTailLines = OutputCapture.DEFAULT_TAIL_LINES;
+
 	public static OpenRewritePluginBuilder.GradlePluginVersion dryRun() {
 		RewritePlugin plugin = new RewritePlugin();
 		plugin.action = Action.DRY_RUN;
@@ -113,7 +126,7 @@ public class RewritePlugin implements OpenRewritePluginBuilder.GradlePluginVersi
 			throw new IllegalArgumentException(
 					"Neither pom.xml, build.gradle, nor build.gradle.kts was found in '%s'".formatted(baseDir));
 		}
-		return new PluginInvocationResult(true, result.capturedOutput());
+		return new PluginInvocationResult(true, result.capturedOutput(), result.progress());
 	}
 
 	private boolean isPolyglotProject(Path baseDir) {
@@ -144,7 +157,10 @@ public class RewritePlugin implements OpenRewritePluginBuilder.GradlePluginVersi
 			finalizingBuilder.withDependencies(this.dependencies.toArray(String[]::new));
 		}
 
-		finalizingBuilder = finalizingBuilder.withDebugConfig(debugConfig);
+		finalizingBuilder = finalizingBuilder.withDebugConfig(debugConfig)
+			.withOutputListener(outputListener)
+			.withProgressListener(progressListener)
+			.withRetainedOutput(retainedHeadLines, retainedTailLines);
 
 		result = finalizingBuilder.onDir(baseDir);
 		return result;
@@ -173,6 +189,9 @@ public class RewritePlugin implements OpenRewritePluginBuilder.GradlePluginVersi
 		if (!dependencies.isEmpty()) {
 			finalizingBuilder.withDependencies(dependencies.toArray(String[]::new));
 		}
+		finalizingBuilder = finalizingBuilder.withOutputListener(outputListener)
+			.withProgressListener(progressListener)
+			.withRetainedOutput(retainedHeadLines, retainedTailLines);
 		result = finalizingBuilder.onDir(baseDir);
 		return result;
 	}
@@ -221,6 +240,26 @@ public class RewritePlugin implements OpenRewritePluginBuilder.GradlePluginVersi
 		return this;
 	}
 
+	@Override
+	public OpenRewritePluginBuilder.FinalizingBuilder withOutputListener(Consumer<String> outputListener) {
+		this.outputListener = outputListener;
+		return this;
+	}
+
+	@Override
+	public OpenRewritePluginBuilder.FinalizingBuilder withProgressListener(
+			Consumer<RewritePluginProgress> progressListener) {
+		this.progressListener = progressListener;
+		return this;
+	}
+
+	@Override
+	public OpenRewritePluginBuilder.FinalizingBuilder withRetainedOutput(int headLines, int tailLines) {
+		this.retainedHeadLines = headLines;
+		this.retainedTailLines = tailLines;
+		return this;
+	}
+
 	public enum Action {
 
 		RUN, DRY_RUN, DISCOVER
@@ -261,6 +300,12 @@ class OpenRewritePluginBuilder {
 
 		FinalizingBuilder preferGradle();
 
+		FinalizingBuilder withOutputListener(Consumer<String> outputListener);
+
+		FinalizingBuilder withProgressListener(Consumer<RewritePluginProgress> progressListener);
+
+		FinalizingBuilder withRetainedOutput(int headLines, int tailLines);
+
 	}
 
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.plugin.shared;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Captures the output of a plugin invocation line by line.
+ * <p>
+ * Every line is passed to the line listener as soon as it is written, so callers can
+ * follow a running invocation. Only a bounded part of the output is retained for the
+ * {@link PluginInvocationResult}: the first {@code headLines} lines, which contain the
+ * command and configuration, and a ring buffer of the last {@code tailLines} lines,
+ * which contain the result. Lines in between are counted and dropped.
+ */
+public class OutputCapture implements Consumer<String> {
+
+	public static final int DEFAULT_HEAD_LINES = 1_000;
+
+	public static final int DEFAULT_TAIL_LINES = 20_000;
+
+	private final int headLines;
+
+	private final int tailLines;
+
+	private final Consumer<String> lineListener;
+
+	private final List<String> head = new ArrayList<>();
+
+	private final Deque<String> tail = new ArrayDeque<>();
+
+	private long lineCount;
+
+	public OutputCapture(int headLines, int tailLines, Consumer<String> lineListener) {
+		if (headLines < 0 || tailLines < 0) {
+			throw new IllegalArgumentException(
+					"Retained lines must not be negative but were %d and %d".formatted(headLines, tailLines));
+		}
+		this.headLines = headLines;
+		this.tailLines = tailLines;
+		this.lineListener = lineListener;
+	}
+
+	/**
+	 * {@link OutputCapture} retaining the default number of lines and not passing lines
+	 * to a listener.
+	 */
+	public static OutputCapture withDefaults() {
+		return new OutputCapture(DEFAULT_HEAD_LINES, DEFAULT_TAIL_LINES, line -> {
+		});
+	}
+
+	@Override
+	public synchronized void accept(String line) {
+		lineCount++;
+		if (head.size() < headLines) {
+			head.add(line);
+		}
+		else if (tailLines > 0) {
+			if (tail.size() == tailLines) {
+				tail.removeFirst();
+			}
+			tail.addLast(line);
+		}
+		lineListener.accept(line);
+	}
+
+	/**
+	 * {@link OutputStream} splitting the written bytes into lines, decoded with the
+	 * default charset. A last line without line break is captured when the stream gets
+	 * closed.
+	 */
+	public OutputStream asOutputStream() {
+		return new LineOutputStream();
+	}
+
+	/**
+	 * The retained lines, each terminated by a line break. Dropped lines are replaced by a
+	 * single line stating their number.
+	 */
+	public synchronized String getRetainedOutput() {
+		StringBuilder sb = new StringBuilder();
+		head.forEach(line -> sb.append(line).append("\n"));
+		long droppedLines = getDroppedLineCount();
+		if (droppedLines > 0) {
+			sb.append("[... %d lines omitted ...]".formatted(droppedLines)).append("\n");
+		}
+		tail.forEach(line -> sb.append(line).append("\n"));
+		return sb.toString();
+	}
+
+	public synchronized long getLineCount() {
+		return lineCount;
+	}
+
+	public synchronized long getDroppedLineCount() {
+		return lineCount - head.size() - tail.size();
+	}
+
+	public int getHeadLines() {
+		return headLines;
+	}
+
+	public int getTailLines() {
+		return tailLines;
+	}
+
+	private class LineOutputStream extends OutputStream {
+
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+		@Override
+		public synchronized void write(int b) {
+			if (b == '\n') {
+				emitLine();
+			}
+			else {
+				buffer.write(b);
+			}
+		}
+
+		@Override
+		public synchronized void write(byte[] bytes, int offset, int length) {
+			int start = offset;
+			for (int i = offset; i < offset + length; i++) {
+				if (bytes[i] == '\n') {
+					buffer.write(bytes, start, i - start);
+					emitLine();
+					start = i + 1;
+				}
+			}
+			buffer.write(bytes, start, offset + length - start);
+		}
+
+		@Override
+		public synchronized void close() {
+			if (buffer.size() > 0) {
+				emitLine();
+			}
+		}
+
+		private void emitLine() {
+			String line = buffer.toString(Charset.defaultCharset());
+			buffer.reset();
+			accept(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+		}
+
+	}
+
+}
@@ -16,7 +16,15 @@
 package org.springframework.rewrite.plugin.shared;
 
 /**
+ * @param success whether the invocation succeeded
+ * @param capturedOutput the output retained by the {@link OutputCapture}
+ * @param progress the progress parsed from the output
  * @author Fabian Krüger
  */
-public record PluginInvocationResult(boolean success, String capturedOutput) {
+public record PluginInvocationResult(boolean success, String capturedOutput, RewritePluginProgress progress) {
+
+	public PluginInvocationResult(boolean success, String capturedOutput) {
+		this(success, capturedOutput, RewritePluginProgress.notStarted());
+	}
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.plugin.shared;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the output of the OpenRewrite Maven and Gradle plugins line by line into
+ * {@link RewritePluginProgress} and notifies the progress listener whenever the progress
+ * changes.
+ * <p>
+ * Maven log level prefixes like {@code [INFO]} are ignored, so the output of both
+ * plugins is understood.
+ */
+public class RewritePluginOutputParser implements Consumer<String> {
+
+	private static final Pattern LOG_LEVEL_PREFIX = Pattern.compile("^\\[(DEBUG|INFO|WARNING|WARN|ERROR)] ?");
+
+	private static final Pattern CHANGED_FILE = Pattern
+		.compile("^(Changes have been made to .+ by:|These recipes would make changes to .+:|Generated new file .+ by:"
+				+ "|Deleted file .+ by:|File has been moved from .+ to .+ by:)$");
+
+	private static final String ACTIVE_RECIPES = "Using active recipe(s) [";
+
+	private final Consumer<RewritePluginProgress> progressListener;
+
+	private RewritePluginProgress progress = RewritePluginProgress.notStarted();
+
+	private boolean inChangeReport;
+
+	public RewritePluginOutputParser(Consumer<RewritePluginProgress> progressListener) {
+		this.progressListener = progressListener;
+	}
+
+	@Override
+	public synchronized void accept(String line) {
+		String message = LOG_LEVEL_PREFIX.matcher(line).replaceFirst("");
+		if (inChangeReport && !message.isBlank() && Character.isWhitespace(message.charAt(0))) {
+			update(progress.phase(), progress.activeRecipes(), message.trim(), progress.changedFiles());
+			return;
+		}
+		inChangeReport = false;
+		String trimmed = message.trim();
+		if (CHANGED_FILE.matcher(trimmed).matches()) {
+			inChangeReport = true;
+			update(RewritePluginProgress.Phase.REPORTING_CHANGES, progress.activeRecipes(), progress.currentRecipe(),
+					progress.changedFiles() + 1);
+		}
+		else if (trimmed.contains(ACTIVE_RECIPES) && trimmed.endsWith("]")) {
+			String recipes = trimmed.substring(trimmed.indexOf(ACTIVE_RECIPES) + ACTIVE_RECIPES.length(),
+					trimmed.length() - 1);
+			List<String> activeRecipes = recipes.isBlank() ? List.of()
+					: Arrays.stream(recipes.split(",")).map(String::trim).toList();
+			update(progress.phase(), activeRecipes, progress.currentRecipe(), progress.changedFiles());
+		}
+		else if (trimmed.startsWith("Validating active recipes")) {
+			update(RewritePluginProgress.Phase.VALIDATING, progress.activeRecipes(), progress.currentRecipe(),
+					progress.changedFiles());
+		}
+		else if (trimmed.contains("Resolving Poms") || trimmed.contains("Parsing source files")
+				|| trimmed.startsWith("Scanning sources")) {
+			update(RewritePluginProgress.Phase.PARSING, progress.activeRecipes(), progress.currentRecipe(),
+					progress.changedFiles());
+		}
+		else if (trimmed.startsWith("Running recipe(s)") || trimmed.contains("running active recipes")) {
+			update(RewritePluginProgress.Phase.RUNNING, progress.activeRecipes(), progress.currentRecipe(),
+					progress.changedFiles());
+		}
+	}
+
+	public synchronized RewritePluginProgress getProgress() {
+		return progress;
+	}
+
+	private void update(RewritePluginProgress.Phase phase, List<String> activeRecipes, String currentRecipe,
+			int changedFiles) {
+		RewritePluginProgress updated = new RewritePluginProgress(phase, activeRecipes, currentRecipe, changedFiles);
+		if (!updated.equals(progress)) {
+			progress = updated;
+			progressListener.accept(updated);
+		}
+	}
+
+}
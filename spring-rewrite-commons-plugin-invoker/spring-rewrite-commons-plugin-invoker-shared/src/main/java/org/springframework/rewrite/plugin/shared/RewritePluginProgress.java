@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.plugin.shared;
+
+import java.util.List;
+
+/**
+ * Progress of an OpenRewrite Maven or Gradle plugin invocation, parsed from its output.
+ *
+ * @param phase the phase the plugin reported last
+ * @param activeRecipes the recipes activated for the invocation
+ * @param currentRecipe the recipe that made the most recently reported change or
+ * {@code null} if no change was reported yet, the plugins don't report when a recipe
+ * starts
+ * @param changedFiles the number of files reported as changed, generated, deleted or
+ * moved
+ * @see RewritePluginOutputParser
+ */
+public record RewritePluginProgress(Phase phase, List<String> activeRecipes, String currentRecipe, int changedFiles) {
+
+	public static RewritePluginProgress notStarted() {
+		return new RewritePluginProgress(Phase.NOT_STARTED, List.of(), null, 0);
+	}
+
+	public enum Phase {
+
+		NOT_STARTED, VALIDATING, PARSING, RUNNING, REPORTING_CHANGES
+
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.plugin.shared;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutputCaptureTest {
+
+	@Test
+	@DisplayName("Every line is streamed but only head and tail are retained")
+	void shouldRetainHeadAndTail() {
+		List<String> streamed = new ArrayList<>();
+		OutputCapture sut = new OutputCapture(2, 3, streamed::add);
+
+		List.of("1", "2", "3", "4", "5", "6", "7").forEach(sut);
+
+		assertThat(streamed).containsExactly("1", "2", "3", "4", "5", "6", "7");
+		assertThat(sut.getLineCount()).isEqualTo(7);
+		assertThat(sut.getDroppedLineCount()).isEqualTo(2);
+		assertThat(sut.getRetainedOutput()).isEqualTo("""
+				1
+				2
+				[... 2 lines omitted ...]
+				5
+				6
+				7
+				""");
+	}
+
+	@Test
+	@DisplayName("The output stream splits written bytes into lines")
+	void outputStreamShouldSplitLines() throws IOException {
+		List<String> streamed = new ArrayList<>();
+		OutputCapture sut = new OutputCapture(10, 10, streamed::add);
+
+		try (OutputStream os = sut.asOutputStream()) {
+			os.write("first\nsec".getBytes(Charset.defaultCharset()));
+			os.write("ond\r\n".getBytes(Charset.defaultCharset()));
+			os.write('x');
+		}
+
+		assertThat(streamed).containsExactly("first", "second", "x");
+		assertThat(sut.getRetainedOutput()).isEqualTo("first\nsecond\nx\n");
+	}
+
+}
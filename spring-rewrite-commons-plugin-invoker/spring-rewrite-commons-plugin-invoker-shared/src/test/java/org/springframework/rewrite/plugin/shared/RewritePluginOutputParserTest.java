@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.plugin.shared;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RewritePluginOutputParserTest {
+
+	@Test
+	@DisplayName("Parse progress from rewrite-maven-plugin output")
+	void parseMavenOutput() {
+		List<RewritePluginProgress> updates = new ArrayList<>();
+		RewritePluginOutputParser sut = new RewritePluginOutputParser(updates::add);
+
+		"""
+				[INFO] --- rewrite-maven-plugin:5.32.1:run (default-cli) @ simple ---
+				[INFO] Using active recipe(s) [com.example.RemoveImports, com.example.OrderImports]
+				[INFO] Validating active recipes...
+				[INFO] Project [simple] Resolving Poms...
+				[INFO] Project [simple] Parsing source files
+				[INFO] Running recipe(s)...
+				[WARNING] Changes have been made to src/main/java/com/example/A.java by:
+				[WARNING]     com.example.RemoveImports
+				[WARNING] Changes have been made to src/main/java/com/example/B.java by:
+				[WARNING]     com.example.OrderImports
+				[WARNING] Please review and commit the results.
+				"""
+			.lines()
+			.forEach(sut);
+
+		RewritePluginProgress progress = sut.getProgress();
+		assertThat(progress.phase()).isEqualTo(RewritePluginProgress.Phase.REPORTING_CHANGES);
+		assertThat(progress.activeRecipes()).containsExactly("com.example.RemoveImports", "com.example.OrderImports");
+		assertThat(progress.currentRecipe()).isEqualTo("com.example.OrderImports");
+		assertThat(progress.changedFiles()).isEqualTo(2);
+		assertThat(updates).extracting(RewritePluginProgress::phase)
+			.containsSubsequence(RewritePluginProgress.Phase.VALIDATING, RewritePluginProgress.Phase.PARSING,
+					RewritePluginProgress.Phase.RUNNING, RewritePluginProgress.Phase.REPORTING_CHANGES);
+	}
+
+	@Test
+	@DisplayName("Parse progress from rewrite-gradle-plugin dry run output")
+	void parseGradleDryRunOutput() {
+		RewritePluginOutputParser sut = new RewritePluginOutputParser(progress -> {
+		});
+
+		"""
+				> Task :rewriteDryRun
+				Using active recipe(s) [org.openrewrite.java.RemoveUnusedImports]
+				Validating active recipes...
+				Scanning sources in project :
+				All sources parsed, running active recipes: org.openrewrite.java.RemoveUnusedImports
+				These recipes would make changes to src/main/java/com/example/A.java:
+				    org.openrewrite.java.RemoveUnusedImports
+				Report available:
+				"""
+			.lines()
+			.forEach(sut);
+
+		RewritePluginProgress progress = sut.getProgress();
+		assertThat(progress.phase()).isEqualTo(RewritePluginProgress.Phase.REPORTING_CHANGES);
+		assertThat(progress.activeRecipes()).containsExactly("org.openrewrite.java.RemoveUnusedImports");
+		assertThat(progress.currentRecipe()).isEqualTo("org.openrewrite.java.RemoveUnusedImports");
+		assertThat(progress.changedFiles()).isEqualTo(1);
+	}
+
+}
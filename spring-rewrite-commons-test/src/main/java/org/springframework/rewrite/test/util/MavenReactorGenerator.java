@@ -0,0 +1,380 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.test.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Generates synthetic multi-module Maven reactors for scale testing.
+ * <p>
+ * The generated modules only depend on other modules of the reactor, so the project can
+ * be parsed without network access. Module {@code n} only ever depends on modules with a
+ * lower index, which keeps every {@link Topology} acyclic. Random choices are derived
+ * from the {@link #seed(long)}, so the same configuration always produces the same
+ * project.
+ *
+ * <pre>
+ * GeneratedMavenReactor reactor = MavenReactorGenerator.createMavenReactor(targetDir)
+ * 	.modules(500)
+ * 	.topology(Topology.RANDOM_DAG)
+ * 	.classesPerModule(200)
+ * 	.generate();
+ * </pre>
+ */
+public class MavenReactorGenerator {
+
+	public static final String GROUP_ID = "com.example.reactor";
+
+	public static final String VERSION = "1.0.0";
+
+	/**
+	 * The dependency structure between the generated modules.
+	 */
+	public enum Topology {
+
+		/**
+		 * Every module depends on the previous module.
+		 */
+		CHAIN,
+
+		/**
+		 * The modules form a binary tree, every module depends on its parent.
+		 */
+		TREE,
+
+		/**
+		 * A chain of diamonds, two modules depend on the same module and are both
+		 * depended on by the next module.
+		 */
+		DIAMOND,
+
+		/**
+		 * Every module depends on up to {@link #maxDependenciesPerModule(int)} randomly
+		 * chosen modules.
+		 */
+		RANDOM_DAG
+
+	}
+
+	/**
+	 * The types of resources generated in {@code src/main/resources}.
+	 */
+	public enum ResourceType {
+
+		YAML("yaml"), PROPERTIES("properties"), XML("xml"), JSON("json");
+
+		private final String fileExtension;
+
+		ResourceType(String fileExtension) {
+			this.fileExtension = fileExtension;
+		}
+
+	}
+
+	private final Path targetDir;
+
+	private int modules = 10;
+
+	private Topology topology = Topology.CHAIN;
+
+	private int maxDependenciesPerModule = 3;
+
+	private int classesPerModule = 10;
+
+	private int crossModuleReferences = 1;
+
+	private int resourcesPerModule = 4;
+
+	private List<ResourceType> resourceTypes = List.of(ResourceType.values());
+
+	private long seed = 42;
+
+	public MavenReactorGenerator(Path targetDir) {
+		this.targetDir = targetDir;
+	}
+
+	public static MavenReactorGenerator createMavenReactor(Path targetDir) {
+		return new MavenReactorGenerator(targetDir);
+	}
+
+	public MavenReactorGenerator modules(int modules) {
+		this.modules = modules;
+		return this;
+	}
+
+	public MavenReactorGenerator topology(Topology topology) {
+		this.topology = topology;
+		return this;
+	}
+
+	/**
+	 * The max number of dependencies of a module with {@link Topology#RANDOM_DAG}.
+	 */
+	public MavenReactorGenerator maxDependenciesPerModule(int maxDependenciesPerModule) {
+		this.maxDependenciesPerModule = maxDependenciesPerModule;
+		return this;
+	}
+
+	public MavenReactorGenerator classesPerModule(int classesPerModule) {
+		this.classesPerModule = classesPerModule;
+		return this;
+	}
+
+	/**
+	 * The number of fields per class referencing a class from a module the class'
+	 * module depends on.
+	 */
+	public MavenReactorGenerator crossModuleReferences(int crossModuleReferences) {
+		this.crossModuleReferences = crossModuleReferences;
+		return this;
+	}
+
+	/**
+	 * The number of resources per module, the {@link ResourceType}s are used in turn.
+	 */
+	public MavenReactorGenerator resourcesPerModule(int resourcesPerModule) {
+		this.resourcesPerModule = resourcesPerModule;
+		return this;
+	}
+
+	/**
+	 * The {@link ResourceType}s to generate, at least one is required.
+	 */
+	public MavenReactorGenerator resourceTypes(ResourceType... resourceTypes) {
+		if (resourceTypes.length == 0) {
+			throw new IllegalArgumentException("At least one resource type is required.");
+		}
+		this.resourceTypes = Arrays.asList(resourceTypes);
+		return this;
+	}
+
+	public MavenReactorGenerator seed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * Write the reactor to the target dir.
+	 */
+	public GeneratedMavenReactor generate() {
+		Random random = new Random(seed);
+		Map<String, List<String>> dependencies = new LinkedHashMap<>();
+		for (int module = 0; module < modules; module++) {
+			List<String> moduleDependencies = dependenciesOf(module, random).stream()
+				.map(MavenReactorGenerator::moduleName)
+				.toList();
+			dependencies.put(moduleName(module), moduleDependencies);
+		}
+		try {
+			Files.createDirectories(targetDir);
+			Files.writeString(targetDir.resolve("pom.xml"), parentPom(dependencies.keySet()));
+			int numberOfFiles = 1;
+			for (Map.Entry<String, List<String>> module : dependencies.entrySet()) {
+				numberOfFiles += writeModule(module.getKey(), module.getValue(), random);
+			}
+			return new GeneratedMavenReactor(targetDir, dependencies, numberOfFiles);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not generate Maven reactor in '%s'".formatted(targetDir), e);
+		}
+	}
+
+	private List<Integer> dependenciesOf(int module, Random random) {
+		if (module == 0) {
+			return List.of();
+		}
+		return switch (topology) {
+			case CHAIN -> List.of(module - 1);
+			case TREE -> List.of((module - 1) / 2);
+			case DIAMOND -> module % 3 == 0 ? List.of(module - 2, module - 1) : List.of(module - module % 3);
+			case RANDOM_DAG -> {
+				int numDependencies = 1 + random.nextInt(Math.max(1, Math.min(module, maxDependenciesPerModule)));
+				TreeSet<Integer> chosen = new TreeSet<>();
+				while (chosen.size() < numDependencies) {
+					chosen.add(random.nextInt(module));
+				}
+				yield new ArrayList<>(chosen);
+			}
+		};
+	}
+
+	private int writeModule(String module, List<String> dependencies, Random random) throws IOException {
+		Path moduleDir = targetDir.resolve(module);
+		Files.createDirectories(moduleDir);
+		Files.writeString(moduleDir.resolve("pom.xml"), modulePom(module, dependencies));
+
+		Path packageDir = moduleDir.resolve("src/main/java").resolve(packageName(module).replace('.', '/'));
+		Files.createDirectories(packageDir);
+		for (int clazz = 0; clazz < classesPerModule; clazz++) {
+			Files.writeString(packageDir.resolve(className(clazz) + ".java"),
+					javaClass(module, clazz, dependencies, random));
+		}
+
+		Path resourcesDir = moduleDir.resolve("src/main/resources");
+		Files.createDirectories(resourcesDir);
+		for (int resource = 0; resource < resourcesPerModule; resource++) {
+			ResourceType resourceType = resourceTypes.get(resource % resourceTypes.size());
+			String fileName = "resource-%d.%s".formatted(resource, resourceType.fileExtension);
+			Files.writeString(resourcesDir.resolve(fileName), resource(module, resource, resourceType));
+		}
+		return 1 + classesPerModule + resourcesPerModule;
+	}
+
+	private String parentPom(Iterable<String> moduleNames) {
+		StringBuilder modules = new StringBuilder();
+		moduleNames.forEach(m -> modules.append("        <module>%s</module>\n".formatted(m)));
+		return """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+				    <modelVersion>4.0.0</modelVersion>
+				    <groupId>%s</groupId>
+				    <artifactId>reactor-parent</artifactId>
+				    <version>%s</version>
+				    <packaging>pom</packaging>
+				    <properties>
+				        <maven.compiler.source>17</maven.compiler.source>
+				        <maven.compiler.target>17</maven.compiler.target>
+				        <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>
+				    </properties>
+				    <modules>
+				%s    </modules>
+				</project>
+				""".formatted(GROUP_ID, VERSION, modules);
+	}
+
+	private String modulePom(String module, List<String> dependencies) {
+		String dependencyList = dependencies.stream().map(d -> """
+				        <dependency>
+				            <groupId>%s</groupId>
+				            <artifactId>%s</artifactId>
+				            <version>%s</version>
+				        </dependency>
+				""".formatted(GROUP_ID, d, VERSION)).collect(Collectors.joining());
+		return """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+				    <modelVersion>4.0.0</modelVersion>
+				    <parent>
+				        <groupId>%s</groupId>
+				        <artifactId>reactor-parent</artifactId>
+				        <version>%s</version>
+				    </parent>
+				    <artifactId>%s</artifactId>
+				    <dependencies>
+				%s    </dependencies>
+				</project>
+				""".formatted(GROUP_ID, VERSION, module, dependencyList);
+	}
+
+	private String javaClass(String module, int clazz, List<String> dependencies, Random random) {
+		StringBuilder fields = new StringBuilder();
+		if (!dependencies.isEmpty()) {
+			for (int reference = 0; reference < crossModuleReferences; reference++) {
+				String referencedModule = dependencies.get(random.nextInt(dependencies.size()));
+				String referencedType = packageName(referencedModule) + "."
+						+ className(random.nextInt(classesPerModule));
+				fields.append("    private final %s reference%d = new %s();\n".formatted(referencedType, reference,
+						referencedType));
+			}
+		}
+		if (clazz > 0) {
+			fields.append("    private final %s sibling = new %s();\n".formatted(className(clazz - 1),
+					className(clazz - 1)));
+		}
+		return """
+				package %s;
+
+				import java.util.List;
+
+				public class %s {
+
+				%s
+				    public List<String> names(String prefix) {
+				        return List.of(prefix + "%s", prefix + "%s");
+				    }
+
+				}
+				""".formatted(packageName(module), className(clazz), fields, module, className(clazz));
+	}
+
+	private String resource(String module, int resource, ResourceType resourceType) {
+		return switch (resourceType) {
+			case YAML -> """
+					module:
+					  name: %s
+					  resource: %d
+					  enabled: true
+					""".formatted(module, resource);
+			case PROPERTIES -> """
+					module.name=%s
+					module.resource=%d
+					module.enabled=true
+					""".formatted(module, resource);
+			case XML -> """
+					<?xml version="1.0" encoding="UTF-8"?>
+					<module name="%s">
+					    <resource>%d</resource>
+					    <enabled>true</enabled>
+					</module>
+					""".formatted(module, resource);
+			case JSON -> """
+					{
+					  "module": "%s",
+					  "resource": %d,
+					  "enabled": true
+					}
+					""".formatted(module, resource);
+		};
+	}
+
+	private static String moduleName(int module) {
+		return "module-%04d".formatted(module);
+	}
+
+	private static String packageName(String module) {
+		return "com.example.reactor." + module.replace("-", "");
+	}
+
+	private static String className(int clazz) {
+		return "Type" + clazz;
+	}
+
+	/**
+	 * @param baseDir the dir containing the parent pom
+	 * @param dependencies the module names mapped to the names of the modules they depend
+	 * on, in reactor order
+	 * @param numberOfFiles the number of generated files
+	 */
+	public record GeneratedMavenReactor(Path baseDir, Map<String, List<String>> dependencies, int numberOfFiles) {
+
+		public List<String> modules() {
+			return List.copyOf(dependencies.keySet());
+		}
+
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.test.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.rewrite.test.util.MavenReactorGenerator.GeneratedMavenReactor;
+import org.springframework.rewrite.test.util.MavenReactorGenerator.ResourceType;
+import org.springframework.rewrite.test.util.MavenReactorGenerator.Topology;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class MavenReactorGeneratorTest {
+
+	@TempDir
+	Path baseDir;
+
+	@Test
+	@DisplayName("generate should write parent pom, modules, classes and resources")
+	void generate() throws IOException {
+		GeneratedMavenReactor reactor = MavenReactorGenerator.createMavenReactor(baseDir)
+			.modules(3)
+			.classesPerModule(2)
+			.resourcesPerModule(4)
+			.generate();
+
+		assertThat(reactor.modules()).containsExactly("module-0000", "module-0001", "module-0002");
+		assertThat(reactor.numberOfFiles()).isEqualTo(1 + 3 * (1 + 2 + 4));
+		try (Stream<Path> files = Files.walk(baseDir)) {
+			assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(reactor.numberOfFiles());
+		}
+		assertThat(baseDir.resolve("pom.xml")).content().contains("<module>module-0002</module>");
+		Path module = baseDir.resolve("module-0001");
+		assertThat(module.resolve("pom.xml")).content().contains("<artifactId>module-0000</artifactId>");
+		assertThat(module.resolve("src/main/java/com/example/reactor/module0001/Type1.java")).content()
+			.contains("package com.example.reactor.module0001;")
+			.contains("com.example.reactor.module0000.Type");
+		assertThat(module.resolve("src/main/resources/resource-0.yaml")).exists();
+		assertThat(module.resolve("src/main/resources/resource-1.properties")).exists();
+		assertThat(module.resolve("src/main/resources/resource-2.xml")).exists();
+		assertThat(module.resolve("src/main/resources/resource-3.json")).exists();
+	}
+
+	@Test
+	@DisplayName("resourceTypes should restrict the generated resources")
+	void resourceTypes() {
+		MavenReactorGenerator.createMavenReactor(baseDir)
+			.modules(1)
+			.resourcesPerModule(2)
+			.resourceTypes(ResourceType.JSON)
+			.generate();
+
+		assertThat(baseDir.resolve("module-0000/src/main/resources/resource-0.json")).exists();
+		assertThat(baseDir.resolve("module-0000/src/main/resources/resource-1.json")).exists();
+	}
+
+	@Test
+	@DisplayName("resourceTypes should reject an empty list")
+	void resourceTypesEmpty() {
+		MavenReactorGenerator generator = MavenReactorGenerator.createMavenReactor(baseDir);
+
+		assertThatIllegalArgumentException().isThrownBy(generator::resourceTypes)
+			.withMessage("At least one resource type is required.");
+	}
+
+	@Test
+	@DisplayName("CHAIN topology")
+	void chain() {
+		assertThat(generate(Topology.CHAIN, 4).dependencies()).containsExactly(entry("module-0000"),
+				entry("module-0001", "module-0000"), entry("module-0002", "module-0001"),
+				entry("module-0003", "module-0002"));
+	}
+
+	@Test
+	@DisplayName("TREE topology")
+	void tree() {
+		assertThat(generate(Topology.TREE, 5).dependencies()).containsExactly(entry("module-0000"),
+				entry("module-0001", "module-0000"), entry("module-0002", "module-0000"),
+				entry("module-0003", "module-0001"), entry("module-0004", "module-0001"));
+	}
+
+	@Test
+	@DisplayName("DIAMOND topology")
+	void diamond() {
+		assertThat(generate(Topology.DIAMOND, 4).dependencies()).containsExactly(entry("module-0000"),
+				entry("module-0001", "module-0000"), entry("module-0002", "module-0000"),
+				entry("module-0003", "module-0001", "module-0002"));
+	}
+
+	@Test
+	@DisplayName("RANDOM_DAG topology only depends on previous modules and is reproducible")
+	void randomDag() {
+		GeneratedMavenReactor reactor = generate(Topology.RANDOM_DAG, 20);
+
+		List<String> modules = reactor.modules();
+		reactor.dependencies().forEach((module, dependencies) -> {
+			assertThat(dependencies).hasSizeLessThanOrEqualTo(3);
+			dependencies.forEach(d -> assertThat(modules.indexOf(d)).isLessThan(modules.indexOf(module)));
+		});
+		GeneratedMavenReactor sameSeed = MavenReactorGenerator.createMavenReactor(baseDir.resolve("other"))
+			.modules(20)
+			.topology(Topology.RANDOM_DAG)
+			.generate();
+		assertThat(sameSeed.dependencies()).isEqualTo(reactor.dependencies());
+	}
+
+	private GeneratedMavenReactor generate(Topology topology, int modules) {
+		return MavenReactorGenerator.createMavenReactor(baseDir)
+			.modules(modules)
+			.topology(topology)
+			.classesPerModule(1)
+			.resourcesPerModule(0)
+			.generate();
+	}
+
+	private static Map.Entry<String, List<String>> entry(String module, String... dependencies) {
+		return Map.entry(module, List.of(dependencies));
+	}
+
+}
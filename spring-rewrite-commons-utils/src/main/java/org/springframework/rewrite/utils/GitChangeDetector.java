@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.utils;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detects the paths added, modified, deleted and renamed between two commits by
+ * comparing their trees, without checking anything out.
+ * <p>
+ * Copies are reported as added paths.
+ */
+public class GitChangeDetector {
+
+	/**
+	 * Detect the changes between {@code fromRevision} and {@code HEAD}.
+	 */
+	public static GitChanges detectChanges(Git git, String fromRevision) {
+		return detectChanges(git, fromRevision, Constants.HEAD);
+	}
+
+	/**
+	 * Detect the changes between two revisions, e.g. commit ids, branch or tag names.
+	 * @throws IllegalArgumentException if a revision can't be resolved
+	 */
+	public static GitChanges detectChanges(Git git, String fromRevision, String toRevision) {
+		Repository repository = git.getRepository();
+		try (RevWalk revWalk = new RevWalk(repository);
+				DiffFormatter diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+			RevCommit from = revWalk.parseCommit(resolve(repository, fromRevision));
+			RevCommit to = revWalk.parseCommit(resolve(repository, toRevision));
+			diffFormatter.setRepository(repository);
+			diffFormatter.setDetectRenames(true);
+			List<Path> added = new ArrayList<>();
+			List<Path> modified = new ArrayList<>();
+			List<Path> deleted = new ArrayList<>();
+			Map<Path, Path> renamed = new HashMap<>();
+			for (DiffEntry entry : diffFormatter.scan(from.getTree(), to.getTree())) {
+				switch (entry.getChangeType()) {
+					case ADD, COPY -> added.add(Path.of(entry.getNewPath()));
+					case MODIFY -> modified.add(Path.of(entry.getNewPath()));
+					case DELETE -> deleted.add(Path.of(entry.getOldPath()));
+					case RENAME -> renamed.put(Path.of(entry.getOldPath()), Path.of(entry.getNewPath()));
+				}
+			}
+			return new GitChanges(from.getName(), to.getName(), added, modified, deleted, renamed);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not detect changes between '%s' and '%s'".formatted(fromRevision,
+					toRevision), e);
+		}
+	}
+
+	private static ObjectId resolve(Repository repository, String revision) throws IOException {
+		ObjectId objectId = repository.resolve(revision);
+		if (objectId == null) {
+			throw new IllegalArgumentException("Could not resolve revision '%s'.".formatted(revision));
+		}
+		return objectId;
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.utils;
+
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The paths changed between two commits, relative to the root of the repository.
+ *
+ * @param fromCommit the id of the old commit
+ * @param toCommit the id of the new commit
+ * @param added the added paths
+ * @param modified the modified paths
+ * @param deleted the deleted paths
+ * @param renamed the renamed paths, old path to new path
+ * @see GitChangeDetector
+ */
+public record GitChanges(String fromCommit, String toCommit, List<Path> added, List<Path> modified,
+		List<Path> deleted, Map<Path, Path> renamed) {
+
+	private static final Set<String> BUILD_FILE_NAMES = Set.of("pom.xml", "build.gradle", "build.gradle.kts",
+			"settings.gradle", "settings.gradle.kts", "gradle.properties", "libs.versions.toml");
+
+	public GitChanges {
+		added = List.copyOf(added);
+		modified = List.copyOf(modified);
+		deleted = List.copyOf(deleted);
+		renamed = Map.copyOf(renamed);
+	}
+
+	public boolean isEmpty() {
+		return added.isEmpty() && modified.isEmpty() && deleted.isEmpty() && renamed.isEmpty();
+	}
+
+	/**
+	 * The paths existing in the new commit with a content or path different from the old
+	 * commit.
+	 */
+	public Set<Path> changedPaths() {
+		Set<Path> changedPaths = new LinkedHashSet<>(added);
+		changedPaths.addAll(modified);
+		changedPaths.addAll(renamed.values());
+		return changedPaths;
+	}
+
+	/**
+	 * The paths existing in the old commit but not in the new commit.
+	 */
+	public Set<Path> removedPaths() {
+		Set<Path> removedPaths = new LinkedHashSet<>(deleted);
+		removedPaths.addAll(renamed.keySet());
+		return removedPaths;
+	}
+
+	/**
+	 * Whether a Maven or Gradle build file or the Maven wrapper configuration was added,
+	 * changed or removed. Build files define modules, dependencies and source sets, so
+	 * all sources of the project are affected.
+	 */
+	public boolean buildFilesChanged() {
+		return changedPaths().stream().anyMatch(GitChanges::isBuildFile)
+				|| removedPaths().stream().anyMatch(GitChanges::isBuildFile);
+	}
+
+	public static boolean isBuildFile(Path path) {
+		Path fileName = path.getFileName();
+		if (fileName != null && BUILD_FILE_NAMES.contains(fileName.toString())) {
+			return true;
+		}
+		return path.getNameCount() > 1 && path.getName(0).toString().equals(".mvn");
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.rewrite.utils;
+
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class GitChangeDetectorTest {
+
+	@TempDir
+	Path baseDir;
+
+	private String previousCommit;
+
+	@BeforeEach
+	void beforeEach() throws Exception {
+		try (Git git = Git.init().setDirectory(baseDir.toFile()).call()) {
+			write("pom.xml", "<project/>");
+			write("src/main/java/A.java", "class A {}");
+			write("src/main/java/B.java", "class B {}");
+			write("src/main/resources/application.properties", "a=b");
+			write("src/main/resources/banner.txt", "banner");
+			previousCommit = commit(git, "initial");
+		}
+	}
+
+	@Test
+	@DisplayName("Added, modified, deleted and renamed paths are detected between commits")
+	void detectChanges() throws Exception {
+		try (Git git = Git.open(baseDir.toFile())) {
+			write("src/main/resources/application.properties", "a=c");
+			write("README.md", "readme");
+			Files.delete(baseDir.resolve("src/main/resources/banner.txt"));
+			Files.move(baseDir.resolve("src/main/java/B.java"), baseDir.resolve("src/main/java/C.java"));
+			String currentCommit = commit(git, "change");
+
+			GitChanges changes = GitChangeDetector.detectChanges(git, previousCommit);
+
+			assertThat(changes.fromCommit()).isEqualTo(previousCommit);
+			assertThat(changes.toCommit()).isEqualTo(currentCommit);
+			assertThat(changes.added()).containsExactly(Path.of("README.md"));
+			assertThat(changes.modified()).containsExactly(Path.of("src/main/resources/application.properties"));
+			assertThat(changes.deleted()).containsExactly(Path.of("src/main/resources/banner.txt"));
+			assertThat(changes.renamed()).containsOnly(
+					Map.entry(Path.of("src/main/java/B.java"), Path.of("src/main/java/C.java")));
+			assertThat(changes.buildFilesChanged()).isFalse();
+		}
+	}
+
+	@Test
+	@DisplayName("A changed build file is reported")
+	void buildFileChanged() throws Exception {
+		try (Git git = Git.open(baseDir.toFile())) {
+			write("pom.xml", "<project><modelVersion>4.0.0</modelVersion></project>");
+			commit(git, "change");
+
+			GitChanges changes = GitChangeDetector.detectChanges(git, previousCommit);
+
+			assertThat(changes.modified()).containsExactly(Path.of("pom.xml"));
+			assertThat(changes.buildFilesChanged()).isTrue();
+		}
+	}
+
+	@Test
+	@DisplayName("No changes are detected between a commit and itself")
+	void sameCommit() throws Exception {
+		try (Git git = Git.open(baseDir.toFile())) {
+			GitChanges changes = GitChangeDetector.detectChanges(git, previousCommit, "HEAD");
+
+			assertThat(changes.isEmpty()).isTrue();
+		}
+	}
+
+	@Test
+	@DisplayName("A revision that can't be resolved is rejected")
+	void unknownRevision() throws Exception {
+		try (Git git = Git.open(baseDir.toFile())) {
+			assertThatIllegalArgumentException().isThrownBy(() -> GitChangeDetector.detectChanges(git, "unknown"))
+				.withMessage("Could not resolve revision 'unknown'.");
+		}
+	}
+
+	private String commit(Git git, String message) throws Exception {
+		git.add().addFilepattern(".").call();
+		git.add().addFilepattern(".").setUpdate(true).call();
+		return git.commit().setMessage(message).setSign(false).call().getName();
+	}
+
+	private void write(String path, String content) throws Exception {
+		Path file = baseDir.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+
+}